@@ -1,18 +1,31 @@
 package br.com.example.fluentvalidatorexamples.business;
 
+import br.com.example.fluentvalidatorexamples.concurrent.SingleFlight;
 import br.com.example.fluentvalidatorexamples.domain.Billing;
 import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException;
 import br.com.example.fluentvalidatorexamples.exception.BillingValidationException;
+import br.com.example.fluentvalidatorexamples.exception.IdempotencyKeyReusedException;
+import br.com.example.fluentvalidatorexamples.idempotency.IdempotencyStore;
+import br.com.example.fluentvalidatorexamples.json.BillingJson;
+import br.com.example.fluentvalidatorexamples.json.BillingJsonCache;
+import br.com.example.fluentvalidatorexamples.pool.AddressPool;
 import br.com.example.fluentvalidatorexamples.repository.BillingRepository;
+import br.com.example.fluentvalidatorexamples.validator.BillingRuleSets;
 import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import br.com.example.fluentvalidatorexamples.validator.ValidationStamp;
 import br.com.fluentvalidator.context.ValidationResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 @Component
 public class BillingBusiness {
@@ -20,15 +33,46 @@ public class BillingBusiness {
   private static final Logger LOGGER = LoggerFactory.getLogger(BillingBusiness.class);
 
   @Autowired
-  private BillingValidator billingValidator;
+  private BillingRepository billingRepository;
 
   @Autowired
-  private BillingRepository billingRepository;
+  private BillingJsonCache billingJsonCache;
+
+  @Autowired
+  private IdempotencyStore idempotencyStore;
+
+  /**
+   * stamp of the last version of each billing which passed on validation here, so an update
+   * only runs the rules of the fields it changed; any valid version works as well as the stored one
+   */
+  private final Map<UUID, ValidationStamp> validations = new ConcurrentHashMap<>();
+
+  /**
+   * concurrent JSON reads missing the cache for the same version of a billing share a single lookup
+   * and encoding; keyed by the version read first, so a read never gets a billing older than the
+   * version it saw. Only findBillingJsonById goes through it, findBillingById reads the repository
+   */
+  private final SingleFlight<Map.Entry<UUID, String>, BillingJson> billingJsonReads = new SingleFlight<>();
+
+  /**
+   * fingerprint of the billing being saved under each idempotency key, along with how many
+   * requests are saving it; a request sending another billing under a key being saved is
+   * rejected before it may join the save, so every request joining a save sent the same billing
+   */
+  private final Map<UUID, IdempotencyClaim> idempotencyClaims = new ConcurrentHashMap<>();
+
+  /**
+   * concurrent saves under the same idempotency key share a single save, so a retry sent
+   * while the original request is still running does not create a second billing
+   */
+  private final SingleFlight<UUID, Billing> idempotentSaves = new SingleFlight<>();
 
   public Billing save(final Billing billing) throws BillingValidationException {
     LOGGER.info("starting billing validations");
 
-    final ValidationResult validationResult = billingValidator.validate(billing);
+    final BillingValidator validator = BillingRuleSets.current();
+    final ValidationStamp stamp = validator.stamp(billing);
+    final ValidationResult validationResult = validator.validate(billing);
 
     if (!validationResult.isValid()) {
       // once the billing parameters does not pass on validation, stop the save process
@@ -39,7 +83,25 @@ public class BillingBusiness {
 
     LOGGER.info("billing validated successfully");
 
-    return billingRepository.save(billing);
+    AddressPool.canonicalize(billing);
+    final Billing savedBilling = billingRepository.save(billing);
+
+    remember(savedBilling, stamp);
+
+    return savedBilling;
+  }
+
+  /**
+   * Saves a billing only once per idempotency key: a retry under a key already used
+   * gets the billing created by the first request, neither validated nor saved again
+   *
+   * @param billing
+   * @param idempotencyKey key sent by the client, or null to save as any other billing
+   * @return the billing created under the key
+   * @throws IdempotencyKeyReusedException when the key was already used along with another billing
+   */
+  public Billing save(final Billing billing, final String idempotencyKey) throws BillingValidationException, IdempotencyKeyReusedException {
+    return saveOnce(idempotencyKey, billing, () -> save(billing));
   }
 
   public Set<Billing> findAllBillings() {
@@ -50,10 +112,48 @@ public class BillingBusiness {
     return billingRepository.findById(id);
   }
 
+  /**
+   * Finds a billing already encoded as JSON, encoding it only when its current version is not cached
+   * concurrent misses of the same version share a single lookup and encoding
+   *
+   * @param id
+   * @return the encoding, along with the version it was made from
+   */
+  public BillingJson findBillingJsonById(final UUID id) throws BillingNotFoundException {
+    // the version is read before the billing, so it is never newer than the billing encoded
+    final String version = billingRepository.findVersionById(id);
+    final BillingJson cached = billingJsonCache.get(id, version);
+
+    if (Objects.nonNull(cached)) {
+      return cached;
+    }
+
+    return billingJsonReads.execute(readOf(id, version), () -> billingJsonCache.put(id, version, billingRepository.findById(id)));
+  }
+
+  /**
+   * @param id
+   * @return the version of the stored billing, or null when there is none
+   */
+  public String findBillingVersionById(final UUID id) {
+    return billingRepository.findVersionById(id);
+  }
+
+  public String findAllBillingsVersion() {
+    return billingRepository.findAllVersion();
+  }
+
   public Billing update(final Billing billing) throws BillingValidationException, BillingNotFoundException {
     LOGGER.info("starting billing validations");
 
-    final ValidationResult validationResult = billingValidator.validate(billing);
+    final BillingValidator validator = BillingRuleSets.current();
+    final ValidationStamp stamp = validator.stamp(billing);
+    final ValidationStamp previous = Objects.isNull(billing.getId()) ? null : validations.get(billing.getId());
+
+    // only the rules of the fields changed since the previous valid version run again
+    final ValidationResult validationResult = Objects.isNull(previous)
+      ? validator.validate(billing)
+      : validator.revalidate(previous, billing);
 
     if (!validationResult.isValid()) {
       // once the billing parameters does not pass on validation, stop the save process
@@ -64,15 +164,162 @@ public class BillingBusiness {
 
     LOGGER.info("billing validated successfully");
 
-    return billingRepository.update(billing);
+    AddressPool.canonicalize(billing);
+    final Billing updatedBilling = billingRepository.update(billing);
+
+    remember(updatedBilling, stamp);
+    billingJsonCache.invalidate(updatedBilling.getId());
+
+    return updatedBilling;
+  }
+
+  /**
+   * Applies a change to the stored billing, validating only the rules of the fields it changed
+   *
+   * the change is made on a copy, which replaces the stored billing only if no other version
+   * was stored meanwhile; otherwise the change is made again on the newer version
+   *
+   * @param id
+   * @param patch builds the changed billing from the stored one, leaving the stored one untouched
+   * @return the billing stored
+   */
+  public Billing patch(final UUID id, final UnaryOperator<Billing> patch) throws BillingValidationException, BillingNotFoundException {
+    while (true) {
+      final Billing storedBilling = billingRepository.findById(id);
+      final Billing billing = patch.apply(storedBilling);
+      billing.setId(id);
+
+      LOGGER.info("starting billing validations");
+
+      final BillingValidator validator = BillingRuleSets.current();
+      final ValidationStamp stamp = validator.stamp(billing);
+      final ValidationStamp previous = validations.get(id);
+
+      final ValidationResult validationResult = Objects.isNull(previous)
+        ? validator.validate(billing)
+        : validator.revalidate(previous, billing);
+
+      if (!validationResult.isValid()) {
+        LOGGER.error("there were failure(s) on validation process");
+
+        throw new BillingValidationException(validationResult);
+      }
+
+      LOGGER.info("billing validated successfully");
+
+      AddressPool.canonicalize(billing);
+
+      if (billingRepository.replace(storedBilling, billing)) {
+        remember(billing, stamp);
+        billingJsonCache.invalidate(id);
+
+        return billing;
+      }
+    }
   }
 
   public void delete(final UUID id) throws BillingNotFoundException {
     LOGGER.info("deleting billing with id " + id);
 
     billingRepository.delete(id);
+    validations.remove(id);
+    billingJsonCache.invalidate(id);
 
     LOGGER.info("billing deleted successfully");
   }
 
+  /**
+   * @param idempotencyKey
+   * @param billing the billing sent under the key, fingerprinted before the save changes it
+   * @param save
+   */
+  private Billing saveOnce(final String idempotencyKey, final Billing billing,
+                           final SingleFlight.Call<Billing, BillingValidationException> save) throws BillingValidationException, IdempotencyKeyReusedException {
+    if (Objects.isNull(idempotencyKey)) {
+      return save.call();
+    }
+
+    final UUID key = IdempotencyStore.compact(idempotencyKey);
+    final UUID fingerprint = idempotencyStore.fingerprint(billing);
+    final Billing created = idempotencyStore.find(key, fingerprint);
+
+    if (Objects.nonNull(created)) {
+      LOGGER.info("billing already created under idempotency key '" + idempotencyKey + "'");
+
+      return created;
+    }
+
+    final IdempotencyClaim claim = idempotencyClaims.compute(key, (claimed, current) ->
+      Objects.isNull(current) ? new IdempotencyClaim(fingerprint) : current.join(fingerprint));
+
+    // a request sending another billing than the one being saved under the key never waits on that save
+    if (!Objects.equals(claim.fingerprint, fingerprint)) {
+      throw new IdempotencyKeyReusedException();
+    }
+
+    try {
+      return idempotentSaves.execute(key, () -> {
+        // the first request may have finished between the lookup above and this call
+        final Billing createdMeanwhile = idempotencyStore.find(key, fingerprint);
+
+        if (Objects.nonNull(createdMeanwhile)) {
+          return createdMeanwhile;
+        }
+
+        // only billings actually created are kept, so a rejected request may be retried once fixed
+        final Billing savedBilling = save.call();
+        idempotencyStore.put(key, fingerprint, savedBilling);
+
+        return savedBilling;
+      });
+    } finally {
+      idempotencyClaims.computeIfPresent(key, (claimed, current) -> current.leave());
+    }
+  }
+
+  private static Map.Entry<UUID, String> readOf(final UUID id, final String version) {
+    return new AbstractMap.SimpleImmutableEntry<>(id, version);
+  }
+
+  private void remember(final Billing billing, final ValidationStamp stamp) {
+    if (Objects.nonNull(billing) && Objects.nonNull(billing.getId()) && Objects.nonNull(stamp) && stamp.getBilling() == billing) {
+      validations.put(billing.getId(), stamp);
+    }
+  }
+
+  /**
+   * billing being saved under an idempotency key, only ever changed inside the compute calls of its map
+   */
+  private static final class IdempotencyClaim {
+
+    private final UUID fingerprint;
+
+    private int holders = 1;
+
+    private IdempotencyClaim(final UUID fingerprint) {
+      this.fingerprint = fingerprint;
+    }
+
+    /**
+     * @return this claim, held by one more request whenever it sent the same billing
+     */
+    private IdempotencyClaim join(final UUID fingerprint) {
+      if (Objects.equals(this.fingerprint, fingerprint)) {
+        holders++;
+      }
+
+      return this;
+    }
+
+    /**
+     * @return this claim, or null once no request holds it
+     */
+    private IdempotencyClaim leave() {
+      holders--;
+
+      return holders == 0 ? null : this;
+    }
+
+  }
+
 }
@@ -0,0 +1,94 @@
+package br.com.example.fluentvalidatorexamples.concurrent;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent calls with equal keys into a single one
+ *
+ * the first caller of a key runs the call, and every caller arriving while it is
+ * still running waits for it and gets the very same result, or exception, instead
+ * of running the call again. Nothing is kept once the call is over, so the next
+ * caller of the key runs it anew
+ *
+ * callers must only share a key when any result of the call would do for all of
+ * them, as a waiter gets the result of a call which started before it arrived
+ *
+ * @param <K> key of the calls
+ * @param <V> result of the calls
+ */
+public final class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+  /**
+   * @param key
+   * @param call
+   * @param <E> checked exception of the call
+   * @return the result of the call, either run here or by the caller which was already running it
+   * @throws E whatever the call threw, to every caller which shared it
+   */
+  public <E extends Throwable> V execute(final K key, final Call<V, E> call) throws E {
+    final CompletableFuture<V> flight = new CompletableFuture<>();
+    final CompletableFuture<V> running = flights.putIfAbsent(key, flight);
+
+    if (Objects.nonNull(running)) {
+      return SingleFlight.<V, E>await(running);
+    }
+
+    try {
+      final V result = call.call();
+      flight.complete(result);
+
+      return result;
+    } catch (final Throwable e) {
+      flight.completeExceptionally(e);
+
+      throw e;
+    } finally {
+      flights.remove(key, flight);
+    }
+  }
+
+  /**
+   * @return how many calls are running
+   */
+  public int size() {
+    return flights.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V, E extends Throwable> V await(final CompletableFuture<V> flight) throws E {
+    try {
+      return flight.join();
+    } catch (final CompletionException e) {
+      final Throwable cause = e.getCause();
+
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+
+      // the call only throws E besides unchecked exceptions
+      throw (E) cause;
+    }
+  }
+
+  /**
+   * @param <V> result of the call
+   * @param <E> checked exception of the call
+   */
+  @FunctionalInterface
+  public interface Call<V, E extends Throwable> {
+
+    V call() throws E;
+
+  }
+
+}
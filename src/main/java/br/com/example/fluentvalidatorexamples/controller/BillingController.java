@@ -2,14 +2,22 @@ package br.com.example.fluentvalidatorexamples.controller;
 
 import br.com.example.fluentvalidatorexamples.business.BillingBusiness;
 import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.BillingMergePatch;
 import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException;
 import br.com.example.fluentvalidatorexamples.exception.BillingValidationException;
+import br.com.example.fluentvalidatorexamples.exception.IdempotencyKeyReusedException;
+import br.com.example.fluentvalidatorexamples.idempotency.IdempotencyStore;
+import br.com.example.fluentvalidatorexamples.json.BillingJson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -18,15 +26,29 @@ public class BillingController {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(BillingController.class);
 
+  private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+  static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
   @Autowired
   private BillingBusiness billingBusiness;
 
+  /**
+   * Retries sent with the Idempotency-Key of a previous request get the billing it
+   * created, and no other billing is created; a key sent again along with another
+   * billing is refused
+   */
   @PostMapping("/billing")
-  public ResponseEntity<Object> create(@RequestBody final Billing billing) {
+  public ResponseEntity<Object> create(@RequestBody final Billing billing,
+                                       @RequestHeader(value = IDEMPOTENCY_KEY, required = false) final String idempotencyKey) {
+    if (isInvalid(idempotencyKey)) {
+      return ResponseEntity.badRequest().build();
+    }
+
     try {
       LOGGER.info("creating billing with data: " + billing.toString());
 
-      final Billing savedBilling = billingBusiness.save(billing);
+      final Billing savedBilling = billingBusiness.save(billing, idempotencyKey);
 
       LOGGER.info("billing created successfully with data: " + savedBilling.toString());
 
@@ -38,30 +60,70 @@ public class BillingController {
       return ResponseEntity
         .unprocessableEntity()
         .body(e.getValidationResult().getErrors());
+
+    } catch (final IdempotencyKeyReusedException e) {
+      return reused(idempotencyKey);
     }
   }
 
+  /**
+   * Conditional on If-None-Match: when the collection did not change since the tag
+   * the client holds, 304 is returned without fetching or serializing any billing
+   */
   @GetMapping("/billing")
-  public ResponseEntity<Object> findAllBillings() {
+  public ResponseEntity<Object> findAllBillings(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
     LOGGER.info("searching for all billings");
 
+    // the version is read before the billings, so it is never newer than them
+    final String etag = ETags.of(billingBusiness.findAllBillingsVersion());
+
+    if (ETags.matches(ifNoneMatch, etag)) {
+      LOGGER.info("list of billing not modified");
+
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
     final Set<Billing> billings = billingBusiness.findAllBillings();
 
     LOGGER.info("list of billing fetched with size: " + billings.size());
 
-    return ResponseEntity.ok(billings);
+    return ok(etag).body(billings);
   }
 
+  /**
+   * Conditional on If-None-Match: when the billing did not change since the tag
+   * the client holds, 304 is returned without fetching or serializing it
+   *
+   * otherwise the body is written straight from the cached JSON of the billing,
+   * gzipped whenever the client accepts it
+   */
   @GetMapping("/billing/{billingId}")
-  public ResponseEntity<Object> findBilling(@PathVariable final String billingId) {
+  public ResponseEntity<Object> findBilling(@PathVariable final String billingId,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
     try {
       LOGGER.info("searching for billing with id '" + billingId + "'");
 
-      final Billing billing = billingBusiness.findBillingById(UUID.fromString(billingId));
+      final UUID id = UUID.fromString(billingId);
+      final boolean gzip = ContentCodings.acceptsGzip(acceptEncoding);
+      // the version is read before the billing, so it is never newer than it
+      final String etag = ETags.of(billingBusiness.findBillingVersionById(id));
+
+      if (ETags.matches(ifNoneMatch, etag)) {
+        LOGGER.info("billing not modified");
+
+        // the same tag and Vary the 200 would carry, so caches keep the gzipped and plain bodies apart
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(encoded(etag, gzip))
+          .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+          .build();
+      }
+
+      final BillingJson billingJson = billingBusiness.findBillingJsonById(id);
 
       LOGGER.info("billing found");
 
-      return ResponseEntity.ok(billing);
+      return written(billingJson, gzip);
 
     } catch (final BillingNotFoundException e) {
       LOGGER.error("billing with id '" + billingId + "' not found");
@@ -101,6 +163,37 @@ public class BillingController {
     }
   }
 
+  /**
+   * Partial update: only the fields present on the JSON merge patch are changed,
+   * and only their rules are validated again
+   */
+  @PatchMapping(value = "/billing/{billingId}", consumes = MERGE_PATCH_JSON)
+  public ResponseEntity<Object> patch(@PathVariable final String billingId, @RequestBody final BillingMergePatch patch) {
+    try {
+      LOGGER.info("patching billing with id '" + billingId + "'");
+
+      final Billing savedBilling = billingBusiness.patch(UUID.fromString(billingId), patch::applyTo);
+
+      LOGGER.info("billing patched successfully with data: " + savedBilling.toString());
+
+      return ResponseEntity.ok(savedBilling);
+
+    } catch (final BillingValidationException e) {
+      LOGGER.error("billing could not be patched due to validation problems");
+
+      return ResponseEntity
+        .unprocessableEntity()
+        .body(e.getValidationResult().getErrors());
+
+    } catch (final BillingNotFoundException e) {
+      LOGGER.error("billing with id '" + billingId + "' not found");
+
+      return ResponseEntity
+        .notFound()
+        .build();
+    }
+  }
+
   @DeleteMapping("/billing/{billingId}")
   public ResponseEntity<Object> delete(@PathVariable final String billingId) {
     try {
@@ -122,4 +215,61 @@ public class BillingController {
 
   }
 
+  /**
+   * @param billingJson
+   * @param gzip whether to write the gzipped JSON, tagged weak as the bytes differ from the plain ones
+   */
+  private static ResponseEntity<Object> written(final BillingJson billingJson, final boolean gzip) {
+    final ResponseEntity.BodyBuilder builder = ok(encoded(ETags.of(billingJson.getVersion()), gzip))
+      .contentType(MediaType.APPLICATION_JSON)
+      .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    if (gzip) {
+      return builder
+        .header(HttpHeaders.CONTENT_ENCODING, ContentCodings.GZIP)
+        .body(billingJson.getGzip());
+    }
+
+    return builder.body(billingJson.getJson());
+  }
+
+  /**
+   * @param etag null when the resource has no version
+   * @param gzip whether the body is gzipped
+   * @return the tag of the body written, weak when gzipped as the bytes differ from the plain ones
+   */
+  private static String encoded(final String etag, final boolean gzip) {
+    return gzip && Objects.nonNull(etag) ? ETags.weak(etag) : etag;
+  }
+
+  /**
+   * @param etag null when the resource has no version, as when it was stored from elsewhere
+   */
+  private static ResponseEntity.BodyBuilder ok(final String etag) {
+    final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+
+    return Objects.isNull(etag) ? builder : builder.eTag(etag);
+  }
+
+  /**
+   * @param idempotencyKey null when the client sent none, which is valid
+   */
+  private static boolean isInvalid(final String idempotencyKey) {
+    if (Objects.isNull(idempotencyKey) || IdempotencyStore.isValid(idempotencyKey)) {
+      return false;
+    }
+
+    LOGGER.error("billing could not be create due to an invalid " + IDEMPOTENCY_KEY + " header");
+
+    return true;
+  }
+
+  private static ResponseEntity<Object> reused(final String idempotencyKey) {
+    LOGGER.error("billing could not be create since " + IDEMPOTENCY_KEY + " '" + idempotencyKey + "' was already used for another billing");
+
+    return ResponseEntity
+      .unprocessableEntity()
+      .build();
+  }
+
 }
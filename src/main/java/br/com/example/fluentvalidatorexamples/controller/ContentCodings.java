@@ -0,0 +1,53 @@
+package br.com.example.fluentvalidatorexamples.controller;
+
+import java.util.Objects;
+
+/**
+ * Content codings of the responses, as negotiated through Accept-Encoding
+ */
+final class ContentCodings {
+
+  static final String GZIP = "gzip";
+
+  private static final String QUALITY = "q=";
+
+  private ContentCodings() {
+  }
+
+  /**
+   * @param acceptEncoding value of the Accept-Encoding header, possibly with quality values
+   * @return whether gzip is acceptable, which is only when it is listed with a quality above zero
+   */
+  static boolean acceptsGzip(final String acceptEncoding) {
+    if (Objects.isNull(acceptEncoding)) {
+      return false;
+    }
+
+    for (final String coding : acceptEncoding.split(",")) {
+      final String[] parameters = coding.split(";");
+
+      if (GZIP.equalsIgnoreCase(parameters[0].trim())) {
+        return quality(parameters) > 0;
+      }
+    }
+
+    return false;
+  }
+
+  private static double quality(final String[] parameters) {
+    for (int i = 1; i < parameters.length; i++) {
+      final String parameter = parameters[i].trim();
+
+      if (parameter.startsWith(QUALITY)) {
+        try {
+          return Double.parseDouble(parameter.substring(QUALITY.length()));
+        } catch (final NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+
+    return 1;
+  }
+
+}
@@ -0,0 +1,62 @@
+package br.com.example.fluentvalidatorexamples.controller;
+
+import java.util.Objects;
+
+/**
+ * Entity tags of the billing resources, built from the versions kept by the repository
+ *
+ * the tags are strong, as a version always stands for the very same body; If-None-Match
+ * is still compared the weak way, as RFC 7232 asks for, so W/ tags sent back match too
+ */
+final class ETags {
+
+  private static final String ANY = "*";
+
+  private static final String WEAK_PREFIX = "W/";
+
+  private ETags() {
+  }
+
+  /**
+   * @param version
+   * @return the quoted entity tag of the version, or null when there is no version
+   */
+  static String of(final String version) {
+    return Objects.isNull(version) ? null : "\"" + version + "\"";
+  }
+
+  /**
+   * @param etag a strong entity tag
+   * @return the weak form of the tag, for representations which are only equivalent to the tagged one, such as compressed ones
+   */
+  static String weak(final String etag) {
+    return WEAK_PREFIX + etag;
+  }
+
+  /**
+   * @param ifNoneMatch value of the If-None-Match header, possibly a list of tags
+   * @param etag the current entity tag, null when the resource does not exist
+   * @return whether the client already holds the current representation
+   */
+  static boolean matches(final String ifNoneMatch, final String etag) {
+    if (Objects.isNull(ifNoneMatch) || Objects.isNull(etag)) {
+      return false;
+    }
+
+    if (ANY.equals(ifNoneMatch.trim())) {
+      return true;
+    }
+
+    for (final String tag : ifNoneMatch.split(",")) {
+      final String trimmed = tag.trim();
+      final String opaque = trimmed.startsWith(WEAK_PREFIX) ? trimmed.substring(WEAK_PREFIX.length()) : trimmed;
+
+      if (etag.equals(opaque)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+}
@@ -0,0 +1,176 @@
+package br.com.example.fluentvalidatorexamples.date;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Primitive representation of dates as an int number of days since 1970-01-01
+ *
+ * a date is only represented when its epoch day fits on an int, which holds
+ * every date of about 5 million years around 1970. Any other date, as well as
+ * null, is mapped to NOT_A_DAY, and callers must then fall back to the
+ * LocalDate comparison, so the outcome is always the same as compareTo
+ *
+ * month arithmetic follows LocalDate#plusMonths exactly: the day of month is
+ * kept, and clamped to the last day of the resulting month when it has fewer days
+ */
+public final class EpochDays {
+
+  /**
+   * marker for dates that can not be represented as an int epoch day
+   */
+  public static final int NOT_A_DAY = Integer.MIN_VALUE;
+
+  /**
+   * days from 0000-03-01 to 1970-01-01, on the proleptic gregorian calendar
+   */
+  private static final long DAYS_0000_TO_1970 = 719_468L;
+
+  private static final int DAYS_PER_CYCLE = 146_097;
+
+  private static volatile Today today = Today.now();
+
+  private EpochDays() {
+  }
+
+  /**
+   * Converts a date to its epoch day
+   *
+   * @param date
+   * @return the epoch day, or NOT_A_DAY whenever the date is null or can not be represented on an int
+   */
+  public static int of(final LocalDate date) {
+    if (Objects.isNull(date)) {
+      return NOT_A_DAY;
+    }
+
+    return narrow(date.toEpochDay());
+  }
+
+  public static boolean isDay(final int epochDay) {
+    return epochDay != NOT_A_DAY;
+  }
+
+  /**
+   * Compares two dates by their epoch days whenever both are represented, by LocalDate#compareTo otherwise
+   *
+   * @param epochDay
+   * @param date neither null
+   * @param otherEpochDay
+   * @param other
+   * @return negative, zero or positive as date is before, equal or after the other one
+   */
+  public static int compare(final int epochDay, final LocalDate date, final int otherEpochDay, final LocalDate other) {
+    if (isDay(epochDay) && isDay(otherEpochDay)) {
+      return Integer.compare(epochDay, otherEpochDay);
+    }
+
+    return date.compareTo(other);
+  }
+
+  /**
+   * Adds months to an epoch day with the very same result of LocalDate#plusMonths, without building any LocalDate
+   *
+   * @param epochDay
+   * @param months
+   * @return the resulting epoch day, or NOT_A_DAY whenever the given one is not a day or the result can not be represented
+   */
+  public static int plusMonths(final int epochDay, final int months) {
+    if (!isDay(epochDay)) {
+      return NOT_A_DAY;
+    }
+
+    // civil date of the epoch day, on years starting on March so that leap days come last
+    final long shifted = epochDay + DAYS_0000_TO_1970;
+    final long era = Math.floorDiv(shifted, DAYS_PER_CYCLE);
+    final long dayOfEra = shifted - era * DAYS_PER_CYCLE;
+    final long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+    final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    final long marchMonth = (5 * dayOfYear + 2) / 153;
+    final int day = (int) (dayOfYear - (153 * marchMonth + 2) / 5 + 1);
+    final int month = (int) (marchMonth < 10 ? marchMonth + 3 : marchMonth - 9);
+    final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+    final long monthCount = year * 12 + (month - 1) + months;
+    final long resultYear = Math.floorDiv(monthCount, 12);
+    final int resultMonth = (int) Math.floorMod(monthCount, 12) + 1;
+
+    return narrow(toEpochDay(resultYear, resultMonth, Math.min(day, lengthOfMonth(resultYear, resultMonth))));
+  }
+
+  /**
+   * Epoch day of the current date on the default time zone
+   * it is only worked out again once the day is over, rather than on each call
+   *
+   * @return
+   */
+  public static int today() {
+    final long now = System.currentTimeMillis();
+    Today current = today;
+
+    if (now < current.from || now >= current.until) {
+      current = Today.now();
+      today = current;
+    }
+
+    return current.epochDay;
+  }
+
+  private static long toEpochDay(final long year, final int month, final int day) {
+    final long marchYear = month <= 2 ? year - 1 : year;
+    final long era = Math.floorDiv(marchYear, 400);
+    final long yearOfEra = marchYear - era * 400;
+    final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+    return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+  }
+
+  private static int lengthOfMonth(final long year, final int month) {
+    switch (month) {
+      case 2:
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  private static int narrow(final long epochDay) {
+    return epochDay > NOT_A_DAY && epochDay <= Integer.MAX_VALUE ? (int) epochDay : NOT_A_DAY;
+  }
+
+  /**
+   * current epoch day, with the span of milliseconds it lasts for
+   */
+  private static final class Today {
+
+    private final int epochDay;
+
+    private final long from;
+
+    private final long until;
+
+    private Today(final int epochDay, final long from, final long until) {
+      this.epochDay = epochDay;
+      this.from = from;
+      this.until = until;
+    }
+
+    private static Today now() {
+      final ZoneId zone = ZoneId.systemDefault();
+      final LocalDate date = LocalDate.now(zone);
+
+      return new Today((int) date.toEpochDay(),
+        date.atStartOfDay(zone).toInstant().toEpochMilli(),
+        date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+    }
+
+  }
+
+}
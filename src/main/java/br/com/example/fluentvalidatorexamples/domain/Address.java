@@ -1,10 +1,12 @@
 package br.com.example.fluentvalidatorexamples.domain;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
+@EqualsAndHashCode
 public class Address {
 
   private String addressLine1;
@@ -1,5 +1,9 @@
 package br.com.example.fluentvalidatorexamples.domain;
 
+import br.com.example.fluentvalidatorexamples.date.EpochDays;
+import br.com.example.fluentvalidatorexamples.money.Cents;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -22,16 +26,108 @@ public class Billing {
 
   private BigDecimal balance;
 
+  /**
+   * cents view of the balance, computed on its first read and dropped by its setter
+   */
+  @JsonIgnore
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private long balanceCents;
+
+  @JsonIgnore
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean balanceCentsComputed;
+
   private LocalDate dueDate;
 
+  /**
+   * epoch day view of the due date, kept in sync by its setter
+   */
+  @JsonIgnore
+  @ToString.Exclude
+  @Setter(AccessLevel.NONE)
+  private int dueDateEpochDay = EpochDays.NOT_A_DAY;
+
   private Boolean acceptPastPayment;
 
   private LocalDate expirationDate;
 
+  /**
+   * epoch day view of the expiration date, kept in sync by its setter
+   */
+  @JsonIgnore
+  @ToString.Exclude
+  @Setter(AccessLevel.NONE)
+  private int expirationDateEpochDay = EpochDays.NOT_A_DAY;
+
   private Boolean applyFineForPastPayment;
 
   private BigDecimal fineAmount;
 
+  /**
+   * cents view of the fine amount, computed on its first read and dropped by its setter
+   */
+  @JsonIgnore
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private long fineAmountCents;
+
+  @JsonIgnore
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean fineAmountCentsComputed;
+
   private List<String> additionalInfo;
 
+  public void setBalance(final BigDecimal balance) {
+    this.balance = balance;
+    this.balanceCentsComputed = false;
+  }
+
+  public void setDueDate(final LocalDate dueDate) {
+    this.dueDate = dueDate;
+    this.dueDateEpochDay = EpochDays.of(dueDate);
+  }
+
+  public void setExpirationDate(final LocalDate expirationDate) {
+    this.expirationDate = expirationDate;
+    this.expirationDateEpochDay = EpochDays.of(expirationDate);
+  }
+
+  public void setFineAmount(final BigDecimal fineAmount) {
+    this.fineAmount = fineAmount;
+    this.fineAmountCentsComputed = false;
+  }
+
+  /**
+   * @return the balance in cents, or Cents.NOT_EXACT whenever it is null or can not be represented exactly
+   */
+  @JsonIgnore
+  public long getBalanceCents() {
+    if (!balanceCentsComputed) {
+      balanceCents = Cents.of(balance);
+      balanceCentsComputed = true;
+    }
+
+    return balanceCents;
+  }
+
+  /**
+   * @return the fine amount in cents, or Cents.NOT_EXACT whenever it is null or can not be represented exactly
+   */
+  @JsonIgnore
+  public long getFineAmountCents() {
+    if (!fineAmountCentsComputed) {
+      fineAmountCents = Cents.of(fineAmount);
+      fineAmountCentsComputed = true;
+    }
+
+    return fineAmountCents;
+  }
+
 }
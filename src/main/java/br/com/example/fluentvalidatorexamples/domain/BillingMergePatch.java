@@ -0,0 +1,56 @@
+package br.com.example.fluentvalidatorexamples.domain;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JSON merge patch of a billing, as the changes it makes to each field
+ *
+ * the patch is applied to a copy of the billing, so the given one is never
+ * changed; the payers, receivers and addresses the patch goes into are copied
+ * by its changes as well, everything else stays shared with the given billing
+ */
+public final class BillingMergePatch {
+
+  private final List<Consumer<Billing>> changes;
+
+  public BillingMergePatch(final List<Consumer<Billing>> changes) {
+    this.changes = Collections.unmodifiableList(changes);
+  }
+
+  /**
+   * @param billing left untouched
+   * @return a patched copy of the billing
+   */
+  public Billing applyTo(final Billing billing) {
+    final Billing patched = copyOf(billing);
+
+    for (final Consumer<Billing> change : changes) {
+      change.accept(patched);
+    }
+
+    return patched;
+  }
+
+  public boolean isEmpty() {
+    return changes.isEmpty();
+  }
+
+  private static Billing copyOf(final Billing billing) {
+    final Billing copy = new Billing();
+    copy.setId(billing.getId());
+    copy.setPayer(billing.getPayer());
+    copy.setReceiver(billing.getReceiver());
+    copy.setBalance(billing.getBalance());
+    copy.setDueDate(billing.getDueDate());
+    copy.setAcceptPastPayment(billing.getAcceptPastPayment());
+    copy.setExpirationDate(billing.getExpirationDate());
+    copy.setApplyFineForPastPayment(billing.getApplyFineForPastPayment());
+    copy.setFineAmount(billing.getFineAmount());
+    copy.setAdditionalInfo(billing.getAdditionalInfo());
+
+    return copy;
+  }
+
+}
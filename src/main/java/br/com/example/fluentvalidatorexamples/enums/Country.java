@@ -9,37 +9,91 @@ import java.util.Objects;
 @Getter
 public enum Country {
 
-  UNITED_STATES("us"),
-  MEXICO("mx"),
-  CANADA("ca"),
-  BRAZIL("br"),
-  IRELAND("ir"),
-  ENGLAND("en");
+  UNITED_STATES("us", "US"),
+  MEXICO("mx", "Mexico"),
+  CANADA("ca", "Canada"),
+  BRAZIL("br", "Brazil"),
+  IRELAND("ir", "Ireland"),
+  ENGLAND("en", "England");
 
-  private static final Map<String, Country> ENTRIES = new HashMap<>();
+  private static final int LETTERS = 26;
+
+  /**
+   * countries indexed by their two letter code, so a code is resolved
+   * with no hashing and no lower case copy of the input
+   */
+  private static final Country[] ENTRIES = new Country[LETTERS * LETTERS];
+
+  private static final String ALL_COUNTRIES;
 
   static {
+    final Map<String, Country> entries = new HashMap<>();
+
     for (final Country country : Country.values()) {
-      ENTRIES.put(country.code, country);
+      ENTRIES[indexOf(country.code)] = country;
+      entries.put(country.code, country);
     }
+
+    ALL_COUNTRIES = entries.keySet().stream().reduce((s, s2) -> s = s + "," + s2).orElse("");
   }
 
   private final String code;
 
-  Country(final String code) {
+  /**
+   * name of the country as shown on validation messages
+   */
+  private final String displayName;
+
+  Country(final String code, final String displayName) {
     this.code = code;
+    this.displayName = displayName;
   }
 
+  /**
+   * Resolves a country by its code, ignoring case
+   *
+   * @param country
+   * @return the country, or null whenever the code is unknown
+   */
   public static Country entryOf(final String country) {
-    return Objects.nonNull(country) ? ENTRIES.get(country.toLowerCase()) : null;
+    if (Objects.isNull(country) || country.length() != 2) {
+      return null;
+    }
+
+    final int index = indexOf(country);
+
+    return index < 0 ? null : ENTRIES[index];
   }
 
   public static boolean exists(final String country) {
-    return Objects.nonNull(country) && ENTRIES.containsKey(country);
+    return Objects.nonNull(entryOf(country));
   }
 
   public static String getAllCountries() {
-    return ENTRIES.keySet().stream().reduce((s, s2) -> s = s + "," + s2).orElse("");
+    return ALL_COUNTRIES;
+  }
+
+  /**
+   * @param code a two characters code
+   * @return the position of the code on the entries, or -1 whenever it is not made of two ASCII letters
+   */
+  private static int indexOf(final String code) {
+    final int first = letterOf(code.charAt(0));
+    final int second = letterOf(code.charAt(1));
+
+    return first < 0 || second < 0 ? -1 : first * LETTERS + second;
+  }
+
+  private static int letterOf(final char c) {
+    if (c >= 'a' && c <= 'z') {
+      return c - 'a';
+    }
+
+    if (c >= 'A' && c <= 'Z') {
+      return c - 'A';
+    }
+
+    return -1;
   }
 
 }
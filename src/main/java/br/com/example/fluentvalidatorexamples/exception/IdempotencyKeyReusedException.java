@@ -0,0 +1,10 @@
+package br.com.example.fluentvalidatorexamples.exception;
+
+/**
+ * An Idempotency-Key sent again along with another billing than the one it was first sent with
+ */
+public class IdempotencyKeyReusedException extends Throwable {
+
+  private static final long serialVersionUID = 4620195743318870261L;
+
+}
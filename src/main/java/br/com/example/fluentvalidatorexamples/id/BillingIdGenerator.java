@@ -0,0 +1,34 @@
+package br.com.example.fluentvalidatorexamples.id;
+
+import java.util.UUID;
+
+/**
+ * Source of the ids given to the billings on save
+ *
+ * implementations must be safe to call from any number of threads at once
+ */
+public interface BillingIdGenerator {
+
+  String TIME_ORDERED = "time-ordered";
+
+  String RANDOM = "random";
+
+  UUID next();
+
+  /**
+   * @param name time-ordered or random
+   * @return the generator of the given name
+   * @throws IllegalArgumentException whenever the name is unknown
+   */
+  static BillingIdGenerator of(final String name) {
+    switch (name.trim().toLowerCase()) {
+      case TIME_ORDERED:
+        return new TimeOrderedIdGenerator();
+      case RANDOM:
+        return new RandomIdGenerator();
+      default:
+        throw new IllegalArgumentException("unknown billing id generator: " + name.trim());
+    }
+  }
+
+}
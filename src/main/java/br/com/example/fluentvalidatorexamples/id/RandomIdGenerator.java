@@ -0,0 +1,15 @@
+package br.com.example.fluentvalidatorexamples.id;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) ids, drawn from the SecureRandom shared by UUID#randomUUID
+ */
+public final class RandomIdGenerator implements BillingIdGenerator {
+
+  @Override
+  public UUID next() {
+    return UUID.randomUUID();
+  }
+
+}
@@ -0,0 +1,107 @@
+package br.com.example.fluentvalidatorexamples.id;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered (version 7) ids: 48 bits of unix milliseconds, the version,
+ * a 12 bit counter, the variant and 62 random bits
+ *
+ * every thread keeps its own last millisecond and counter, and its own SecureRandom,
+ * so no lock nor shared state is ever touched. The random bits are unpredictable, as
+ * they are in version 4 ids: each thread draws them from a buffer it refills from its
+ * SecureRandom a few hundred bytes at a time, rather than calling it for each id. The
+ * counter starts at a random value below 2048 on each new millisecond and is
+ * incremented for the ids of the same one, so the ids of a thread are strictly
+ * increasing; once it overflows, or when the clock goes backwards, the thread
+ * borrows the next millisecond instead. Ids of different threads are ordered
+ * by their millisecond and told apart by the random bits
+ *
+ * UUID#compareTo compares the most significant bits first, and for the next few
+ * thousand years their sign bit is clear, so the natural order of the ids is
+ * the order they were generated in
+ */
+public final class TimeOrderedIdGenerator implements BillingIdGenerator {
+
+  private static final int VERSION = 0x7000;
+
+  private static final int MAX_COUNTER = 0xFFF;
+
+  private static final int COUNTER_SEED_BOUND = 0x800;
+
+  private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+  private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+  /**
+   * random bytes drawn from the SecureRandom at once, enough for a few dozen ids
+   */
+  private static final int RANDOM_BUFFER_BYTES = 512;
+
+  private final LongSupplier clock;
+
+  private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+  public TimeOrderedIdGenerator() {
+    this(System::currentTimeMillis);
+  }
+
+  TimeOrderedIdGenerator(final LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public UUID next() {
+    final State current = state.get();
+    final long now = clock.getAsLong();
+
+    if (now > current.millis) {
+      current.millis = now;
+      current.counter = current.nextCounterSeed();
+    } else if (current.counter < MAX_COUNTER) {
+      current.counter++;
+    } else {
+      current.millis++;
+      current.counter = current.nextCounterSeed();
+    }
+
+    final long mostSigBits = ((current.millis & 0xFFFF_FFFF_FFFFL) << 16) | VERSION | current.counter;
+    final long leastSigBits = VARIANT | (current.nextRandom() & RANDOM_MASK);
+
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  /**
+   * last millisecond, counter and random bits of a thread
+   */
+  private static final class State {
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final ByteBuffer randomBytes = ByteBuffer.allocate(RANDOM_BUFFER_BYTES).position(RANDOM_BUFFER_BYTES);
+
+    private long millis = Long.MIN_VALUE;
+
+    private int counter;
+
+    private long nextRandom() {
+      if (randomBytes.remaining() < Long.BYTES) {
+        random.nextBytes(randomBytes.array());
+        randomBytes.clear();
+      }
+
+      return randomBytes.getLong();
+    }
+
+    /**
+     * @return a counter below COUNTER_SEED_BOUND, which is a power of two
+     */
+    private int nextCounterSeed() {
+      return (int) (nextRandom() & (COUNTER_SEED_BOUND - 1));
+    }
+
+  }
+
+}
@@ -0,0 +1,227 @@
+package br.com.example.fluentvalidatorexamples.idempotency;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.exception.IdempotencyKeyReusedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Billings created under an Idempotency-Key, so a retried request gets the billing
+ * created by the original one instead of creating another
+ *
+ * keys are kept as 128 bits: keys written as uuids are parsed, any other key is
+ * replaced by the first 128 bits of its SHA-256, so every key takes the same few bytes
+ *
+ * each key also keeps the fingerprint of the billing sent under it, the first 128 bits
+ * of the SHA-256 of its JSON, so a key sent again along with another billing is told
+ * apart from a retry
+ *
+ * every key expires once the TTL is over; as all keys share the same TTL, they expire
+ * in the order they were added, and a queue in that order is enough to drop the expired
+ * ones, and the oldest ones whenever the store holds more than its maximum of keys
+ */
+@Component
+public class IdempotencyStore {
+
+  public static final int DEFAULT_MAX_KEYS = 100_000;
+
+  public static final long DEFAULT_TTL_MINUTES = 24 * 60;
+
+  /**
+   * longest key accepted, as the header is sent by clients
+   */
+  public static final int MAX_KEY_LENGTH = 255;
+
+  private static final int UUID_LENGTH = 36;
+
+  private final ObjectMapper mapper;
+
+  private final int maxKeys;
+
+  private final long ttlNanos;
+
+  private final LongSupplier clock;
+
+  private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+  private final Queue<Entry> expirations = new ConcurrentLinkedQueue<>();
+
+  public IdempotencyStore(final ObjectMapper mapper) {
+    this(mapper, DEFAULT_MAX_KEYS, DEFAULT_TTL_MINUTES);
+  }
+
+  /**
+   * @param mapper
+   * @param maxKeys how many keys are kept at most
+   * @param ttlMinutes how long a key is kept for
+   */
+  @Autowired
+  public IdempotencyStore(final ObjectMapper mapper,
+                          @Value("${billing.idempotency.max-keys:" + DEFAULT_MAX_KEYS + "}") final int maxKeys,
+                          @Value("${billing.idempotency.ttl-minutes:" + DEFAULT_TTL_MINUTES + "}") final long ttlMinutes) {
+    this(mapper, maxKeys, TimeUnit.MINUTES.toNanos(ttlMinutes), System::nanoTime);
+  }
+
+  IdempotencyStore(final ObjectMapper mapper, final int maxKeys, final long ttlNanos, final LongSupplier clock) {
+    if (maxKeys <= 0 || ttlNanos <= 0) {
+      throw new IllegalArgumentException("billing.idempotency.max-keys and billing.idempotency.ttl-minutes must be greater than zero");
+    }
+
+    this.mapper = mapper;
+    this.maxKeys = maxKeys;
+    this.ttlNanos = ttlNanos;
+    this.clock = clock;
+  }
+
+  /**
+   * @param key value of the Idempotency-Key header
+   * @return whether the key can be used, which is when it has from 1 to MAX_KEY_LENGTH characters, not all blank
+   */
+  public static boolean isValid(final String key) {
+    return Objects.nonNull(key) && key.length() <= MAX_KEY_LENGTH && !key.isBlank();
+  }
+
+  /**
+   * @param key a valid key
+   * @return the 128 bits the key is kept as
+   */
+  public static UUID compact(final String key) {
+    if (key.length() == UUID_LENGTH) {
+      try {
+        return UUID.fromString(key);
+      } catch (final IllegalArgumentException e) {
+        // not a uuid after all, so it is hashed as any other key
+      }
+    }
+
+    return digest(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param billing a billing as sent by the client, before it is saved
+   * @return the 128 bits telling the billing apart from any other, or null when there is no billing
+   */
+  public UUID fingerprint(final Billing billing) {
+    if (Objects.isNull(billing)) {
+      return null;
+    }
+
+    try {
+      return digest(mapper.writeValueAsBytes(billing));
+    } catch (final JsonProcessingException e) {
+      // billings are plain values, which are always written
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @param key
+   * @param fingerprint of the billing sent under the key this time
+   * @return the billing created under the key, or null when the key is unknown or expired
+   * @throws IdempotencyKeyReusedException when the key was sent along with another billing before
+   */
+  public Billing find(final UUID key, final UUID fingerprint) throws IdempotencyKeyReusedException {
+    final Entry entry = entries.get(key);
+
+    if (Objects.isNull(entry)) {
+      return null;
+    }
+
+    if (entry.isExpired(clock.getAsLong())) {
+      entries.remove(key, entry);
+
+      return null;
+    }
+
+    if (!Objects.equals(entry.fingerprint, fingerprint)) {
+      throw new IdempotencyKeyReusedException();
+    }
+
+    return entry.billing;
+  }
+
+  /**
+   * Keeps the billing created under a key, dropping the expired keys and, once full, the oldest ones
+   *
+   * @param key
+   * @param fingerprint of the billing sent under the key
+   * @param billing
+   */
+  public void put(final UUID key, final UUID fingerprint, final Billing billing) {
+    final long now = clock.getAsLong();
+    final Entry entry = new Entry(key, fingerprint, billing, now + ttlNanos);
+
+    entries.put(key, entry);
+    expirations.add(entry);
+
+    Entry oldest;
+
+    while (Objects.nonNull(oldest = expirations.peek()) && (oldest.isExpired(now) || entries.size() > maxKeys)) {
+      if (expirations.remove(oldest)) {
+        entries.remove(oldest.key, oldest);
+      }
+    }
+  }
+
+  /**
+   * @return how many keys are kept, some of which may have expired already
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  private static UUID digest(final byte[] bytes) {
+    final ByteBuffer digest = ByteBuffer.wrap(sha256().digest(bytes));
+
+    return new UUID(digest.getLong(), digest.getLong());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      // every java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static final class Entry {
+
+    private final UUID key;
+
+    private final UUID fingerprint;
+
+    private final Billing billing;
+
+    private final long expiresAt;
+
+    private Entry(final UUID key, final UUID fingerprint, final Billing billing, final long expiresAt) {
+      this.key = key;
+      this.fingerprint = fingerprint;
+      this.billing = billing;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired(final long now) {
+      return now - expiresAt >= 0;
+    }
+
+  }
+
+}
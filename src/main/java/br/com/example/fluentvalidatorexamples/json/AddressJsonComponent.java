@@ -0,0 +1,103 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import static br.com.example.fluentvalidatorexamples.json.JsonFields.*;
+
+@JsonComponent
+public class AddressJsonComponent {
+
+  public static class Serializer extends StdSerializer<Address> {
+
+    private static final long serialVersionUID = 4937625470134651792L;
+
+    private static final SerializedString ADDRESS_LINE1 = new SerializedString("addressLine1");
+    private static final SerializedString ADDRESS_LINE2 = new SerializedString("addressLine2");
+    private static final SerializedString CITY = new SerializedString("city");
+    private static final SerializedString STATE = new SerializedString("state");
+    private static final SerializedString COUNTRY = new SerializedString("country");
+    private static final SerializedString ZIPCODE = new SerializedString("zipcode");
+
+    public Serializer() {
+      super(Address.class);
+    }
+
+    @Override
+    public void serialize(final Address address, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+      gen.writeStartObject(address);
+      writeFields(address, gen);
+      gen.writeEndObject();
+    }
+
+    /**
+     * fields are written in the same order as declared in the domain class,
+     * which is the order the reflective serializer would use
+     */
+    static void writeFields(final Address address, final JsonGenerator gen) throws IOException {
+      writeString(gen, ADDRESS_LINE1, address.getAddressLine1());
+      writeString(gen, ADDRESS_LINE2, address.getAddressLine2());
+      writeString(gen, CITY, address.getCity());
+      writeString(gen, STATE, address.getState());
+      writeString(gen, COUNTRY, address.getCountry());
+      writeString(gen, ZIPCODE, address.getZipcode());
+    }
+
+  }
+
+  public static class Deserializer extends StdDeserializer<Address> {
+
+    private static final long serialVersionUID = -1739618204629512074L;
+
+    public Deserializer() {
+      super(Address.class);
+    }
+
+    @Override
+    public Address deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+      final Address address = new Address();
+
+      for (JsonToken token = enterObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        final String field = p.getCurrentName();
+        p.nextToken();
+
+        switch (field) {
+          case "addressLine1":
+            address.setAddressLine1(readString(p, ctxt));
+            break;
+          case "addressLine2":
+            address.setAddressLine2(readString(p, ctxt));
+            break;
+          case "city":
+            address.setCity(readString(p, ctxt));
+            break;
+          case "state":
+            address.setState(readString(p, ctxt));
+            break;
+          case "country":
+            address.setCountry(readString(p, ctxt));
+            break;
+          case "zipcode":
+            address.setZipcode(readString(p, ctxt));
+            break;
+          default:
+            ctxt.handleUnknownProperty(p, this, Address.class, field);
+        }
+      }
+
+      return address;
+    }
+
+  }
+
+}
@@ -0,0 +1,64 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON encoding of one version of a billing, ready to be written as a response body
+ *
+ * the gzipped bytes are only compressed on the first request accepting them,
+ * and then kept along with the plain ones; neither array may be changed
+ */
+public final class BillingJson {
+
+  private final String version;
+
+  private final byte[] json;
+
+  private volatile byte[] gzip;
+
+  public BillingJson(final String version, final byte[] json) {
+    this.version = version;
+    this.json = json;
+  }
+
+  /**
+   * @return the version of the billing encoded, null when it had none
+   */
+  public String getVersion() {
+    return version;
+  }
+
+  public byte[] getJson() {
+    return json;
+  }
+
+  /**
+   * @return the JSON compressed as gzip; two threads asking at once may both compress it, to the same bytes
+   */
+  public byte[] getGzip() {
+    byte[] compressed = gzip;
+
+    if (compressed == null) {
+      compressed = compress(json);
+      gzip = compressed;
+    }
+
+    return compressed;
+  }
+
+  private static byte[] compress(final byte[] bytes) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 2 + 32);
+
+    try (final GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+      gzipOutput.write(bytes);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return output.toByteArray();
+  }
+
+}
@@ -0,0 +1,245 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the JSON encoding of billings, by id, so hot billings are
+ * written straight from bytes rather than encoded again on every request
+ *
+ * each encoding is kept along with the repository version of the billing it was made
+ * from, and is only ever returned for that very version; a billing changed or deleted
+ * meanwhile is therefore never served stale, even before its entry is evicted
+ *
+ * the entries are split by id into segments, each one a least recently used map
+ * with a lock of its own, so lookups of different billings seldom wait on each other;
+ * once a segment is full, its least recently used entry is evicted for each new one
+ */
+@Component
+public class BillingJsonCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+  private static final int MAX_SEGMENTS = 16;
+
+  /**
+   * fewest entries per segment, below which a single segment keeps the eviction order exact
+   */
+  private static final int MIN_SEGMENT_ENTRIES = 64;
+
+  private final ObjectMapper mapper;
+
+  private final int maxEntries;
+
+  private final Segment[] segments;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  public BillingJsonCache(final ObjectMapper mapper) {
+    this(mapper, DEFAULT_MAX_ENTRIES);
+  }
+
+  /**
+   * @param mapper
+   * @param maxEntries how many billings are kept encoded at most, 0 to keep none
+   */
+  @Autowired
+  public BillingJsonCache(final ObjectMapper mapper, @Value("${billing.json-cache.max-entries:" + DEFAULT_MAX_ENTRIES + "}") final int maxEntries) {
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("billing.json-cache.max-entries must not be negative");
+    }
+
+    this.mapper = mapper;
+    this.maxEntries = maxEntries;
+
+    final int segmentCount = Math.max(1, Integer.highestOneBit(Math.min(MAX_SEGMENTS, maxEntries / MIN_SEGMENT_ENTRIES)));
+    this.segments = new Segment[segmentCount];
+
+    for (int i = 0; i < segmentCount; i++) {
+      // the first segments take the remainder, so they add up to maxEntries
+      segments[i] = new Segment(maxEntries / segmentCount + (i < maxEntries % segmentCount ? 1 : 0));
+    }
+  }
+
+  /**
+   * @param id
+   * @param version the current version of the billing, null when it has none
+   * @return the encoding of that very version, or null when it is not cached
+   */
+  public BillingJson get(final UUID id, final String version) {
+    final BillingJson cached = Objects.isNull(version) ? null : segmentOf(id).get(id);
+
+    if (Objects.nonNull(cached) && version.equals(cached.getVersion())) {
+      hits.increment();
+
+      return cached;
+    }
+
+    misses.increment();
+
+    return null;
+  }
+
+  /**
+   * Encodes a billing, caching it whenever it has a version
+   *
+   * @param id
+   * @param version the version read before the billing was, so the encoding is never older than it
+   * @param billing
+   * @return the encoding
+   */
+  public BillingJson put(final UUID id, final String version, final Billing billing) {
+    final BillingJson json = new BillingJson(version, encode(billing));
+
+    if (Objects.isNull(version) || maxEntries == 0) {
+      return json;
+    }
+
+    segmentOf(id).put(id, json);
+
+    return json;
+  }
+
+  /**
+   * Drops the encoding of a billing, which is no longer the stored version
+   *
+   * @param id
+   */
+  public void invalidate(final UUID id) {
+    segmentOf(id).remove(id);
+  }
+
+  public Stats getStats() {
+    int size = 0;
+
+    for (final Segment segment : segments) {
+      size += segment.size();
+    }
+
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+  }
+
+  private Segment segmentOf(final UUID id) {
+    final int hash = id.hashCode();
+
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  private byte[] encode(final Billing billing) {
+    try {
+      return mapper.writeValueAsBytes(billing);
+    } catch (final JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * least recently used map of a share of the entries
+   */
+  private final class Segment {
+
+    private final Map<UUID, BillingJson> entries;
+
+    private Segment(final int capacity) {
+      this.entries = new LinkedHashMap<UUID, BillingJson>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, BillingJson> eldest) {
+          final boolean full = size() > capacity;
+
+          if (full) {
+            evictions.increment();
+          }
+
+          return full;
+        }
+
+      };
+    }
+
+    private synchronized BillingJson get(final UUID id) {
+      return entries.get(id);
+    }
+
+    private synchronized void put(final UUID id, final BillingJson json) {
+      entries.put(id, json);
+    }
+
+    private synchronized void remove(final UUID id) {
+      entries.remove(id);
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+
+  }
+
+  /**
+   * counters of the cache since it was created
+   */
+  public static final class Stats {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    private final int size;
+
+    private Stats(final long hits, final long misses, final long evictions, final int size) {
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+      this.size = size;
+    }
+
+    public long getHits() {
+      return hits;
+    }
+
+    public long getMisses() {
+      return misses;
+    }
+
+    public long getEvictions() {
+      return evictions;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    /**
+     * @return share of the lookups served from the cache, 0 when there was none
+     */
+    public double getHitRatio() {
+      final long lookups = hits + misses;
+
+      return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("hits=%d, misses=%d, evictions=%d, size=%d, hit ratio=%.4f", hits, misses, evictions, size, getHitRatio());
+    }
+
+  }
+
+}
@@ -0,0 +1,122 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import static br.com.example.fluentvalidatorexamples.json.JsonFields.*;
+
+/**
+ * Hand-written Jackson (de)serializers for Billing
+ *
+ * they replace the reflective bean introspection over the lombok accessors
+ * and are picked up automatically by spring boot through @JsonComponent
+ * the produced JSON must stay byte-for-byte equal to the reflective one
+ */
+@JsonComponent
+public class BillingJsonComponent {
+
+  public static class Serializer extends StdSerializer<Billing> {
+
+    private static final long serialVersionUID = 7012843316240986471L;
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString PAYER = new SerializedString("payer");
+    private static final SerializedString RECEIVER = new SerializedString("receiver");
+    private static final SerializedString BALANCE = new SerializedString("balance");
+    private static final SerializedString DUE_DATE = new SerializedString("dueDate");
+    private static final SerializedString ACCEPT_PAST_PAYMENT = new SerializedString("acceptPastPayment");
+    private static final SerializedString EXPIRATION_DATE = new SerializedString("expirationDate");
+    private static final SerializedString APPLY_FINE_FOR_PAST_PAYMENT = new SerializedString("applyFineForPastPayment");
+    private static final SerializedString FINE_AMOUNT = new SerializedString("fineAmount");
+    private static final SerializedString ADDITIONAL_INFO = new SerializedString("additionalInfo");
+
+    public Serializer() {
+      super(Billing.class);
+    }
+
+    @Override
+    public void serialize(final Billing billing, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+      gen.writeStartObject(billing);
+      writeUuid(gen, ID, billing.getId());
+      writePayer(gen, provider, PAYER, billing.getPayer());
+      writeReceiver(gen, provider, RECEIVER, billing.getReceiver());
+      writeDecimal(gen, BALANCE, billing.getBalance());
+      writeLocalDate(gen, provider, DUE_DATE, billing.getDueDate());
+      writeBoolean(gen, ACCEPT_PAST_PAYMENT, billing.getAcceptPastPayment());
+      writeLocalDate(gen, provider, EXPIRATION_DATE, billing.getExpirationDate());
+      writeBoolean(gen, APPLY_FINE_FOR_PAST_PAYMENT, billing.getApplyFineForPastPayment());
+      writeDecimal(gen, FINE_AMOUNT, billing.getFineAmount());
+      writeStringList(gen, ADDITIONAL_INFO, billing.getAdditionalInfo());
+      gen.writeEndObject();
+    }
+
+  }
+
+  public static class Deserializer extends StdDeserializer<Billing> {
+
+    private static final long serialVersionUID = -8451390267183954036L;
+
+    public Deserializer() {
+      super(Billing.class);
+    }
+
+    @Override
+    public Billing deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+      final Billing billing = new Billing();
+
+      for (JsonToken token = enterObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        final String field = p.getCurrentName();
+        p.nextToken();
+
+        switch (field) {
+          case "id":
+            billing.setId(readUuid(p, ctxt));
+            break;
+          case "payer":
+            billing.setPayer(readPayer(p, ctxt));
+            break;
+          case "receiver":
+            billing.setReceiver(readReceiver(p, ctxt));
+            break;
+          case "balance":
+            billing.setBalance(readDecimal(p, ctxt));
+            break;
+          case "dueDate":
+            billing.setDueDate(readLocalDate(p, ctxt));
+            break;
+          case "acceptPastPayment":
+            billing.setAcceptPastPayment(readBoolean(p, ctxt));
+            break;
+          case "expirationDate":
+            billing.setExpirationDate(readLocalDate(p, ctxt));
+            break;
+          case "applyFineForPastPayment":
+            billing.setApplyFineForPastPayment(readBoolean(p, ctxt));
+            break;
+          case "fineAmount":
+            billing.setFineAmount(readDecimal(p, ctxt));
+            break;
+          case "additionalInfo":
+            billing.setAdditionalInfo(readStringList(p, ctxt));
+            break;
+          default:
+            ctxt.handleUnknownProperty(p, this, Billing.class, field);
+        }
+      }
+
+      return billing;
+    }
+
+  }
+
+}
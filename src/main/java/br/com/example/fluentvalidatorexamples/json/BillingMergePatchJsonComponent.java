@@ -0,0 +1,303 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.BillingMergePatch;
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import static br.com.example.fluentvalidatorexamples.json.JsonFields.*;
+
+/**
+ * Reads JSON merge patches (RFC 7386) of billings
+ *
+ * each field present on the patch becomes a change: null removes the field, an
+ * object is merged into the payer, receiver or address in place, creating it
+ * whenever missing, and any other value replaces the field, additional info
+ * included. Values are read with the same readers as the billing deserializer,
+ * so they are coerced and refused the same way. The id is taken from the path,
+ * never from the patch
+ */
+@JsonComponent
+public class BillingMergePatchJsonComponent {
+
+  public static class Deserializer extends StdDeserializer<BillingMergePatch> {
+
+    private static final long serialVersionUID = 5384017726903415207L;
+
+    public Deserializer() {
+      super(BillingMergePatch.class);
+    }
+
+    @Override
+    public BillingMergePatch deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+      final List<Consumer<Billing>> changes = new ArrayList<>();
+
+      for (JsonToken token = enterObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        final String field = p.getCurrentName();
+        p.nextToken();
+
+        switch (field) {
+          case "id":
+            p.skipChildren();
+            break;
+          case "payer":
+            changes.add(readPayerChange(p, ctxt));
+            break;
+          case "receiver":
+            changes.add(readReceiverChange(p, ctxt));
+            break;
+          case "balance": {
+            final BigDecimal balance = readDecimal(p, ctxt);
+            changes.add(billing -> billing.setBalance(balance));
+            break;
+          }
+          case "dueDate": {
+            final LocalDate dueDate = readLocalDate(p, ctxt);
+            changes.add(billing -> billing.setDueDate(dueDate));
+            break;
+          }
+          case "acceptPastPayment": {
+            final Boolean acceptPastPayment = readBoolean(p, ctxt);
+            changes.add(billing -> billing.setAcceptPastPayment(acceptPastPayment));
+            break;
+          }
+          case "expirationDate": {
+            final LocalDate expirationDate = readLocalDate(p, ctxt);
+            changes.add(billing -> billing.setExpirationDate(expirationDate));
+            break;
+          }
+          case "applyFineForPastPayment": {
+            final Boolean applyFineForPastPayment = readBoolean(p, ctxt);
+            changes.add(billing -> billing.setApplyFineForPastPayment(applyFineForPastPayment));
+            break;
+          }
+          case "fineAmount": {
+            final BigDecimal fineAmount = readDecimal(p, ctxt);
+            changes.add(billing -> billing.setFineAmount(fineAmount));
+            break;
+          }
+          case "additionalInfo": {
+            final List<String> additionalInfo = readStringList(p, ctxt);
+            changes.add(billing -> billing.setAdditionalInfo(additionalInfo));
+            break;
+          }
+          default:
+            ctxt.handleUnknownProperty(p, this, Billing.class, field);
+        }
+      }
+
+      return new BillingMergePatch(changes);
+    }
+
+    private Consumer<Billing> readPayerChange(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        final Payer payer = readPayer(p, ctxt);
+        return billing -> billing.setPayer(payer);
+      }
+
+      final List<Consumer<Payer>> changes = new ArrayList<>();
+
+      for (JsonToken token = enterObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        final String field = p.getCurrentName();
+        p.nextToken();
+
+        switch (field) {
+          case "firstName": {
+            final String firstName = readString(p, ctxt);
+            changes.add(payer -> payer.setFirstName(firstName));
+            break;
+          }
+          case "lastName": {
+            final String lastName = readString(p, ctxt);
+            changes.add(payer -> payer.setLastName(lastName));
+            break;
+          }
+          case "birthday": {
+            final LocalDate birthday = readLocalDate(p, ctxt);
+            changes.add(payer -> payer.setBirthday(birthday));
+            break;
+          }
+          case "email": {
+            final String email = readString(p, ctxt);
+            changes.add(payer -> payer.setEmail(email));
+            break;
+          }
+          case "billingAddress": {
+            final UnaryOperator<Address> change = readAddressChange(p, ctxt);
+            changes.add(payer -> payer.setBillingAddress(change.apply(payer.getBillingAddress())));
+            break;
+          }
+          default:
+            ctxt.handleUnknownProperty(p, this, Payer.class, field);
+        }
+      }
+
+      return billing -> {
+        final Payer payer = Objects.isNull(billing.getPayer()) ? new Payer() : copyOf(billing.getPayer());
+        changes.forEach(change -> change.accept(payer));
+        billing.setPayer(payer);
+      };
+    }
+
+    private Consumer<Billing> readReceiverChange(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        final Receiver receiver = readReceiver(p, ctxt);
+        return billing -> billing.setReceiver(receiver);
+      }
+
+      final List<Consumer<Receiver>> changes = new ArrayList<>();
+
+      for (JsonToken token = enterObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        final String field = p.getCurrentName();
+        p.nextToken();
+
+        switch (field) {
+          case "firstName": {
+            final String firstName = readString(p, ctxt);
+            changes.add(receiver -> receiver.setFirstName(firstName));
+            break;
+          }
+          case "lastName": {
+            final String lastName = readString(p, ctxt);
+            changes.add(receiver -> receiver.setLastName(lastName));
+            break;
+          }
+          case "birthday": {
+            final LocalDate birthday = readLocalDate(p, ctxt);
+            changes.add(receiver -> receiver.setBirthday(birthday));
+            break;
+          }
+          case "email": {
+            final String email = readString(p, ctxt);
+            changes.add(receiver -> receiver.setEmail(email));
+            break;
+          }
+          case "address": {
+            final UnaryOperator<Address> change = readAddressChange(p, ctxt);
+            changes.add(receiver -> receiver.setAddress(change.apply(receiver.getAddress())));
+            break;
+          }
+          default:
+            ctxt.handleUnknownProperty(p, this, Receiver.class, field);
+        }
+      }
+
+      return billing -> {
+        final Receiver receiver = Objects.isNull(billing.getReceiver()) ? new Receiver() : copyOf(billing.getReceiver());
+        changes.forEach(change -> change.accept(receiver));
+        billing.setReceiver(receiver);
+      };
+    }
+
+    /**
+     * @return the change from the current address to the patched one
+     */
+    private UnaryOperator<Address> readAddressChange(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+      if (p.currentToken() != JsonToken.START_OBJECT) {
+        final Address address = readAddress(p, ctxt);
+        return current -> address;
+      }
+
+      final List<Consumer<Address>> changes = new ArrayList<>();
+
+      for (JsonToken token = enterObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        final String field = p.getCurrentName();
+        p.nextToken();
+
+        switch (field) {
+          case "addressLine1": {
+            final String addressLine1 = readString(p, ctxt);
+            changes.add(address -> address.setAddressLine1(addressLine1));
+            break;
+          }
+          case "addressLine2": {
+            final String addressLine2 = readString(p, ctxt);
+            changes.add(address -> address.setAddressLine2(addressLine2));
+            break;
+          }
+          case "city": {
+            final String city = readString(p, ctxt);
+            changes.add(address -> address.setCity(city));
+            break;
+          }
+          case "state": {
+            final String state = readString(p, ctxt);
+            changes.add(address -> address.setState(state));
+            break;
+          }
+          case "country": {
+            final String country = readString(p, ctxt);
+            changes.add(address -> address.setCountry(country));
+            break;
+          }
+          case "zipcode": {
+            final String zipcode = readString(p, ctxt);
+            changes.add(address -> address.setZipcode(zipcode));
+            break;
+          }
+          default:
+            ctxt.handleUnknownProperty(p, this, Address.class, field);
+        }
+      }
+
+      return current -> {
+        // stored billings are never changed in place, so the patched address is a copy
+        final Address address = Objects.isNull(current) ? new Address() : copyOf(current);
+        changes.forEach(change -> change.accept(address));
+
+        return address;
+      };
+    }
+
+  }
+
+  private static Payer copyOf(final Payer payer) {
+    final Payer copy = new Payer();
+    copy.setFirstName(payer.getFirstName());
+    copy.setLastName(payer.getLastName());
+    copy.setBirthday(payer.getBirthday());
+    copy.setEmail(payer.getEmail());
+    copy.setBillingAddress(payer.getBillingAddress());
+
+    return copy;
+  }
+
+  private static Receiver copyOf(final Receiver receiver) {
+    final Receiver copy = new Receiver();
+    copy.setFirstName(receiver.getFirstName());
+    copy.setLastName(receiver.getLastName());
+    copy.setBirthday(receiver.getBirthday());
+    copy.setEmail(receiver.getEmail());
+    copy.setAddress(receiver.getAddress());
+
+    return copy;
+  }
+
+  private static Address copyOf(final Address address) {
+    final Address copy = new Address();
+    copy.setAddressLine1(address.getAddressLine1());
+    copy.setAddressLine2(address.getAddressLine2());
+    copy.setCity(address.getCity());
+    copy.setState(address.getState());
+    copy.setCountry(address.getCountry());
+    copy.setZipcode(address.getZipcode());
+
+    return copy;
+  }
+
+}
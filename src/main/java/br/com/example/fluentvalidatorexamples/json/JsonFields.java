@@ -0,0 +1,349 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Read and write helpers shared by the hand-written (de)serializers
+ *
+ * field names are written from pre-encoded SerializableString constants, as
+ * the reflective bean serializer does, and every reader handles the expected token directly and falls back to the
+ * registered Jackson deserializer for anything else, so coercions and error
+ * messages stay the same as the reflective mapper
+ */
+final class JsonFields {
+
+  private static final int ISO_LOCAL_DATE_LENGTH = 10;
+  private static final int UUID_LENGTH = 36;
+
+  private static final AddressJsonComponent.Deserializer ADDRESS_DESERIALIZER = new AddressJsonComponent.Deserializer();
+  private static final PayerJsonComponent.Deserializer PAYER_DESERIALIZER = new PayerJsonComponent.Deserializer();
+  private static final ReceiverJsonComponent.Deserializer RECEIVER_DESERIALIZER = new ReceiverJsonComponent.Deserializer();
+
+  private JsonFields() {
+  }
+
+  static void writeString(final JsonGenerator gen, final SerializableString name, final String value) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(value)) {
+      gen.writeNull();
+    } else {
+      gen.writeString(value);
+    }
+  }
+
+  static void writeBoolean(final JsonGenerator gen, final SerializableString name, final Boolean value) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(value)) {
+      gen.writeNull();
+    } else {
+      gen.writeBoolean(value);
+    }
+  }
+
+  static void writeDecimal(final JsonGenerator gen, final SerializableString name, final BigDecimal value) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(value)) {
+      gen.writeNull();
+    } else {
+      gen.writeNumber(value);
+    }
+  }
+
+  static void writeUuid(final JsonGenerator gen, final SerializableString name, final UUID value) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(value)) {
+      gen.writeNull();
+    } else {
+      gen.writeString(value.toString());
+    }
+  }
+
+  static void writeLocalDate(final JsonGenerator gen, final SerializerProvider provider, final SerializableString name, final LocalDate value) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(value)) {
+      gen.writeNull();
+    } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+      // keep the array format of the java time module whenever timestamps are enabled
+      provider.defaultSerializeValue(value, gen);
+    } else {
+      gen.writeString(value.toString());
+    }
+  }
+
+  static void writeStringList(final JsonGenerator gen, final SerializableString name, final List<String> values) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(values)) {
+      gen.writeNull();
+      return;
+    }
+
+    gen.writeStartArray();
+    for (final String value : values) {
+      if (Objects.isNull(value)) {
+        gen.writeNull();
+      } else {
+        gen.writeString(value);
+      }
+    }
+    gen.writeEndArray();
+  }
+
+  static void writeAddress(final JsonGenerator gen, final SerializableString name, final Address address) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(address)) {
+      gen.writeNull();
+    } else {
+      gen.writeStartObject(address);
+      AddressJsonComponent.Serializer.writeFields(address, gen);
+      gen.writeEndObject();
+    }
+  }
+
+  static void writePayer(final JsonGenerator gen, final SerializerProvider provider, final SerializableString name, final Payer payer) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(payer)) {
+      gen.writeNull();
+    } else {
+      gen.writeStartObject(payer);
+      PayerJsonComponent.Serializer.writeFields(payer, gen, provider);
+      gen.writeEndObject();
+    }
+  }
+
+  static void writeReceiver(final JsonGenerator gen, final SerializerProvider provider, final SerializableString name, final Receiver receiver) throws IOException {
+    gen.writeFieldName(name);
+
+    if (Objects.isNull(receiver)) {
+      gen.writeNull();
+    } else {
+      gen.writeStartObject(receiver);
+      ReceiverJsonComponent.Serializer.writeFields(receiver, gen, provider);
+      gen.writeEndObject();
+    }
+  }
+
+  static String readString(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.VALUE_STRING) {
+      return p.getText();
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, String.class);
+  }
+
+  static Boolean readBoolean(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.VALUE_TRUE) {
+      return Boolean.TRUE;
+    }
+
+    if (token == JsonToken.VALUE_FALSE) {
+      return Boolean.FALSE;
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, Boolean.class);
+  }
+
+  static BigDecimal readDecimal(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+      return p.getDecimalValue();
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, BigDecimal.class);
+  }
+
+  static UUID readUuid(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.VALUE_STRING && p.getTextLength() == UUID_LENGTH) {
+      try {
+        return UUID.fromString(p.getText());
+      } catch (final IllegalArgumentException e) {
+        // let the uuid deserializer report the failure with its own message
+      }
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, UUID.class);
+  }
+
+  static LocalDate readLocalDate(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.VALUE_STRING && p.getTextLength() == ISO_LOCAL_DATE_LENGTH) {
+      final LocalDate date = parseIsoLocalDate(p.getTextCharacters(), p.getTextOffset());
+
+      if (Objects.nonNull(date)) {
+        return date;
+      }
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, LocalDate.class);
+  }
+
+  static List<String> readStringList(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    if (token != JsonToken.START_ARRAY) {
+      return ctxt.readValue(p, ctxt.getTypeFactory().constructCollectionType(List.class, String.class));
+    }
+
+    final List<String> values = new ArrayList<>();
+    while (p.nextToken() != JsonToken.END_ARRAY) {
+      values.add(readString(p, ctxt));
+    }
+
+    return values;
+  }
+
+  static Address readAddress(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.START_OBJECT) {
+      return ADDRESS_DESERIALIZER.deserialize(p, ctxt);
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, Address.class);
+  }
+
+  static Payer readPayer(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.START_OBJECT) {
+      return PAYER_DESERIALIZER.deserialize(p, ctxt);
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, Payer.class);
+  }
+
+  static Receiver readReceiver(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    if (token == JsonToken.START_OBJECT) {
+      return RECEIVER_DESERIALIZER.deserialize(p, ctxt);
+    }
+
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    return ctxt.readValue(p, Receiver.class);
+  }
+
+  /**
+   * Parses a 'yyyy-MM-dd' date straight from the parser buffer, without the
+   * DateTimeFormatter machinery
+   *
+   * @return the date, or null whenever the text is not a valid ISO local date
+   */
+  private static LocalDate parseIsoLocalDate(final char[] chars, final int offset) {
+    if (chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+      return null;
+    }
+
+    final int year = digits(chars, offset, 4);
+    final int month = digits(chars, offset + 5, 2);
+    final int day = digits(chars, offset + 8, 2);
+
+    if (year < 0 || month < 0 || day < 0) {
+      return null;
+    }
+
+    try {
+      return LocalDate.of(year, month, day);
+    } catch (final DateTimeException e) {
+      // let the java time module report the failure with its own message
+      return null;
+    }
+  }
+
+  private static int digits(final char[] chars, final int offset, final int length) {
+    int value = 0;
+
+    for (int i = offset; i < offset + length; i++) {
+      final char c = chars[i];
+
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+
+      value = value * 10 + (c - '0');
+    }
+
+    return value;
+  }
+
+  /**
+   * Moves the parser to the first field name of an object
+   *
+   * @param p
+   * @return the token the parser is positioned on
+   */
+  static JsonToken enterObject(final JsonParser p) throws IOException {
+    final JsonToken token = p.currentToken();
+
+    return token == JsonToken.START_OBJECT ? p.nextToken() : token;
+  }
+
+}
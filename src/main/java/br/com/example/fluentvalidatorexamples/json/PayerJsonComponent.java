@@ -0,0 +1,94 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import static br.com.example.fluentvalidatorexamples.json.JsonFields.*;
+
+@JsonComponent
+public class PayerJsonComponent {
+
+  public static class Serializer extends StdSerializer<Payer> {
+
+    private static final long serialVersionUID = -6352890461027341985L;
+
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString BIRTHDAY = new SerializedString("birthday");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString BILLING_ADDRESS = new SerializedString("billingAddress");
+
+    public Serializer() {
+      super(Payer.class);
+    }
+
+    @Override
+    public void serialize(final Payer payer, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+      gen.writeStartObject(payer);
+      writeFields(payer, gen, provider);
+      gen.writeEndObject();
+    }
+
+    static void writeFields(final Payer payer, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+      writeString(gen, FIRST_NAME, payer.getFirstName());
+      writeString(gen, LAST_NAME, payer.getLastName());
+      writeLocalDate(gen, provider, BIRTHDAY, payer.getBirthday());
+      writeString(gen, EMAIL, payer.getEmail());
+      writeAddress(gen, BILLING_ADDRESS, payer.getBillingAddress());
+    }
+
+  }
+
+  public static class Deserializer extends StdDeserializer<Payer> {
+
+    private static final long serialVersionUID = 2871436619028475103L;
+
+    public Deserializer() {
+      super(Payer.class);
+    }
+
+    @Override
+    public Payer deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+      final Payer payer = new Payer();
+
+      for (JsonToken token = enterObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        final String field = p.getCurrentName();
+        p.nextToken();
+
+        switch (field) {
+          case "firstName":
+            payer.setFirstName(readString(p, ctxt));
+            break;
+          case "lastName":
+            payer.setLastName(readString(p, ctxt));
+            break;
+          case "birthday":
+            payer.setBirthday(readLocalDate(p, ctxt));
+            break;
+          case "email":
+            payer.setEmail(readString(p, ctxt));
+            break;
+          case "billingAddress":
+            payer.setBillingAddress(readAddress(p, ctxt));
+            break;
+          default:
+            ctxt.handleUnknownProperty(p, this, Payer.class, field);
+        }
+      }
+
+      return payer;
+    }
+
+  }
+
+}
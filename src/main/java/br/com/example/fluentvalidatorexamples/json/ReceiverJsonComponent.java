@@ -0,0 +1,94 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import static br.com.example.fluentvalidatorexamples.json.JsonFields.*;
+
+@JsonComponent
+public class ReceiverJsonComponent {
+
+  public static class Serializer extends StdSerializer<Receiver> {
+
+    private static final long serialVersionUID = 5518207364916640329L;
+
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString BIRTHDAY = new SerializedString("birthday");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+
+    public Serializer() {
+      super(Receiver.class);
+    }
+
+    @Override
+    public void serialize(final Receiver receiver, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+      gen.writeStartObject(receiver);
+      writeFields(receiver, gen, provider);
+      gen.writeEndObject();
+    }
+
+    static void writeFields(final Receiver receiver, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+      writeString(gen, FIRST_NAME, receiver.getFirstName());
+      writeString(gen, LAST_NAME, receiver.getLastName());
+      writeLocalDate(gen, provider, BIRTHDAY, receiver.getBirthday());
+      writeString(gen, EMAIL, receiver.getEmail());
+      writeAddress(gen, ADDRESS, receiver.getAddress());
+    }
+
+  }
+
+  public static class Deserializer extends StdDeserializer<Receiver> {
+
+    private static final long serialVersionUID = -3104729685512968431L;
+
+    public Deserializer() {
+      super(Receiver.class);
+    }
+
+    @Override
+    public Receiver deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+      final Receiver receiver = new Receiver();
+
+      for (JsonToken token = enterObject(p); token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+        final String field = p.getCurrentName();
+        p.nextToken();
+
+        switch (field) {
+          case "firstName":
+            receiver.setFirstName(readString(p, ctxt));
+            break;
+          case "lastName":
+            receiver.setLastName(readString(p, ctxt));
+            break;
+          case "birthday":
+            receiver.setBirthday(readLocalDate(p, ctxt));
+            break;
+          case "email":
+            receiver.setEmail(readString(p, ctxt));
+            break;
+          case "address":
+            receiver.setAddress(readAddress(p, ctxt));
+            break;
+          default:
+            ctxt.handleUnknownProperty(p, this, Receiver.class, field);
+        }
+      }
+
+      return receiver;
+    }
+
+  }
+
+}
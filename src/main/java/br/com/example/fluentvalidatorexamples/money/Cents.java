@@ -0,0 +1,66 @@
+package br.com.example.fluentvalidatorexamples.money;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Fixed-point representation of money amounts as a long number of cents
+ *
+ * an amount is only represented when the conversion is exact, i.e. it has no
+ * more than two significant decimal places and fits on a long. Any other amount,
+ * as well as null, is mapped to NOT_EXACT, and callers must then fall back to
+ * the BigDecimal comparison, so the outcome is always the same as compareTo
+ */
+public final class Cents {
+
+  /**
+   * marker for amounts that can not be represented exactly in cents
+   */
+  public static final long NOT_EXACT = Long.MIN_VALUE;
+
+  private static final int CENTS_SCALE = 2;
+
+  private Cents() {
+  }
+
+  /**
+   * Converts an amount to cents
+   *
+   * @param amount
+   * @return the amount in cents, or NOT_EXACT whenever it is null or can not be represented exactly
+   */
+  public static long of(final BigDecimal amount) {
+    if (Objects.isNull(amount)) {
+      return NOT_EXACT;
+    }
+
+    try {
+      // longValueExact() refuses any remaining fraction as well as overflows
+      return amount.movePointRight(CENTS_SCALE).longValueExact();
+    } catch (final ArithmeticException e) {
+      return NOT_EXACT;
+    }
+  }
+
+  /**
+   * Converts an amount known to be exact, such as a constant, to cents
+   *
+   * @param amount
+   * @return the amount in cents
+   * @throws IllegalArgumentException whenever the amount can not be represented exactly
+   */
+  public static long ofExact(final BigDecimal amount) {
+    final long cents = of(amount);
+
+    if (cents == NOT_EXACT) {
+      throw new IllegalArgumentException("amount " + amount + " can not be represented in cents");
+    }
+
+    return cents;
+  }
+
+  public static boolean isExact(final long cents) {
+    return cents != NOT_EXACT;
+  }
+
+}
@@ -0,0 +1,130 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import br.com.example.fluentvalidatorexamples.enums.Country;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable snapshot of the countries accepted for a transaction
+ *
+ * the current snapshot is held on an atomic reference and replaced as a whole
+ * whenever the policy is reloaded, so validations never lock: each one reads
+ * whichever snapshot is current at that moment, and a snapshot is never changed
+ * after being published
+ */
+public final class AcceptedCountries {
+
+  public static final String DEFAULT_COUNTRIES = "us,ca,mx";
+
+  private static final AtomicReference<AcceptedCountries> CURRENT = new AtomicReference<>(parse(DEFAULT_COUNTRIES));
+
+  private final Set<Country> countries;
+
+  private final String message;
+
+  private AcceptedCountries(final List<Country> countries) {
+    this.countries = Collections.unmodifiableSet(EnumSet.copyOf(countries));
+    this.message = messageOf(countries);
+  }
+
+  /**
+   * Creates a snapshot with the given countries, keeping their order on the validation message
+   *
+   * @param countries
+   * @return the snapshot
+   * @throws IllegalArgumentException whenever no country is given
+   */
+  public static AcceptedCountries of(final Collection<Country> countries) {
+    if (Objects.isNull(countries) || countries.isEmpty()) {
+      throw new IllegalArgumentException("at least one accepted country must be provided");
+    }
+
+    return new AcceptedCountries(new ArrayList<>(new LinkedHashSet<>(countries)));
+  }
+
+  /**
+   * Creates a snapshot from comma separated country codes, such as "us,ca,mx"
+   *
+   * @param codes
+   * @return the snapshot
+   * @throws IllegalArgumentException whenever a code is unknown or no code is given
+   */
+  public static AcceptedCountries parse(final String codes) {
+    final List<Country> countries = new ArrayList<>();
+
+    if (Objects.nonNull(codes)) {
+      for (final String code : codes.split(",")) {
+        if (code.isBlank()) {
+          continue;
+        }
+
+        final Country country = Country.entryOf(code.trim());
+
+        if (Objects.isNull(country)) {
+          throw new IllegalArgumentException("unknown country code: " + code.trim());
+        }
+
+        countries.add(country);
+      }
+    }
+
+    return of(countries);
+  }
+
+  public static AcceptedCountries current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Publishes a new snapshot, seen by every validation started from now on
+   *
+   * @param acceptedCountries
+   * @return the snapshot replaced
+   */
+  public static AcceptedCountries replace(final AcceptedCountries acceptedCountries) {
+    return CURRENT.getAndSet(Objects.requireNonNull(acceptedCountries));
+  }
+
+  public boolean accepts(final String country) {
+    return countries.contains(Country.entryOf(country));
+  }
+
+  public Set<Country> getCountries() {
+    return countries;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * @return a message such as "only US, Canada and Mexico countries are allowed for this transaction"
+   */
+  private static String messageOf(final List<Country> countries) {
+    final StringBuilder names = new StringBuilder();
+
+    for (int i = 0; i < countries.size(); i++) {
+      if (i > 0) {
+        names.append(i == countries.size() - 1 ? " and " : ", ");
+      }
+
+      names.append(countries.get(i).getDisplayName());
+    }
+
+    return "only " + names + " countries are allowed for this transaction";
+  }
+
+  @Override
+  public String toString() {
+    return countries.toString();
+  }
+
+}
@@ -0,0 +1,74 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import br.com.example.fluentvalidatorexamples.validator.AddressValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Loads the accepted countries from application.properties and, whenever a policy
+ * file is configured, keeps watching it so changes apply without a restart
+ *
+ * the policy file is a properties file with the same billing.accepted-countries key
+ */
+@Component
+public class AcceptedCountriesLoader extends PolicyFileLoader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AcceptedCountriesLoader.class);
+
+  static final String ACCEPTED_COUNTRIES_KEY = "billing.accepted-countries";
+
+  private final String acceptedCountries;
+
+  public AcceptedCountriesLoader(
+    @Value("${" + ACCEPTED_COUNTRIES_KEY + ":" + AcceptedCountries.DEFAULT_COUNTRIES + "}") final String acceptedCountries,
+    @Value("${billing.accepted-countries-file:}") final String policyFile,
+    @Value("${billing.accepted-countries-poll-interval:5000}") final long pollInterval) {
+    super(policyFile, pollInterval);
+    this.acceptedCountries = acceptedCountries;
+  }
+
+  @PostConstruct
+  public void start() {
+    apply(AcceptedCountries.parse(acceptedCountries));
+    watch("accepted-countries-watcher");
+  }
+
+  @PreDestroy
+  @Override
+  public void stop() {
+    super.stop();
+  }
+
+  @Override
+  boolean apply(final Properties properties) {
+    final String codes = properties.getProperty(ACCEPTED_COUNTRIES_KEY);
+
+    if (Objects.isNull(codes)) {
+      LOGGER.warn("no " + ACCEPTED_COUNTRIES_KEY + " found on " + getPolicyFile() + ", keeping " + AcceptedCountries.current());
+      return false;
+    }
+
+    apply(AcceptedCountries.parse(codes));
+
+    return true;
+  }
+
+  private void apply(final AcceptedCountries acceptedCountries) {
+    final AcceptedCountries previous = AcceptedCountries.replace(acceptedCountries);
+
+    if (!previous.getMessage().equals(acceptedCountries.getMessage())) {
+      // frees the address results memoized with the previous countries
+      AddressValidator.invalidateCache();
+    }
+
+    LOGGER.info("accepted countries: " + acceptedCountries);
+  }
+
+}
@@ -0,0 +1,116 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base of the loaders keeping a policy up to date with a watched properties file
+ *
+ * the file is polled for a new modification time, and whenever it changed its
+ * properties are handed to the loader, which publishes a new immutable snapshot
+ */
+abstract class PolicyFileLoader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PolicyFileLoader.class);
+
+  private final Path policyFile;
+
+  private final long pollInterval;
+
+  private ScheduledExecutorService watcher;
+
+  private long lastModified;
+
+  PolicyFileLoader(final String policyFile, final long pollInterval) {
+    this.policyFile = policyFile.isBlank() ? null : Paths.get(policyFile);
+    this.pollInterval = pollInterval;
+  }
+
+  /**
+   * Applies the policy file, if any, and keeps watching it
+   *
+   * @param name of the watcher thread
+   */
+  void watch(final String name) {
+    if (Objects.isNull(policyFile)) {
+      return;
+    }
+
+    reload();
+
+    watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    watcher.scheduleWithFixedDelay(this::reload, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() {
+    if (Objects.nonNull(watcher)) {
+      watcher.shutdownNow();
+    }
+  }
+
+  /**
+   * Reads the policy file whenever it changed since the last read
+   * a missing, unreadable or invalid file keeps the current policy
+   * only reloads are serialized, validations keep reading the current snapshot meanwhile
+   *
+   * @return whether a new policy was applied
+   */
+  public synchronized boolean reload() {
+    if (Objects.isNull(policyFile)) {
+      return false;
+    }
+
+    try {
+      if (!Files.exists(policyFile)) {
+        return false;
+      }
+
+      final long modified = Files.getLastModifiedTime(policyFile).toMillis();
+
+      if (modified == lastModified) {
+        return false;
+      }
+
+      final Properties properties = new Properties();
+
+      try (final Reader reader = Files.newBufferedReader(policyFile)) {
+        properties.load(reader);
+      }
+
+      lastModified = modified;
+
+      return apply(properties);
+    } catch (final IOException | IllegalArgumentException e) {
+      LOGGER.error("unable to reload policy from " + policyFile + ", keeping the current one", e);
+      return false;
+    }
+  }
+
+  Path getPolicyFile() {
+    return policyFile;
+  }
+
+  /**
+   * @param properties read from the policy file
+   * @return whether a new policy was applied
+   * @throws IllegalArgumentException whenever the properties are invalid
+   */
+  abstract boolean apply(Properties properties);
+
+}
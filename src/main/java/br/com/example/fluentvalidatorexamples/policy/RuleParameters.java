@@ -0,0 +1,204 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import br.com.example.fluentvalidatorexamples.money.Cents;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned set of the business limits applied by the billing validators
+ *
+ * the messages depending on a limit are built once along with it, so every
+ * validator compiled with the same parameters reports the very same texts
+ */
+@Getter
+public final class RuleParameters {
+
+  public static final String PREFIX = "billing.rules.";
+
+  public static final RuleParameters DEFAULTS = new RuleParameters("default",
+    new BigDecimal("1.00"), new BigDecimal("999999.99"), new BigDecimal("0.01"), 18, 21, 12, 6, false);
+
+  private final String version;
+
+  private final BigDecimal minBalance;
+
+  private final BigDecimal maxBalance;
+
+  private final BigDecimal minimumFineAmount;
+
+  private final int minimumPayerAge;
+
+  private final int minimumReceiverAge;
+
+  /**
+   * how many months further the current date a due date may be set
+   */
+  private final int dueDateWindowMonths;
+
+  /**
+   * how many months past the due date an expiration date may be set
+   */
+  private final int expirationWindowMonths;
+
+  /**
+   * whether the rules run through the hand-written BillingCodeValidator, rather than the fluent rule tree
+   * off unless billing.rules.compiled is set, on the environment or on the rules file
+   */
+  private final boolean compiled;
+
+  private final String minBalanceMessage;
+
+  private final String maxBalanceMessage;
+
+  private final String minimumFineAmountMessage;
+
+  private final String minimumPayerAgeMessage;
+
+  private final String minimumReceiverAgeMessage;
+
+  private final String dueDateWindowMessage;
+
+  private final String expirationWindowMessage;
+
+  public RuleParameters(final String version, final BigDecimal minBalance, final BigDecimal maxBalance, final BigDecimal minimumFineAmount,
+                        final int minimumPayerAge, final int minimumReceiverAge, final int dueDateWindowMonths, final int expirationWindowMonths,
+                        final boolean compiled) {
+    if (Objects.isNull(version) || version.isBlank()) {
+      throw new IllegalArgumentException("rule parameters version not provided");
+    }
+
+    requireCents("min-balance", minBalance);
+    requireCents("max-balance", maxBalance);
+    requireCents("minimum-fine-amount", minimumFineAmount);
+
+    if (minBalance.compareTo(maxBalance) > 0) {
+      throw new IllegalArgumentException("min-balance must not be greater than max-balance");
+    }
+
+    requirePositive("minimum-payer-age", minimumPayerAge);
+    requirePositive("minimum-receiver-age", minimumReceiverAge);
+    requirePositive("due-date-window-months", dueDateWindowMonths);
+    requirePositive("expiration-window-months", expirationWindowMonths);
+
+    this.version = version;
+    this.minBalance = minBalance;
+    this.maxBalance = maxBalance;
+    this.minimumFineAmount = minimumFineAmount;
+    this.minimumPayerAge = minimumPayerAge;
+    this.minimumReceiverAge = minimumReceiverAge;
+    this.dueDateWindowMonths = dueDateWindowMonths;
+    this.expirationWindowMonths = expirationWindowMonths;
+    this.compiled = compiled;
+
+    this.minBalanceMessage = "the minimum value for a billing is " + dollars(minBalance);
+    this.maxBalanceMessage = "the maximum value for a billing is " + dollars(maxBalance);
+    this.minimumFineAmountMessage = "the minimum value for fine amount is " + dollars(minimumFineAmount);
+    this.minimumPayerAgeMessage = "payer's age must be at least " + minimumPayerAge;
+    this.minimumReceiverAgeMessage = "receiver's age must be at least " + minimumReceiverAge;
+    this.dueDateWindowMessage = "due date must not the set to more than " + months(dueDateWindowMonths) + " further the current date";
+    this.expirationWindowMessage = "expiration date must be set to more than " + months(expirationWindowMonths) + " past due date";
+  }
+
+  /**
+   * Reads the parameters under the billing.rules. prefix, such as billing.rules.max-balance
+   * every missing key keeps the default value
+   *
+   * @param properties lookup of a property value by its key
+   * @return the parameters
+   * @throws IllegalArgumentException whenever a value is invalid
+   */
+  public static RuleParameters from(final Function<String, String> properties) {
+    try {
+      return new RuleParameters(
+        read(properties, "version", DEFAULTS.version),
+        new BigDecimal(read(properties, "min-balance", DEFAULTS.minBalance.toPlainString())),
+        new BigDecimal(read(properties, "max-balance", DEFAULTS.maxBalance.toPlainString())),
+        new BigDecimal(read(properties, "minimum-fine-amount", DEFAULTS.minimumFineAmount.toPlainString())),
+        Integer.parseInt(read(properties, "minimum-payer-age", String.valueOf(DEFAULTS.minimumPayerAge))),
+        Integer.parseInt(read(properties, "minimum-receiver-age", String.valueOf(DEFAULTS.minimumReceiverAge))),
+        Integer.parseInt(read(properties, "due-date-window-months", String.valueOf(DEFAULTS.dueDateWindowMonths))),
+        Integer.parseInt(read(properties, "expiration-window-months", String.valueOf(DEFAULTS.expirationWindowMonths))),
+        readBoolean(properties, "compiled", DEFAULTS.compiled));
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException("invalid rule parameter: " + e.getMessage(), e);
+    }
+  }
+
+  private static String read(final Function<String, String> properties, final String key, final String defaultValue) {
+    final String value = properties.apply(PREFIX + key);
+
+    return Objects.isNull(value) || value.isBlank() ? defaultValue : value.trim();
+  }
+
+  private static boolean readBoolean(final Function<String, String> properties, final String key, final boolean defaultValue) {
+    final String value = read(properties, key, String.valueOf(defaultValue));
+
+    if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+      throw new IllegalArgumentException(key + " must be true or false");
+    }
+
+    return Boolean.parseBoolean(value);
+  }
+
+  private static void requireCents(final String key, final BigDecimal amount) {
+    if (Objects.isNull(amount) || amount.signum() < 0 || !Cents.isExact(Cents.of(amount))) {
+      throw new IllegalArgumentException(key + " must be a non negative amount in cents");
+    }
+  }
+
+  private static void requirePositive(final String key, final int value) {
+    if (value <= 0) {
+      throw new IllegalArgumentException(key + " must be greater than zero");
+    }
+  }
+
+  /**
+   * @return an amount such as $1, $0.01 or $999,999.99
+   * the amounts are non negative and exact in cents, so the digits are grouped by hand,
+   * sparing the locale data a DecimalFormat would load on startup
+   */
+  private static String dollars(final BigDecimal amount) {
+    final String plain = amount.setScale(amount.stripTrailingZeros().scale() <= 0 ? 0 : 2).toPlainString();
+    final int point = plain.indexOf('.');
+    final String units = point < 0 ? plain : plain.substring(0, point);
+
+    final StringBuilder dollars = new StringBuilder("$");
+
+    for (int i = 0; i < units.length(); i++) {
+      if (i > 0 && (units.length() - i) % 3 == 0) {
+        dollars.append(',');
+      }
+
+      dollars.append(units.charAt(i));
+    }
+
+    return point < 0 ? dollars.toString() : dollars.append(plain, point, plain.length()).toString();
+  }
+
+  /**
+   * @return a period such as one year, 2 years, one month or 6 months
+   */
+  private static String months(final int months) {
+    if (months == 12) {
+      return "one year";
+    }
+
+    if (months % 12 == 0) {
+      return months / 12 + " years";
+    }
+
+    return months == 1 ? "one month" : months + " months";
+  }
+
+  @Override
+  public String toString() {
+    return "RuleParameters(version=" + version + ", minBalance=" + minBalance + ", maxBalance=" + maxBalance
+      + ", minimumFineAmount=" + minimumFineAmount + ", minimumPayerAge=" + minimumPayerAge
+      + ", minimumReceiverAge=" + minimumReceiverAge + ", dueDateWindowMonths=" + dueDateWindowMonths
+      + ", expirationWindowMonths=" + expirationWindowMonths + ", compiled=" + compiled + ")";
+  }
+
+}
@@ -0,0 +1,70 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import br.com.example.fluentvalidatorexamples.validator.BillingRuleSets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Properties;
+
+/**
+ * Loads the billing rule parameters from application.properties and, whenever a rules
+ * file is configured, keeps watching it so a new version is compiled and swapped in
+ * without a restart
+ *
+ * the rules file uses the same billing.rules. keys, the missing ones keep the values
+ * from application.properties. A version is installed only once: changing the limits
+ * requires a new billing.rules.version
+ */
+@Component
+public class RuleParametersLoader extends PolicyFileLoader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RuleParametersLoader.class);
+
+  private final Environment environment;
+
+  public RuleParametersLoader(
+    final Environment environment,
+    @Value("${billing.rules-file:}") final String rulesFile,
+    @Value("${billing.rules-poll-interval:5000}") final long pollInterval) {
+    super(rulesFile, pollInterval);
+    this.environment = environment;
+  }
+
+  @PostConstruct
+  public void start() {
+    install(RuleParameters.from(environment::getProperty));
+    watch("rule-parameters-watcher");
+  }
+
+  @PreDestroy
+  @Override
+  public void stop() {
+    super.stop();
+  }
+
+  @Override
+  boolean apply(final Properties properties) {
+    final RuleParameters parameters = RuleParameters.from(key -> properties.getProperty(key, environment.getProperty(key)));
+
+    if (parameters.getVersion().equals(BillingRuleSets.current().getParameters().getVersion())) {
+      LOGGER.warn("rule parameters version " + parameters.getVersion() + " already installed, ignoring " + getPolicyFile());
+      return false;
+    }
+
+    install(parameters);
+
+    return true;
+  }
+
+  private void install(final RuleParameters parameters) {
+    final RuleParameters previous = BillingRuleSets.install(parameters).getParameters();
+
+    LOGGER.info("billing rules version " + parameters.getVersion() + " installed, replacing version " + previous.getVersion() + ": " + parameters);
+  }
+
+}
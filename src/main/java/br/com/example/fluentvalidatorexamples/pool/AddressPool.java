@@ -0,0 +1,100 @@
+package br.com.example.fluentvalidatorexamples.pool;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonicalizing pool for the repeated strings of the addresses of accepted billings
+ *
+ * the city, state and country of equal values are replaced by a single shared string.
+ * Only strings are pooled, as they are immutable: every billing keeps an address of its
+ * own, so changing one never affects another billing. Only billings which passed on
+ * validation are pooled, right before they are stored, so rejected request bodies
+ * never reach the pool
+ *
+ * the pool is bounded: once it holds MAX_SIZE strings, new values are returned as
+ * given, and it never evicts, so the strings shared so far stay shared
+ */
+public final class AddressPool {
+
+  static final int MAX_SIZE = 10_000;
+
+  private static final Map<String, String> STRINGS = new ConcurrentHashMap<>();
+
+  private AddressPool() {
+  }
+
+  /**
+   * Replaces the repeated strings of the addresses of an accepted billing by their pooled instances
+   *
+   * @param billing
+   */
+  public static void canonicalize(final Billing billing) {
+    final Payer payer = billing.getPayer();
+    final Receiver receiver = billing.getReceiver();
+
+    if (Objects.nonNull(payer)) {
+      canonicalize(payer.getBillingAddress());
+    }
+
+    if (Objects.nonNull(receiver)) {
+      canonicalize(receiver.getAddress());
+    }
+  }
+
+  /**
+   * Replaces the city, state and country of an address by their pooled instances
+   *
+   * @param address may be null
+   */
+  public static void canonicalize(final Address address) {
+    if (Objects.isNull(address)) {
+      return;
+    }
+
+    address.setCity(canonical(address.getCity()));
+    address.setState(canonical(address.getState()));
+    address.setCountry(canonical(address.getCountry()));
+  }
+
+  /**
+   * Returns the pooled instance equal to the given string
+   *
+   * @param value
+   * @return the shared string, the given one whenever the pool is full, or null whenever the given one is null
+   */
+  public static String canonical(final String value) {
+    if (Objects.isNull(value)) {
+      return null;
+    }
+
+    final String pooled = STRINGS.get(value);
+
+    if (Objects.nonNull(pooled)) {
+      return pooled;
+    }
+
+    // a few racing puts may go beyond the bound, which stays a bound nonetheless
+    if (STRINGS.size() >= MAX_SIZE) {
+      return value;
+    }
+
+    final String raced = STRINGS.putIfAbsent(value, value);
+
+    return Objects.isNull(raced) ? value : raced;
+  }
+
+  /**
+   * @return how many strings are pooled
+   */
+  public static int size() {
+    return STRINGS.size();
+  }
+
+}
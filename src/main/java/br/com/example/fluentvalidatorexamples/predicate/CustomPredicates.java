@@ -1,26 +1,282 @@
 package br.com.example.fluentvalidatorexamples.predicate;
 
+import br.com.example.fluentvalidatorexamples.date.EpochDays;
+import br.com.example.fluentvalidatorexamples.money.Cents;
 import br.com.fluentvalidator.predicate.PredicateBuilder;
+import br.com.fluentvalidator.predicate.StringPredicate;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
 
-import static br.com.fluentvalidator.predicate.LocalDatePredicate.localDateBeforeOrEqual;
-import static br.com.fluentvalidator.predicate.ObjectPredicate.nullValue;
 import static br.com.fluentvalidator.predicate.StringPredicate.stringEmptyOrNull;
-import static br.com.fluentvalidator.predicate.StringPredicate.stringMatches;
 import static java.util.function.Predicate.not;
 
 public class CustomPredicates {
 
+  /**
+   * compiled once, rather than on each String#matches call
+   */
+  private static final Pattern EMAIL = Pattern.compile("^.*\\@.*\\.\\w+$");
+
+  /**
+   * Checks a birthday against the latest one reaching the age, worked out as an epoch day
+   * from the current one on each test, so the predicate never holds a stale day
+   *
+   * @param age
+   * @return
+   */
   public static Predicate<LocalDate> hasMininumAgeOf(final int age) {
-    return PredicateBuilder.<LocalDate>from(not(nullValue()))
-      .and(localDateBeforeOrEqual(LocalDate.now().minusYears(age)));
+    return birthday -> {
+      if (Objects.isNull(birthday)) {
+        return false;
+      }
+
+      // minusYears is the same as going back twelve months per year, clamped on February 29th
+      final int latestBirthday = EpochDays.plusMonths(EpochDays.today(), -12 * age);
+      final int birthdayEpochDay = EpochDays.of(birthday);
+
+      return EpochDays.isDay(birthdayEpochDay) ? birthdayEpochDay <= latestBirthday : !birthday.isAfter(LocalDate.ofEpochDay(latestBirthday));
+    };
   }
 
   public static Predicate<String> hasValidEmail() {
     return PredicateBuilder.from(not(stringEmptyOrNull()))
-      .and(stringMatches("^.*\\@.*\\.\\w+$"));
+      .and(email -> EMAIL.matcher(email).matches());
+  }
+
+  /**
+   * Accepts the very same strings StringPredicate#isNumber does, by parsing them as a BigDecimal,
+   * but refuses the ones holding a character out of the BigDecimal grammar before parsing,
+   * since refusing them by the NumberFormatException costs far more than the check
+   *
+   * @return
+   */
+  public static Predicate<String> isDecimalNumber() {
+    final Predicate<String> isNumber = StringPredicate.isNumber();
+
+    return value -> Objects.nonNull(value) && hasDecimalCharactersOnly(value) && isNumber.test(value);
+  }
+
+  private static boolean hasDecimalCharactersOnly(final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+
+      if (!Character.isDigit(c) && c != '.' && c != 'e' && c != 'E' && c != '+' && c != '-') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Compares an amount with a minimum using its cents view, falling back to
+   * BigDecimal#compareTo whenever the amount is not exact in cents
+   * a null amount does not satisfy the predicate
+   *
+   * @param cents
+   * @param amount
+   * @param minimum
+   * @return
+   */
+  public static <T> Predicate<T> amountGreaterThanOrEqual(final ToLongFunction<T> cents, final Function<T, BigDecimal> amount, final BigDecimal minimum) {
+    final long minimumCents = Cents.ofExact(minimum);
+
+    return instance -> {
+      final long value = cents.applyAsLong(instance);
+
+      if (Cents.isExact(value)) {
+        return value >= minimumCents;
+      }
+
+      final BigDecimal decimal = amount.apply(instance);
+
+      return Objects.nonNull(decimal) && decimal.compareTo(minimum) >= 0;
+    };
+  }
+
+  /**
+   * Compares an amount with a maximum using its cents view, falling back to
+   * BigDecimal#compareTo whenever the amount is not exact in cents
+   * a null amount does not satisfy the predicate
+   *
+   * @param cents
+   * @param amount
+   * @param maximum
+   * @return
+   */
+  public static <T> Predicate<T> amountLessThanOrEqual(final ToLongFunction<T> cents, final Function<T, BigDecimal> amount, final BigDecimal maximum) {
+    final long maximumCents = Cents.ofExact(maximum);
+
+    return instance -> {
+      final long value = cents.applyAsLong(instance);
+
+      if (Cents.isExact(value)) {
+        return value <= maximumCents;
+      }
+
+      final BigDecimal decimal = amount.apply(instance);
+
+      return Objects.nonNull(decimal) && decimal.compareTo(maximum) <= 0;
+    };
+  }
+
+  /**
+   * Checks whether an amount is lesser than another one using their cents views,
+   * falling back to BigDecimal#compareTo whenever any of them is not exact in cents
+   * a null amount on any side does not satisfy the predicate
+   *
+   * @param cents
+   * @param amount
+   * @param otherCents
+   * @param otherAmount
+   * @return
+   */
+  public static <T> Predicate<T> amountLessThan(final ToLongFunction<T> cents, final Function<T, BigDecimal> amount,
+                                                final ToLongFunction<T> otherCents, final Function<T, BigDecimal> otherAmount) {
+    return instance -> {
+      final long value = cents.applyAsLong(instance);
+      final long otherValue = otherCents.applyAsLong(instance);
+
+      if (Cents.isExact(value) && Cents.isExact(otherValue)) {
+        return value < otherValue;
+      }
+
+      final BigDecimal decimal = amount.apply(instance);
+      final BigDecimal otherDecimal = otherAmount.apply(instance);
+
+      return Objects.nonNull(decimal) && Objects.nonNull(otherDecimal) && decimal.compareTo(otherDecimal) < 0;
+    };
+  }
+
+  /**
+   * Checks whether a date is today or later, comparing its epoch day view with the current one
+   * a null date does not satisfy the predicate
+   *
+   * @param epochDay
+   * @param date
+   * @return
+   */
+  public static <T> Predicate<T> dateAfterOrEqualToday(final ToIntFunction<T> epochDay, final Function<T, LocalDate> date) {
+    return instance -> {
+      final LocalDate value = date.apply(instance);
+
+      if (Objects.isNull(value)) {
+        return false;
+      }
+
+      final int valueEpochDay = epochDay.applyAsInt(instance);
+      final int today = EpochDays.today();
+
+      return EpochDays.isDay(valueEpochDay) ? valueEpochDay >= today : !value.isBefore(LocalDate.ofEpochDay(today));
+    };
+  }
+
+  /**
+   * Checks whether a date is not after a limit, comparing its epoch day view with the one of the limit
+   * a null date does not satisfy the predicate
+   *
+   * @param epochDay
+   * @param date
+   * @param limit
+   * @return
+   */
+  public static <T> Predicate<T> dateBeforeOrEqual(final ToIntFunction<T> epochDay, final Function<T, LocalDate> date, final LocalDate limit) {
+    final int limitEpochDay = EpochDays.of(limit);
+
+    return instance -> {
+      final LocalDate value = date.apply(instance);
+
+      return Objects.nonNull(value) && EpochDays.compare(epochDay.applyAsInt(instance), value, limitEpochDay, limit) <= 0;
+    };
+  }
+
+  /**
+   * Checks whether a date is not after some months past the current date, working out
+   * the limit from the current epoch day on each test, so the predicate never holds a stale day
+   * a null date does not satisfy the predicate
+   *
+   * @param epochDay
+   * @param date
+   * @param months
+   * @return
+   */
+  public static <T> Predicate<T> dateBeforeOrEqualMonthsAfterToday(final ToIntFunction<T> epochDay, final Function<T, LocalDate> date, final int months) {
+    return instance -> {
+      final LocalDate value = date.apply(instance);
+
+      if (Objects.isNull(value)) {
+        return false;
+      }
+
+      final int today = EpochDays.today();
+      final int valueEpochDay = epochDay.applyAsInt(instance);
+
+      return EpochDays.isDay(valueEpochDay)
+        ? valueEpochDay <= EpochDays.plusMonths(today, months)
+        : !value.isAfter(LocalDate.ofEpochDay(today).plusMonths(months));
+    };
+  }
+
+  /**
+   * Checks whether a date is after another one, comparing their epoch day views
+   * a null date on any side does not satisfy the predicate
+   *
+   * @param epochDay
+   * @param date
+   * @param otherEpochDay
+   * @param otherDate
+   * @return
+   */
+  public static <T> Predicate<T> dateAfter(final ToIntFunction<T> epochDay, final Function<T, LocalDate> date,
+                                           final ToIntFunction<T> otherEpochDay, final Function<T, LocalDate> otherDate) {
+    return instance -> {
+      final LocalDate value = date.apply(instance);
+      final LocalDate otherValue = otherDate.apply(instance);
+
+      return Objects.nonNull(value) && Objects.nonNull(otherValue)
+        && EpochDays.compare(epochDay.applyAsInt(instance), value, otherEpochDay.applyAsInt(instance), otherValue) > 0;
+    };
+  }
+
+  /**
+   * Checks whether a date is not after some months past another one, as LocalDate#plusMonths counts them,
+   * adding the months to the epoch day view of the other date rather than building a LocalDate
+   * a null date on any side does not satisfy the predicate
+   *
+   * @param epochDay
+   * @param date
+   * @param otherEpochDay
+   * @param otherDate
+   * @param months
+   * @return
+   */
+  public static <T> Predicate<T> dateBeforeOrEqualMonthsAfter(final ToIntFunction<T> epochDay, final Function<T, LocalDate> date,
+                                                              final ToIntFunction<T> otherEpochDay, final Function<T, LocalDate> otherDate,
+                                                              final int months) {
+    return instance -> {
+      final LocalDate value = date.apply(instance);
+      final LocalDate otherValue = otherDate.apply(instance);
+
+      if (Objects.isNull(value) || Objects.isNull(otherValue)) {
+        return false;
+      }
+
+      final int limitEpochDay = EpochDays.plusMonths(otherEpochDay.applyAsInt(instance), months);
+      final int valueEpochDay = epochDay.applyAsInt(instance);
+
+      if (EpochDays.isDay(valueEpochDay) && EpochDays.isDay(limitEpochDay)) {
+        return valueEpochDay <= limitEpochDay;
+      }
+
+      return !value.isAfter(otherValue.plusMonths(months));
+    };
   }
 
 }
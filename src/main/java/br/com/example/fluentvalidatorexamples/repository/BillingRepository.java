@@ -2,75 +2,184 @@ package br.com.example.fluentvalidatorexamples.repository;
 
 import br.com.example.fluentvalidatorexamples.domain.Billing;
 import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException;
+import br.com.example.fluentvalidatorexamples.id.BillingIdGenerator;
+import br.com.example.fluentvalidatorexamples.id.TimeOrderedIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class BillingRepository {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(BillingRepository.class);
 
-  private final Set<Billing> DATABASE = new HashSet<>();
+  /**
+   * stored billings by id, read without locking; changes are made holding the lock
+   * of the repository, so they are ordered with the versions they give
+   */
+  private final Map<UUID, Billing> DATABASE = new ConcurrentHashMap<>();
 
-  public Billing save(final Billing billing) {
-    billing.setId(UUID.randomUUID());
+  private final BillingIdGenerator idGenerator;
+
+  /**
+   * version of each stored billing; a version is only ever given once, and is
+   * set after the billing is stored, so it is never seen before the billing it stands for
+   */
+  private final Map<UUID, String> versions = new ConcurrentHashMap<>();
+
+  /**
+   * start of the versions of this repository, so versions given before a restart never match again
+   */
+  private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+  /**
+   * last version given, which is also the version of the whole collection
+   */
+  private volatile long lastVersion;
+
+  public BillingRepository() {
+    this(new TimeOrderedIdGenerator());
+  }
+
+  /**
+   * @param idGenerator name of the generator of the billing ids, see BillingIdGenerator#of
+   */
+  @Autowired
+  public BillingRepository(@Value("${billing.id-generator:" + BillingIdGenerator.TIME_ORDERED + "}") final String idGenerator) {
+    this(BillingIdGenerator.of(idGenerator));
+  }
+
+  public BillingRepository(final BillingIdGenerator idGenerator) {
+    this.idGenerator = idGenerator;
+  }
+
+  public synchronized Billing save(final Billing billing) {
+    billing.setId(idGenerator.next());
 
     LOGGER.info("saving billing with parameters: " + billing);
 
-    DATABASE.add(billing);
+    DATABASE.put(billing.getId(), billing);
+    versions.put(billing.getId(), nextVersion());
 
     LOGGER.info("billing saved successfully");
 
     return billing;
   }
 
+  /**
+   * @return a snapshot of the stored billings, which later changes do not affect
+   */
   public Set<Billing> findAll() {
     LOGGER.info("fetching all billings");
 
-    return DATABASE;
+    return new HashSet<>(DATABASE.values());
   }
 
   public Billing findById(final UUID id) throws BillingNotFoundException {
     LOGGER.info("finding billing by id  " + id.toString());
 
-    final Optional<Billing> result = DATABASE
-      .stream()
-      .filter(billing -> billing.getId().equals(id))
-      .findFirst();
+    final Billing billing = DATABASE.get(id);
+
+    if (Objects.isNull(billing)) {
+      throw new BillingNotFoundException();
+    }
 
-    return result.orElseThrow(BillingNotFoundException::new);
+    return billing;
   }
 
-  public Billing update(final Billing billing) throws BillingNotFoundException {
+  public synchronized Billing update(final Billing billing) throws BillingNotFoundException {
     LOGGER.info("updating billing with parameters: " + billing);
 
-    final Billing foundBilling = findById(billing.getId());
+    findById(billing.getId());
 
-    DATABASE.remove(foundBilling);
-    DATABASE.add(billing);
+    DATABASE.put(billing.getId(), billing);
+    versions.put(billing.getId(), nextVersion());
 
     LOGGER.info("billing updated successfully");
 
     return billing;
   }
 
-  public void delete(final UUID id) throws BillingNotFoundException {
+  public synchronized void delete(final UUID id) throws BillingNotFoundException {
     LOGGER.info("deleting billing by id  " + id.toString());
 
-    final Billing foundBilling = findById(id);
+    findById(id);
 
-    DATABASE.remove(foundBilling);
+    DATABASE.remove(id);
+    versions.remove(id);
+    nextVersion();
 
     LOGGER.info("billing deleted successfully");
   }
 
-  protected Set<Billing> getDatabase() {
+  /**
+   * Replaces a billing only if it is still the stored one, so changes made to a version read before are never lost
+   *
+   * @param previous the stored version the billing was made from
+   * @param billing
+   * @return whether the billing was replaced, false when another version was stored meanwhile
+   * @throws BillingNotFoundException whenever the billing is no longer stored
+   */
+  public synchronized boolean replace(final Billing previous, final Billing billing) throws BillingNotFoundException {
+    LOGGER.info("replacing billing with parameters: " + billing);
+
+    final Billing foundBilling = findById(billing.getId());
+
+    if (foundBilling != previous) {
+      LOGGER.info("billing changed meanwhile, not replaced");
+
+      return false;
+    }
+
+    DATABASE.put(billing.getId(), billing);
+    versions.put(billing.getId(), nextVersion());
+
+    LOGGER.info("billing replaced successfully");
+
+    return true;
+  }
+
+  /**
+   * Version of a stored billing, which changes whenever the billing is saved, updated or replaced
+   *
+   * it is set only after the billing is stored, so reading the version before the
+   * billing never pairs a version with an older billing than the one it stands for
+   *
+   * @param id
+   * @return the version, or null when there is no billing stored with the id
+   */
+  public String findVersionById(final UUID id) {
+    return versions.get(id);
+  }
+
+  /**
+   * Version of the whole collection, which changes whenever any billing is stored or deleted
+   *
+   * @return
+   */
+  public String findAllVersion() {
+    return epoch + "-" + Long.toHexString(lastVersion);
+  }
+
+  /**
+   * only called while holding the lock of the repository
+   */
+  private String nextVersion() {
+    lastVersion = lastVersion + 1;
+
+    return epoch + "-" + Long.toHexString(lastVersion);
+  }
+
+  protected Map<UUID, Billing> getDatabase() {
     return DATABASE;
   }
 
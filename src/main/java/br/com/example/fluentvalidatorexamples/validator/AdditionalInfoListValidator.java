@@ -0,0 +1,75 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.fluentvalidator.AbstractValidator;
+import br.com.fluentvalidator.context.Error;
+import br.com.fluentvalidator.context.ValidationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import static br.com.example.fluentvalidatorexamples.validator.BillingRule.ADDITIONAL_INFO_ITEM;
+import static br.com.fluentvalidator.predicate.StringPredicate.stringEmptyOrNull;
+
+/**
+ * Validates the whole additional info list in a single pass
+ *
+ * reports a 601 error for each null or empty item, with no rule evaluation per
+ * item: the list is scanned in one loop and a field name is only built for the
+ * items that fail
+ */
+public class AdditionalInfoListValidator extends AbstractValidator<List<String>> {
+
+  private static final Predicate<String> EMPTY_OR_NULL = stringEmptyOrNull();
+
+  private static final String MESSAGE = ADDITIONAL_INFO_ITEM.getMessage(RuleParameters.DEFAULTS);
+
+  @Override
+  public void rules() {
+
+    /**
+     * rules for additionalInfo, applied by the scan on apply():
+     * - an item can not be null or string empty
+     */
+
+  }
+
+  /**
+   * Scans the items, reporting the null or empty ones by their position, counted from 1
+   *
+   * @param additionalInfo
+   * @return whether every item passed
+   */
+  @Override
+  public boolean apply(final List<String> additionalInfo) {
+    if (Objects.isNull(additionalInfo)) {
+      return true;
+    }
+
+    List<Error> errors = null;
+    int index = 0;
+
+    for (final String item : additionalInfo) {
+      index++;
+
+      if (EMPTY_OR_NULL.test(item)) {
+        if (Objects.isNull(errors)) {
+          errors = new ArrayList<>();
+        }
+
+        errors.add(Error.create(ADDITIONAL_INFO_ITEM.getField(index), MESSAGE, ADDITIONAL_INFO_ITEM.getErrorCode(), item));
+      }
+    }
+
+    if (Objects.isNull(errors)) {
+      return true;
+    }
+
+    ValidationContext.get().addErrors(errors);
+
+    return false;
+  }
+
+}
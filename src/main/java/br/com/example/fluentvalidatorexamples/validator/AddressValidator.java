@@ -2,14 +2,20 @@ package br.com.example.fluentvalidatorexamples.validator;
 
 import br.com.example.fluentvalidatorexamples.domain.Address;
 import br.com.example.fluentvalidatorexamples.enums.Country;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
 import br.com.fluentvalidator.AbstractValidator;
 
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.isDecimalNumber;
+import static br.com.example.fluentvalidatorexamples.validator.BillingRule.*;
 import static br.com.fluentvalidator.predicate.LogicalPredicate.isTrue;
 import static br.com.fluentvalidator.predicate.ObjectPredicate.nullValue;
-import static br.com.fluentvalidator.predicate.StringPredicate.isNumber;
 import static br.com.fluentvalidator.predicate.StringPredicate.stringEmptyOrNull;
 import static java.util.function.Predicate.not;
 
@@ -17,14 +23,16 @@ public class AddressValidator extends AbstractValidator<Address> {
 
   private final String prefix;
 
-  private static final Set<String> ACCEPTED_COUNTRIES;
+  private final RuleParameters parameters;
 
-  static {
-    ACCEPTED_COUNTRIES = new HashSet<>();
-    ACCEPTED_COUNTRIES.add(Country.UNITED_STATES.getCode());
-    ACCEPTED_COUNTRIES.add(Country.CANADA.getCode());
-    ACCEPTED_COUNTRIES.add(Country.MEXICO.getCode());
-  }
+  /**
+   * memo of the addresses found valid, by address content, shared among all prefixes
+   * bounded to about the most recently validated ones, see AddressCache
+   */
+  static final int CACHE_MAX_SIZE = 10_000;
+  private static final AddressCache CACHE = new AddressCache(CACHE_MAX_SIZE);
+  private static final LongAdder CACHE_HITS = new LongAdder();
+  private static final LongAdder CACHE_MISSES = new LongAdder();
 
   @Override
   public void rules() {
@@ -36,94 +44,316 @@ public class AddressValidator extends AbstractValidator<Address> {
      * - city is mandatory
      * - state is mandatory
      * - country is mandatory and must match one of the Country Enum key
-     * - only US, Canada and Mexico countries are allowed
+     * - only the accepted countries are allowed
      * - zip code is mandatory
      * - zip code must be numbers-only
      */
 
-    ruleFor(prefix + "addressLine1", Address::getAddressLine1)
+    ruleFor(prefix + ADDRESS_LINE_1.getField(), Address::getAddressLine1)
       /**
        * address line 1 must not be null or empty string
        */
       .must(not(stringEmptyOrNull()))
-        .withCode("401")
-        .withMessage("address line 1 not provided");
+        .withCode(ADDRESS_LINE_1.getErrorCode())
+        .withMessage(ADDRESS_LINE_1.getMessage(parameters));
 
-    ruleFor(prefix + "addressLine2", Address::getAddressLine2)
+    ruleFor(prefix + ADDRESS_LINE_2.getField(), Address::getAddressLine2)
       /**
        * address line 2 must not be empty string whenever it is not null
        */
       .must(not(stringEmptyOrNull()))
       .when(not(nullValue()))
-        .withCode("402")
-        .withMessage("address line 2 not provided");
+        .withCode(ADDRESS_LINE_2.getErrorCode())
+        .withMessage(ADDRESS_LINE_2.getMessage(parameters));
 
-    ruleFor(prefix + "city", Address::getCity)
+    ruleFor(prefix + CITY.getField(), Address::getCity)
       /**
        * city must not be null or empty string
        */
       .must(not(stringEmptyOrNull()))
-        .withCode("403")
-        .withMessage("city not provided");
+        .withCode(CITY.getErrorCode())
+        .withMessage(CITY.getMessage(parameters));
 
-    ruleFor(prefix + "state", Address::getState)
+    ruleFor(prefix + STATE.getField(), Address::getState)
       /**
        * state must not be null or empty string
        */
       .must(not(stringEmptyOrNull()))
-        .withCode("404")
-        .withMessage("state not provided");
+        .withCode(STATE.getErrorCode())
+        .withMessage(STATE.getMessage(parameters));
 
-    ruleFor(prefix + "country", Address::getCountry)
+    ruleFor(prefix + COUNTRY_REQUIRED.getField(), Address::getCountry)
       /**
        * country must not be null or empty string
        */
       .must(not(stringEmptyOrNull()))
-        .withCode("405")
-        .withMessage("country not provided")
+        .withCode(COUNTRY_REQUIRED.getErrorCode())
+        .withMessage(COUNTRY_REQUIRED.getMessage(parameters))
         .critical()
 
       /**
-       * country must match any of the Countries in Country Enum
+       * country must match any of the Countries in Country Enum, ignoring case
        */
       .must(isTrue(Country::exists))
-        .withCode("406")
-        .withMessage("invalid country. Please, use one of the following: " + Country.getAllCountries())
+        .withCode(COUNTRY_EXISTS.getErrorCode())
+        .withMessage(COUNTRY_EXISTS.getMessage(parameters))
         .critical()
 
       /**
-       * only US, Canada and Mexico countries are allowed
-       * a list with the accepted countries is provided for this validation
+       * only the accepted countries are allowed (US, Canada and Mexico by default)
+       * the accepted countries are read from the current policy snapshot on each validation
        */
-      .must(ACCEPTED_COUNTRIES::contains)
-        .withCode("407")
-        .withMessage("only US, Canada and Mexico countries are allowed for this transaction");
+      .must(AddressValidator::isAcceptedCountry)
+        .withCode(COUNTRY_ACCEPTED.getErrorCode())
+        .withMessage(address -> COUNTRY_ACCEPTED.getMessage(parameters));
 
-    ruleFor(prefix + "zipcode", Address::getZipcode)
+    ruleFor(prefix + ZIPCODE_REQUIRED.getField(), Address::getZipcode)
       /**
        * zipcode must not be null or empty string
        */
       .must(not(stringEmptyOrNull()))
-      .withCode("408")
-        .withMessage("zip code not provided")
+        .withCode(ZIPCODE_REQUIRED.getErrorCode())
+        .withMessage(ZIPCODE_REQUIRED.getMessage(parameters))
         .critical()
 
       /**
        * zipcode must be number-only
        */
-      .must(isNumber())
-        .withCode("409")
-        .withMessage("incorrect zip code format. Only numbers are accepted")
+      .must(isDecimalNumber())
+        .withCode(ZIPCODE_FORMAT.getErrorCode())
+        .withMessage(ZIPCODE_FORMAT.getMessage(parameters))
         .critical();
 
   }
 
   public AddressValidator() {
-    prefix = "";
+    this("");
   }
 
   public AddressValidator(final String prefix) {
+    this(prefix, RuleParameters.DEFAULTS);
+  }
+
+  public AddressValidator(final String prefix, final RuleParameters parameters) {
     this.prefix = prefix;
+    this.parameters = parameters;
+  }
+
+  /**
+   * Validates an address, skipping the rules whenever an equal address was found valid before
+   *
+   * the rules only depend on the address content and on the accepted countries,
+   * so addresses memoized with a former accepted countries snapshot are never reused
+   *
+   * only valid addresses are memoized: the rules of an invalid one run again, reporting
+   * their errors straight to the context of the enclosing validator, as the errors could
+   * not be read back without taking the validation result out of that context
+   *
+   * @param address
+   * @return whether the address passed on all critical rules
+   */
+  @Override
+  public boolean apply(final Address address) {
+    if (Objects.isNull(address)) {
+      return super.apply(null);
+    }
+
+    final AcceptedCountries acceptedCountries = AcceptedCountries.current();
+    final AddressKey key = new AddressKey(address);
+
+    // an address found valid with former accepted countries is stale, even if not invalidated yet
+    if (CACHE.get(key) == acceptedCountries) {
+      CACHE_HITS.increment();
+
+      return true;
+    }
+
+    CACHE_MISSES.increment();
+
+    // the coded rules are the same ones, checked without reporting to the context
+    if (isValid(address, acceptedCountries)) {
+      CACHE.put(key, acceptedCountries);
+
+      return true;
+    }
+
+    return super.apply(address);
+  }
+
+  /**
+   * Drops every memoized address, freeing the ones made stale by a change of the accepted countries
+   */
+  public static void invalidateCache() {
+    CACHE.clear();
+  }
+
+  public static long getCacheHits() {
+    return CACHE_HITS.sum();
+  }
+
+  public static long getCacheMisses() {
+    return CACHE_MISSES.sum();
+  }
+
+  public static double getCacheHitRate() {
+    final long hits = getCacheHits();
+    final long total = hits + getCacheMisses();
+
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  private boolean isValid(final Address address, final AcceptedCountries acceptedCountries) {
+    final ValidationCodes codes = ValidationCodesPool.acquire(null, parameters, acceptedCountries);
+
+    try {
+      BillingCodeValidator.validateAddress(address, 0, codes);
+
+      return codes.isValid();
+    } finally {
+      ValidationCodesPool.release(codes);
+    }
+  }
+
+  /**
+   * Checks whether a country code is accepted for this transaction, on the current policy
+   *
+   * @param country
+   * @return
+   */
+  public static boolean isAcceptedCountry(final String country) {
+    return AcceptedCountries.current().accepts(country);
+  }
+
+  public static Set<Country> getAcceptedCountries() {
+    return AcceptedCountries.current().getCountries();
+  }
+
+  /**
+   * memo key, a snapshot of the address fields, so later changes on the validated address do not affect it
+   */
+  private static final class AddressKey {
+
+    private final String addressLine1;
+
+    private final String addressLine2;
+
+    private final String city;
+
+    private final String state;
+
+    private final String country;
+
+    private final String zipcode;
+
+    private final int hash;
+
+    private AddressKey(final Address address) {
+      this.addressLine1 = address.getAddressLine1();
+      this.addressLine2 = address.getAddressLine2();
+      this.city = address.getCity();
+      this.state = address.getState();
+      this.country = address.getCountry();
+      this.zipcode = address.getZipcode();
+      this.hash = Objects.hash(addressLine1, addressLine2, city, state, country, zipcode);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other) {
+        return true;
+      }
+
+      if (!(other instanceof AddressKey)) {
+        return false;
+      }
+
+      final AddressKey key = (AddressKey) other;
+
+      return hash == key.hash
+        && Objects.equals(addressLine1, key.addressLine1)
+        && Objects.equals(addressLine2, key.addressLine2)
+        && Objects.equals(city, key.city)
+        && Objects.equals(state, key.state)
+        && Objects.equals(country, key.country)
+        && Objects.equals(zipcode, key.zipcode);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+  }
+
+  /**
+   * Bounded memo of the valid addresses, split by key into segments, each one a least
+   * recently used map with a lock of its own, so validations of different addresses
+   * seldom wait on each other, as BillingJsonCache does for the billing encodings
+   *
+   * once a segment is full, its least recently used entry is evicted for each new one
+   */
+  private static final class AddressCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private AddressCache(final int maxEntries) {
+      for (int i = 0; i < SEGMENTS; i++) {
+        // the first segments take the remainder, so they add up to maxEntries
+        segments[i] = new Segment(maxEntries / SEGMENTS + (i < maxEntries % SEGMENTS ? 1 : 0));
+      }
+    }
+
+    private AcceptedCountries get(final AddressKey key) {
+      return segmentOf(key).get(key);
+    }
+
+    private void put(final AddressKey key, final AcceptedCountries acceptedCountries) {
+      segmentOf(key).put(key, acceptedCountries);
+    }
+
+    private void clear() {
+      for (final Segment segment : segments) {
+        segment.clear();
+      }
+    }
+
+    private Segment segmentOf(final AddressKey key) {
+      final int hash = key.hashCode();
+
+      return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+  }
+
+  private static final class Segment {
+
+    private final Map<AddressKey, AcceptedCountries> entries;
+
+    private Segment(final int capacity) {
+      this.entries = new LinkedHashMap<AddressKey, AcceptedCountries>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<AddressKey, AcceptedCountries> eldest) {
+          return size() > capacity;
+        }
+
+      };
+    }
+
+    private synchronized AcceptedCountries get(final AddressKey key) {
+      return entries.get(key);
+    }
+
+    private synchronized void put(final AddressKey key, final AcceptedCountries acceptedCountries) {
+      entries.put(key, acceptedCountries);
+    }
+
+    private synchronized void clear() {
+      entries.clear();
+    }
+
   }
 
 }
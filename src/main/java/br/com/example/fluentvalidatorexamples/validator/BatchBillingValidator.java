@@ -0,0 +1,254 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.date.EpochDays;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.money.Cents;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.fluentvalidator.context.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.example.fluentvalidatorexamples.validator.BillingColumns.isSet;
+import static br.com.example.fluentvalidatorexamples.validator.BillingRule.*;
+
+/**
+ * Validates bulk imports of billings column by column
+ *
+ * the balance, fine, date and flag fields of the whole batch are transposed
+ * into BillingColumns, and each numeric or date rule (101 to 112, 201 and 202)
+ * runs as a single branch-free pass over a primitive column, setting the bit of
+ * every failed row on the bitset of the rule. The bitsets are then expanded,
+ * billing by billing, into the codes of the failed rules, followed by the ones
+ * of payer, receiver and additional info rules, which are applied per object
+ *
+ * rows with an amount not exact in cents are validated by the scalar rules of
+ * BillingCodeValidator. Either way the codes, and the errors built from them,
+ * are the same ones BillingValidator reports for each billing, in the same order
+ */
+public class BatchBillingValidator {
+
+  private static final BillingRule[] RULES = {
+    BALANCE_REQUIRED, MIN_BALANCE, MAX_BALANCE, DUE_DATE_REQUIRED, DUE_DATE_NOT_PAST, DUE_DATE_WINDOW, ACCEPT_PAST_PAYMENT_REQUIRED,
+    EXPIRATION_DATE_REQUIRED, EXPIRATION_DATE_NOT_ALLOWED, EXPIRATION_AFTER_DUE_DATE, EXPIRATION_WINDOW, APPLY_FINE_REQUIRED,
+    MINIMUM_FINE_AMOUNT, FINE_BELOW_BALANCE
+  };
+
+  private final RuleParameters parameters;
+
+  private final BillingCodeValidator codeValidator;
+
+  private final long minBalanceCents;
+
+  private final long maxBalanceCents;
+
+  private final long minimumFineAmountCents;
+
+  public BatchBillingValidator() {
+    this(RuleParameters.DEFAULTS);
+  }
+
+  public BatchBillingValidator(final RuleParameters parameters) {
+    this.parameters = parameters;
+    this.codeValidator = new BillingCodeValidator(parameters);
+    this.minBalanceCents = Cents.ofExact(parameters.getMinBalance());
+    this.maxBalanceCents = Cents.ofExact(parameters.getMaxBalance());
+    this.minimumFineAmountCents = Cents.ofExact(parameters.getMinimumFineAmount());
+  }
+
+  /**
+   * @param billings none of them null
+   * @return the validation result of each billing, in the same order
+   */
+  public List<ValidationResult> validate(final List<Billing> billings) {
+    final List<ValidationCodes> codes = validateCodes(billings);
+    final List<ValidationResult> results = new ArrayList<>(codes.size());
+
+    for (final ValidationCodes billingCodes : codes) {
+      results.add(billingCodes.toValidationResult());
+    }
+
+    return results;
+  }
+
+  /**
+   * @param billings none of them null
+   * @return the codes of the failed rules of each billing, in the same order
+   */
+  public List<ValidationCodes> validateCodes(final List<Billing> billings) {
+    final int today = EpochDays.today();
+    final AcceptedCountries acceptedCountries = AcceptedCountries.current();
+    final BillingColumns columns = BillingColumns.of(billings, parameters.getExpirationWindowMonths());
+    final long[][] failures = failures(columns, today);
+    final long[] failed = union(failures, columns.words);
+
+    final List<ValidationCodes> codes = new ArrayList<>(columns.size);
+    int row = 0;
+
+    for (final Billing billing : billings) {
+      final ValidationCodes billingCodes = new ValidationCodes(billing, parameters, acceptedCountries);
+
+      if (isSet(columns.scalar, row)) {
+        codeValidator.validate(billing, today, billingCodes);
+      } else {
+        if (isSet(failed, row)) {
+          for (int rule = 0; rule < RULES.length; rule++) {
+            if (isSet(failures[rule], row)) {
+              billingCodes.add(RULES[rule], 0);
+            }
+          }
+        }
+
+        codeValidator.validateSubtrees(billing, today, billingCodes);
+      }
+
+      codes.add(billingCodes);
+      row++;
+    }
+
+    return codes;
+  }
+
+  /**
+   * Runs the column passes of the numeric and date rules
+   *
+   * @return a bitset of failed rows per rule, in the order of RULES
+   */
+  private long[][] failures(final BillingColumns columns, final int today) {
+    final int size = columns.size;
+    final int words = columns.words;
+
+    final long[] balanceBelowMin = lessThan(columns.balanceCents, minBalanceCents, size, words);
+    final long[] balanceAboveMax = greaterThan(columns.balanceCents, maxBalanceCents, size, words);
+    final long[] dueBeforeToday = lessThan(columns.dueDays, today, size, words);
+    final long[] dueAfterWindow = greaterThan(columns.dueDays, EpochDays.plusMonths(today, parameters.getDueDateWindowMonths()), size, words);
+    final long[] expirationNotAfterDue = notGreaterThan(columns.expirationDays, columns.dueDays, size, words);
+    final long[] expirationAfterWindow = greaterThan(columns.expirationDays, columns.expirationLimitDays, size, words);
+    final long[] fineBelowMin = lessThan(columns.fineAmountCents, minimumFineAmountCents, size, words);
+    final long[] fineNotBelowBalance = notLessThan(columns.fineAmountCents, columns.balanceCents, size, words);
+
+    final long[][] failures = new long[RULES.length][words];
+
+    for (int word = 0; word < words; word++) {
+      final long balance = columns.balancePresent[word];
+      final long dueDate = columns.dueDatePresent[word];
+      final long expirationDate = columns.expirationDatePresent[word];
+      final long acceptPastPaymentPresent = columns.acceptPastPaymentPresent[word];
+      final long acceptsPastPayment = columns.acceptsPastPayment[word];
+      final long pastPaymentWindow = acceptsPastPayment & expirationDate & dueDate;
+      final long fineApplies = columns.appliesFine[word] & acceptsPastPayment;
+      final long fine201 = fineApplies & fineBelowMin[word];
+
+      failures[0][word] = ~balance;
+      failures[1][word] = balance & balanceBelowMin[word];
+      failures[2][word] = balance & balanceAboveMax[word];
+      failures[3][word] = ~dueDate;
+      failures[4][word] = dueDate & dueBeforeToday[word];
+      failures[5][word] = dueDate & dueAfterWindow[word];
+      failures[6][word] = ~acceptPastPaymentPresent;
+      failures[7][word] = acceptsPastPayment & ~expirationDate;
+      failures[8][word] = acceptPastPaymentPresent & ~acceptsPastPayment & expirationDate;
+      failures[9][word] = pastPaymentWindow & expirationNotAfterDue[word];
+      failures[10][word] = pastPaymentWindow & expirationAfterWindow[word];
+      failures[11][word] = ~columns.applyFinePresent[word];
+      // a null fine amount is NOT_EXACT, below any minimum; so is a null balance, below any fine
+      failures[12][word] = fine201;
+      failures[13][word] = fineApplies & ~fine201 & fineNotBelowBalance[word];
+    }
+
+    return failures;
+  }
+
+  private static long[] union(final long[][] bitsets, final int words) {
+    final long[] union = new long[words];
+
+    for (final long[] bitset : bitsets) {
+      for (int word = 0; word < words; word++) {
+        union[word] |= bitset[word];
+      }
+    }
+
+    return union;
+  }
+
+  /*
+   * the passes below pack one comparison per row into the bit of the row,
+   * 64 rows per word, with no branch on the compared values
+   */
+
+  private static long[] lessThan(final long[] column, final long limit, final int size, final int words) {
+    final long[] bits = new long[words];
+
+    for (int row = 0; row < size; row++) {
+      bits[row >>> 6] |= (column[row] < limit ? 1L : 0L) << row;
+    }
+
+    return bits;
+  }
+
+  private static long[] greaterThan(final long[] column, final long limit, final int size, final int words) {
+    final long[] bits = new long[words];
+
+    for (int row = 0; row < size; row++) {
+      bits[row >>> 6] |= (column[row] > limit ? 1L : 0L) << row;
+    }
+
+    return bits;
+  }
+
+  private static long[] notLessThan(final long[] column, final long[] other, final int size, final int words) {
+    final long[] bits = new long[words];
+
+    for (int row = 0; row < size; row++) {
+      bits[row >>> 6] |= (column[row] >= other[row] ? 1L : 0L) << row;
+    }
+
+    return bits;
+  }
+
+  private static long[] lessThan(final int[] column, final int limit, final int size, final int words) {
+    final long[] bits = new long[words];
+
+    for (int row = 0; row < size; row++) {
+      bits[row >>> 6] |= (column[row] < limit ? 1L : 0L) << row;
+    }
+
+    return bits;
+  }
+
+  private static long[] greaterThan(final int[] column, final int limit, final int size, final int words) {
+    final long[] bits = new long[words];
+
+    for (int row = 0; row < size; row++) {
+      bits[row >>> 6] |= (column[row] > limit ? 1L : 0L) << row;
+    }
+
+    return bits;
+  }
+
+  private static long[] greaterThan(final int[] column, final int[] other, final int size, final int words) {
+    final long[] bits = new long[words];
+
+    for (int row = 0; row < size; row++) {
+      bits[row >>> 6] |= (column[row] > other[row] ? 1L : 0L) << row;
+    }
+
+    return bits;
+  }
+
+  private static long[] notGreaterThan(final int[] column, final int[] other, final int size, final int words) {
+    final long[] bits = new long[words];
+
+    for (int row = 0; row < size; row++) {
+      bits[row >>> 6] |= (column[row] <= other[row] ? 1L : 0L) << row;
+    }
+
+    return bits;
+  }
+
+  public RuleParameters getParameters() {
+    return parameters;
+  }
+
+}
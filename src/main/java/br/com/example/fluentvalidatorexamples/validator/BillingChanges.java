@@ -0,0 +1,126 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+
+import java.util.Objects;
+
+/**
+ * Rule groups of BillingCodeValidator affected by the changes between two versions of a billing
+ *
+ * a changed field flags every group with a rule reading it: the balance is read
+ * by the fine rules (202), the due date by the past payment ones (110 and 111),
+ * and whether it accepts past payment by the fine ones, which only apply then
+ */
+final class BillingChanges {
+
+  static final int BALANCE = 1;
+
+  static final int DUE_DATE = 1 << 1;
+
+  static final int PAST_PAYMENT = 1 << 2;
+
+  static final int FINE = 1 << 3;
+
+  static final int PAYER = 1 << 4;
+
+  static final int PAYER_ADDRESS = 1 << 5;
+
+  static final int RECEIVER = 1 << 6;
+
+  static final int RECEIVER_ADDRESS = 1 << 7;
+
+  static final int ADDITIONAL_INFO = 1 << 8;
+
+  static final int ALL = (1 << 9) - 1;
+
+  private BillingChanges() {
+  }
+
+  /**
+   * @param previous
+   * @param billing
+   * @return the groups to run again, none when both versions hold the same values
+   */
+  static int between(final Billing previous, final Billing billing) {
+    int groups = 0;
+
+    if (!Objects.equals(previous.getBalance(), billing.getBalance())) {
+      groups |= BALANCE | FINE;
+    }
+
+    if (!Objects.equals(previous.getDueDate(), billing.getDueDate())) {
+      groups |= DUE_DATE | PAST_PAYMENT;
+    }
+
+    if (!Objects.equals(previous.getAcceptPastPayment(), billing.getAcceptPastPayment())) {
+      groups |= PAST_PAYMENT | FINE;
+    }
+
+    if (!Objects.equals(previous.getExpirationDate(), billing.getExpirationDate())) {
+      groups |= PAST_PAYMENT;
+    }
+
+    if (!Objects.equals(previous.getApplyFineForPastPayment(), billing.getApplyFineForPastPayment())
+      || !Objects.equals(previous.getFineAmount(), billing.getFineAmount())) {
+      groups |= FINE;
+    }
+
+    groups |= payer(previous.getPayer(), billing.getPayer());
+    groups |= receiver(previous.getReceiver(), billing.getReceiver());
+
+    if (!Objects.equals(previous.getAdditionalInfo(), billing.getAdditionalInfo())) {
+      groups |= ADDITIONAL_INFO;
+    }
+
+    return groups;
+  }
+
+  static boolean has(final int groups, final int group) {
+    return (groups & group) != 0;
+  }
+
+  private static int payer(final Payer previous, final Payer payer) {
+    if (Objects.isNull(previous) || Objects.isNull(payer)) {
+      return previous == payer ? 0 : PAYER | PAYER_ADDRESS;
+    }
+
+    int groups = 0;
+
+    if (!Objects.equals(previous.getFirstName(), payer.getFirstName())
+      || !Objects.equals(previous.getLastName(), payer.getLastName())
+      || !Objects.equals(previous.getBirthday(), payer.getBirthday())
+      || !Objects.equals(previous.getEmail(), payer.getEmail())) {
+      groups |= PAYER;
+    }
+
+    if (!Objects.equals(previous.getBillingAddress(), payer.getBillingAddress())) {
+      groups |= PAYER_ADDRESS;
+    }
+
+    return groups;
+  }
+
+  private static int receiver(final Receiver previous, final Receiver receiver) {
+    if (Objects.isNull(previous) || Objects.isNull(receiver)) {
+      return previous == receiver ? 0 : RECEIVER | RECEIVER_ADDRESS;
+    }
+
+    int groups = 0;
+
+    if (!Objects.equals(previous.getFirstName(), receiver.getFirstName())
+      || !Objects.equals(previous.getLastName(), receiver.getLastName())
+      || !Objects.equals(previous.getBirthday(), receiver.getBirthday())
+      || !Objects.equals(previous.getEmail(), receiver.getEmail())) {
+      groups |= RECEIVER;
+    }
+
+    if (!Objects.equals(previous.getAddress(), receiver.getAddress())) {
+      groups |= RECEIVER_ADDRESS;
+    }
+
+    return groups;
+  }
+
+}
@@ -0,0 +1,579 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.date.EpochDays;
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+import br.com.example.fluentvalidatorexamples.enums.Country;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountGreaterThanOrEqual;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountLessThan;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountLessThanOrEqual;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.hasValidEmail;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.isDecimalNumber;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.ADDITIONAL_INFO;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.BALANCE;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.DUE_DATE;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.FINE;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.PAST_PAYMENT;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.PAYER;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.PAYER_ADDRESS;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.RECEIVER;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.RECEIVER_ADDRESS;
+import static br.com.example.fluentvalidatorexamples.validator.BillingChanges.has;
+import static br.com.example.fluentvalidatorexamples.validator.BillingRule.*;
+import static br.com.fluentvalidator.predicate.StringPredicate.stringEmptyOrNull;
+
+/**
+ * Applies the rules of BillingValidator and its nested validators, recording
+ * only the BillingRule and path index of each failure
+ *
+ * meant for callers that only need to know whether a billing is valid, or
+ * which rules it breaks: no error is built unless ValidationCodes#getErrors()
+ * is called. The failures come out in the same order the BillingValidator
+ * reports them
+ *
+ * the payer, the receiver and the additional info of a billing with at least
+ * PARALLEL_THRESHOLD additional info items are validated in parallel, whenever
+ * the pool has more than one worker: each subtree, and each chunk of the list,
+ * one per worker, records its failures on its own ValidationCodes, which are then
+ * appended in subtree order, so the failures keep the order of a sequential validation
+ */
+public class BillingCodeValidator {
+
+  /**
+   * additional info items from which the subtrees of a billing are validated in parallel, by default
+   */
+  public static final int PARALLEL_THRESHOLD = 16_384;
+
+  private static final Predicate<String> EMPTY_OR_NULL = stringEmptyOrNull();
+  private static final Predicate<String> NUMBER = isDecimalNumber();
+  private static final Predicate<String> VALID_EMAIL = hasValidEmail();
+
+  private final RuleParameters parameters;
+
+  private final ForkJoinPool pool;
+
+  private final int parallelThreshold;
+
+  private final Predicate<Billing> minBalance;
+
+  private final Predicate<Billing> maxBalance;
+
+  private final Predicate<Billing> minimumFineAmount;
+
+  private final Predicate<Billing> fineLessThanBalance;
+
+  private volatile DayLimits dayLimits;
+
+  public BillingCodeValidator() {
+    this(RuleParameters.DEFAULTS);
+  }
+
+  public BillingCodeValidator(final RuleParameters parameters) {
+    this(parameters, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * @param parameters
+   * @param pool the subtrees of large billings are validated on
+   * @param parallelThreshold additional info items from which the subtrees are validated in parallel
+   */
+  public BillingCodeValidator(final RuleParameters parameters, final ForkJoinPool pool, final int parallelThreshold) {
+    this.parameters = parameters;
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
+    this.minBalance = amountGreaterThanOrEqual(Billing::getBalanceCents, Billing::getBalance, parameters.getMinBalance());
+    this.maxBalance = amountLessThanOrEqual(Billing::getBalanceCents, Billing::getBalance, parameters.getMaxBalance());
+    this.minimumFineAmount = amountGreaterThanOrEqual(Billing::getFineAmountCents, Billing::getFineAmount, parameters.getMinimumFineAmount());
+    this.fineLessThanBalance = amountLessThan(Billing::getFineAmountCents, Billing::getFineAmount, Billing::getBalanceCents, Billing::getBalance);
+  }
+
+  /**
+   * @param billing
+   * @return the codes of the failed rules, with the parameters and accepted countries they were checked against
+   */
+  public ValidationCodes validate(final Billing billing) {
+    return validate(billing, EpochDays.today(), new ValidationCodes(billing, parameters, AcceptedCountries.current()));
+  }
+
+  /**
+   * @param today epoch day the date rules are checked against
+   */
+  ValidationCodes validate(final Billing billing, final int today, final ValidationCodes codes) {
+    final DayLimits limits = limits(today);
+
+    validateBalance(billing, codes);
+    validateDueDate(billing, limits, codes);
+    validatePastPayment(billing, codes);
+    validateFine(billing, codes);
+    validateSubtrees(billing, limits, codes);
+
+    return codes;
+  }
+
+  /**
+   * Applies the rules of payer, receiver and additional info, which come after the billing fields ones
+   *
+   * @param today epoch day the date rules are checked against
+   */
+  void validateSubtrees(final Billing billing, final int today, final ValidationCodes codes) {
+    validateSubtrees(billing, limits(today), codes);
+  }
+
+  /**
+   * Applies only the rules of the given groups, for a billing changed from a previous version which passed on all rules
+   * the unchanged additional info items are skipped as well
+   *
+   * @param previous version validated against the same parameters, accepted countries and day
+   * @param billing
+   * @param today epoch day the date rules are checked against
+   * @param groups BillingChanges between both versions
+   * @param codes
+   * @return the codes of the failed rules, the same ones a full validation finds
+   */
+  ValidationCodes revalidate(final Billing previous, final Billing billing, final int today, final int groups, final ValidationCodes codes) {
+    final DayLimits limits = limits(today);
+
+    if (has(groups, BALANCE)) {
+      validateBalance(billing, codes);
+    }
+
+    if (has(groups, DUE_DATE)) {
+      validateDueDate(billing, limits, codes);
+    }
+
+    if (has(groups, PAST_PAYMENT)) {
+      validatePastPayment(billing, codes);
+    }
+
+    if (has(groups, FINE)) {
+      validateFine(billing, codes);
+    }
+
+    if (has(groups, PAYER | PAYER_ADDRESS)) {
+      if (Objects.isNull(billing.getPayer())) {
+        codes.add(PAYER_REQUIRED, 0);
+      } else {
+        validatePayer(billing.getPayer(), limits, groups, codes);
+      }
+    }
+
+    if (has(groups, RECEIVER | RECEIVER_ADDRESS)) {
+      if (Objects.isNull(billing.getReceiver())) {
+        codes.add(RECEIVER_REQUIRED, 0);
+      } else {
+        validateReceiver(billing.getReceiver(), limits, groups, codes);
+      }
+    }
+
+    if (has(groups, ADDITIONAL_INFO)) {
+      validateAdditionalInfo(billing.getAdditionalInfo(), previous.getAdditionalInfo(), codes);
+    }
+
+    return codes;
+  }
+
+  /**
+   * @param billing
+   * @return whether the subtrees of the billing are validated in parallel
+   */
+  boolean isParallel(final Billing billing) {
+    final List<String> additionalInfo = billing.getAdditionalInfo();
+
+    return Objects.nonNull(additionalInfo) && additionalInfo.size() >= parallelThreshold && pool.getParallelism() > 1;
+  }
+
+  private void validateSubtrees(final Billing billing, final DayLimits limits, final ValidationCodes codes) {
+    if (isParallel(billing)) {
+      validateSubtreesInParallel(billing, limits, codes);
+      return;
+    }
+
+    validatePayer(billing, limits, codes);
+    validateReceiver(billing, limits, codes);
+    validateAdditionalInfo(billing.getAdditionalInfo(), null, codes);
+  }
+
+  /**
+   * Validates the payer, the receiver and the chunks of the additional info as separate tasks on the pool
+   * the failures of each task are appended by task index, which is the order of a sequential validation
+   */
+  private void validateSubtreesInParallel(final Billing billing, final DayLimits limits, final ValidationCodes codes) {
+    final List<String> additionalInfo = billing.getAdditionalInfo();
+    final int size = additionalInfo.size();
+    final int chunkSize = (size + pool.getParallelism() - 1) / pool.getParallelism();
+    final int chunks = (size + chunkSize - 1) / chunkSize;
+
+    final List<ForkJoinTask<ValidationCodes>> subtrees = new ArrayList<>(2 + chunks);
+
+    subtrees.add(pool.submit(() -> {
+      final ValidationCodes payerCodes = codes.subtree();
+      validatePayer(billing, limits, payerCodes);
+
+      return payerCodes;
+    }));
+
+    subtrees.add(pool.submit(() -> {
+      final ValidationCodes receiverCodes = codes.subtree();
+      validateReceiver(billing, limits, receiverCodes);
+
+      return receiverCodes;
+    }));
+
+    for (int from = 0; from < size; from += chunkSize) {
+      final List<String> chunk = additionalInfo.subList(from, Math.min(size, from + chunkSize));
+      final int offset = from;
+
+      subtrees.add(pool.submit(() -> {
+        final ValidationCodes chunkCodes = codes.subtree();
+        validateAdditionalInfoItems(chunk, offset, chunkCodes);
+
+        return chunkCodes;
+      }));
+    }
+
+    for (final ForkJoinTask<ValidationCodes> subtree : subtrees) {
+      codes.addAll(subtree.join());
+    }
+  }
+
+  private void validatePayer(final Billing billing, final DayLimits limits, final ValidationCodes codes) {
+    if (Objects.isNull(billing.getPayer())) {
+      codes.add(PAYER_REQUIRED, 0);
+    } else {
+      validatePayer(billing.getPayer(), limits, BillingChanges.ALL, codes);
+    }
+  }
+
+  private void validateReceiver(final Billing billing, final DayLimits limits, final ValidationCodes codes) {
+    if (Objects.isNull(billing.getReceiver())) {
+      codes.add(RECEIVER_REQUIRED, 0);
+    } else {
+      validateReceiver(billing.getReceiver(), limits, BillingChanges.ALL, codes);
+    }
+  }
+
+  private void validateBalance(final Billing billing, final ValidationCodes codes) {
+    if (Objects.isNull(billing.getBalance())) {
+      codes.add(BALANCE_REQUIRED, 0);
+      return;
+    }
+
+    if (!minBalance.test(billing)) {
+      codes.add(MIN_BALANCE, 0);
+    }
+
+    if (!maxBalance.test(billing)) {
+      codes.add(MAX_BALANCE, 0);
+    }
+  }
+
+  private void validateDueDate(final Billing billing, final DayLimits limits, final ValidationCodes codes) {
+    final LocalDate dueDate = billing.getDueDate();
+
+    if (Objects.isNull(dueDate)) {
+      codes.add(DUE_DATE_REQUIRED, 0);
+      return;
+    }
+
+    final int dueDateEpochDay = billing.getDueDateEpochDay();
+
+    if (EpochDays.compare(dueDateEpochDay, dueDate, limits.today, limits.todayDate) < 0) {
+      codes.add(DUE_DATE_NOT_PAST, 0);
+    }
+
+    if (EpochDays.compare(dueDateEpochDay, dueDate, limits.latestDueDate, limits.latestDueDateDate) > 0) {
+      codes.add(DUE_DATE_WINDOW, 0);
+    }
+  }
+
+  private void validatePastPayment(final Billing billing, final ValidationCodes codes) {
+    final Boolean acceptPastPayment = billing.getAcceptPastPayment();
+    final LocalDate dueDate = billing.getDueDate();
+    final LocalDate expirationDate = billing.getExpirationDate();
+
+    if (Objects.isNull(acceptPastPayment)) {
+      codes.add(ACCEPT_PAST_PAYMENT_REQUIRED, 0);
+      return;
+    }
+
+    if (acceptPastPayment && Objects.isNull(expirationDate)) {
+      codes.add(EXPIRATION_DATE_REQUIRED, 0);
+      return;
+    }
+
+    if (!acceptPastPayment && Objects.nonNull(expirationDate)) {
+      codes.add(EXPIRATION_DATE_NOT_ALLOWED, 0);
+      return;
+    }
+
+    if (acceptPastPayment && Objects.nonNull(dueDate)) {
+      final int expirationDateEpochDay = billing.getExpirationDateEpochDay();
+      final int dueDateEpochDay = billing.getDueDateEpochDay();
+
+      if (EpochDays.compare(expirationDateEpochDay, expirationDate, dueDateEpochDay, dueDate) <= 0) {
+        codes.add(EXPIRATION_AFTER_DUE_DATE, 0);
+      }
+
+      final int latestExpirationDate = EpochDays.plusMonths(dueDateEpochDay, parameters.getExpirationWindowMonths());
+
+      if (EpochDays.isDay(expirationDateEpochDay) && EpochDays.isDay(latestExpirationDate)
+        ? expirationDateEpochDay > latestExpirationDate
+        : expirationDate.isAfter(dueDate.plusMonths(parameters.getExpirationWindowMonths()))) {
+        codes.add(EXPIRATION_WINDOW, 0);
+      }
+    }
+  }
+
+  private void validateFine(final Billing billing, final ValidationCodes codes) {
+    if (Objects.isNull(billing.getApplyFineForPastPayment())) {
+      codes.add(APPLY_FINE_REQUIRED, 0);
+      return;
+    }
+
+    if (!Boolean.TRUE.equals(billing.getAcceptPastPayment()) || !billing.getApplyFineForPastPayment()) {
+      return;
+    }
+
+    if (!minimumFineAmount.test(billing)) {
+      codes.add(MINIMUM_FINE_AMOUNT, 0);
+      return;
+    }
+
+    if (!fineLessThanBalance.test(billing)) {
+      codes.add(FINE_BELOW_BALANCE, 0);
+    }
+  }
+
+  private void validatePayer(final Payer payer, final DayLimits limits, final int groups, final ValidationCodes codes) {
+    if (has(groups, PAYER)) {
+      validatePayerFields(payer, limits, codes);
+    }
+
+    if (!has(groups, PAYER_ADDRESS)) {
+      return;
+    }
+
+    if (Objects.isNull(payer.getBillingAddress())) {
+      codes.add(PAYER_ADDRESS_REQUIRED, 0);
+    } else {
+      validateAddress(payer.getBillingAddress(), PAYER_PATH, codes);
+    }
+  }
+
+  private void validatePayerFields(final Payer payer, final DayLimits limits, final ValidationCodes codes) {
+    if (EMPTY_OR_NULL.test(payer.getFirstName())) {
+      codes.add(PAYER_FIRST_NAME, 0);
+    }
+
+    if (EMPTY_OR_NULL.test(payer.getLastName())) {
+      codes.add(PAYER_LAST_NAME, 0);
+    }
+
+    if (Objects.isNull(payer.getBirthday())) {
+      codes.add(PAYER_BIRTHDAY, 0);
+    } else if (isAfter(payer.getBirthday(), limits.latestPayerBirthday, limits.latestPayerBirthdayDate)) {
+      codes.add(PAYER_MINIMUM_AGE, 0);
+    }
+
+    if (!VALID_EMAIL.test(payer.getEmail())) {
+      codes.add(PAYER_EMAIL, 0);
+    }
+  }
+
+  private void validateReceiver(final Receiver receiver, final DayLimits limits, final int groups, final ValidationCodes codes) {
+    if (has(groups, RECEIVER)) {
+      validateReceiverFields(receiver, limits, codes);
+    }
+
+    if (!has(groups, RECEIVER_ADDRESS)) {
+      return;
+    }
+
+    if (Objects.isNull(receiver.getAddress())) {
+      codes.add(RECEIVER_ADDRESS_REQUIRED, 0);
+    } else {
+      validateAddress(receiver.getAddress(), RECEIVER_PATH, codes);
+    }
+  }
+
+  private void validateReceiverFields(final Receiver receiver, final DayLimits limits, final ValidationCodes codes) {
+    if (EMPTY_OR_NULL.test(receiver.getFirstName())) {
+      codes.add(RECEIVER_FIRST_NAME, 0);
+    }
+
+    if (EMPTY_OR_NULL.test(receiver.getLastName())) {
+      codes.add(RECEIVER_LAST_NAME, 0);
+    }
+
+    if (Objects.isNull(receiver.getBirthday())) {
+      codes.add(RECEIVER_BIRTHDAY, 0);
+    } else if (isAfter(receiver.getBirthday(), limits.latestReceiverBirthday, limits.latestReceiverBirthdayDate)) {
+      codes.add(RECEIVER_MINIMUM_AGE, 0);
+    }
+
+    if (!VALID_EMAIL.test(receiver.getEmail())) {
+      codes.add(RECEIVER_EMAIL, 0);
+    }
+  }
+
+  /**
+   * @param address not null
+   * @param path the path reported along with the codes of the address, PAYER_PATH or RECEIVER_PATH
+   * @param codes
+   */
+  static void validateAddress(final Address address, final int path, final ValidationCodes codes) {
+    if (EMPTY_OR_NULL.test(address.getAddressLine1())) {
+      codes.add(ADDRESS_LINE_1, path);
+    }
+
+    if (Objects.nonNull(address.getAddressLine2()) && EMPTY_OR_NULL.test(address.getAddressLine2())) {
+      codes.add(ADDRESS_LINE_2, path);
+    }
+
+    if (EMPTY_OR_NULL.test(address.getCity())) {
+      codes.add(CITY, path);
+    }
+
+    if (EMPTY_OR_NULL.test(address.getState())) {
+      codes.add(STATE, path);
+    }
+
+    if (EMPTY_OR_NULL.test(address.getCountry())) {
+      codes.add(COUNTRY_REQUIRED, path);
+    } else if (!Country.exists(address.getCountry())) {
+      codes.add(COUNTRY_EXISTS, path);
+    } else if (!codes.getAcceptedCountries().accepts(address.getCountry())) {
+      codes.add(COUNTRY_ACCEPTED, path);
+    }
+
+    if (EMPTY_OR_NULL.test(address.getZipcode())) {
+      codes.add(ZIPCODE_REQUIRED, path);
+    } else if (!NUMBER.test(address.getZipcode())) {
+      codes.add(ZIPCODE_FORMAT, path);
+    }
+  }
+
+  /**
+   * @param additionalInfo
+   * @param previous items which passed on validation, and are not checked again at the same position, or null
+   * @param codes
+   */
+  private void validateAdditionalInfo(final List<String> additionalInfo, final List<String> previous, final ValidationCodes codes) {
+    if (Objects.isNull(additionalInfo)) {
+      return;
+    }
+
+    if (additionalInfo.isEmpty()) {
+      codes.add(ADDITIONAL_INFO_NOT_EMPTY, 0);
+    }
+
+    if (Objects.isNull(previous)) {
+      validateAdditionalInfoItems(additionalInfo, 0, codes);
+      return;
+    }
+
+    final Iterator<String> previousItems = previous.iterator();
+    int index = 0;
+
+    for (final String item : additionalInfo) {
+      index++;
+
+      if (previousItems.hasNext() && Objects.equals(item, previousItems.next())) {
+        continue;
+      }
+
+      if (EMPTY_OR_NULL.test(item)) {
+        codes.add(ADDITIONAL_INFO_ITEM, index);
+      }
+    }
+  }
+
+  /**
+   * @param items
+   * @param offset position of the first item on the whole list
+   * @param codes
+   */
+  private static void validateAdditionalInfoItems(final List<String> items, final int offset, final ValidationCodes codes) {
+    int index = offset;
+
+    for (final String item : items) {
+      index++;
+
+      if (EMPTY_OR_NULL.test(item)) {
+        codes.add(ADDITIONAL_INFO_ITEM, index);
+      }
+    }
+  }
+
+  private static boolean isAfter(final LocalDate date, final int limit, final LocalDate limitDate) {
+    return EpochDays.compare(EpochDays.of(date), date, limit, limitDate) > 0;
+  }
+
+  /**
+   * @return the date limits of the given day, worked out again only once the day changed
+   */
+  private DayLimits limits(final int today) {
+    DayLimits current = dayLimits;
+
+    if (Objects.isNull(current) || current.today != today) {
+      current = new DayLimits(today, parameters);
+      dayLimits = current;
+    }
+
+    return current;
+  }
+
+  public RuleParameters getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Epoch days the date rules compare against on a given day, with their dates
+   * for the comparisons with dates beyond the epoch days
+   */
+  private static final class DayLimits {
+
+    private final int today;
+
+    private final LocalDate todayDate;
+
+    private final int latestDueDate;
+
+    private final LocalDate latestDueDateDate;
+
+    private final int latestPayerBirthday;
+
+    private final LocalDate latestPayerBirthdayDate;
+
+    private final int latestReceiverBirthday;
+
+    private final LocalDate latestReceiverBirthdayDate;
+
+    private DayLimits(final int today, final RuleParameters parameters) {
+      this.today = today;
+      this.todayDate = LocalDate.ofEpochDay(today);
+      this.latestDueDateDate = todayDate.plusMonths(parameters.getDueDateWindowMonths());
+      this.latestDueDate = EpochDays.of(latestDueDateDate);
+      this.latestPayerBirthdayDate = todayDate.minusYears(parameters.getMinimumPayerAge());
+      this.latestPayerBirthday = EpochDays.of(latestPayerBirthdayDate);
+      this.latestReceiverBirthdayDate = todayDate.minusYears(parameters.getMinimumReceiverAge());
+      this.latestReceiverBirthday = EpochDays.of(latestReceiverBirthdayDate);
+    }
+
+  }
+
+}
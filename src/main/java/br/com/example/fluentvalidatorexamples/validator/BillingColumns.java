@@ -0,0 +1,161 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.date.EpochDays;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.money.Cents;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Numeric and date fields of a batch of billings, transposed into one
+ * primitive array per field, with the presence and flags as bitsets
+ *
+ * amounts are held in cents and dates as epoch days; a null field keeps
+ * NOT_EXACT or NULL_DAY on its column and a clear bit on its presence bitset
+ * bit i of a bitset is bit (i % 64) of its word (i / 64)
+ */
+final class BillingColumns {
+
+  static final int NULL_DAY = EpochDays.NOT_A_DAY;
+
+  final int size;
+
+  final int words;
+
+  final long[] balanceCents;
+
+  final long[] fineAmountCents;
+
+  final int[] dueDays;
+
+  final int[] expirationDays;
+
+  /**
+   * epoch day of the due date plus the expiration window, computed per row as months vary on length
+   * only set on rows accepting past payment with both dates
+   */
+  final int[] expirationLimitDays;
+
+  final long[] balancePresent;
+
+  final long[] dueDatePresent;
+
+  final long[] expirationDatePresent;
+
+  final long[] acceptPastPaymentPresent;
+
+  final long[] acceptsPastPayment;
+
+  final long[] applyFinePresent;
+
+  final long[] appliesFine;
+
+  /**
+   * rows with an amount not exact in cents or a date beyond the int epoch days, which are left to the scalar rules
+   */
+  final long[] scalar;
+
+  private BillingColumns(final int size) {
+    this.size = size;
+    this.words = (size + 63) >>> 6;
+    this.balanceCents = new long[size];
+    this.fineAmountCents = new long[size];
+    this.dueDays = new int[size];
+    this.expirationDays = new int[size];
+    this.expirationLimitDays = new int[size];
+    this.balancePresent = new long[words];
+    this.dueDatePresent = new long[words];
+    this.expirationDatePresent = new long[words];
+    this.acceptPastPaymentPresent = new long[words];
+    this.acceptsPastPayment = new long[words];
+    this.applyFinePresent = new long[words];
+    this.appliesFine = new long[words];
+    this.scalar = new long[words];
+  }
+
+  /**
+   * @param billings
+   * @param expirationWindowMonths
+   * @return the columns of the billings, in the same order
+   */
+  static BillingColumns of(final List<Billing> billings, final int expirationWindowMonths) {
+    final BillingColumns columns = new BillingColumns(billings.size());
+    int row = 0;
+
+    for (final Billing billing : billings) {
+      columns.set(row++, billing, expirationWindowMonths);
+    }
+
+    return columns;
+  }
+
+  static boolean isSet(final long[] bitset, final int row) {
+    return (bitset[row >>> 6] & (1L << row)) != 0;
+  }
+
+  private void set(final int row, final Billing billing, final int expirationWindowMonths) {
+    final int word = row >>> 6;
+    final long bit = 1L << row;
+
+    balanceCents[row] = billing.getBalanceCents();
+    fineAmountCents[row] = billing.getFineAmountCents();
+
+    if (inexact(billing.getBalance(), balanceCents[row]) || inexact(billing.getFineAmount(), fineAmountCents[row])) {
+      scalar[word] |= bit;
+    }
+
+    if (Objects.nonNull(billing.getBalance())) {
+      balancePresent[word] |= bit;
+    }
+
+    final LocalDate dueDate = billing.getDueDate();
+    final LocalDate expirationDate = billing.getExpirationDate();
+    final boolean pastPaymentWindow = Boolean.TRUE.equals(billing.getAcceptPastPayment())
+      && Objects.nonNull(dueDate) && Objects.nonNull(expirationDate);
+
+    dueDays[row] = billing.getDueDateEpochDay();
+    expirationDays[row] = billing.getExpirationDateEpochDay();
+    expirationLimitDays[row] = pastPaymentWindow ? EpochDays.plusMonths(dueDays[row], expirationWindowMonths) : NULL_DAY;
+
+    if (outOfRange(dueDate, dueDays[row]) || outOfRange(expirationDate, expirationDays[row])
+      || (pastPaymentWindow && expirationLimitDays[row] == NULL_DAY)) {
+      scalar[word] |= bit;
+    }
+
+    if (Objects.nonNull(dueDate)) {
+      dueDatePresent[word] |= bit;
+    }
+
+    if (Objects.nonNull(expirationDate)) {
+      expirationDatePresent[word] |= bit;
+    }
+
+    if (Objects.nonNull(billing.getAcceptPastPayment())) {
+      acceptPastPaymentPresent[word] |= bit;
+
+      if (billing.getAcceptPastPayment()) {
+        acceptsPastPayment[word] |= bit;
+      }
+    }
+
+    if (Objects.nonNull(billing.getApplyFineForPastPayment())) {
+      applyFinePresent[word] |= bit;
+
+      if (billing.getApplyFineForPastPayment()) {
+        appliesFine[word] |= bit;
+      }
+    }
+  }
+
+  private static boolean outOfRange(final LocalDate date, final int epochDay) {
+    return Objects.nonNull(date) && epochDay == NULL_DAY;
+  }
+
+  private static boolean inexact(final BigDecimal amount, final long cents) {
+    return Objects.nonNull(amount) && !Cents.isExact(cents);
+  }
+
+}
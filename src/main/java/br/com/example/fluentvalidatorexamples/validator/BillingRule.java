@@ -0,0 +1,189 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.enums.Country;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.fluentvalidator.context.Error;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The billing rules, each with the code, field and message its errors are reported with
+ *
+ * the single table of the rules: BillingValidator and its nested validators take
+ * their codes, fields and messages from it, as BillingCodeValidator and the
+ * BatchBillingValidator record its entries, materialized into errors by resolve()
+ *
+ * the path index tells apart the errors sharing a code: the address of the
+ * payer or of the receiver for the 4xx codes, the position on the list, counted
+ * from 1, for the 601 code. It is 0 for every other code
+ */
+@Getter
+public enum BillingRule {
+
+  BALANCE_REQUIRED(101, "balance", "balance must not be null", Billing::getBalance),
+  MIN_BALANCE(102, "balance", RuleParameters::getMinBalanceMessage, Billing::getBalance),
+  MAX_BALANCE(103, "balance", RuleParameters::getMaxBalanceMessage, Billing::getBalance),
+  DUE_DATE_REQUIRED(104, "dueDate", "due date not provided", Billing::getDueDate),
+  DUE_DATE_NOT_PAST(105, "dueDate", "due date must be equal of after today", Billing::getDueDate),
+  DUE_DATE_WINDOW(106, "dueDate", RuleParameters::getDueDateWindowMessage, Billing::getDueDate),
+  ACCEPT_PAST_PAYMENT_REQUIRED(107, "acceptPastPayment", "accept past payment not provided", Billing::getAcceptPastPayment),
+  EXPIRATION_DATE_REQUIRED(108, "expirationDate", "expiration date must be provided whenever past payment is accepted", Billing::getExpirationDate),
+  EXPIRATION_DATE_NOT_ALLOWED(109, "expirationDate", "expiration date must not be provided whenever past payment is not accepted", Billing::getExpirationDate),
+  EXPIRATION_AFTER_DUE_DATE(110, "expirationDate", "expiration date must be further due date", Billing::getExpirationDate),
+  EXPIRATION_WINDOW(111, "expirationDate", RuleParameters::getExpirationWindowMessage, Billing::getExpirationDate),
+  APPLY_FINE_REQUIRED(112, "applyFineForPastPayment", "flag 'apply fine for past payment' not provided", Billing::getApplyFineForPastPayment),
+  PAYER_REQUIRED(113, "payer", "payer not provided", Billing::getPayer),
+  RECEIVER_REQUIRED(114, "receiver", "receiver not provided", Billing::getReceiver),
+  ADDITIONAL_INFO_NOT_EMPTY(115, "additionalInfo", "additional info list must not be empty", Billing::getAdditionalInfo),
+
+  MINIMUM_FINE_AMOUNT(201, "fineAmount", RuleParameters::getMinimumFineAmountMessage, Billing::getFineAmount),
+  FINE_BELOW_BALANCE(202, "fineAmount", "the maximum value for fine can not be greater or equal the billing balance", Billing::getFineAmount),
+
+  PAYER_FIRST_NAME(301, "payer.firstName", "payer's first name not provided", billing -> billing.getPayer().getFirstName()),
+  PAYER_LAST_NAME(302, "payer.lastName", "payer's last name not provided", billing -> billing.getPayer().getLastName()),
+  PAYER_BIRTHDAY(303, "payer.birthday", "payer's birthday not provided", billing -> billing.getPayer().getBirthday()),
+  PAYER_MINIMUM_AGE(304, "payer.birthday", RuleParameters::getMinimumPayerAgeMessage, billing -> billing.getPayer().getBirthday()),
+  PAYER_EMAIL(305, "payer.email", "payer's e-mail must be provided and follow the pattern: 'e-mail@provider.extension'", billing -> billing.getPayer().getEmail()),
+  PAYER_ADDRESS_REQUIRED(306, "payer.billingAddress", "payer's billing address not provided", billing -> billing.getPayer().getBillingAddress()),
+
+  ADDRESS_LINE_1(401, "addressLine1", "address line 1 not provided", address(Address::getAddressLine1)),
+  ADDRESS_LINE_2(402, "addressLine2", "address line 2 not provided", address(Address::getAddressLine2)),
+  CITY(403, "city", "city not provided", address(Address::getCity)),
+  STATE(404, "state", "state not provided", address(Address::getState)),
+  COUNTRY_REQUIRED(405, "country", "country not provided", address(Address::getCountry)),
+  COUNTRY_EXISTS(406, "country", "invalid country. Please, use one of the following: " + Country.getAllCountries(), address(Address::getCountry)),
+  COUNTRY_ACCEPTED(407, "country", (parameters, acceptedCountries) -> acceptedCountries.getMessage(), address(Address::getCountry)),
+  ZIPCODE_REQUIRED(408, "zipcode", "zip code not provided", address(Address::getZipcode)),
+  ZIPCODE_FORMAT(409, "zipcode", "incorrect zip code format. Only numbers are accepted", address(Address::getZipcode)),
+
+  RECEIVER_FIRST_NAME(501, "receiver.firstName", "receiver's first name not provided", billing -> billing.getReceiver().getFirstName()),
+  RECEIVER_LAST_NAME(502, "receiver.lastName", "receiver's last name not provided", billing -> billing.getReceiver().getLastName()),
+  RECEIVER_BIRTHDAY(503, "receiver.birthday", "receiver's birthday not provided", billing -> billing.getReceiver().getBirthday()),
+  RECEIVER_MINIMUM_AGE(504, "receiver.birthday", RuleParameters::getMinimumReceiverAgeMessage, billing -> billing.getReceiver().getBirthday()),
+  RECEIVER_EMAIL(505, "receiver.email", "receiver's e-mail must be provided and follow the pattern: 'e-mail@provider.extension'", billing -> billing.getReceiver().getEmail()),
+  RECEIVER_ADDRESS_REQUIRED(506, "receiver.billingAddress", "receiver's billing address not provided", billing -> billing.getReceiver().getAddress()),
+
+  ADDITIONAL_INFO_ITEM(601, "additionalInfo", "additional info cannot be empty or null", (billing, index) -> billing.getAdditionalInfo().get(index - 1));
+
+  /**
+   * path index of the payer's billing address
+   */
+  public static final int PAYER_PATH = 1;
+
+  /**
+   * path index of the receiver's address
+   */
+  public static final int RECEIVER_PATH = 2;
+
+  private static final BillingRule[] ENTRIES = new BillingRule[700];
+
+  static {
+    for (final BillingRule rule : BillingRule.values()) {
+      ENTRIES[rule.code] = rule;
+    }
+  }
+
+  private final int code;
+
+  /**
+   * the code as reported on the errors
+   */
+  private final String errorCode;
+
+  /**
+   * the field as reported on the errors, relative to the address for the 4xx codes
+   * and to the list for the 601 code
+   */
+  private final String field;
+
+  @Getter(AccessLevel.NONE)
+  private final BiFunction<RuleParameters, AcceptedCountries, String> message;
+
+  @Getter(AccessLevel.NONE)
+  private final BiFunction<Billing, Integer, Object> attemptedValue;
+
+  BillingRule(final int code, final String field, final String message, final Function<Billing, Object> attemptedValue) {
+    this(code, field, (parameters, acceptedCountries) -> message, (billing, index) -> attemptedValue.apply(billing));
+  }
+
+  BillingRule(final int code, final String field, final Function<RuleParameters, String> message, final Function<Billing, Object> attemptedValue) {
+    this(code, field, (parameters, acceptedCountries) -> message.apply(parameters), (billing, index) -> attemptedValue.apply(billing));
+  }
+
+  BillingRule(final int code, final String field, final String message, final BiFunction<Billing, Integer, Object> attemptedValue) {
+    this(code, field, (parameters, acceptedCountries) -> message, attemptedValue);
+  }
+
+  BillingRule(final int code, final String field, final BiFunction<RuleParameters, AcceptedCountries, String> message,
+              final BiFunction<Billing, Integer, Object> attemptedValue) {
+    this.code = code;
+    this.errorCode = String.valueOf(code);
+    this.field = field;
+    this.message = message;
+    this.attemptedValue = attemptedValue;
+  }
+
+  /**
+   * @param code
+   * @return the rule of the code, or null whenever the code is unknown
+   */
+  public static BillingRule entryOf(final int code) {
+    return code > 0 && code < ENTRIES.length ? ENTRIES[code] : null;
+  }
+
+  /**
+   * @param parameters the limits the rule is checked against
+   * @return the message of the rule, on the current accepted countries
+   */
+  public String getMessage(final RuleParameters parameters) {
+    return getMessage(parameters, AcceptedCountries.current());
+  }
+
+  public String getMessage(final RuleParameters parameters, final AcceptedCountries acceptedCountries) {
+    return message.apply(parameters, acceptedCountries);
+  }
+
+  /**
+   * @param index the path index of the error
+   * @return the field as reported on the error
+   */
+  public String getField(final int index) {
+    if (code / 100 == 4) {
+      return (index == PAYER_PATH ? "payer." : "receiver.") + field;
+    }
+
+    return this == ADDITIONAL_INFO_ITEM ? field + "[" + index + "]" : field;
+  }
+
+  /**
+   * Materializes the error of a code, reading its attempted value from the validated billing
+   *
+   * @param code
+   * @param index the path index the code was recorded with
+   * @param billing the billing the code was recorded for
+   * @param parameters the limits the billing was validated with
+   * @param acceptedCountries the accepted countries the billing was validated with
+   * @return the same error the BillingValidator reports for the code
+   */
+  public static Error resolve(final int code, final int index, final Billing billing, final RuleParameters parameters, final AcceptedCountries acceptedCountries) {
+    final BillingRule rule = entryOf(code);
+
+    if (Objects.isNull(rule)) {
+      throw new IllegalArgumentException("unknown rule code " + code);
+    }
+
+    return Error.create(rule.getField(index), rule.getMessage(parameters, acceptedCountries), rule.errorCode, rule.attemptedValue.apply(billing, index));
+  }
+
+  private static BiFunction<Billing, Integer, Object> address(final Function<Address, Object> attemptedValue) {
+    return (billing, index) -> attemptedValue.apply(index == PAYER_PATH ? billing.getPayer().getBillingAddress() : billing.getReceiver().getAddress());
+  }
+
+}
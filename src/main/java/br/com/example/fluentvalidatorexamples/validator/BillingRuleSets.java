@@ -0,0 +1,49 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holder of the billing validator compiled with the current rule parameters
+ *
+ * a new version of the parameters is compiled into a brand new validator, which
+ * is then swapped in atomically. Whoever took the former validator keeps using
+ * it, so a validation in flight always finishes on the version it started with
+ */
+public final class BillingRuleSets {
+
+  private static final AtomicReference<BillingValidator> CURRENT = new AtomicReference<>(new BillingValidator());
+
+  private BillingRuleSets() {
+  }
+
+  /**
+   * @return the validator of the current version, to be taken once per validation
+   */
+  public static BillingValidator current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Compiles a validator with the given parameters and makes it the current one
+   *
+   * @param parameters
+   * @return the validator replaced
+   */
+  public static BillingValidator install(final RuleParameters parameters) {
+    return replace(new BillingValidator(Objects.requireNonNull(parameters)));
+  }
+
+  /**
+   * Makes the given validator the current one
+   *
+   * @param validator
+   * @return the validator replaced
+   */
+  public static BillingValidator replace(final BillingValidator validator) {
+    return CURRENT.getAndSet(Objects.requireNonNull(validator));
+  }
+
+}
@@ -1,25 +1,29 @@
 package br.com.example.fluentvalidatorexamples.validator;
 
+import br.com.example.fluentvalidatorexamples.date.EpochDays;
 import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
 import br.com.fluentvalidator.AbstractValidator;
-import org.springframework.stereotype.Component;
-
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.function.Function;
+import br.com.fluentvalidator.context.ValidationContext;
+import br.com.fluentvalidator.context.ValidationResult;
 
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountGreaterThanOrEqual;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountLessThanOrEqual;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.dateAfter;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.dateAfterOrEqualToday;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.dateBeforeOrEqualMonthsAfter;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.dateBeforeOrEqualMonthsAfterToday;
+import static br.com.example.fluentvalidatorexamples.validator.BillingRule.*;
 import static br.com.fluentvalidator.predicate.CollectionPredicate.empty;
-import static br.com.fluentvalidator.predicate.ComparablePredicate.greaterThanOrEqual;
-import static br.com.fluentvalidator.predicate.ComparablePredicate.lessThanOrEqual;
-import static br.com.fluentvalidator.predicate.LocalDatePredicate.*;
 import static br.com.fluentvalidator.predicate.LogicalPredicate.*;
 import static br.com.fluentvalidator.predicate.ObjectPredicate.nullValue;
 
-@Component
 public class BillingValidator extends AbstractValidator<Billing> {
 
-  private static final BigDecimal MAX_BALANCE = new BigDecimal("999999.99");
-  private static final BigDecimal MIN_BALANCE = new BigDecimal("1.00");
+  private final RuleParameters parameters;
+
+  private final BillingCodeValidator codeValidator;
 
   @Override
   public void rules() {
@@ -27,87 +31,95 @@ public class BillingValidator extends AbstractValidator<Billing> {
     /**
      * rules for balance field:
      * - it must not be null
-     * - it must be greater or equal $1
-     * - it must be lesser or equal $999,999.99
+     * - it must be greater or equal the minimum balance ($1 by default)
+     * - it must be lesser or equal the maximum balance ($999,999.99 by default)
      */
-    ruleFor(Billing::getBalance)
+    ruleFor(billing -> billing)
       /**
        * this field is mandatory, and must not be null
        */
-      .must(not(nullValue()))
-        .withCode("101")
-        .withFieldName("balance")
-        .withMessage("balance must not be null")
+      .must(not(nullValue(Billing::getBalance)))
+        .withCode(BALANCE_REQUIRED.getErrorCode())
+        .withFieldName(BALANCE_REQUIRED.getField())
+        .withMessage(BALANCE_REQUIRED.getMessage(parameters))
         .withAttempedValue(Billing::getBalance)
 
       /**
-       * the minimum value for a billing is $1
+       * the minimum value for a billing is $1 by default
        * this conditional will be validated if the field is not null
+       * the comparison runs over the cents view of the balance
        */
-      .must(greaterThanOrEqual(MIN_BALANCE))
-      .when(not(nullValue()))
-        .withCode("102")
-        .withFieldName("balance")
-        .withMessage("the minimum value for a billing is $1")
+      .must(amountGreaterThanOrEqual(Billing::getBalanceCents, Billing::getBalance, parameters.getMinBalance()))
+      .when(not(nullValue(Billing::getBalance)))
+        .withCode(MIN_BALANCE.getErrorCode())
+        .withFieldName(MIN_BALANCE.getField())
+        .withMessage(MIN_BALANCE.getMessage(parameters))
         .withAttempedValue(Billing::getBalance)
 
       /**
-       * the maximum value for a billing is $999,999.99
+       * the maximum value for a billing is $999,999.99 by default
        * this conditional will be validated if the field is not null
+       * the comparison runs over the cents view of the balance
        */
-      .must(lessThanOrEqual(MAX_BALANCE))
-      .when(not(nullValue()))
-        .withCode("103")
-        .withFieldName("balance")
-        .withMessage("the maximum value for a billing is $999,999.99")
+      .must(amountLessThanOrEqual(Billing::getBalanceCents, Billing::getBalance, parameters.getMaxBalance()))
+      .when(not(nullValue(Billing::getBalance)))
+        .withCode(MAX_BALANCE.getErrorCode())
+        .withFieldName(MAX_BALANCE.getField())
+        .withMessage(MAX_BALANCE.getMessage(parameters))
         .withAttempedValue(Billing::getBalance);
 
     /**
      * rules for due date:
      * - it must not be null
      * - it can not be a past date
-     * - it can not be more than 1 year further
+     * - it can not be more than the due date window further (1 year by default)
      */
-    ruleFor("dueDate", Billing::getDueDate)
+    ruleFor(DUE_DATE_REQUIRED.getField(), billing -> billing)
       /**
        * this field is mandatory, and must not be null
        * if this fails, it might not continue with the validation for this field
        * for that, we will simplify using critical() parameter
        */
-      .must(not(nullValue()))
-        .withCode("104")
-        .withMessage("due date not provided")
+      .must(not(nullValue(Billing::getDueDate)))
+        .withCode(DUE_DATE_REQUIRED.getErrorCode())
+        .withMessage(DUE_DATE_REQUIRED.getMessage(parameters))
+        .withAttempedValue(Billing::getDueDate)
         .critical()
 
       /**
        * due date must be equal of after today
+       * the comparison runs over the epoch day view of the due date
        */
-      .must(localDateAfterOrEqualToday())
-        .withCode("105")
-        .withMessage("due date must be equal of after today")
+      .must(dateAfterOrEqualToday(Billing::getDueDateEpochDay, Billing::getDueDate))
+        .withCode(DUE_DATE_NOT_PAST.getErrorCode())
+        .withMessage(DUE_DATE_NOT_PAST.getMessage(parameters))
+        .withAttempedValue(Billing::getDueDate)
 
       /**
-       * due date must not the set to more than one year further the current date
+       * due date must not the set to more than one year (by default) further the current date
        */
-      .must(localDateBeforeOrEqual(LocalDate.now().plusYears(1)))
-        .withCode("106")
-        .withMessage("due date must not the set to more than one year further the current date");
+      .must(dateBeforeOrEqualMonthsAfterToday(Billing::getDueDateEpochDay, Billing::getDueDate, parameters.getDueDateWindowMonths()))
+        .withCode(DUE_DATE_WINDOW.getErrorCode())
+        .withMessage(DUE_DATE_WINDOW.getMessage(parameters))
+        .withAttempedValue(Billing::getDueDate);
 
     /**
      * rules for past payments:
      * - if past payment is acceptable, expiration date must be defined
      * - if past payment is not acceptable, expiration date must be null
      * - expiration date must not be before due date
-     * - expiration date has a limit of 6 months further due date
+     * - expiration date has a limit of the expiration window further due date (6 months by default)
+     * the guards repeated across these rules are plain field reads and are left inline,
+     * the compiled mode (BillingCodeValidator) reads each of them once per validation
      */
     ruleFor(billing -> billing)
       /**
        * this field is mandatory, and must not be null
        */
       .must(not(nullValue(Billing::getAcceptPastPayment)))
-        .withCode("107")
-        .withFieldName("acceptPastPayment")
-        .withMessage("accept past payment not provided")
+        .withCode(ACCEPT_PAST_PAYMENT_REQUIRED.getErrorCode())
+        .withFieldName(ACCEPT_PAST_PAYMENT_REQUIRED.getField())
+        .withMessage(ACCEPT_PAST_PAYMENT_REQUIRED.getMessage(parameters))
         .withAttempedValue(Billing::getAcceptPastPayment)
         .critical()
 
@@ -116,9 +128,9 @@ public class BillingValidator extends AbstractValidator<Billing> {
        */
       .must(not(nullValue(Billing::getExpirationDate)))
       .when(isTrue(Billing::getAcceptPastPayment))
-        .withCode("108")
-        .withFieldName("expirationDate")
-        .withMessage("expiration date must be provided whenever past payment is accepted")
+        .withCode(EXPIRATION_DATE_REQUIRED.getErrorCode())
+        .withFieldName(EXPIRATION_DATE_REQUIRED.getField())
+        .withMessage(EXPIRATION_DATE_REQUIRED.getMessage(parameters))
         .withAttempedValue(Billing::getExpirationDate)
         .critical()
 
@@ -127,9 +139,9 @@ public class BillingValidator extends AbstractValidator<Billing> {
        */
       .must(nullValue(Billing::getExpirationDate))
       .when(isFalse(Billing::getAcceptPastPayment))
-        .withCode("109")
-        .withFieldName("expirationDate")
-        .withMessage("expiration date must not be provided whenever past payment is not accepted")
+        .withCode(EXPIRATION_DATE_NOT_ALLOWED.getErrorCode())
+        .withFieldName(EXPIRATION_DATE_NOT_ALLOWED.getField())
+        .withMessage(EXPIRATION_DATE_NOT_ALLOWED.getMessage(parameters))
         .withAttempedValue(Billing::getExpirationDate)
         .critical()
 
@@ -137,22 +149,23 @@ public class BillingValidator extends AbstractValidator<Billing> {
        * expiration date must be after due date
        * whenever past payment is accepted
        */
-      .must(localDateAfter(Billing::getExpirationDate, Billing::getDueDate))
+      .must(dateAfter(Billing::getExpirationDateEpochDay, Billing::getExpirationDate, Billing::getDueDateEpochDay, Billing::getDueDate))
       .when(isTrue(Billing::getAcceptPastPayment).and(not(nullValue(Billing::getDueDate))))
-        .withCode("110")
-        .withFieldName("expirationDate")
-        .withMessage("expiration date must be further due date")
+        .withCode(EXPIRATION_AFTER_DUE_DATE.getErrorCode())
+        .withFieldName(EXPIRATION_AFTER_DUE_DATE.getField())
+        .withMessage(EXPIRATION_AFTER_DUE_DATE.getMessage(parameters))
         .withAttempedValue(Billing::getExpirationDate)
 
       /**
-       * expiration date must be set to more than 6 months past due date
+       * expiration date must be set to more than 6 months (by default) past due date
        * whenever past payment is accepted
        */
-      .must(localDateBeforeOrEqual(Billing::getExpirationDate, plusMonths(Billing::getDueDate, 6)))
+      .must(dateBeforeOrEqualMonthsAfter(Billing::getExpirationDateEpochDay, Billing::getExpirationDate,
+        Billing::getDueDateEpochDay, Billing::getDueDate, parameters.getExpirationWindowMonths()))
       .when(isTrue(Billing::getAcceptPastPayment).and(not(nullValue(Billing::getDueDate))))
-        .withCode("111")
-        .withFieldName("expirationDate")
-        .withMessage("expiration date must be set to more than 6 months past due date")
+        .withCode(EXPIRATION_WINDOW.getErrorCode())
+        .withFieldName(EXPIRATION_WINDOW.getField())
+        .withMessage(EXPIRATION_WINDOW.getMessage(parameters))
         .withAttempedValue(Billing::getExpirationDate);
 
     /**
@@ -161,15 +174,15 @@ public class BillingValidator extends AbstractValidator<Billing> {
      * - whenever fine is applicable, fine rules can be applied
      * for this purpose, a exclusive validator for fine rules is created
      */
-    ruleFor("applyFineForPastPayment", billing -> billing)
+    ruleFor(APPLY_FINE_REQUIRED.getField(), billing -> billing)
       .must(not(nullValue(Billing::getApplyFineForPastPayment)))
-        .withCode("112")
-        .withMessage("flag 'apply fine for past payment' not provided")
+        .withCode(APPLY_FINE_REQUIRED.getErrorCode())
+        .withMessage(APPLY_FINE_REQUIRED.getMessage(parameters))
         .withAttempedValue(Billing::getApplyFineForPastPayment)
         .critical()
 
       .whenever(isTrue(Billing::getAcceptPastPayment))
-      .withValidator(new FineValidator());
+      .withValidator(new FineValidator(parameters));
 
     /**
      * rules for payer:
@@ -181,9 +194,9 @@ public class BillingValidator extends AbstractValidator<Billing> {
        * payer must not be null
        */
       .must(not(nullValue()))
-        .withCode("113")
-        .withFieldName("payer")
-        .withMessage("payer not provided")
+        .withCode(PAYER_REQUIRED.getErrorCode())
+        .withFieldName(PAYER_REQUIRED.getField())
+        .withMessage(PAYER_REQUIRED.getMessage(parameters))
         .withAttempedValue(Billing::getPayer)
         .critical()
 
@@ -191,7 +204,7 @@ public class BillingValidator extends AbstractValidator<Billing> {
        * validate payer with proper rules
        */
       .whenever(not(nullValue()))
-      .withValidator(new PayerValidator());
+      .withValidator(new PayerValidator(parameters));
 
     /**
      * rules for receiver:
@@ -203,9 +216,9 @@ public class BillingValidator extends AbstractValidator<Billing> {
        * receiver must not be null
        */
       .must(not(nullValue()))
-        .withCode("114")
-        .withFieldName("receiver")
-        .withMessage("receiver not provided")
+        .withCode(RECEIVER_REQUIRED.getErrorCode())
+        .withFieldName(RECEIVER_REQUIRED.getField())
+        .withMessage(RECEIVER_REQUIRED.getMessage(parameters))
         .withAttempedValue(Billing::getReceiver)
         .critical()
 
@@ -213,40 +226,166 @@ public class BillingValidator extends AbstractValidator<Billing> {
        * validate receiver with proper rules
        */
       .whenever(not(nullValue()))
-      .withValidator(new ReceiverValidator());
+      .withValidator(new ReceiverValidator(parameters));
 
     /**
      * rules for additionalInfo:
      * - it can be null
      * - if additional info is provided, the list must not be empty
-     * - for each item in the list, use and exclusive validator
+     * - the items in the list are validated by an exclusive list validator
      */
-    ruleForEach("additionalInfo", Billing::getAdditionalInfo)
+    ruleFor(ADDITIONAL_INFO_NOT_EMPTY.getField(), Billing::getAdditionalInfo)
       /**
        * if additional info list is provided, it must not be empty
        */
       .must(not(empty()))
       .when(not(nullValue()))
-        .withCode("115")
-        .withMessage("additional info list must not be empty")
+        .withCode(ADDITIONAL_INFO_NOT_EMPTY.getErrorCode())
+        .withMessage(ADDITIONAL_INFO_NOT_EMPTY.getMessage(parameters))
         .withAttempedValue(Billing::getAdditionalInfo)
 
       /**
-       * for each item on additional info list, apply a proper validator
+       * scan the items on additional info list with a proper validator
        */
       .whenever(not(nullValue()))
-      .withValidator(new AdditionalInfoValidator());
+      .withValidator(new AdditionalInfoListValidator());
+
+  }
+
+  public BillingValidator() {
+    this(RuleParameters.DEFAULTS);
+  }
+
+  /**
+   * Compiles the rules with the given limits, which are fixed for the lifetime of this validator
+   *
+   * @param parameters
+   */
+  public BillingValidator(final RuleParameters parameters) {
+    this(parameters, new BillingCodeValidator(parameters));
+  }
+
+  /**
+   * @param parameters
+   * @param codeValidator validating with the same parameters
+   */
+  BillingValidator(final RuleParameters parameters, final BillingCodeValidator codeValidator) {
+    this.parameters = parameters;
+    this.codeValidator = codeValidator;
+  }
+
+  /**
+   * Validates a billing through the fluent rule tree, or through the BillingCodeValidator
+   * whenever the parameters ask for it (billing.rules.compiled); both report the same errors
+   * the codes of the latter are taken from the ValidationCodesPool and handed back once
+   * turned into the result
+   *
+   * billings large enough to have their subtrees validated in parallel always go
+   * through the BillingCodeValidator, see BillingCodeValidator#PARALLEL_THRESHOLD
+   *
+   * @param billing
+   * @return the validation result
+   */
+  @Override
+  public ValidationResult validate(final Billing billing) {
+    if (!parameters.isCompiled() && !codeValidator.isParallel(billing)) {
+      return super.validate(billing);
+    }
+
+    final ValidationCodes codes = ValidationCodesPool.acquire(billing, parameters, AcceptedCountries.current());
 
+    try {
+      return codeValidator.validate(billing, EpochDays.today(), codes).toValidationResult();
+    } finally {
+      ValidationCodesPool.release(codes);
+    }
   }
 
   /**
-   * Function created to dynamically add months to a field
+   * Validates a billing nested in another validator, reporting the errors to its context
    *
-   * @param localDateFunction
-   * @return
+   * @param billing
+   * @return whether the billing passed on all rules
    */
-  private Function<Billing, LocalDate> plusMonths(final Function<Billing, LocalDate> localDateFunction, final int months) {
-    return billing -> localDateFunction.apply(billing).plusMonths(months);
+  @Override
+  public boolean apply(final Billing billing) {
+    if (!parameters.isCompiled() && !codeValidator.isParallel(billing)) {
+      return super.apply(billing);
+    }
+
+    final ValidationCodes codes = ValidationCodesPool.acquire(billing, parameters, AcceptedCountries.current());
+
+    try {
+      codeValidator.validate(billing, EpochDays.today(), codes);
+
+      if (!codes.isValid()) {
+        ValidationContext.get().addErrors(codes.getErrors());
+      }
+
+      return codes.isValid();
+    } finally {
+      ValidationCodesPool.release(codes);
+    }
+  }
+
+  /**
+   * Validates a billing with the same rules, recording only the codes of the failures
+   * the errors are built from them only when asked for
+   *
+   * @param billing
+   * @return the codes of the failed rules
+   */
+  public ValidationCodes validateCodes(final Billing billing) {
+    return codeValidator.validate(billing);
+  }
+
+  /**
+   * Records what a billing is about to be validated against, to be taken before validating it
+   *
+   * @param billing
+   * @return the stamp to revalidate the changed versions of the billing with, once it passed on validation
+   */
+  public ValidationStamp stamp(final Billing billing) {
+    return new ValidationStamp(billing, this, AcceptedCountries.current(), EpochDays.today());
+  }
+
+  /**
+   * Validates a changed version of a billing which passed on validation, running only
+   * the rules of the changed fields, along with the ones of other fields depending on them
+   *
+   * the whole billing is validated instead whenever the rule parameters, the accepted
+   * countries or the day are no longer the ones of the stamp. Either way the result is
+   * the very same one of a full validation
+   *
+   * @param previous stamp of the version which passed on validation
+   * @param billing
+   * @return the validation result
+   */
+  public ValidationResult revalidate(final ValidationStamp previous, final Billing billing) {
+    final AcceptedCountries acceptedCountries = AcceptedCountries.current();
+    final int today = EpochDays.today();
+
+    if (!previous.isCurrent(this, acceptedCountries, today)) {
+      return validate(billing);
+    }
+
+    final int groups = BillingChanges.between(previous.getBilling(), billing);
+
+    if (groups == 0) {
+      return ValidationResult.ok();
+    }
+
+    final ValidationCodes codes = ValidationCodesPool.acquire(billing, parameters, acceptedCountries);
+
+    try {
+      return codeValidator.revalidate(previous.getBilling(), billing, today, groups, codes).toValidationResult();
+    } finally {
+      ValidationCodesPool.release(codes);
+    }
+  }
+
+  public RuleParameters getParameters() {
+    return parameters;
   }
 
 }
@@ -1,46 +1,53 @@
 package br.com.example.fluentvalidatorexamples.validator;
 
 import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
 import br.com.fluentvalidator.AbstractValidator;
 
-import java.math.BigDecimal;
-import java.util.function.Function;
-
-import static br.com.fluentvalidator.predicate.ComparablePredicate.greaterThanOrEqual;
-import static br.com.fluentvalidator.predicate.ComparablePredicate.lessThan;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountGreaterThanOrEqual;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountLessThan;
+import static br.com.example.fluentvalidatorexamples.validator.BillingRule.*;
 import static br.com.fluentvalidator.predicate.LogicalPredicate.isTrue;
 
 class FineValidator extends AbstractValidator<Billing> {
 
-  private static final BigDecimal MINIMUM_FINE_AMOUNT = new BigDecimal("0.01");
+  private final RuleParameters parameters;
+
+  FineValidator() {
+    this(RuleParameters.DEFAULTS);
+  }
+
+  FineValidator(final RuleParameters parameters) {
+    this.parameters = parameters;
+  }
 
   @Override
   public void rules() {
     /**
      * rules for fine appliance:
-     * - it must be greater or equal $0.01 if fine is applicable
+     * - it must be greater or equal the minimum fine amount ($0.01 by default) if fine is applicable
      * - it must be lesser than the balance if fine is applicable
      */
     ruleFor(billing -> billing)
       /**
-       * the minimum value for fine amount is $0.01
+       * the minimum value for fine amount is $0.01 by default
        */
-      .must(greaterThanOrEqual(Billing::getFineAmount, MINIMUM_FINE_AMOUNT))
+      .must(amountGreaterThanOrEqual(Billing::getFineAmountCents, Billing::getFineAmount, parameters.getMinimumFineAmount()))
       .when(isTrue(Billing::getApplyFineForPastPayment))
-        .withCode("201")
-        .withFieldName("fineAmount")
-        .withMessage("the minimum value for fine amount is $0.01")
+        .withCode(MINIMUM_FINE_AMOUNT.getErrorCode())
+        .withFieldName(MINIMUM_FINE_AMOUNT.getField())
+        .withMessage(MINIMUM_FINE_AMOUNT.getMessage(parameters))
         .withAttempedValue(Billing::getFineAmount)
         .critical()
 
       /**
        * the maximum value for fine can not be greater or equal the billing balance
        */
-      .must(lessThan(Billing::getFineAmount, (Function<Billing, BigDecimal>) Billing::getBalance))
+      .must(amountLessThan(Billing::getFineAmountCents, Billing::getFineAmount, Billing::getBalanceCents, Billing::getBalance))
       .when(isTrue(Billing::getApplyFineForPastPayment))
-        .withCode("202")
-        .withFieldName("fineAmount")
-        .withMessage("the maximum value for fine can not be greater or equal the billing balance")
+        .withCode(FINE_BELOW_BALANCE.getErrorCode())
+        .withFieldName(FINE_BELOW_BALANCE.getField())
+        .withMessage(FINE_BELOW_BALANCE.getMessage(parameters))
         .withAttempedValue(Billing::getFineAmount);
 
   }
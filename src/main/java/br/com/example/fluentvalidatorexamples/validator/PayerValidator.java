@@ -1,17 +1,27 @@
 package br.com.example.fluentvalidatorexamples.validator;
 
 import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
 import br.com.fluentvalidator.AbstractValidator;
 
 import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.hasMininumAgeOf;
 import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.hasValidEmail;
+import static br.com.example.fluentvalidatorexamples.validator.BillingRule.*;
 import static br.com.fluentvalidator.predicate.ObjectPredicate.nullValue;
 import static br.com.fluentvalidator.predicate.StringPredicate.stringEmptyOrNull;
 import static java.util.function.Predicate.not;
 
 public class PayerValidator extends AbstractValidator<Payer> {
 
-  private static final int MINIMUM_PAYER_AGE = 18;
+  private final RuleParameters parameters;
+
+  public PayerValidator() {
+    this(RuleParameters.DEFAULTS);
+  }
+
+  public PayerValidator(final RuleParameters parameters) {
+    this.parameters = parameters;
+  }
 
   @Override
   public void rules() {
@@ -21,68 +31,68 @@ public class PayerValidator extends AbstractValidator<Payer> {
      * - payer's first name must be provided
      * - payer's last name must be provided
      * - payer's birthday must be provided
-     * - payer must be older than 18 years old
+     * - payer must be older than the minimum age (18 years old by default)
      * - payer's e-mail must be provided
      * - payer's e-mail must follow the pattern: 'e-mail@provider.extension'
      * - payer's billing address must not be null
      * - payer's billing address validations must be set on a dedicated validator
      */
 
-    ruleFor("payer.firstName", Payer::getFirstName)
+    ruleFor(PAYER_FIRST_NAME.getField(), Payer::getFirstName)
       /**
        * payer's first name must not be null or string empty
        */
       .must(not(stringEmptyOrNull()))
-        .withCode("301")
-        .withMessage("payer's first name not provided");
+        .withCode(PAYER_FIRST_NAME.getErrorCode())
+        .withMessage(PAYER_FIRST_NAME.getMessage(parameters));
 
-    ruleFor("payer.lastName", Payer::getLastName)
+    ruleFor(PAYER_LAST_NAME.getField(), Payer::getLastName)
       /**
        * payer's last name must not be null or string empty
        */
       .must(not(stringEmptyOrNull()))
-        .withCode("302")
-        .withMessage("payer's last name not provided");
+        .withCode(PAYER_LAST_NAME.getErrorCode())
+        .withMessage(PAYER_LAST_NAME.getMessage(parameters));
 
-    ruleFor("payer.birthday", Payer::getBirthday)
+    ruleFor(PAYER_BIRTHDAY.getField(), Payer::getBirthday)
       /**
        * payer's birthday must not be null
        */
       .must(not(nullValue()))
-        .withCode("303")
-        .withMessage("payer's birthday not provided")
+        .withCode(PAYER_BIRTHDAY.getErrorCode())
+        .withMessage(PAYER_BIRTHDAY.getMessage(parameters))
         .critical()
 
       /**
-       * payer's age must be at least 18
+       * payer's age must be at least 18 by default
        */
-      .must(hasMininumAgeOf(MINIMUM_PAYER_AGE))
-        .withCode("304")
-        .withMessage("payer's age must be at least 18");
+      .must(hasMininumAgeOf(parameters.getMinimumPayerAge()))
+        .withCode(PAYER_MINIMUM_AGE.getErrorCode())
+        .withMessage(PAYER_MINIMUM_AGE.getMessage(parameters));
 
-    ruleFor("payer.email", Payer::getEmail)
+    ruleFor(PAYER_EMAIL.getField(), Payer::getEmail)
       /**
        * payer's e-mail must be provided and follow the pattern: 'e-mail@provider.extension'
        * hasValidEmail() predicate also checks for null and blank string
        */
       .must(hasValidEmail())
-        .withCode("305")
-        .withMessage("payer's e-mail must be provided and follow the pattern: 'e-mail@provider.extension'");
+        .withCode(PAYER_EMAIL.getErrorCode())
+        .withMessage(PAYER_EMAIL.getMessage(parameters));
 
-    ruleFor("payer.billingAddress", Payer::getBillingAddress)
+    ruleFor(PAYER_ADDRESS_REQUIRED.getField(), Payer::getBillingAddress)
       /**
        * payer's billing address must not be null
        */
       .must(not(nullValue()))
-        .withCode("306")
-        .withMessage("payer's billing address not provided")
+        .withCode(PAYER_ADDRESS_REQUIRED.getErrorCode())
+        .withMessage(PAYER_ADDRESS_REQUIRED.getMessage(parameters))
         .critical()
 
       /**
        * payer's billing address validations must be set on a dedicated validator
        */
       .whenever(not(nullValue()))
-      .withValidator(new AddressValidator("payer."));
+      .withValidator(new AddressValidator("payer.", parameters));
 
   }
 
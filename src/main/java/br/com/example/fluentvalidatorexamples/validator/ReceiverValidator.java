@@ -1,17 +1,27 @@
 package br.com.example.fluentvalidatorexamples.validator;
 
 import br.com.example.fluentvalidatorexamples.domain.Receiver;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
 import br.com.fluentvalidator.AbstractValidator;
 
 import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.hasMininumAgeOf;
 import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.hasValidEmail;
+import static br.com.example.fluentvalidatorexamples.validator.BillingRule.*;
 import static br.com.fluentvalidator.predicate.ObjectPredicate.nullValue;
 import static br.com.fluentvalidator.predicate.StringPredicate.stringEmptyOrNull;
 import static java.util.function.Predicate.not;
 
 public class ReceiverValidator extends AbstractValidator<Receiver> {
 
-  private static final int MINIMUM_PAYER_AGE = 21;
+  private final RuleParameters parameters;
+
+  public ReceiverValidator() {
+    this(RuleParameters.DEFAULTS);
+  }
+
+  public ReceiverValidator(final RuleParameters parameters) {
+    this.parameters = parameters;
+  }
 
   @Override
   public void rules() {
@@ -21,68 +31,68 @@ public class ReceiverValidator extends AbstractValidator<Receiver> {
      * - receiver's first name must be provided
      * - receiver's last name must be provided
      * - receiver's birthday must be provided
-     * - receiver must be older than 21 years old
+     * - receiver must be older than the minimum age (21 years old by default)
      * - receiver's e-mail must be provided
      * - receiver's e-mail must follow the pattern: 'e-mail@provider.extension'
      * - receiver's billing address must not be null
      * - receiver's billing address validations must be set on a dedicated validator
      */
 
-    ruleFor("receiver.firstName", Receiver::getFirstName)
+    ruleFor(RECEIVER_FIRST_NAME.getField(), Receiver::getFirstName)
       /**
        * receiver's first name must not be null or string empty
        */
       .must(not(stringEmptyOrNull()))
-        .withCode("501")
-        .withMessage("receiver's first name not provided");
+        .withCode(RECEIVER_FIRST_NAME.getErrorCode())
+        .withMessage(RECEIVER_FIRST_NAME.getMessage(parameters));
 
-    ruleFor("receiver.lastName", Receiver::getLastName)
+    ruleFor(RECEIVER_LAST_NAME.getField(), Receiver::getLastName)
       /**
        * receiver's last name must not be null or string empty
        */
       .must(not(stringEmptyOrNull()))
-        .withCode("502")
-        .withMessage("receiver's last name not provided");
+        .withCode(RECEIVER_LAST_NAME.getErrorCode())
+        .withMessage(RECEIVER_LAST_NAME.getMessage(parameters));
 
-    ruleFor("receiver.birthday", Receiver::getBirthday)
+    ruleFor(RECEIVER_BIRTHDAY.getField(), Receiver::getBirthday)
       /**
        * receiver's birthday must not be null
        */
       .must(not(nullValue()))
-        .withCode("503")
-        .withMessage("receiver's birthday not provided")
+        .withCode(RECEIVER_BIRTHDAY.getErrorCode())
+        .withMessage(RECEIVER_BIRTHDAY.getMessage(parameters))
         .critical()
 
       /**
-       * receiver's age must be at least 21
+       * receiver's age must be at least 21 by default
        */
-      .must(hasMininumAgeOf(MINIMUM_PAYER_AGE))
-        .withCode("504")
-        .withMessage("receiver's age must be at least 21");
+      .must(hasMininumAgeOf(parameters.getMinimumReceiverAge()))
+        .withCode(RECEIVER_MINIMUM_AGE.getErrorCode())
+        .withMessage(RECEIVER_MINIMUM_AGE.getMessage(parameters));
 
-    ruleFor("receiver.email", Receiver::getEmail)
+    ruleFor(RECEIVER_EMAIL.getField(), Receiver::getEmail)
       /**
        * receiver's e-mail must be provided and follow the pattern: 'e-mail@provider.extension'
        * hasValidEmail() predicate also checks for null and blank string
        */
       .must(hasValidEmail())
-        .withCode("505")
-        .withMessage("receiver's e-mail must be provided and follow the pattern: 'e-mail@provider.extension'");
+        .withCode(RECEIVER_EMAIL.getErrorCode())
+        .withMessage(RECEIVER_EMAIL.getMessage(parameters));
 
-    ruleFor("receiver.billingAddress", Receiver::getAddress)
+    ruleFor(RECEIVER_ADDRESS_REQUIRED.getField(), Receiver::getAddress)
       /**
        * receiver's billing address must not be null
        */
       .must(not(nullValue()))
-        .withCode("506")
-        .withMessage("receiver's billing address not provided")
+        .withCode(RECEIVER_ADDRESS_REQUIRED.getErrorCode())
+        .withMessage(RECEIVER_ADDRESS_REQUIRED.getMessage(parameters))
         .critical()
 
       /**
        * receiver's billing address validations must be set on a dedicated validator
        */
       .whenever(not(nullValue()))
-      .withValidator(new AddressValidator("receiver."));
+      .withValidator(new AddressValidator("receiver.", parameters));
 
   }
 
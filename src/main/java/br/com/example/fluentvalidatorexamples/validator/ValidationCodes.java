@@ -0,0 +1,214 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.fluentvalidator.context.Error;
+import br.com.fluentvalidator.context.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lightweight result of a billing validation, which only records the code and
+ * the path index of each failed rule, side by side on a primitive array
+ *
+ * fields, messages and attempted values are resolved from the BillingRule the
+ * first time the errors are asked for, so callers only interested on validity
+ * or on the codes never build them. The attempted values are read from the
+ * validated billing by then, so it must not be changed in between
+ *
+ * the results taken from the ValidationCodesPool are reset once released, and
+ * reading them afterwards fails with an IllegalStateException
+ */
+public final class ValidationCodes {
+
+  private static final int[] NONE = new int[0];
+
+  /**
+   * thread the result is confined to while taken from the pool, null when it was not
+   */
+  private final Thread owner;
+
+  private boolean released;
+
+  private Billing billing;
+
+  private RuleParameters parameters;
+
+  private AcceptedCountries acceptedCountries;
+
+  /**
+   * code and path index of each failure, in the order they were found
+   */
+  private int[] failures = NONE;
+
+  private int size;
+
+  private List<Error> errors;
+
+  ValidationCodes(final Billing billing, final RuleParameters parameters, final AcceptedCountries acceptedCountries) {
+    this(billing, parameters, acceptedCountries, null);
+  }
+
+  ValidationCodes(final Billing billing, final RuleParameters parameters, final AcceptedCountries acceptedCountries, final Thread owner) {
+    this.billing = billing;
+    this.parameters = parameters;
+    this.acceptedCountries = acceptedCountries;
+    this.owner = owner;
+  }
+
+  /**
+   * Prepares a pooled result for a new validation, keeping the buffer grown by the former ones
+   */
+  void reuse(final Billing billing, final RuleParameters parameters, final AcceptedCountries acceptedCountries) {
+    this.billing = billing;
+    this.parameters = parameters;
+    this.acceptedCountries = acceptedCountries;
+    this.released = false;
+  }
+
+  /**
+   * Forgets the validation, so an idle pooled result holds no billing
+   *
+   * @return the thread the result is confined to
+   */
+  Thread release() {
+    if (Objects.isNull(owner) || released) {
+      throw new IllegalStateException("validation codes not taken from the pool, or already released");
+    }
+
+    billing = null;
+    parameters = null;
+    acceptedCountries = null;
+    errors = null;
+    size = 0;
+    released = true;
+
+    return owner;
+  }
+
+  /**
+   * @return an empty result for a part of the same validation, to be appended back with addAll()
+   */
+  ValidationCodes subtree() {
+    return new ValidationCodes(billing, parameters, acceptedCountries);
+  }
+
+  /**
+   * Appends the failures of a part of the same validation, after the ones already recorded
+   *
+   * @param subtree
+   */
+  void addAll(final ValidationCodes subtree) {
+    final int length = (size + subtree.size) * 2;
+
+    if (length > failures.length) {
+      failures = Arrays.copyOf(failures, Math.max(length, failures.length * 2));
+    }
+
+    System.arraycopy(subtree.failures, 0, failures, size * 2, subtree.size * 2);
+    size += subtree.size;
+  }
+
+  /**
+   * @return how many failures the buffer holds before growing
+   */
+  int capacity() {
+    return failures.length / 2;
+  }
+
+  void add(final BillingRule rule, final int index) {
+    if (size * 2 == failures.length) {
+      failures = Arrays.copyOf(failures, Math.max(16, failures.length * 2));
+    }
+
+    failures[size * 2] = rule.getCode();
+    failures[size * 2 + 1] = index;
+    size++;
+  }
+
+  public boolean isValid() {
+    checkNotReleased();
+
+    return size == 0;
+  }
+
+  /**
+   * @return how many rules failed
+   */
+  public int size() {
+    checkNotReleased();
+
+    return size;
+  }
+
+  public int getCode(final int position) {
+    checkNotReleased();
+    Objects.checkIndex(position, size);
+
+    return failures[position * 2];
+  }
+
+  public int getIndex(final int position) {
+    checkNotReleased();
+    Objects.checkIndex(position, size);
+
+    return failures[position * 2 + 1];
+  }
+
+  /**
+   * @return the codes of the failed rules, in the order they were found
+   */
+  public int[] getCodes() {
+    checkNotReleased();
+
+    final int[] codes = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      codes[i] = failures[i * 2];
+    }
+
+    return codes;
+  }
+
+  /**
+   * Materializes the errors on the first call, the same ones the BillingValidator reports
+   *
+   * @return
+   */
+  public Collection<Error> getErrors() {
+    checkNotReleased();
+
+    if (Objects.isNull(errors)) {
+      final List<Error> resolved = new ArrayList<>(size);
+
+      for (int i = 0; i < size; i++) {
+        resolved.add(BillingRule.resolve(failures[i * 2], failures[i * 2 + 1], billing, parameters, acceptedCountries));
+      }
+
+      errors = Collections.unmodifiableList(resolved);
+    }
+
+    return errors;
+  }
+
+  AcceptedCountries getAcceptedCountries() {
+    return acceptedCountries;
+  }
+
+  public ValidationResult toValidationResult() {
+    return isValid() ? ValidationResult.ok() : ValidationResult.fail(getErrors());
+  }
+
+  private void checkNotReleased() {
+    if (released) {
+      throw new IllegalStateException("validation codes already released to the pool");
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-thread pool of ValidationCodes, for the validations which turn the codes into
+ * their result before returning, so they do not allocate and grow a buffer on each call
+ *
+ * each thread keeps at most one idle result, which only that thread ever takes
+ * or gives back: a result is confined to the thread that acquired it until it is
+ * released, and released on a different thread it is left to the garbage collector.
+ * A validation nested in another one, which finds the idle slot empty, gets a
+ * brand new result. Results are reset on release, so an idle one holds no billing
+ */
+final class ValidationCodesPool {
+
+  /**
+   * results grown beyond this many failures are not kept, so a huge billing does not pin its buffer
+   */
+  static final int MAX_RETAINED_CAPACITY = 1_024;
+
+  private static final ThreadLocal<ValidationCodes[]> IDLE = ThreadLocal.withInitial(() -> new ValidationCodes[1]);
+
+  private static final LongAdder ACQUIRED = new LongAdder();
+
+  private static final LongAdder RELEASED = new LongAdder();
+
+  private ValidationCodesPool() {
+  }
+
+  /**
+   * @return an empty result, confined to the current thread until released
+   */
+  static ValidationCodes acquire(final Billing billing, final RuleParameters parameters, final AcceptedCountries acceptedCountries) {
+    ACQUIRED.increment();
+
+    final ValidationCodes[] idle = IDLE.get();
+    final ValidationCodes codes = idle[0];
+
+    if (Objects.isNull(codes)) {
+      return new ValidationCodes(billing, parameters, acceptedCountries, Thread.currentThread());
+    }
+
+    idle[0] = null;
+    codes.reuse(billing, parameters, acceptedCountries);
+
+    return codes;
+  }
+
+  /**
+   * Resets a result, handing it back to the pool of its thread, after which it must no longer be read
+   * the errors it already materialized are kept by whoever holds them
+   *
+   * @param codes taken from acquire()
+   */
+  static void release(final ValidationCodes codes) {
+    final Thread owner = codes.release();
+    RELEASED.increment();
+
+    if (owner != Thread.currentThread() || codes.capacity() > MAX_RETAINED_CAPACITY) {
+      return;
+    }
+
+    final ValidationCodes[] idle = IDLE.get();
+
+    if (Objects.isNull(idle[0])) {
+      idle[0] = codes;
+    }
+  }
+
+  /**
+   * @return how many results were taken and not released yet, which is 0 once every caller is done
+   */
+  static long outstanding() {
+    return ACQUIRED.sum() - RELEASED.sum();
+  }
+
+}
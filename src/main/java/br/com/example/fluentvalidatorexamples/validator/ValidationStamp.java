@@ -0,0 +1,48 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+
+/**
+ * What a billing was validated against: the validator, and so the version of
+ * the rule parameters, the accepted countries and the day
+ *
+ * a billing which passed on validation keeps passing on every rule whose fields
+ * did not change for as long as all three stay the same, which is what lets
+ * BillingValidator#revalidate run only the rules of the changed fields
+ */
+public final class ValidationStamp {
+
+  private final Billing billing;
+
+  private final BillingValidator validator;
+
+  private final AcceptedCountries acceptedCountries;
+
+  private final int day;
+
+  ValidationStamp(final Billing billing, final BillingValidator validator, final AcceptedCountries acceptedCountries, final int day) {
+    this.billing = billing;
+    this.validator = validator;
+    this.acceptedCountries = acceptedCountries;
+    this.day = day;
+  }
+
+  /**
+   * @param validator
+   * @param acceptedCountries
+   * @param day epoch day
+   * @return whether the billing would be validated against the very same ones
+   */
+  boolean isCurrent(final BillingValidator validator, final AcceptedCountries acceptedCountries, final int day) {
+    return this.validator == validator && this.acceptedCountries == acceptedCountries && this.day == day;
+  }
+
+  /**
+   * @return the validated billing, which must not be changed afterwards
+   */
+  public Billing getBilling() {
+    return billing;
+  }
+
+}
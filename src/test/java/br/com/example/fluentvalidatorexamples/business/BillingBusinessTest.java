@@ -3,7 +3,14 @@ package br.com.example.fluentvalidatorexamples.business;
 import br.com.example.fluentvalidatorexamples.domain.Billing;
 import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException;
 import br.com.example.fluentvalidatorexamples.exception.BillingValidationException;
+import br.com.example.fluentvalidatorexamples.exception.IdempotencyKeyReusedException;
+import br.com.example.fluentvalidatorexamples.idempotency.IdempotencyStore;
+import br.com.example.fluentvalidatorexamples.json.BillingJson;
+import br.com.example.fluentvalidatorexamples.json.BillingJsonCache;
+import br.com.example.fluentvalidatorexamples.pool.AddressPool;
 import br.com.example.fluentvalidatorexamples.repository.BillingRepository;
+import br.com.example.fluentvalidatorexamples.utils.RuleParametersTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BillingRuleSets;
 import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
 import br.com.fluentvalidator.context.Error;
 import br.com.fluentvalidator.context.ValidationResult;
@@ -11,17 +18,26 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.LoggingEvent;
 import ch.qos.logback.core.Appender;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createCustomMapper;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,17 +55,32 @@ class BillingBusinessTest {
   @Mock
   private BillingRepository billingRepository;
 
+  @Mock
+  private BillingJsonCache billingJsonCache;
+
+  @Spy
+  private IdempotencyStore idempotencyStore = new IdempotencyStore(createCustomMapper());
+
   @InjectMocks
   private BillingBusiness billingBusiness;
 
+  private BillingValidator installedValidator;
+
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
 
+    installedValidator = BillingRuleSets.replace(billingValidator);
+
     final Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
     root.addAppender(mockedAppender);
   }
 
+  @AfterEach
+  void tearDown() {
+    BillingRuleSets.replace(installedValidator);
+  }
+
   @Test
   void Should_ReturnSavedBilling_When_ValidationsAreOk() {
     final Billing billing = createBilling();
@@ -104,6 +135,204 @@ class BillingBusinessTest {
   }
 
 
+  @Test
+  void Should_ShareAddressStrings_When_SavedBillingsHaveEqualAddresses() {
+    final Billing billing = createBilling();
+    final Billing otherBilling = createBilling();
+
+    when(billingValidator.validate(any(Billing.class))).thenReturn(ValidationResult.ok());
+    when(billingRepository.save(any(Billing.class))).then(invocation -> invocation.getArgument(0));
+
+    billingBusiness.save(billing);
+    billingBusiness.save(otherBilling);
+
+    assertThat(otherBilling.getPayer().getBillingAddress(), not(sameInstance(billing.getPayer().getBillingAddress())));
+    assertThat(otherBilling.getPayer().getBillingAddress().getCity(), sameInstance(billing.getPayer().getBillingAddress().getCity()));
+    assertThat(otherBilling.getReceiver().getAddress().getCountry(), sameInstance(billing.getReceiver().getAddress().getCountry()));
+  }
+
+  @Test
+  void Should_NotPoolAddresses_When_BillingIsRejected() {
+    final Billing billing = createBilling();
+    billing.getPayer().getBillingAddress().setCity(new String("Rejected City"));
+
+    when(billingValidator.validate(any(Billing.class))).thenReturn(ValidationResult.fail(List.of(Error.create("field", "message", "code", "attemptedValue"))));
+
+    catchThrowableOfType(() -> billingBusiness.save(billing), BillingValidationException.class);
+
+    final String city = new String("Rejected City");
+
+    assertThat(AddressPool.canonical(city), sameInstance(city));
+  }
+
+  @Test
+  void Should_ReturnCreatedBilling_When_SavingAgainUnderSameIdempotencyKey() throws IdempotencyKeyReusedException {
+    final Billing billing = createBilling();
+
+    final Billing savedBilling = createBilling();
+
+    when(billingValidator.validate(eq(billing))).thenReturn(ValidationResult.ok());
+    when(billingRepository.save(eq(billing))).thenReturn(savedBilling);
+
+    final Billing created = billingBusiness.save(billing, "order-42");
+    final Billing retried = billingBusiness.save(createBilling(), "order-42");
+
+    verify(billingValidator, times(1)).validate(ArgumentMatchers.any(Billing.class));
+    verify(billingRepository, only()).save(eq(billing));
+
+    assertThat(created, sameInstance(savedBilling));
+    assertThat(retried, sameInstance(savedBilling));
+  }
+
+  @Test
+  void Should_ThrowException_When_SavingAnotherBillingUnderSameIdempotencyKey() throws IdempotencyKeyReusedException {
+    final Billing billing = createBilling();
+
+    final Billing other = createBilling();
+    other.setFineAmount(null);
+
+    when(billingValidator.validate(ArgumentMatchers.any(Billing.class))).thenReturn(ValidationResult.ok());
+    when(billingRepository.save(eq(billing))).thenReturn(createBilling());
+
+    billingBusiness.save(billing, "order-42");
+
+    final IdempotencyKeyReusedException exception = catchThrowableOfType(
+      () -> billingBusiness.save(other, "order-42"), IdempotencyKeyReusedException.class);
+
+    verify(billingValidator, times(1)).validate(ArgumentMatchers.any(Billing.class));
+    verify(billingRepository, only()).save(eq(billing));
+
+    assertThat(exception, not(nullValue()));
+  }
+
+  @Test
+  void Should_SaveEveryBilling_When_NoIdempotencyKeyIsSent() throws IdempotencyKeyReusedException {
+    final Billing billing = createBilling();
+
+    when(billingValidator.validate(eq(billing))).thenReturn(ValidationResult.ok());
+    when(billingRepository.save(eq(billing))).thenReturn(createBilling(), createBilling());
+
+    final Billing first = billingBusiness.save(billing, null);
+    final Billing second = billingBusiness.save(billing, null);
+
+    verify(billingRepository, times(2)).save(eq(billing));
+    verify(idempotencyStore, never()).put(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any(UUID.class), ArgumentMatchers.any(Billing.class));
+
+    assertThat(first, not(sameInstance(second)));
+  }
+
+  @Test
+  void Should_SaveRetry_When_BillingUnderIdempotencyKeyWasRejected() throws IdempotencyKeyReusedException {
+    final Billing billing = createBilling();
+
+    final Billing savedBilling = createBilling();
+
+    final ValidationResult rejected = ValidationResult.fail(Collections.singletonList(Error.create("field", "message", "code", null)));
+
+    when(billingValidator.validate(eq(billing))).thenReturn(rejected, ValidationResult.ok());
+    when(billingRepository.save(eq(billing))).thenReturn(savedBilling);
+
+    final BillingValidationException exception = catchThrowableOfType(
+      () -> billingBusiness.save(billing, "order-42"), BillingValidationException.class);
+
+    final Billing retried = billingBusiness.save(billing, "order-42");
+
+    verify(billingRepository, only()).save(eq(billing));
+
+    assertThat(exception.getValidationResult(), equalTo(rejected));
+    assertThat(retried, sameInstance(savedBilling));
+  }
+
+  @Test
+  void Should_SaveOnce_When_SameIdempotencyKeyIsSavedConcurrently() throws Exception {
+    final Billing billing = createBilling();
+    final Billing savedBilling = createBilling();
+    final CountDownLatch saving = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<Thread> clients = Collections.synchronizedList(new ArrayList<>());
+    final ExecutorService executor = Executors.newFixedThreadPool(8, runnable -> {
+      final Thread thread = new Thread(runnable);
+      clients.add(thread);
+
+      return thread;
+    });
+
+    when(billingValidator.validate(ArgumentMatchers.any(Billing.class))).thenReturn(ValidationResult.ok());
+    when(billingRepository.save(ArgumentMatchers.any(Billing.class))).thenAnswer(invocation -> {
+      saving.countDown();
+      release.await();
+
+      return savedBilling;
+    });
+
+    try {
+      final List<Future<Billing>> saves = new ArrayList<>();
+      saves.add(executor.submit(() -> save(billing, "order-42")));
+
+      saving.await();
+
+      for (int i = 1; i < 8; i++) {
+        saves.add(executor.submit(() -> save(createBilling(), "order-42")));
+      }
+
+      // every retry is parked on the save already running
+      while (clients.size() < 8 || clients.stream().filter(thread -> thread.getState() == Thread.State.WAITING).count() < 8) {
+        Thread.sleep(1);
+      }
+
+      release.countDown();
+
+      for (final Future<Billing> save : saves) {
+        assertThat(save.get(10, TimeUnit.SECONDS), sameInstance(savedBilling));
+      }
+
+      verify(billingRepository, only()).save(eq(billing));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void Should_ThrowException_When_AnotherBillingIsSavedConcurrentlyUnderSameIdempotencyKey() throws Exception {
+    final Billing billing = createBilling();
+    final Billing savedBilling = createBilling();
+    final CountDownLatch saving = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    final Billing other = createBilling();
+    other.setFineAmount(null);
+
+    when(billingValidator.validate(ArgumentMatchers.any(Billing.class))).thenReturn(ValidationResult.ok());
+    when(billingRepository.save(ArgumentMatchers.any(Billing.class))).thenAnswer(invocation -> {
+      saving.countDown();
+      release.await();
+
+      return savedBilling;
+    });
+
+    try {
+      final Future<Billing> first = executor.submit(() -> save(billing, "order-42"));
+
+      saving.await();
+
+      // rejected while the first save is still running, rather than waiting on it
+      final ExecutionException exception = catchThrowableOfType(
+        () -> executor.submit(() -> save(other, "order-42")).get(10, TimeUnit.SECONDS), ExecutionException.class);
+
+      release.countDown();
+
+      assertThat(exception.getCause().getCause(), instanceOf(IdempotencyKeyReusedException.class));
+      assertThat(first.get(10, TimeUnit.SECONDS), sameInstance(savedBilling));
+
+      verify(billingValidator, times(1)).validate(ArgumentMatchers.any(Billing.class));
+      verify(billingRepository, only()).save(eq(billing));
+    } finally {
+      release.countDown();
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   void Should_ReturnUpdatedBilling_When_ValidationsAreOk() throws BillingNotFoundException {
     final Billing billing = createBilling();
@@ -178,6 +407,97 @@ class BillingBusinessTest {
     assertThat(loggingEventList, everyItem(hasProperty("level", equalTo(Level.INFO))));
   }
 
+  @Test
+  void Should_RevalidateOnlyChangedFields_When_UpdatingSavedBilling() throws BillingNotFoundException {
+    final BillingValidator validator = spy(new BillingValidator(RuleParametersTemplate.createCompiledParameters()));
+    BillingRuleSets.replace(validator);
+
+    final Billing billing = createBilling();
+    billing.setId(UUID.randomUUID());
+
+    when(billingRepository.save(eq(billing))).thenReturn(billing);
+
+    billingBusiness.save(billing);
+
+    final Billing changedBilling = createBilling();
+    changedBilling.setId(billing.getId());
+    changedBilling.setBalance(null);
+
+    when(billingRepository.update(eq(changedBilling))).thenReturn(changedBilling);
+
+    final BillingValidationException exception = catchThrowableOfType(() -> billingBusiness.update(changedBilling), BillingValidationException.class);
+
+    verify(validator, times(1)).validate(eq(billing));
+    verify(validator, never()).validate(eq(changedBilling));
+    verify(validator, times(1)).revalidate(any(), eq(changedBilling));
+    verify(billingRepository, never()).update(any());
+
+    assertThat(exception, not(nullValue()));
+    assertThat(exception.getValidationResult().getErrors(), contains(hasProperty("code", equalTo("101")), hasProperty("code", equalTo("202"))));
+  }
+
+
+  @Test
+  void Should_ReplaceStoredBilling_When_PatchedBillingIsValid() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+
+    final Billing storedBilling = createBilling();
+    storedBilling.setId(id);
+
+    final Billing patchedBilling = createBilling();
+
+    when(billingRepository.findById(eq(id))).thenReturn(storedBilling);
+    when(billingValidator.validate(eq(patchedBilling))).thenReturn(ValidationResult.ok());
+    when(billingRepository.replace(eq(storedBilling), eq(patchedBilling))).thenReturn(true);
+
+    final Billing returnedBilling = billingBusiness.patch(id, billing -> patchedBilling);
+
+    verify(billingRepository, times(1)).replace(eq(storedBilling), eq(patchedBilling));
+
+    assertThat(returnedBilling, equalTo(patchedBilling));
+    assertThat(returnedBilling.getId(), equalTo(id));
+  }
+
+  @Test
+  void Should_PatchNewerBilling_When_StoredBillingChangedMeanwhile() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+
+    final Billing storedBilling = createBilling();
+    final Billing newerBilling = createBilling();
+    final Billing patchedBilling = createBilling();
+    final Billing patchedNewerBilling = createBilling();
+
+    when(billingRepository.findById(eq(id))).thenReturn(storedBilling, newerBilling);
+    when(billingValidator.validate(any(Billing.class))).thenReturn(ValidationResult.ok());
+    when(billingRepository.replace(eq(storedBilling), eq(patchedBilling))).thenReturn(false);
+    when(billingRepository.replace(eq(newerBilling), eq(patchedNewerBilling))).thenReturn(true);
+
+    final Billing returnedBilling = billingBusiness.patch(id, billing -> billing == storedBilling ? patchedBilling : patchedNewerBilling);
+
+    verify(billingRepository, times(2)).findById(eq(id));
+
+    assertThat(returnedBilling, equalTo(patchedNewerBilling));
+  }
+
+  @Test
+  void Should_ThrowException_When_PatchedBillingIsNotValid() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+
+    final Billing storedBilling = createBilling();
+    final Billing patchedBilling = createBilling();
+
+    final ArrayList<Error> errors = new ArrayList<>();
+    errors.add(Error.create("field", "message", "code", "attemptedValue"));
+
+    when(billingRepository.findById(eq(id))).thenReturn(storedBilling);
+    when(billingValidator.validate(eq(patchedBilling))).thenReturn(ValidationResult.fail(errors));
+
+    final BillingValidationException exception = catchThrowableOfType(() -> billingBusiness.patch(id, billing -> patchedBilling), BillingValidationException.class);
+
+    verify(billingRepository, never()).replace(any(), any());
+
+    assertThat(exception, not(nullValue()));
+  }
 
   @Test
   void Should_DeleteBilling_When_TryingToDeleteExistingBilling() throws BillingNotFoundException {
@@ -187,6 +507,7 @@ class BillingBusinessTest {
 
     verify(mockedAppender, times(2)).doAppend(loggingEventCaptor.capture());
     verify(billingRepository, only()).delete(eq(id));
+    verify(billingJsonCache, only()).invalidate(eq(id));
 
     final List<LoggingEvent> loggingEventList = loggingEventCaptor.getAllValues();
 
@@ -237,10 +558,131 @@ class BillingBusinessTest {
 
     final Billing foundBilling = billingBusiness.findBillingById(id);
 
-    verify(billingRepository, only()).findById(eq(id));
+    verify(billingRepository, times(1)).findById(eq(id));
 
     assertThat(foundBilling, not(nullValue()));
     assertThat(foundBilling, equalTo(billing));
   }
 
+  @Test
+  void Should_ReturnCachedJson_When_CurrentVersionIsCached() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+    final BillingJson billingJson = new BillingJson("17b-1", "{}".getBytes());
+
+    when(billingRepository.findVersionById(eq(id))).thenReturn("17b-1");
+    when(billingJsonCache.get(eq(id), eq("17b-1"))).thenReturn(billingJson);
+
+    final BillingJson foundJson = billingBusiness.findBillingJsonById(id);
+
+    verify(billingRepository, never()).findById(ArgumentMatchers.any(UUID.class));
+
+    assertThat(foundJson, sameInstance(billingJson));
+  }
+
+  @Test
+  void Should_EncodeStoredBilling_When_CurrentVersionIsNotCached() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+    final Billing billing = createBilling();
+    final BillingJson billingJson = new BillingJson("17b-2", "{}".getBytes());
+
+    when(billingRepository.findVersionById(eq(id))).thenReturn("17b-2");
+    when(billingRepository.findById(eq(id))).thenReturn(billing);
+    when(billingJsonCache.put(eq(id), eq("17b-2"), eq(billing))).thenReturn(billingJson);
+
+    final BillingJson foundJson = billingBusiness.findBillingJsonById(id);
+
+    final InOrder inOrder = inOrder(billingRepository);
+    inOrder.verify(billingRepository).findVersionById(eq(id));
+    inOrder.verify(billingRepository).findById(eq(id));
+
+    assertThat(foundJson, sameInstance(billingJson));
+  }
+
+  @Test
+  void Should_InvalidateCachedJson_When_BillingIsUpdated() throws BillingNotFoundException {
+    final Billing billing = createBilling();
+    billing.setId(UUID.randomUUID());
+
+    when(billingValidator.validate(eq(billing))).thenReturn(ValidationResult.ok());
+    when(billingRepository.update(eq(billing))).thenReturn(billing);
+
+    billingBusiness.update(billing);
+
+    verify(billingJsonCache, only()).invalidate(eq(billing.getId()));
+  }
+
+  @Test
+  void Should_ShareOneLookup_When_SameVersionIsReadConcurrently() throws Throwable {
+    final UUID id = UUID.randomUUID();
+    final Billing billing = createBilling();
+    final BillingJson billingJson = new BillingJson("17b-3", "{}".getBytes());
+    final CountDownLatch looking = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<Thread> readers = Collections.synchronizedList(new ArrayList<>());
+    final ExecutorService executor = Executors.newFixedThreadPool(8, runnable -> {
+      final Thread thread = new Thread(runnable);
+      readers.add(thread);
+
+      return thread;
+    });
+
+    when(billingRepository.findVersionById(eq(id))).thenReturn("17b-3");
+    when(billingRepository.findById(eq(id))).thenAnswer(invocation -> {
+      looking.countDown();
+      release.await();
+
+      return billing;
+    });
+    when(billingJsonCache.put(eq(id), eq("17b-3"), eq(billing))).thenReturn(billingJson);
+
+    try {
+      final List<Future<BillingJson>> reads = new ArrayList<>();
+      reads.add(executor.submit(() -> findBillingJsonById(id)));
+
+      looking.await();
+
+      for (int i = 1; i < 8; i++) {
+        reads.add(executor.submit(() -> findBillingJsonById(id)));
+      }
+
+      // every other reader is parked on the lookup already running
+      while (readers.size() < 8 || readers.stream().filter(thread -> thread.getState() == Thread.State.WAITING).count() < 8) {
+        Thread.sleep(1);
+      }
+
+      release.countDown();
+
+      for (final Future<BillingJson> read : reads) {
+        assertThat(read.get(10, TimeUnit.SECONDS), sameInstance(billingJson));
+      }
+
+      verify(billingRepository, times(1)).findById(eq(id));
+      verify(billingJsonCache, times(1)).put(eq(id), eq("17b-3"), eq(billing));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * BillingNotFoundException is no Exception, so it can not leave a Callable as it is
+   */
+  private BillingJson findBillingJsonById(final UUID id) {
+    try {
+      return billingBusiness.findBillingJsonById(id);
+    } catch (final BillingNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * nor is IdempotencyKeyReusedException
+   */
+  private Billing save(final Billing billing, final String idempotencyKey) {
+    try {
+      return billingBusiness.save(billing, idempotencyKey);
+    } catch (final IdempotencyKeyReusedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
 }
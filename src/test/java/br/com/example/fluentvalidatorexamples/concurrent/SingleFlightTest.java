@@ -0,0 +1,165 @@
+package br.com.example.fluentvalidatorexamples.concurrent;
+
+import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class SingleFlightTest {
+
+  private static final int WAITERS = 8;
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void Should_RunCallOnce_When_CallersShareKeyConcurrently() throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Object result = new Object();
+
+    final Future<Object> leader = executor.submit(() -> singleFlight.execute("billing", () -> {
+      calls.incrementAndGet();
+      running.countDown();
+      release.await();
+
+      return result;
+    }));
+
+    running.await();
+
+    final List<Future<Object>> waiters = submitWaiters(() -> singleFlight.execute("billing", () -> {
+      calls.incrementAndGet();
+
+      return new Object();
+    }));
+
+    release.countDown();
+
+    assertThat(leader.get(10, TimeUnit.SECONDS), sameInstance(result));
+
+    for (final Future<Object> waiter : waiters) {
+      assertThat(waiter.get(10, TimeUnit.SECONDS), sameInstance(result));
+    }
+
+    assertThat(calls.get(), equalTo(1));
+    assertThat(singleFlight.size(), equalTo(0));
+  }
+
+  @Test
+  void Should_ThrowSameException_When_SharedCallFails() throws Exception {
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final BillingNotFoundException notFound = new BillingNotFoundException();
+
+    final Future<Throwable> leader = executor.submit(() -> catchThrowableOfType(() -> singleFlight.execute("billing", () -> {
+      running.countDown();
+      release.await();
+
+      throw notFound;
+    }), BillingNotFoundException.class));
+
+    running.await();
+
+    final List<Future<Throwable>> waiters = submitWaiters(() -> catchThrowableOfType(
+      () -> singleFlight.execute("billing", Object::new), BillingNotFoundException.class));
+
+    release.countDown();
+
+    assertThat(leader.get(10, TimeUnit.SECONDS), sameInstance(notFound));
+
+    for (final Future<Throwable> waiter : waiters) {
+      assertThat(waiter.get(10, TimeUnit.SECONDS), sameInstance(notFound));
+    }
+
+    assertThat(singleFlight.size(), equalTo(0));
+  }
+
+  @Test
+  void Should_RunCallAgain_When_PreviousCallIsOver() throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+
+    final Object first = singleFlight.execute("billing", () -> calls.incrementAndGet());
+    final Object second = singleFlight.execute("billing", () -> calls.incrementAndGet());
+
+    assertThat(first, equalTo(1));
+    assertThat(second, equalTo(2));
+    assertThat(singleFlight.size(), equalTo(0));
+  }
+
+  @Test
+  void Should_RunCallsApart_When_KeysDiffer() throws Exception {
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final Future<Object> leader = executor.submit(() -> singleFlight.execute("billing", () -> {
+      running.countDown();
+      release.await();
+
+      return "billing";
+    }));
+
+    running.await();
+
+    // runs while the call of the other key is still blocked
+    assertThat(singleFlight.execute("another billing", () -> "another billing"), equalTo("another billing"));
+
+    release.countDown();
+
+    assertThat(leader.get(10, TimeUnit.SECONDS), equalTo("billing"));
+  }
+
+  /**
+   * submits the waiters and returns once every one of them is parked, waiting on the running call
+   */
+  private <T> List<Future<T>> submitWaiters(final Callable<T> waiter) throws InterruptedException {
+    final List<Thread> threads = new ArrayList<>(WAITERS);
+    final List<Future<T>> futures = new ArrayList<>(WAITERS);
+    final CountDownLatch started = new CountDownLatch(WAITERS);
+
+    for (int i = 0; i < WAITERS; i++) {
+      futures.add(executor.submit(() -> {
+        synchronized (threads) {
+          threads.add(Thread.currentThread());
+        }
+
+        started.countDown();
+
+        return waiter.call();
+      }));
+    }
+
+    started.await();
+
+    synchronized (threads) {
+      for (final Thread thread : threads) {
+        while (thread.getState() != Thread.State.WAITING) {
+          Thread.sleep(1);
+        }
+      }
+    }
+
+    return futures;
+  }
+
+}
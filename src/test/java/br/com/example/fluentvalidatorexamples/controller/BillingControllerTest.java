@@ -2,8 +2,11 @@ package br.com.example.fluentvalidatorexamples.controller;
 
 import br.com.example.fluentvalidatorexamples.business.BillingBusiness;
 import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.BillingMergePatch;
 import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException;
 import br.com.example.fluentvalidatorexamples.exception.BillingValidationException;
+import br.com.example.fluentvalidatorexamples.exception.IdempotencyKeyReusedException;
+import br.com.example.fluentvalidatorexamples.json.BillingJson;
 import br.com.fluentvalidator.context.Error;
 import br.com.fluentvalidator.context.ValidationResult;
 import ch.qos.logback.classic.Level;
@@ -14,9 +17,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
@@ -48,17 +54,17 @@ class BillingControllerTest {
 
 
   @Test
-  void Should_ReturnResponseOk_When_CreatingBilling() {
+  void Should_ReturnResponseOk_When_CreatingBilling() throws IdempotencyKeyReusedException {
     final Billing billing = createBilling();
 
     final Billing persistedBilling = createBilling();
 
-    when(billingBusiness.save(billing)).thenReturn(persistedBilling);
+    when(billingBusiness.save(billing, null)).thenReturn(persistedBilling);
 
-    final ResponseEntity<Object> response = billingController.create(billing);
+    final ResponseEntity<Object> response = billingController.create(billing, null);
 
     verify(mockedAppender, times(2)).doAppend(loggingEventCaptor.capture());
-    verify(billingBusiness, only()).save(eq(billing));
+    verify(billingBusiness, only()).save(eq(billing), isNull());
 
     final List<LoggingEvent> loggingEventList = loggingEventCaptor.getAllValues();
 
@@ -75,7 +81,7 @@ class BillingControllerTest {
   }
 
   @Test
-  void Should_ReturnResponseUnprocessableEntity_When_TryingToCreateBillingWithErrors() {
+  void Should_ReturnResponseUnprocessableEntity_When_TryingToCreateBillingWithErrors() throws IdempotencyKeyReusedException {
     final Billing billing = createBilling();
 
     final Error error = Error.create("field", "message", "code", "attemptedValue");
@@ -84,12 +90,12 @@ class BillingControllerTest {
 
     final ValidationResult validationResult = ValidationResult.fail(errorList);
 
-    when(billingBusiness.save(billing)).thenThrow(new BillingValidationException(validationResult));
+    when(billingBusiness.save(billing, null)).thenThrow(new BillingValidationException(validationResult));
 
-    final ResponseEntity<Object> response = billingController.create(billing);
+    final ResponseEntity<Object> response = billingController.create(billing, null);
 
     verify(mockedAppender, times(2)).doAppend(loggingEventCaptor.capture());
-    verify(billingBusiness, only()).save(eq(billing));
+    verify(billingBusiness, only()).save(eq(billing), isNull());
 
     final List<LoggingEvent> loggingEventList = loggingEventCaptor.getAllValues();
 
@@ -109,6 +115,50 @@ class BillingControllerTest {
   }
 
 
+  @Test
+  void Should_CreateBillingUnderIdempotencyKey_When_KeyIsSent() throws IdempotencyKeyReusedException {
+    final Billing billing = createBilling();
+
+    final Billing persistedBilling = createBilling();
+
+    when(billingBusiness.save(billing, "order-42")).thenReturn(persistedBilling);
+
+    final ResponseEntity<Object> response = billingController.create(billing, "order-42");
+
+    verify(billingBusiness, only()).save(eq(billing), eq("order-42"));
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    assertThat(response.getBody(), equalTo(persistedBilling));
+  }
+
+  @Test
+  void Should_ReturnResponseUnprocessableEntity_When_IdempotencyKeyIsReusedForAnotherBilling() throws IdempotencyKeyReusedException {
+    final Billing billing = createBilling();
+
+    when(billingBusiness.save(billing, "order-42")).thenThrow(new IdempotencyKeyReusedException());
+
+    final ResponseEntity<Object> response = billingController.create(billing, "order-42");
+
+    verify(mockedAppender, times(2)).doAppend(loggingEventCaptor.capture());
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    assertThat(response.getBody(), nullValue());
+    assertThat(loggingEventCaptor.getAllValues(), hasItem(hasProperty("level", equalTo(Level.ERROR))));
+  }
+
+  @Test
+  void Should_ReturnResponseBadRequest_When_IdempotencyKeyIsInvalid() {
+    final String tooLong = String.join("", Collections.nCopies(256, "k"));
+
+    for (final String idempotencyKey : Arrays.asList("", "   ", tooLong)) {
+      final ResponseEntity<Object> response = billingController.create(createBilling(), idempotencyKey);
+
+      assertThat(response.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+    }
+
+    verifyNoInteractions(billingBusiness);
+  }
+
   @Test
   void Should_ReturnResponseOk_When_FindingAllBillings() {
     final Billing billing = createBilling();
@@ -118,10 +168,10 @@ class BillingControllerTest {
 
     when(billingBusiness.findAllBillings()).thenReturn(billingList);
 
-    final ResponseEntity<Object> response = billingController.findAllBillings();
+    final ResponseEntity<Object> response = billingController.findAllBillings(null);
 
     verify(mockedAppender, times(2)).doAppend(loggingEventCaptor.capture());
-    verify(billingBusiness, only()).findAllBillings();
+    verify(billingBusiness, times(1)).findAllBillings();
 
     final List<LoggingEvent> loggingEventList = loggingEventCaptor.getAllValues();
 
@@ -141,21 +191,22 @@ class BillingControllerTest {
 
   @Test
   void Should_ReturnResponseOk_When_FindingExistingBilling() throws BillingNotFoundException {
-    final Billing billing = createBilling();
+    final BillingJson billingJson = new BillingJson(null, "{}".getBytes());
 
-    when(billingBusiness.findBillingById(ArgumentMatchers.any(UUID.class))).thenReturn(billing);
+    when(billingBusiness.findBillingJsonById(ArgumentMatchers.any(UUID.class))).thenReturn(billingJson);
 
-    final ResponseEntity<Object> response = billingController.findBilling(UUID.randomUUID().toString());
+    final ResponseEntity<Object> response = billingController.findBilling(UUID.randomUUID().toString(), null, null);
 
     verify(mockedAppender, times(2)).doAppend(loggingEventCaptor.capture());
-    verify(billingBusiness, only()).findBillingById(ArgumentMatchers.any(UUID.class));
+    verify(billingBusiness, times(1)).findBillingJsonById(ArgumentMatchers.any(UUID.class));
 
     final List<LoggingEvent> loggingEventList = loggingEventCaptor.getAllValues();
 
     assertThat(response, not(nullValue()));
     assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
     assertThat(response.getBody(), not(nullValue()));
-    assertThat(response.getBody(), equalTo(billing));
+    assertThat(response.getBody(), equalTo(billingJson.getJson()));
+    assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
 
     assertThat(loggingEventList, hasSize(2));
     assertThat(loggingEventList, everyItem(hasProperty("level", equalTo(Level.INFO))));
@@ -163,12 +214,12 @@ class BillingControllerTest {
 
   @Test
   void Should_ReturnResponseNotFound_When_FindingNonExistingBilling() throws BillingNotFoundException {
-    when(billingBusiness.findBillingById(ArgumentMatchers.any(UUID.class))).thenThrow(new BillingNotFoundException());
+    when(billingBusiness.findBillingJsonById(ArgumentMatchers.any(UUID.class))).thenThrow(new BillingNotFoundException());
 
-    final ResponseEntity<Object> response = billingController.findBilling(UUID.randomUUID().toString());
+    final ResponseEntity<Object> response = billingController.findBilling(UUID.randomUUID().toString(), null, null);
 
     verify(mockedAppender, times(2)).doAppend(loggingEventCaptor.capture());
-    verify(billingBusiness, only()).findBillingById(ArgumentMatchers.any(UUID.class));
+    verify(billingBusiness, times(1)).findBillingJsonById(ArgumentMatchers.any(UUID.class));
 
     final List<LoggingEvent> loggingEventList = loggingEventCaptor.getAllValues();
 
@@ -182,6 +233,105 @@ class BillingControllerTest {
   }
 
 
+  @Test
+  void Should_ReturnResponseNotModified_When_FindingAllBillingsWithCurrentETag() {
+    when(billingBusiness.findAllBillingsVersion()).thenReturn("17b-2a");
+
+    final ResponseEntity<Object> response = billingController.findAllBillings("\"17b-2a\"");
+
+    verify(billingBusiness, never()).findAllBillings();
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+    assertThat(response.getHeaders().getETag(), equalTo("\"17b-2a\""));
+    assertThat(response.getBody(), is(nullValue()));
+  }
+
+  @Test
+  void Should_ReturnResponseOkWithETag_When_FindingAllBillingsWithStaleETag() {
+    final Set<Billing> billings = Collections.singleton(createBilling());
+
+    when(billingBusiness.findAllBillingsVersion()).thenReturn("17b-2b");
+    when(billingBusiness.findAllBillings()).thenReturn(billings);
+
+    final ResponseEntity<Object> response = billingController.findAllBillings("\"17b-2a\"");
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    assertThat(response.getHeaders().getETag(), equalTo("\"17b-2b\""));
+    assertThat(response.getBody(), equalTo(billings));
+  }
+
+  @Test
+  void Should_ReturnResponseNotModified_When_FindingBillingWithCurrentETag() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+
+    when(billingBusiness.findBillingVersionById(id)).thenReturn("17b-7");
+
+    final ResponseEntity<Object> response = billingController.findBilling(id.toString(), "\"17b-6\", W/\"17b-7\"", null);
+
+    verify(billingBusiness, never()).findBillingJsonById(ArgumentMatchers.any(UUID.class));
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+    assertThat(response.getHeaders().getETag(), equalTo("\"17b-7\""));
+    assertThat(response.getBody(), is(nullValue()));
+  }
+
+  @Test
+  void Should_ReturnWeakETag_When_FindingBillingWithCurrentETagAndClientAcceptsGzip() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+
+    when(billingBusiness.findBillingVersionById(id)).thenReturn("17b-7");
+
+    // the tag the gzipped 200 carried
+    final ResponseEntity<Object> response = billingController.findBilling(id.toString(), "W/\"17b-7\"", "gzip");
+
+    verify(billingBusiness, never()).findBillingJsonById(ArgumentMatchers.any(UUID.class));
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+    assertThat(response.getHeaders().getETag(), equalTo("W/\"17b-7\""));
+    assertThat(response.getHeaders().getFirst(HttpHeaders.VARY), equalTo(HttpHeaders.ACCEPT_ENCODING));
+    assertThat(response.getBody(), is(nullValue()));
+  }
+
+  @Test
+  void Should_ReturnResponseOkWithETag_When_FindingBillingWithStaleETag() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+    final BillingJson billingJson = new BillingJson("17b-8", "{}".getBytes());
+
+    when(billingBusiness.findBillingVersionById(id)).thenReturn("17b-8");
+    when(billingBusiness.findBillingJsonById(id)).thenReturn(billingJson);
+
+    final ResponseEntity<Object> response = billingController.findBilling(id.toString(), "\"17b-7\"", null);
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    assertThat(response.getHeaders().getETag(), equalTo("\"17b-8\""));
+    assertThat(response.getBody(), equalTo(billingJson.getJson()));
+  }
+
+  @Test
+  void Should_ReturnGzippedJson_When_ClientAcceptsGzip() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+    final BillingJson billingJson = new BillingJson("17b-8", "{}".getBytes());
+
+    when(billingBusiness.findBillingJsonById(id)).thenReturn(billingJson);
+
+    final ResponseEntity<Object> response = billingController.findBilling(id.toString(), null, "deflate, gzip;q=0.8");
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), equalTo("gzip"));
+    assertThat(response.getHeaders().getFirst(HttpHeaders.VARY), equalTo(HttpHeaders.ACCEPT_ENCODING));
+    assertThat(response.getHeaders().getETag(), equalTo("W/\"17b-8\""));
+    assertThat(response.getBody(), equalTo(billingJson.getGzip()));
+  }
+
+  @Test
+  void Should_ReturnResponseNotFound_When_FindingNonExistingBillingWithAnyETag() throws BillingNotFoundException {
+    when(billingBusiness.findBillingJsonById(ArgumentMatchers.any(UUID.class))).thenThrow(new BillingNotFoundException());
+
+    final ResponseEntity<Object> response = billingController.findBilling(UUID.randomUUID().toString(), "*", null);
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+  }
+
   @Test
   void Should_ReturnResponseOk_When_UpdatingBilling() throws BillingNotFoundException {
     final Billing billing = createBilling();
@@ -266,6 +416,53 @@ class BillingControllerTest {
   }
 
 
+  @Test
+  void Should_ReturnResponseOk_When_PatchingBilling() throws BillingNotFoundException {
+    final BillingMergePatch patch = new BillingMergePatch(List.of(billing -> billing.setBalance(BigDecimal.ONE)));
+
+    final Billing persistedBilling = createBilling();
+
+    when(billingBusiness.patch(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any())).thenReturn(persistedBilling);
+
+    final ResponseEntity<Object> response = billingController.patch(UUID.randomUUID().toString(), patch);
+
+    verify(mockedAppender, times(2)).doAppend(loggingEventCaptor.capture());
+
+    assertThat(response, not(nullValue()));
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    assertThat(response.getBody(), equalTo(persistedBilling));
+  }
+
+  @Test
+  void Should_ReturnResponseUnprocessableEntity_When_TryingToPatchBillingWithErrors() throws BillingNotFoundException {
+    final BillingMergePatch patch = new BillingMergePatch(List.of(billing -> billing.setBalance(null)));
+
+    final Error error = Error.create("balance", "message", "101", null);
+
+    when(billingBusiness.patch(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any()))
+      .thenThrow(new BillingValidationException(ValidationResult.fail(Collections.singletonList(error))));
+
+    final ResponseEntity<Object> response = billingController.patch(UUID.randomUUID().toString(), patch);
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    assertThat(response.getBody(), is(instanceOf(Collection.class)));
+
+    final Collection<Error> errors = (Collection<Error>) response.getBody();
+
+    assertThat(errors, contains(error));
+  }
+
+  @Test
+  void Should_ReturnResponseNotFound_When_TryingToPatchNonExistingBilling() throws BillingNotFoundException {
+    final BillingMergePatch patch = new BillingMergePatch(List.of());
+
+    when(billingBusiness.patch(ArgumentMatchers.any(UUID.class), ArgumentMatchers.any())).thenThrow(new BillingNotFoundException());
+
+    final ResponseEntity<Object> response = billingController.patch(UUID.randomUUID().toString(), patch);
+
+    assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+  }
+
   @Test
   void Should_ReturnResponseOk_When_DeletingBilling() throws BillingNotFoundException {
     final UUID id = UUID.randomUUID();
@@ -0,0 +1,27 @@
+package br.com.example.fluentvalidatorexamples.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ContentCodingsTest {
+
+  @Test
+  void Should_AcceptGzip_When_ListedWithPositiveQuality() {
+    assertThat(ContentCodings.acceptsGzip("gzip"), equalTo(true));
+    assertThat(ContentCodings.acceptsGzip("deflate, GZIP"), equalTo(true));
+    assertThat(ContentCodings.acceptsGzip("br;q=1.0, gzip;q=0.5"), equalTo(true));
+    assertThat(ContentCodings.acceptsGzip("gzip; q=0.001"), equalTo(true));
+  }
+
+  @Test
+  void Should_NotAcceptGzip_When_NotListedOrRefused() {
+    assertThat(ContentCodings.acceptsGzip(null), equalTo(false));
+    assertThat(ContentCodings.acceptsGzip("identity"), equalTo(false));
+    assertThat(ContentCodings.acceptsGzip("gzip;q=0"), equalTo(false));
+    assertThat(ContentCodings.acceptsGzip("gzip;q=0.000"), equalTo(false));
+    assertThat(ContentCodings.acceptsGzip("gzip;q=high"), equalTo(false));
+  }
+
+}
@@ -0,0 +1,38 @@
+package br.com.example.fluentvalidatorexamples.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class ETagsTest {
+
+  @Test
+  void Should_QuoteVersion_When_BuildingETag() {
+    assertThat(ETags.of("17b-2a"), equalTo("\"17b-2a\""));
+    assertThat(ETags.of(null), nullValue());
+  }
+
+  @Test
+  void Should_Match_When_AnyListedTagIsTheCurrentOne() {
+    assertThat(ETags.matches("\"17b-2a\"", "\"17b-2a\""), equalTo(true));
+    assertThat(ETags.matches("\"17b-1\", \"17b-2a\"", "\"17b-2a\""), equalTo(true));
+    assertThat(ETags.matches(" W/\"17b-2a\" ", "\"17b-2a\""), equalTo(true));
+    assertThat(ETags.matches("*", "\"17b-2a\""), equalTo(true));
+  }
+
+  @Test
+  void Should_NotMatch_When_NoTagIsTheCurrentOne() {
+    assertThat(ETags.matches("\"17b-2\"", "\"17b-2a\""), equalTo(false));
+    assertThat(ETags.matches("17b-2a", "\"17b-2a\""), equalTo(false));
+    assertThat(ETags.matches(null, "\"17b-2a\""), equalTo(false));
+  }
+
+  @Test
+  void Should_NotMatch_When_ResourceHasNoVersion() {
+    assertThat(ETags.matches("*", null), equalTo(false));
+    assertThat(ETags.matches("\"17b-2a\"", null), equalTo(false));
+  }
+
+}
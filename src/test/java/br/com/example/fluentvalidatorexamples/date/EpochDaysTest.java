@@ -0,0 +1,84 @@
+package br.com.example.fluentvalidatorexamples.date;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class EpochDaysTest {
+
+  @Test
+  void Should_ConvertToEpochDay_When_DateFitsOnInt() {
+    assertThat(EpochDays.of(LocalDate.of(1970, 1, 1)), equalTo(0));
+    assertThat(EpochDays.of(LocalDate.of(1969, 12, 31)), equalTo(-1));
+    assertThat(EpochDays.of(LocalDate.of(2024, 2, 29)), equalTo((int) LocalDate.of(2024, 2, 29).toEpochDay()));
+    assertThat(EpochDays.of(LocalDate.ofEpochDay(Integer.MAX_VALUE)), equalTo(Integer.MAX_VALUE));
+  }
+
+  @Test
+  void Should_ReturnNotADay_When_DateCanNotBeRepresented() {
+    assertThat(EpochDays.of(null), equalTo(EpochDays.NOT_A_DAY));
+    assertThat(EpochDays.of(LocalDate.MAX), equalTo(EpochDays.NOT_A_DAY));
+    assertThat(EpochDays.of(LocalDate.MIN), equalTo(EpochDays.NOT_A_DAY));
+    assertThat(EpochDays.of(LocalDate.ofEpochDay(Integer.MIN_VALUE)), equalTo(EpochDays.NOT_A_DAY));
+    assertThat(EpochDays.isDay(EpochDays.NOT_A_DAY), is(false));
+    assertThat(EpochDays.isDay(0), is(true));
+  }
+
+  @Test
+  void Should_AddMonthsAsLocalDate_When_DayIsAnyOfTwoCenturies() {
+    final int from = EpochDays.of(LocalDate.of(1899, 1, 1));
+    final int to = EpochDays.of(LocalDate.of(2101, 12, 31));
+
+    for (int epochDay = from; epochDay <= to; epochDay++) {
+      final LocalDate date = LocalDate.ofEpochDay(epochDay);
+
+      for (int months = -25; months <= 25; months++) {
+        assertThat(date + " + " + months, EpochDays.plusMonths(epochDay, months), equalTo((int) date.plusMonths(months).toEpochDay()));
+      }
+    }
+  }
+
+  @Test
+  void Should_AddMonthsAsLocalDate_When_DayIsFarFromEpoch() {
+    final LocalDate[] dates = {
+      LocalDate.of(-4_000_000, 2, 29), LocalDate.of(-1, 12, 31), LocalDate.of(0, 2, 29), LocalDate.of(1, 1, 31),
+      LocalDate.of(1_600, 1, 31), LocalDate.of(1_700, 1, 29), LocalDate.of(2_400, 3, 31), LocalDate.of(5_000_000, 8, 31)
+    };
+
+    for (final LocalDate date : dates) {
+      for (final int months : new int[]{-1_200, -13, -1, 0, 1, 11, 12, 13, 1_200, 12_000}) {
+        assertThat(date + " + " + months, EpochDays.plusMonths(EpochDays.of(date), months), equalTo(EpochDays.of(date.plusMonths(months))));
+      }
+    }
+  }
+
+  @Test
+  void Should_ReturnNotADay_When_MonthsCanNotBeAdded() {
+    assertThat(EpochDays.plusMonths(EpochDays.NOT_A_DAY, 1), equalTo(EpochDays.NOT_A_DAY));
+    assertThat(EpochDays.plusMonths(Integer.MAX_VALUE, 1), equalTo(EpochDays.NOT_A_DAY));
+    assertThat(EpochDays.plusMonths(0, Integer.MAX_VALUE), equalTo(EpochDays.NOT_A_DAY));
+  }
+
+  @Test
+  void Should_CompareAsLocalDate_When_AnyDateIsNotADay() {
+    final LocalDate date = LocalDate.of(2024, 2, 29);
+
+    assertThat(EpochDays.compare(EpochDays.of(date), date, EpochDays.of(date.plusDays(1)), date.plusDays(1)), lessThan(0));
+    assertThat(EpochDays.compare(EpochDays.of(date), date, EpochDays.of(date), date), equalTo(0));
+    assertThat(EpochDays.compare(EpochDays.of(date), date, EpochDays.of(LocalDate.MAX), LocalDate.MAX), lessThan(0));
+    assertThat(EpochDays.compare(EpochDays.of(LocalDate.MIN), LocalDate.MIN, EpochDays.of(date), date), lessThan(0));
+  }
+
+  @Test
+  void Should_ReturnCurrentDay_When_TodayIsAsked() {
+    final int before = EpochDays.of(LocalDate.now());
+    final int today = EpochDays.today();
+    final int after = EpochDays.of(LocalDate.now());
+
+    assertThat(today, allOf(greaterThanOrEqualTo(before), lessThanOrEqualTo(after)));
+  }
+
+}
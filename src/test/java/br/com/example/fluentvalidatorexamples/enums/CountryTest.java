@@ -20,6 +20,19 @@ class CountryTest {
     assertThat(Country.entryOf(null), equalTo(null));
   }
 
+  @Test
+  void testEntryOfIgnoringCase() {
+    assertThat(Country.entryOf("US"), equalTo(Country.UNITED_STATES));
+    assertThat(Country.entryOf("Mx"), equalTo(Country.MEXICO));
+    assertThat(Country.entryOf("cA"), equalTo(Country.CANADA));
+    assertThat(Country.entryOf("zz"), equalTo(null));
+    assertThat(Country.entryOf("u"), equalTo(null));
+    assertThat(Country.entryOf("usa"), equalTo(null));
+    assertThat(Country.entryOf("u1"), equalTo(null));
+    assertThat(Country.entryOf("{s"), equalTo(null));
+    assertThat(Country.entryOf("\u00fas"), equalTo(null));
+  }
+
   @Test
   void testExists() {
     assertThat(Country.exists(Country.UNITED_STATES.getCode()), equalTo(true));
@@ -31,6 +44,8 @@ class CountryTest {
     assertThat(Country.exists("non_present"), equalTo(false));
     assertThat(Country.exists(""), equalTo(false));
     assertThat(Country.exists(null), equalTo(false));
+    assertThat(Country.exists("US"), equalTo(true));
+    assertThat(Country.exists("Br"), equalTo(true));
 
   }
 
@@ -0,0 +1,122 @@
+package br.com.example.fluentvalidatorexamples.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class TimeOrderedIdGeneratorTest {
+
+  private static final long MILLIS = 1_685_577_600_123L;
+
+  @Test
+  void Should_SetVersionAndVariant_When_GeneratingId() {
+    final UUID id = new TimeOrderedIdGenerator().next();
+
+    assertThat(id.version(), equalTo(7));
+    assertThat(id.variant(), equalTo(2));
+  }
+
+  @Test
+  void Should_StartWithUnixMillis_When_GeneratingId() {
+    final UUID id = new TimeOrderedIdGenerator(() -> MILLIS).next();
+
+    assertThat(id.getMostSignificantBits() >>> 16, equalTo(MILLIS));
+  }
+
+  @Test
+  void Should_IncreaseStrictly_When_GeneratingIdsOnTheSameMillisecond() {
+    final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(() -> MILLIS);
+
+    UUID previous = generator.next();
+
+    // far more ids than the counter holds, so the next milliseconds get borrowed
+    for (int i = 0; i < 10_000; i++) {
+      final UUID id = generator.next();
+
+      assertThat(id, greaterThan(previous));
+      assertThat(id.version(), equalTo(7));
+
+      previous = id;
+    }
+
+    assertThat(previous.getMostSignificantBits() >>> 16, greaterThan(MILLIS));
+  }
+
+  @Test
+  void Should_IncreaseStrictly_When_ClockGoesBackwards() {
+    final long[] now = {MILLIS};
+    final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(() -> now[0]);
+
+    final UUID first = generator.next();
+    now[0] = MILLIS - 1_000;
+    final UUID second = generator.next();
+
+    assertThat(second, greaterThan(first));
+  }
+
+  @Test
+  void Should_OrderByMillisecond_When_GeneratingIdsOnDifferentMilliseconds() {
+    final long[] now = {MILLIS};
+    final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(() -> now[0]);
+
+    final List<UUID> ids = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      now[0] = MILLIS + i;
+      ids.add(generator.next());
+    }
+
+    final List<UUID> sorted = new ArrayList<>(ids);
+    sorted.sort(null);
+
+    assertThat(sorted, equalTo(ids));
+  }
+
+  @Test
+  void Should_GenerateUniqueIds_When_ManyThreadsShareTheGenerator() throws InterruptedException {
+    final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(() -> MILLIS);
+    final Set<UUID> ids = ConcurrentHashMap.newKeySet();
+    final int threads = 8;
+    final int idsPerThread = 20_000;
+    final CountDownLatch done = new CountDownLatch(threads);
+
+    for (int t = 0; t < threads; t++) {
+      new Thread(() -> {
+        for (int i = 0; i < idsPerThread; i++) {
+          ids.add(generator.next());
+        }
+
+        done.countDown();
+      }).start();
+    }
+
+    done.await();
+
+    assertThat(ids, hasSize(threads * idsPerThread));
+  }
+
+  @Test
+  void Should_ReturnGenerator_When_NameIsKnown() {
+    assertThat(BillingIdGenerator.of("time-ordered"), instanceOf(TimeOrderedIdGenerator.class));
+    assertThat(BillingIdGenerator.of(" Random "), instanceOf(RandomIdGenerator.class));
+    assertThat(BillingIdGenerator.of("random").next().version(), equalTo(4));
+  }
+
+  @Test
+  void Should_ThrowException_When_NameIsUnknown() {
+    final IllegalArgumentException exception = catchThrowableOfType(() -> BillingIdGenerator.of("sequential"), IllegalArgumentException.class);
+
+    assertThat(exception, not(nullValue()));
+    assertThat(exception.getMessage(), containsString("sequential"));
+  }
+
+}
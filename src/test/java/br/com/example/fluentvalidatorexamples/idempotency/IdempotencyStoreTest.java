@@ -0,0 +1,134 @@
+package br.com.example.fluentvalidatorexamples.idempotency;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.exception.IdempotencyKeyReusedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createCustomMapper;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class IdempotencyStoreTest {
+
+  private static final long TTL = TimeUnit.MINUTES.toNanos(10);
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private final ObjectMapper mapper = createCustomMapper();
+
+  @Test
+  void Should_FindBilling_When_KeyWasPut() throws IdempotencyKeyReusedException {
+    final IdempotencyStore store = new IdempotencyStore(mapper, 10, TTL, clock::get);
+    final Billing billing = createBilling();
+    final UUID key = IdempotencyStore.compact("order-42");
+
+    final UUID fingerprint = store.fingerprint(billing);
+
+    store.put(key, fingerprint, billing);
+
+    assertThat(store.find(key, fingerprint), sameInstance(billing));
+    assertThat(store.find(IdempotencyStore.compact("order-43"), fingerprint), nullValue());
+  }
+
+  @Test
+  void Should_ThrowException_When_KeyIsFoundAlongWithAnotherBilling() throws IdempotencyKeyReusedException {
+    final IdempotencyStore store = new IdempotencyStore(mapper, 10, TTL, clock::get);
+    final Billing billing = createBilling();
+    final UUID key = IdempotencyStore.compact("order-42");
+
+    store.put(key, store.fingerprint(billing), billing);
+
+    final Billing other = createBilling();
+    other.setBalance(other.getBalance().add(BigDecimal.ONE));
+
+    assertThat(store.find(key, store.fingerprint(createBilling())), sameInstance(billing));
+    assertThat(catchThrowableOfType(() -> store.find(key, store.fingerprint(other)), IdempotencyKeyReusedException.class), not(nullValue()));
+    assertThat(catchThrowableOfType(() -> store.find(key, null), IdempotencyKeyReusedException.class), not(nullValue()));
+  }
+
+  @Test
+  void Should_FingerprintBillingsByContent_When_BillingsAreEqual() {
+    final IdempotencyStore store = new IdempotencyStore(mapper, 10, TTL, clock::get);
+    final Billing other = createBilling();
+    other.getPayer().getBillingAddress().setCity("other city");
+
+    assertThat(store.fingerprint(createBilling()), equalTo(store.fingerprint(createBilling())));
+    assertThat(store.fingerprint(other), not(equalTo(store.fingerprint(createBilling()))));
+    assertThat(store.fingerprint(null), nullValue());
+  }
+
+  @Test
+  void Should_ForgetKey_When_TtlIsOver() throws IdempotencyKeyReusedException {
+    final IdempotencyStore store = new IdempotencyStore(mapper, 10, TTL, clock::get);
+    final UUID first = IdempotencyStore.compact("order-42");
+    final UUID second = IdempotencyStore.compact("order-43");
+
+    store.put(first, null, createBilling());
+
+    clock.addAndGet(TTL - 1);
+
+    assertThat(store.find(first, null), not(nullValue()));
+
+    clock.addAndGet(1);
+
+    assertThat(store.find(first, null), nullValue());
+
+    // expired keys are dropped as newer ones come in, even when never looked up again
+    store.put(second, null, createBilling());
+    clock.addAndGet(TTL);
+    store.put(IdempotencyStore.compact("order-44"), null, createBilling());
+
+    assertThat(store.size(), equalTo(1));
+  }
+
+  @Test
+  void Should_DropOldestKeys_When_StoreIsFull() throws IdempotencyKeyReusedException {
+    final IdempotencyStore store = new IdempotencyStore(mapper, 3, TTL, clock::get);
+
+    for (int i = 0; i < 5; i++) {
+      store.put(IdempotencyStore.compact("order-" + i), null, createBilling());
+    }
+
+    assertThat(store.size(), equalTo(3));
+    assertThat(store.find(IdempotencyStore.compact("order-0"), null), nullValue());
+    assertThat(store.find(IdempotencyStore.compact("order-1"), null), nullValue());
+    assertThat(store.find(IdempotencyStore.compact("order-4"), null), not(nullValue()));
+  }
+
+  @Test
+  void Should_CompactKeysTo128Bits_When_KeysAreAnyText() {
+    final UUID uuid = UUID.randomUUID();
+
+    assertThat(IdempotencyStore.compact(uuid.toString()), equalTo(uuid));
+    assertThat(IdempotencyStore.compact("order-42"), equalTo(IdempotencyStore.compact("order-42")));
+    assertThat(IdempotencyStore.compact("order-42"), not(equalTo(IdempotencyStore.compact("order-43"))));
+    // 36 characters which are no uuid are hashed as any other key
+    assertThat(IdempotencyStore.compact("order-000000000000000000000000000042"), not(nullValue()));
+  }
+
+  @Test
+  void Should_RejectKeys_When_BlankOrTooLong() {
+    assertThat(IdempotencyStore.isValid("order-42"), is(true));
+    assertThat(IdempotencyStore.isValid(String.join("", Collections.nCopies(255, "k"))), is(true));
+    assertThat(IdempotencyStore.isValid(String.join("", Collections.nCopies(256, "k"))), is(false));
+    assertThat(IdempotencyStore.isValid(" "), is(false));
+    assertThat(IdempotencyStore.isValid(""), is(false));
+    assertThat(IdempotencyStore.isValid(null), is(false));
+  }
+
+  @Test
+  void Should_ThrowException_When_BoundsAreNotPositive() {
+    assertThat(catchThrowableOfType(() -> new IdempotencyStore(mapper, 0, 10), IllegalArgumentException.class), not(nullValue()));
+    assertThat(catchThrowableOfType(() -> new IdempotencyStore(mapper, 10, 0), IllegalArgumentException.class), not(nullValue()));
+  }
+
+}
@@ -0,0 +1,70 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createAddress;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createCustomMapper;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createReflectiveMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AddressJsonComponentTest {
+
+  private final ObjectMapper reflectiveMapper = createReflectiveMapper();
+
+  private final ObjectMapper customMapper = createCustomMapper();
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_AddressIsComplete() throws JsonProcessingException {
+    final Address address = createAddress();
+
+    assertThat(customMapper.writeValueAsString(address), equalTo(reflectiveMapper.writeValueAsString(address)));
+  }
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_AddressIsEmpty() throws JsonProcessingException {
+    final Address address = new Address();
+
+    assertThat(customMapper.writeValueAsString(address), equalTo(reflectiveMapper.writeValueAsString(address)));
+  }
+
+  @Test
+  void Should_ReadAddress_When_JsonIsComplete() throws JsonProcessingException {
+    final Address address = createAddress();
+
+    final Address readAddress = customMapper.readValue(reflectiveMapper.writeValueAsString(address), Address.class);
+
+    assertThat(readAddress.getAddressLine1(), equalTo(address.getAddressLine1()));
+    assertThat(readAddress.getAddressLine2(), equalTo(address.getAddressLine2()));
+    assertThat(readAddress.getCity(), equalTo(address.getCity()));
+    assertThat(readAddress.getState(), equalTo(address.getState()));
+    assertThat(readAddress.getCountry(), equalTo(address.getCountry()));
+    assertThat(readAddress.getZipcode(), equalTo(address.getZipcode()));
+  }
+
+  @Test
+  void Should_CoerceZipcodeAsReflectiveMapper_When_ZipcodeIsNumber() throws JsonProcessingException {
+    final String json = "{\"zipcode\":123456,\"country\":\"us\"}";
+
+    final Address readAddress = customMapper.readValue(json, Address.class);
+
+    assertThat(readAddress.getZipcode(), equalTo(reflectiveMapper.readValue(json, Address.class).getZipcode()));
+    assertThat(readAddress.getCountry(), equalTo("us"));
+  }
+
+  @Test
+  void Should_ReadNewAddressInstance_When_ReadingEqualAddresses() throws JsonProcessingException {
+    final String json = reflectiveMapper.writeValueAsString(createAddress());
+
+    final Address readAddress = customMapper.readValue(json, Address.class);
+
+    // addresses are only pooled once their billing is accepted
+    assertThat(customMapper.readValue(json, Address.class), not(sameInstance(readAddress)));
+    assertThat(customMapper.writeValueAsString(readAddress), equalTo(json));
+    assertThat(reflectiveMapper.writeValueAsString(readAddress), equalTo(json));
+  }
+
+}
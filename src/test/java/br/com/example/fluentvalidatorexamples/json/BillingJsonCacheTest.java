@@ -0,0 +1,119 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createCustomMapper;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BillingJsonCacheTest {
+
+  private final ObjectMapper mapper = createCustomMapper();
+
+  @Test
+  void Should_ReturnCachedJson_When_VersionIsTheCachedOne() throws IOException {
+    final BillingJsonCache cache = new BillingJsonCache(mapper);
+    final UUID id = UUID.randomUUID();
+    final Billing billing = createBilling();
+    billing.setId(id);
+
+    final BillingJson put = cache.put(id, "17b-1", billing);
+    final BillingJson cached = cache.get(id, "17b-1");
+
+    assertThat(cached, sameInstance(put));
+    assertThat(cached.getVersion(), equalTo("17b-1"));
+    assertThat(cached.getJson(), equalTo(mapper.writeValueAsBytes(billing)));
+    assertThat(cache.getStats().getHits(), equalTo(1L));
+    assertThat(cache.getStats().getMisses(), equalTo(0L));
+  }
+
+  @Test
+  void Should_Miss_When_VersionChanged() {
+    final BillingJsonCache cache = new BillingJsonCache(mapper);
+    final UUID id = UUID.randomUUID();
+
+    cache.put(id, "17b-1", createBilling());
+
+    assertThat(cache.get(id, "17b-2"), is(nullValue()));
+    assertThat(cache.get(id, null), is(nullValue()));
+    assertThat(cache.get(UUID.randomUUID(), "17b-1"), is(nullValue()));
+    assertThat(cache.getStats().getMisses(), equalTo(3L));
+    assertThat(cache.getStats().getHitRatio(), equalTo(0.0));
+  }
+
+  @Test
+  void Should_Miss_When_Invalidated() {
+    final BillingJsonCache cache = new BillingJsonCache(mapper);
+    final UUID id = UUID.randomUUID();
+
+    cache.put(id, "17b-1", createBilling());
+    cache.invalidate(id);
+
+    assertThat(cache.get(id, "17b-1"), is(nullValue()));
+    assertThat(cache.getStats().getSize(), equalTo(0));
+  }
+
+  @Test
+  void Should_EncodeWithoutCaching_When_BillingHasNoVersion() {
+    final BillingJsonCache cache = new BillingJsonCache(mapper);
+
+    final BillingJson json = cache.put(UUID.randomUUID(), null, createBilling());
+
+    assertThat(json.getJson().length, greaterThan(0));
+    assertThat(cache.getStats().getSize(), equalTo(0));
+  }
+
+  @Test
+  void Should_EvictEntries_When_CacheIsFull() {
+    final BillingJsonCache cache = new BillingJsonCache(mapper, 2);
+
+    for (int i = 0; i < 5; i++) {
+      cache.put(UUID.randomUUID(), "17b-" + i, createBilling());
+    }
+
+    assertThat(cache.getStats().getSize(), equalTo(2));
+    assertThat(cache.getStats().getEvictions(), equalTo(3L));
+  }
+
+  @Test
+  void Should_KeepNothing_When_MaxEntriesIsZero() {
+    final BillingJsonCache cache = new BillingJsonCache(mapper, 0);
+    final UUID id = UUID.randomUUID();
+
+    cache.put(id, "17b-1", createBilling());
+
+    assertThat(cache.get(id, "17b-1"), is(nullValue()));
+    assertThat(cache.getStats().getSize(), equalTo(0));
+  }
+
+  @Test
+  void Should_ThrowException_When_MaxEntriesIsNegative() {
+    final IllegalArgumentException exception = catchThrowableOfType(() -> new BillingJsonCache(mapper, -1), IllegalArgumentException.class);
+
+    assertThat(exception, not(nullValue()));
+  }
+
+  @Test
+  void Should_GzipJson_When_GzipIsAsked() throws IOException {
+    final BillingJson json = new BillingJsonCache(mapper).put(UUID.randomUUID(), "17b-1", createBilling());
+
+    final byte[] gzip = json.getGzip();
+
+    try (final InputStream input = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+      assertThat(input.readAllBytes(), equalTo(json.getJson()));
+    }
+
+    assertThat(json.getGzip(), sameInstance(gzip));
+  }
+
+}
@@ -0,0 +1,97 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createCustomMapper;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createReflectiveMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BillingJsonComponentTest {
+
+  private final ObjectMapper reflectiveMapper = createReflectiveMapper();
+
+  private final ObjectMapper customMapper = createCustomMapper();
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_BillingIsComplete() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    billing.setId(UUID.randomUUID());
+    billing.setAdditionalInfo(Arrays.asList("first info", null, "third \"info\""));
+
+    assertThat(customMapper.writeValueAsString(billing), equalTo(reflectiveMapper.writeValueAsString(billing)));
+  }
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_BillingIsEmpty() throws JsonProcessingException {
+    final Billing billing = new Billing();
+
+    assertThat(customMapper.writeValueAsString(billing), equalTo(reflectiveMapper.writeValueAsString(billing)));
+  }
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_BalanceHasScale() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    billing.setBalance(new BigDecimal("1234.50"));
+    billing.setFineAmount(new BigDecimal("1E+3"));
+
+    assertThat(customMapper.writeValueAsString(billing), equalTo(reflectiveMapper.writeValueAsString(billing)));
+  }
+
+  @Test
+  void Should_ReadSameBillingAsReflectiveMapper_When_JsonIsComplete() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    billing.setId(UUID.randomUUID());
+
+    final String json = reflectiveMapper.writeValueAsString(billing);
+
+    final Billing customBilling = customMapper.readValue(json, Billing.class);
+    final Billing reflectiveBilling = reflectiveMapper.readValue(json, Billing.class);
+
+    assertThat(customBilling.getId(), equalTo(billing.getId()));
+    assertThat(customBilling.getBalance(), equalTo(billing.getBalance()));
+    assertThat(customBilling.getDueDate(), equalTo(billing.getDueDate()));
+    assertThat(customBilling.getAdditionalInfo(), equalTo(billing.getAdditionalInfo()));
+    assertThat(customMapper.writeValueAsString(customBilling), equalTo(json));
+    assertThat(reflectiveMapper.writeValueAsString(reflectiveBilling), equalTo(json));
+  }
+
+  @Test
+  void Should_CoerceValuesAsReflectiveMapper_When_JsonHasStringsForScalars() throws JsonProcessingException {
+    final String json = "{\"balance\":\"10.50\",\"acceptPastPayment\":\"true\",\"dueDate\":\"2030-01-31\",\"unknown\":{\"a\":[1,2]},\"fineAmount\":1}";
+
+    final Billing customBilling = customMapper.readValue(json, Billing.class);
+    final Billing reflectiveBilling = reflectiveMapper.readValue(json, Billing.class);
+
+    assertThat(customBilling.getBalance(), equalTo(new BigDecimal("10.50")));
+    assertThat(customBilling.getAcceptPastPayment(), equalTo(true));
+    assertThat(customBilling.getDueDate(), equalTo(LocalDate.of(2030, 1, 31)));
+    assertThat(customBilling.getFineAmount(), equalTo(BigDecimal.ONE));
+    assertThat(customMapper.writeValueAsString(customBilling), equalTo(reflectiveMapper.writeValueAsString(reflectiveBilling)));
+  }
+
+  @Test
+  void Should_ReadNullValues_When_JsonHasExplicitNulls() throws JsonProcessingException {
+    final String json = "{\"id\":null,\"payer\":null,\"receiver\":null,\"balance\":null,\"dueDate\":null,\"additionalInfo\":null}";
+
+    final Billing billing = customMapper.readValue(json, Billing.class);
+
+    assertThat(billing, not(nullValue()));
+    assertThat(billing.getId(), is(nullValue()));
+    assertThat(billing.getPayer(), is(nullValue()));
+    assertThat(billing.getReceiver(), is(nullValue()));
+    assertThat(billing.getBalance(), is(nullValue()));
+    assertThat(billing.getDueDate(), is(nullValue()));
+    assertThat(billing.getAdditionalInfo(), is(nullValue()));
+  }
+
+}
@@ -0,0 +1,129 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.BillingMergePatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createAddress;
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createCustomMapper;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BillingMergePatchJsonComponentTest {
+
+  private final ObjectMapper mapper = createCustomMapper();
+
+  @Test
+  void Should_KeepBillingAsIs_When_PatchIsEmpty() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    billing.setId(UUID.randomUUID());
+
+    final BillingMergePatch patch = mapper.readValue("{}", BillingMergePatch.class);
+    final Billing patched = patch.applyTo(billing);
+
+    assertThat(patch.isEmpty(), equalTo(true));
+    assertThat(patched, not(sameInstance(billing)));
+    assertThat(mapper.writeValueAsString(patched), equalTo(mapper.writeValueAsString(billing)));
+  }
+
+  @Test
+  void Should_ChangeOnlyPatchedFields_When_PatchHasScalars() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    final String json = mapper.writeValueAsString(billing);
+
+    final Billing patched = mapper.readValue("{\"balance\":\"20.50\",\"dueDate\":\"2030-01-31\",\"applyFineForPastPayment\":null}", BillingMergePatch.class)
+      .applyTo(billing);
+
+    assertThat(patched.getBalance(), equalTo(new BigDecimal("20.50")));
+    assertThat(patched.getBalanceCents(), equalTo(2050L));
+    assertThat(patched.getDueDate(), equalTo(LocalDate.of(2030, 1, 31)));
+    assertThat(patched.getApplyFineForPastPayment(), nullValue());
+    assertThat(patched.getFineAmount(), equalTo(billing.getFineAmount()));
+    assertThat(patched.getPayer(), sameInstance(billing.getPayer()));
+    assertThat(patched.getAdditionalInfo(), sameInstance(billing.getAdditionalInfo()));
+    assertThat(mapper.writeValueAsString(billing), equalTo(json));
+  }
+
+  @Test
+  void Should_MergeIntoCopyOfPayer_When_PatchHasPayerObject() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    final String json = mapper.writeValueAsString(billing);
+
+    final Billing patched = mapper.readValue("{\"payer\":{\"email\":\"another@java-fluent-validator.com\",\"lastName\":null}}", BillingMergePatch.class)
+      .applyTo(billing);
+
+    assertThat(patched.getPayer(), not(sameInstance(billing.getPayer())));
+    assertThat(patched.getPayer().getEmail(), equalTo("another@java-fluent-validator.com"));
+    assertThat(patched.getPayer().getLastName(), nullValue());
+    assertThat(patched.getPayer().getFirstName(), equalTo(billing.getPayer().getFirstName()));
+    assertThat(patched.getPayer().getBillingAddress(), sameInstance(billing.getPayer().getBillingAddress()));
+    assertThat(patched.getReceiver(), sameInstance(billing.getReceiver()));
+    assertThat(mapper.writeValueAsString(billing), equalTo(json));
+  }
+
+  @Test
+  void Should_CopyAddress_When_PatchingStoredAddress() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    final Address stored = createAddress();
+    billing.getReceiver().setAddress(stored);
+
+    final Billing patched = mapper.readValue("{\"receiver\":{\"address\":{\"city\":\"Toronto\",\"country\":\"ca\"}}}", BillingMergePatch.class)
+      .applyTo(billing);
+
+    final Address address = patched.getReceiver().getAddress();
+
+    assertThat(address.getCity(), equalTo("Toronto"));
+    assertThat(address.getCountry(), equalTo("ca"));
+    assertThat(address.getZipcode(), equalTo(stored.getZipcode()));
+    assertThat(address, not(sameInstance(stored)));
+    assertThat(stored.getCity(), equalTo("San Francisco"));
+  }
+
+  @Test
+  void Should_CreatePayer_When_PatchingMissingPayer() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    billing.setPayer(null);
+
+    final Billing patched = mapper.readValue("{\"payer\":{\"firstName\":\"Paulo\",\"billingAddress\":{\"zipcode\":\"123\"}}}", BillingMergePatch.class)
+      .applyTo(billing);
+
+    assertThat(patched.getPayer().getFirstName(), equalTo("Paulo"));
+    assertThat(patched.getPayer().getEmail(), nullValue());
+    assertThat(patched.getPayer().getBillingAddress().getZipcode(), equalTo("123"));
+    assertThat(billing.getPayer(), nullValue());
+  }
+
+  @Test
+  void Should_ReplaceWholeList_When_PatchHasAdditionalInfo() throws JsonProcessingException {
+    final Billing billing = createBilling();
+    final UUID id = UUID.randomUUID();
+    billing.setId(id);
+
+    final Billing patched = mapper.readValue("{\"id\":\"" + UUID.randomUUID() + "\",\"additionalInfo\":[\"first\",\"second\"],\"receiver\":null}", BillingMergePatch.class)
+      .applyTo(billing);
+
+    assertThat(patched.getId(), equalTo(id));
+    assertThat(patched.getAdditionalInfo(), equalTo(List.of("first", "second")));
+    assertThat(patched.getReceiver(), nullValue());
+    assertThat(billing.getReceiver(), not(nullValue()));
+  }
+
+  @Test
+  void Should_ThrowException_When_PatchHasInvalidValue() {
+    final JsonProcessingException exception = catchThrowableOfType(
+      () -> mapper.readValue("{\"dueDate\":\"tomorrow\"}", BillingMergePatch.class), JsonProcessingException.class);
+
+    assertThat(exception, not(nullValue()));
+  }
+
+}
@@ -0,0 +1,46 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createPayer;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createCustomMapper;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createReflectiveMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class PayerJsonComponentTest {
+
+  private final ObjectMapper reflectiveMapper = createReflectiveMapper();
+
+  private final ObjectMapper customMapper = createCustomMapper();
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_PayerIsComplete() throws JsonProcessingException {
+    final Payer payer = createPayer();
+
+    assertThat(customMapper.writeValueAsString(payer), equalTo(reflectiveMapper.writeValueAsString(payer)));
+  }
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_PayerIsEmpty() throws JsonProcessingException {
+    final Payer payer = new Payer();
+
+    assertThat(customMapper.writeValueAsString(payer), equalTo(reflectiveMapper.writeValueAsString(payer)));
+  }
+
+  @Test
+  void Should_ReadPayer_When_JsonIsComplete() throws JsonProcessingException {
+    final Payer payer = createPayer();
+
+    final String json = reflectiveMapper.writeValueAsString(payer);
+    final Payer readPayer = customMapper.readValue(json, Payer.class);
+
+    assertThat(readPayer.getBirthday(), equalTo(payer.getBirthday()));
+    assertThat(readPayer.getBillingAddress(), not(nullValue()));
+    assertThat(customMapper.writeValueAsString(readPayer), equalTo(json));
+  }
+
+}
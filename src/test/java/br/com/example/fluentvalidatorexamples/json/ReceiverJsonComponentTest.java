@@ -0,0 +1,46 @@
+package br.com.example.fluentvalidatorexamples.json;
+
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createReceiver;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createCustomMapper;
+import static br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate.createReflectiveMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ReceiverJsonComponentTest {
+
+  private final ObjectMapper reflectiveMapper = createReflectiveMapper();
+
+  private final ObjectMapper customMapper = createCustomMapper();
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_ReceiverIsComplete() throws JsonProcessingException {
+    final Receiver receiver = createReceiver();
+
+    assertThat(customMapper.writeValueAsString(receiver), equalTo(reflectiveMapper.writeValueAsString(receiver)));
+  }
+
+  @Test
+  void Should_WriteSameJsonAsReflectiveMapper_When_ReceiverIsEmpty() throws JsonProcessingException {
+    final Receiver receiver = new Receiver();
+
+    assertThat(customMapper.writeValueAsString(receiver), equalTo(reflectiveMapper.writeValueAsString(receiver)));
+  }
+
+  @Test
+  void Should_ReadReceiver_When_JsonIsComplete() throws JsonProcessingException {
+    final Receiver receiver = createReceiver();
+
+    final String json = reflectiveMapper.writeValueAsString(receiver);
+    final Receiver readReceiver = customMapper.readValue(json, Receiver.class);
+
+    assertThat(readReceiver.getBirthday(), equalTo(receiver.getBirthday()));
+    assertThat(readReceiver.getAddress(), not(nullValue()));
+    assertThat(customMapper.writeValueAsString(readReceiver), equalTo(json));
+  }
+
+}
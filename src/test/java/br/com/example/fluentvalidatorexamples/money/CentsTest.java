@@ -0,0 +1,45 @@
+package br.com.example.fluentvalidatorexamples.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CentsTest {
+
+  @Test
+  void Should_ConvertToCents_When_AmountIsExact() {
+    assertThat(Cents.of(new BigDecimal("10")), equalTo(1_000L));
+    assertThat(Cents.of(new BigDecimal("10.5")), equalTo(1_050L));
+    assertThat(Cents.of(new BigDecimal("10.50")), equalTo(1_050L));
+    assertThat(Cents.of(new BigDecimal("10.500")), equalTo(1_050L));
+    assertThat(Cents.of(new BigDecimal("1E+3")), equalTo(100_000L));
+    assertThat(Cents.of(new BigDecimal("-0.01")), equalTo(-1L));
+    assertThat(Cents.of(new BigDecimal("92233720368547758.07")), equalTo(Long.MAX_VALUE));
+  }
+
+  @Test
+  void Should_ReturnNotExact_When_AmountCanNotBeRepresentedInCents() {
+    assertThat(Cents.of(null), equalTo(Cents.NOT_EXACT));
+    assertThat(Cents.of(new BigDecimal("0.001")), equalTo(Cents.NOT_EXACT));
+    assertThat(Cents.of(new BigDecimal("999999.991")), equalTo(Cents.NOT_EXACT));
+    assertThat(Cents.of(new BigDecimal("92233720368547758.08")), equalTo(Cents.NOT_EXACT));
+    assertThat(Cents.of(new BigDecimal("1E+30")), equalTo(Cents.NOT_EXACT));
+  }
+
+  @Test
+  void Should_ThrowException_When_ConstantIsNotExact() {
+    assertThat(Cents.ofExact(new BigDecimal("999999.99")), equalTo(99_999_999L));
+    assertThrows(IllegalArgumentException.class, () -> Cents.ofExact(new BigDecimal("0.001")));
+  }
+
+  @Test
+  void Should_TellWhetherCentsAreExact() {
+    assertThat(Cents.isExact(0L), is(true));
+    assertThat(Cents.isExact(Cents.NOT_EXACT), is(false));
+  }
+
+}
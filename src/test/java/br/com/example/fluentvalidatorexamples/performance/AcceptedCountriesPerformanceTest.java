@@ -0,0 +1,140 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.enums.Country;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class AcceptedCountriesPerformanceTest {
+
+  private static final int READERS = 2;
+  private static final int LOOKUPS_PER_READER = 5_000_000;
+
+  private static final String[] CODES = {"us", "ca", "mx", "br", "ir", "en"};
+
+  private static final AcceptedCountries[] POLICIES = {
+    AcceptedCountries.parse("us,ca,mx"), AcceptedCountries.parse("us,ca,mx,br")
+  };
+
+  /**
+   * the locking alternative: a single mutable set guarded by a read-write lock
+   */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Set<Country> lockedCountries = EnumSet.of(Country.UNITED_STATES, Country.CANADA, Country.MEXICO);
+
+  @AfterEach
+  void restoreAcceptedCountries() {
+    AcceptedCountries.replace(AcceptedCountries.parse(AcceptedCountries.DEFAULT_COUNTRIES));
+  }
+
+  @Test
+  void performanceTest() throws Throwable {
+    final Predicate<String> snapshot = code -> AcceptedCountries.current().accepts(code);
+    final Predicate<String> locked = this::acceptsLocked;
+
+    executeReads(snapshot, null, 500_000);
+    executeReads(locked, this::reloadLocked, 500_000);
+
+    report("Taken time for %d readers looking up 5,000,000 countries each (snapshot, no reloads): %dms",
+      READERS, executeReads(snapshot, null, LOOKUPS_PER_READER));
+    report("Taken time for %d readers looking up 5,000,000 countries each (snapshot, reloading every 1ms): %dms",
+      READERS, executeReads(snapshot, this::reloadSnapshot, LOOKUPS_PER_READER));
+    report("Taken time for %d readers looking up 5,000,000 countries each (read-write lock, reloading every 1ms): %dms",
+      READERS, executeReads(locked, this::reloadLocked, LOOKUPS_PER_READER));
+  }
+
+  private void reloadSnapshot(final long reload) {
+    AcceptedCountries.replace(POLICIES[(int) (reload % POLICIES.length)]);
+  }
+
+  private void reloadLocked(final long reload) {
+    lock.writeLock().lock();
+
+    try {
+      lockedCountries.clear();
+      lockedCountries.addAll(POLICIES[(int) (reload % POLICIES.length)].getCountries());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private boolean acceptsLocked(final String code) {
+    lock.readLock().lock();
+
+    try {
+      return lockedCountries.contains(Country.entryOf(code));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private long executeReads(final Predicate<String> accepts, final Reloader reloader, final int lookups) throws Throwable {
+    final ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+    final AtomicBoolean reading = new AtomicBoolean(true);
+    final AtomicLong reloads = new AtomicLong();
+
+    if (reloader != null) {
+      executor.submit(() -> {
+        while (reading.get()) {
+          reloader.reload(reloads.incrementAndGet());
+          TimeUnit.MILLISECONDS.sleep(1);
+        }
+
+        return null;
+      });
+    }
+
+    final long elapsed = millis(1, run -> {
+      final Future<?>[] readers = new Future<?>[READERS];
+
+      for (int r = 0; r < READERS; r++) {
+        readers[r] = executor.submit(() -> {
+          int accepted = 0;
+
+          for (int i = 0; i < lookups; i++) {
+            if (accepts.test(CODES[i % CODES.length])) {
+              accepted++;
+            }
+          }
+
+          return accepted;
+        });
+      }
+
+      for (final Future<?> reader : readers) {
+        reader.get();
+      }
+    });
+
+    reading.set(false);
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.MINUTES);
+
+    return elapsed;
+  }
+
+  @FunctionalInterface
+  private interface Reloader {
+
+    void reload(long reload);
+
+  }
+
+}
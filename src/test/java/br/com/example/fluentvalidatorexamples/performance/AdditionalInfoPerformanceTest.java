@@ -0,0 +1,77 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.validator.AdditionalInfoListValidator;
+import br.com.fluentvalidator.AbstractValidator;
+import br.com.fluentvalidator.Validator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.measure;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+import static br.com.fluentvalidator.predicate.ObjectPredicate.nullValue;
+import static br.com.fluentvalidator.predicate.StringPredicate.stringEmptyOrNull;
+import static java.util.function.Predicate.not;
+
+@Tag(Benchmarks.TAG)
+public class AdditionalInfoPerformanceTest {
+
+  private static final int[] SIZES = {10, 1_000, 100_000};
+
+  /**
+   * each size validates about the same number of items in total
+   */
+  private static final int ITEMS_PER_SIZE = 2_000_000;
+
+  /**
+   * the former validation: a fluent rule applied to each item of the list
+   */
+  private final Validator<List<String>> itemValidator = new AbstractValidator<>() {
+
+    @Override
+    public void rules() {
+      ruleForEach(additionalInfo -> additionalInfo)
+        .whenever(not(nullValue()))
+        .withValidator(new AbstractValidator<String>() {
+
+          @Override
+          public void rules() {
+            ruleFor(additionalInfo -> additionalInfo)
+              .must(not(stringEmptyOrNull()))
+                .withCode("601")
+                .withFieldName(fn -> "additionalInfo[" + getCounter() + "]")
+                .withMessage("additional info cannot be empty or null");
+          }
+
+        });
+    }
+
+  };
+
+  private final Validator<List<String>> listValidator = new AdditionalInfoListValidator();
+
+  @Test
+  void performanceTest() throws Throwable {
+    for (final int size : SIZES) {
+      final List<String> additionalInfo = new ArrayList<>(size);
+
+      for (int i = 0; i < size; i++) {
+        additionalInfo.add("This is the additional info " + i);
+      }
+
+      final int iterations = ITEMS_PER_SIZE / size;
+
+      millis(iterations / 5, i -> itemValidator.validate(additionalInfo));
+      millis(iterations / 5, i -> listValidator.validate(additionalInfo));
+
+      report("Taken time validating %,d additional info lists of %,d items (validator per item): %s",
+        iterations, size, measure(iterations, i -> itemValidator.validate(additionalInfo)));
+      report("Taken time validating %,d additional info lists of %,d items (single pass list validator): %s",
+        iterations, size, measure(iterations, i -> listValidator.validate(additionalInfo)));
+    }
+  }
+
+}
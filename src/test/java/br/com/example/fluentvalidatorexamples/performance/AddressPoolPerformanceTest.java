@@ -0,0 +1,80 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.pool.AddressPool;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class AddressPoolPerformanceTest {
+
+  private static final int BILLINGS = 100_000;
+  private static final int PROJECTED_BILLINGS = 1_000_000;
+
+  /**
+   * payers repeat a thousand billing addresses and receivers a few corporate addresses
+   */
+  private static final int PAYER_ADDRESSES = 1_000;
+  private static final int RECEIVER_ADDRESSES = 50;
+
+  private final ObjectMapper mapper = ObjectMapperTemplate.createCustomMapper();
+
+  @Test
+  void performanceTest() throws IOException {
+    final byte[][] payloads = new byte[PAYER_ADDRESSES][];
+
+    for (int i = 0; i < PAYER_ADDRESSES; i++) {
+      final Billing billing = BillingTemplate.createBilling();
+      billing.getPayer().getBillingAddress().setAddressLine1(i + " Payer st");
+      billing.getReceiver().getAddress().setAddressLine1(i % RECEIVER_ADDRESSES + " Corporate av");
+
+      payloads[i] = mapper.writeValueAsBytes(billing);
+    }
+
+    final long withoutPool = retainedBytes(payloads, false);
+    final long withPool = retainedBytes(payloads, true);
+
+    report("Retained heap for 100,000 billings (without address pool): %,dKB", withoutPool / 1024);
+    report("Retained heap for 100,000 billings (with address pool): %,dKB", withPool / 1024);
+    report("Projected heap saved for 1,000,000 billings: %,dMB", (withoutPool - withPool) * (PROJECTED_BILLINGS / BILLINGS) / (1024 * 1024));
+  }
+
+  /**
+   * @param pooled whether the billings are pooled, as BillingBusiness does once they are accepted
+   */
+  private long retainedBytes(final byte[][] payloads, final boolean pooled) throws IOException {
+    final Billing[] billings = new Billing[BILLINGS];
+    final long before = usedHeap();
+
+    for (int i = 0; i < BILLINGS; i++) {
+      billings[i] = mapper.readValue(payloads[i % payloads.length], Billing.class);
+
+      if (pooled) {
+        AddressPool.canonicalize(billings[i]);
+      }
+    }
+
+    final long after = usedHeap();
+
+    // keeps the billings reachable up to the measurement
+    return billings[BILLINGS - 1] != null ? after - before : -1;
+  }
+
+  private long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+}
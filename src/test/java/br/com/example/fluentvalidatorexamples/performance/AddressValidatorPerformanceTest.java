@@ -0,0 +1,40 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.validator.AddressValidator;
+import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class AddressValidatorPerformanceTest {
+
+  private static final int WARM_UP_ITERATIONS = 20_000;
+
+  private final BillingValidator validator = new BillingValidator();
+  private final Billing billing = BillingTemplate.createBilling();
+
+  @Test
+  void performanceTest() throws Throwable {
+    millis(WARM_UP_ITERATIONS, i -> validator.validate(billing));
+    millis(WARM_UP_ITERATIONS, i -> invalidatedValidation());
+
+    final long hits = AddressValidator.getCacheHits();
+    final long misses = AddressValidator.getCacheMisses();
+
+    report("Taken time validating 100,000 billings (memoized addresses): %dms", millis(100_000, i -> validator.validate(billing)));
+    report("Address memo hit rate: %d%%", (AddressValidator.getCacheHits() - hits) * 100
+      / (AddressValidator.getCacheHits() - hits + AddressValidator.getCacheMisses() - misses));
+    report("Taken time validating 100,000 billings (memo invalidated on each billing): %dms", millis(100_000, i -> invalidatedValidation()));
+  }
+
+  private void invalidatedValidation() {
+    AddressValidator.invalidateCache();
+    validator.validate(billing);
+  }
+
+}
@@ -0,0 +1,78 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.RandomBillingTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BatchBillingValidator;
+import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class BatchValidationPerformanceTest {
+
+  private static final int DISTINCT_BILLINGS = 1_000;
+
+  private static final int[] BATCH_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+
+  private final BillingValidator validator = new BillingValidator();
+
+  private final BatchBillingValidator batchValidator = new BatchBillingValidator();
+
+  @Test
+  void performanceTest() throws Throwable {
+    final List<Billing> distinct = createBillings();
+
+    final Consumer<List<Billing>> perObject = billings -> billings.forEach(validator::validate);
+    final Consumer<List<Billing>> batch = batchValidator::validate;
+    final Consumer<List<Billing>> batchCodes = batchValidator::validateCodes;
+
+    final List<Billing> warmUp = batchOf(distinct, 100_000);
+    executeTests(perObject, warmUp);
+    executeTests(batch, warmUp);
+    executeTests(batchCodes, warmUp);
+
+    for (final int size : BATCH_SIZES) {
+      final List<Billing> billings = batchOf(distinct, size);
+
+      report("Taken time validating a batch of %,d billings: per object %dms, columnar %dms, columnar codes only %dms",
+        size, executeTests(perObject, billings), executeTests(batch, billings), executeTests(batchCodes, billings));
+    }
+  }
+
+  /**
+   * one in ten billings is random, mostly invalid, the others are valid
+   */
+  private List<Billing> createBillings() {
+    final RandomBillingTemplate randomBillings = new RandomBillingTemplate(20_230_601L);
+    final List<Billing> billings = new ArrayList<>(DISTINCT_BILLINGS);
+
+    for (int i = 0; i < DISTINCT_BILLINGS; i++) {
+      billings.add(i % 10 == 0 ? randomBillings.randomBilling() : BillingTemplate.createBilling());
+    }
+
+    return billings;
+  }
+
+  private List<Billing> batchOf(final List<Billing> distinct, final int size) {
+    final List<Billing> billings = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      billings.add(distinct.get(i % distinct.size()));
+    }
+
+    return billings;
+  }
+
+  private long executeTests(final Consumer<List<Billing>> validation, final List<Billing> billings) throws Throwable {
+    return millis(1, i -> validation.accept(billings));
+  }
+
+}
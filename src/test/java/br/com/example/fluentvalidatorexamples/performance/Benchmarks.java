@@ -0,0 +1,132 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StopWatch;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Fixture shared by the performance tests
+ *
+ * the tests are tagged {@value #TAG} and left out of mvn test, they run with
+ * mvn test -Pperformance; each one times its loops with a StopWatch, counts the
+ * bytes they allocate on the current thread and reports on System.err
+ */
+final class Benchmarks {
+
+  static final String TAG = "performance";
+
+  private Benchmarks() {
+  }
+
+  /**
+   * @return the time taken running the iteration the given number of times, in milliseconds
+   */
+  static long millis(final int iterations, final Iteration iteration) throws Throwable {
+    return nanos(iterations, iteration) / 1_000_000;
+  }
+
+  /**
+   * @return the mean time per iteration, in microseconds
+   */
+  static double micros(final int iterations, final Iteration iteration) throws Throwable {
+    return nanos(iterations, iteration) / 1_000.0 / iterations;
+  }
+
+  /**
+   * @return the time taken running the iteration the given number of times, in nanoseconds
+   */
+  static long nanos(final int iterations, final Iteration iteration) throws Throwable {
+    final StopWatch stopWatch = new StopWatch();
+    stopWatch.start();
+
+    for (int i = 0; i < iterations; i++) {
+      iteration.run(i);
+    }
+
+    stopWatch.stop();
+
+    return stopWatch.getTotalTimeNanos();
+  }
+
+  /**
+   * @return the time taken running the iteration the given number of times, and the bytes it allocated on each
+   */
+  static Measure measure(final int iterations, final Iteration iteration) throws Throwable {
+    final long allocatedBefore = allocatedBytes();
+    final long elapsed = millis(iterations, iteration);
+
+    return new Measure(elapsed, (allocatedBytes() - allocatedBefore) / iterations);
+  }
+
+  /**
+   * bytes allocated so far by the current thread
+   */
+  static long allocatedBytes() {
+    final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * CPU taken by the whole process, for the measures running on many threads
+   */
+  static long processCpuMillis() {
+    return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime() / 1_000_000;
+  }
+
+  /**
+   * runs the benchmark with the application logs above WARN only, as the business
+   * logs every billing it handles, which would take most of the time measured
+   */
+  static void quietly(final Task benchmark) throws Throwable {
+    final Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+    final Level level = root.getLevel();
+    root.setLevel(Level.WARN);
+
+    try {
+      benchmark.run();
+    } finally {
+      root.setLevel(level);
+    }
+  }
+
+  static void report(final String format, final Object... args) {
+    System.err.println(String.format(format, args));
+  }
+
+  @FunctionalInterface
+  interface Iteration {
+
+    void run(int i) throws Throwable;
+
+  }
+
+  @FunctionalInterface
+  interface Task {
+
+    void run() throws Throwable;
+
+  }
+
+  static final class Measure {
+
+    private final long millis;
+
+    private final long bytes;
+
+    private Measure(final long millis, final long bytes) {
+      this.millis = millis;
+      this.bytes = bytes;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%dms, %,d bytes per iteration", millis, bytes);
+    }
+
+  }
+
+}
@@ -0,0 +1,118 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.id.BillingIdGenerator;
+import br.com.example.fluentvalidatorexamples.id.RandomIdGenerator;
+import br.com.example.fluentvalidatorexamples.id.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class BillingIdPerformanceTest {
+
+  private static final int IDS = 1_000_000;
+
+  private static final int[] THREADS = {1, 2, 4, 8};
+
+  private static final int INDEX_SIZE = 1_000_000;
+
+  private final BillingIdGenerator random = new RandomIdGenerator();
+
+  private final BillingIdGenerator timeOrdered = new TimeOrderedIdGenerator();
+
+  @Test
+  void performanceTest() throws Throwable {
+    generate(random, 1, IDS / 4);
+    generate(timeOrdered, 1, IDS / 4);
+
+    report("Billing id generation on %d processor(s)", Runtime.getRuntime().availableProcessors());
+
+    for (final int threads : THREADS) {
+      final long randomTime = generate(random, threads, IDS);
+      final long timeOrderedTime = generate(timeOrdered, threads, IDS);
+
+      report("Taken time generating %,d ids on %d thread(s): random %dms, time-ordered %dms", IDS, threads, randomTime, timeOrderedTime);
+    }
+
+    final List<UUID> randomIds = ids(random, INDEX_SIZE);
+    final List<UUID> timeOrderedIds = ids(timeOrdered, INDEX_SIZE);
+
+    insert(new TreeMap<>(), randomIds);
+    insert(new TreeMap<>(), timeOrderedIds);
+
+    report("Taken time inserting %,d ids into an ordered index: random %dms, time-ordered %dms",
+      INDEX_SIZE, insert(new TreeMap<>(), randomIds), insert(new TreeMap<>(), timeOrderedIds));
+    report("Taken time inserting %,d ids into a concurrent ordered index: random %dms, time-ordered %dms",
+      INDEX_SIZE, insert(new ConcurrentSkipListMap<>(), randomIds), insert(new ConcurrentSkipListMap<>(), timeOrderedIds));
+    report("Inserts appended at the end of the ordered index: random %.2f%%, time-ordered %.2f%%",
+      appended(randomIds), appended(timeOrderedIds));
+  }
+
+  private long generate(final BillingIdGenerator generator, final int threads, final int ids) throws Throwable {
+    final CountDownLatch start = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(threads);
+
+    for (int t = 0; t < threads; t++) {
+      new Thread(() -> {
+        try {
+          start.await();
+
+          for (int i = 0; i < ids / threads; i++) {
+            generator.next();
+          }
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+
+        done.countDown();
+      }).start();
+    }
+
+    return millis(1, i -> {
+      start.countDown();
+      done.await();
+    });
+  }
+
+  private List<UUID> ids(final BillingIdGenerator generator, final int size) {
+    final List<UUID> ids = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      ids.add(generator.next());
+    }
+
+    return ids;
+  }
+
+  private long insert(final NavigableMap<UUID, Boolean> index, final List<UUID> ids) throws Throwable {
+    return millis(ids.size(), i -> index.put(ids.get(i), Boolean.TRUE));
+  }
+
+  /**
+   * share of the ids greater than every id inserted before them, i.e. the ones an ordered layout appends rather than splits
+   */
+  private double appended(final List<UUID> ids) {
+    UUID last = null;
+    int appended = 0;
+
+    for (final UUID id : ids) {
+      if (last == null || id.compareTo(last) > 0) {
+        last = id;
+        appended++;
+      }
+    }
+
+    return appended * 100.0 / ids.size();
+  }
+
+}
@@ -0,0 +1,107 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.business.BillingBusiness;
+import br.com.example.fluentvalidatorexamples.controller.BillingController;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.json.BillingJson;
+import br.com.example.fluentvalidatorexamples.json.BillingJsonCache;
+import br.com.example.fluentvalidatorexamples.repository.BillingRepository;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.micros;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.quietly;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+/**
+ * GET /billing/{id} of popular billings: eight in ten requests go to the 20 hot
+ * billings, the others to any of the stored ones, and one billing is updated every UPDATE_EVERY requests
+ */
+@Tag(Benchmarks.TAG)
+public class BillingJsonCachePerformanceTest {
+
+  private static final int BILLINGS = 1_000;
+
+  private static final int HOT_BILLINGS = 20;
+
+  private static final int REQUESTS = 200_000;
+
+  private static final int UPDATE_EVERY = 1_000;
+
+  private final ObjectMapper mapper = ObjectMapperTemplate.createCustomMapper();
+
+  @Test
+  void performanceTest() throws Throwable {
+    quietly(() -> {
+      final BillingJson json = new BillingJsonCache(mapper).put(UUID.randomUUID(), null, BillingTemplate.createBilling());
+
+      report("Body of a billing: %d bytes of JSON, %d bytes gzipped", json.getJson().length, json.getGzip().length);
+
+      executeTests("no cache", 0, null);
+      executeTests("cache of 10,000", BillingJsonCache.DEFAULT_MAX_ENTRIES, null);
+      executeTests("cache of 100", 100, null);
+      executeTests("cache of 10,000, gzip", BillingJsonCache.DEFAULT_MAX_ENTRIES, "gzip");
+    });
+  }
+
+  private void executeTests(final String name, final int maxEntries, final String acceptEncoding) throws Throwable {
+    final BillingJsonCache cache = new BillingJsonCache(mapper, maxEntries);
+
+    final BillingBusiness billingBusiness = new BillingBusiness();
+    ReflectionTestUtils.setField(billingBusiness, "billingRepository", new BillingRepository());
+    ReflectionTestUtils.setField(billingBusiness, "billingJsonCache", cache);
+
+    final BillingController billingController = new BillingController();
+    ReflectionTestUtils.setField(billingController, "billingBusiness", billingBusiness);
+
+    final List<UUID> ids = new ArrayList<>(BILLINGS);
+
+    for (int i = 0; i < BILLINGS; i++) {
+      ids.add(billingBusiness.save(BillingTemplate.createBilling()).getId());
+    }
+
+    executeRequests(billingBusiness, billingController, ids, acceptEncoding, REQUESTS / 4);
+
+    final BillingJsonCache.Stats warmUp = cache.getStats();
+    final double latency = executeRequests(billingBusiness, billingController, ids, acceptEncoding, REQUESTS);
+    final BillingJsonCache.Stats stats = cache.getStats();
+
+    final long hits = stats.getHits() - warmUp.getHits();
+    final long lookups = hits + stats.getMisses() - warmUp.getMisses();
+
+    report("GET of %,d popular billings, %-21s: %5.2fus per request, hit ratio %.4f, %,d evictions",
+      REQUESTS, name, latency, lookups == 0 ? 0 : (double) hits / lookups, stats.getEvictions() - warmUp.getEvictions());
+  }
+
+  /**
+   * @return the mean time per request, in microseconds
+   */
+  private double executeRequests(final BillingBusiness billingBusiness, final BillingController billingController,
+                                 final List<UUID> ids, final String acceptEncoding, final int requests) throws Throwable {
+    final Random random = new Random(20_230_601L);
+
+    return micros(requests, request -> {
+      if (request % UPDATE_EVERY == UPDATE_EVERY - 1) {
+        final Billing billing = BillingTemplate.createBilling();
+        billing.setId(ids.get(random.nextInt(HOT_BILLINGS)));
+        billing.setBalance(BigDecimal.valueOf(10 + request % 90));
+        billingBusiness.update(billing);
+      }
+
+      final UUID id = ids.get(random.nextInt(10) < 8 ? random.nextInt(HOT_BILLINGS) : random.nextInt(BILLINGS));
+
+      billingController.findBilling(id.toString(), null, acceptEncoding);
+    });
+  }
+
+}
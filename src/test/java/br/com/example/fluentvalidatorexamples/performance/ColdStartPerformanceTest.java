@@ -0,0 +1,105 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.RuleParametersTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Measures on fresh JVMs how long the validators take to be created and to
+ * serve their first validations, before any JIT warm-up
+ *
+ * as it launches a JVM per run, it only runs when asked for, with
+ * mvn test -Pperformance -Dprocess.tests=true; each JVM writes its timings to a
+ * file and reports a failure through its exit status
+ */
+@Tag(Benchmarks.TAG)
+@EnabledIfSystemProperty(named = "process.tests", matches = "true")
+public class ColdStartPerformanceTest {
+
+  private static final int RUNS = 5;
+
+  @Test
+  void performanceTest() throws IOException, InterruptedException {
+    for (final String engine : List.of("interpreted", "compiled")) {
+      final double[][] timings = new double[3][RUNS];
+
+      for (int i = 0; i < RUNS; i++) {
+        final String[] values = launch(engine).trim().split(" ");
+
+        for (int metric = 0; metric < 3; metric++) {
+          timings[metric][i] = Double.parseDouble(values[metric]);
+        }
+      }
+
+      report("Cold start of the %s validator (median of %d JVMs): creation %.1fms, first validation %.1fms, next 99 validations %.1fms",
+        engine, RUNS, median(timings[0]), median(timings[1]), median(timings[2]));
+    }
+  }
+
+  private double median(final double[] values) {
+    final double[] sorted = values.clone();
+    Arrays.sort(sorted);
+
+    return sorted[sorted.length / 2];
+  }
+
+  private String launch(final String engine) throws IOException, InterruptedException {
+    final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    final Path timings = Files.createTempFile("cold-start", ".txt");
+
+    try {
+      final Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), Probe.class.getName(), engine, timings.toString())
+        .inheritIO()
+        .start();
+
+      assertThat("exit status of the " + engine + " probe", process.waitFor(), equalTo(0));
+
+      return Files.readString(timings);
+    } finally {
+      Files.deleteIfExists(timings);
+    }
+  }
+
+  /**
+   * Runs on its own JVM: creates a validator, times its first validations and
+   * writes the timings to the file given after the engine
+   */
+  public static final class Probe {
+
+    public static void main(final String[] args) throws IOException {
+      final Billing billing = BillingTemplate.createBilling();
+
+      final long start = System.nanoTime();
+      final BillingValidator validator = "compiled".equals(args[0]) ? new BillingValidator(RuleParametersTemplate.createCompiledParameters()) : new BillingValidator();
+      final long created = System.nanoTime();
+
+      validator.validate(billing);
+      final long first = System.nanoTime();
+
+      for (int i = 0; i < 99; i++) {
+        validator.validate(billing);
+      }
+
+      final long hundred = System.nanoTime();
+
+      Files.writeString(Paths.get(args[1]), (created - start) / 1e6 + " " + (first - created) / 1e6 + " " + (hundred - first) / 1e6);
+    }
+
+  }
+
+}
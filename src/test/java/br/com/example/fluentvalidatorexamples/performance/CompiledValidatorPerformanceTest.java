@@ -0,0 +1,53 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.RuleParametersTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.measure;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class CompiledValidatorPerformanceTest {
+
+  private static final int WARM_UP_ITERATIONS = 50_000;
+  private static final int ITERATIONS = 200_000;
+
+  private final BillingValidator interpreted = new BillingValidator();
+
+  private final BillingValidator compiled = new BillingValidator(RuleParametersTemplate.createCompiledParameters());
+
+  @Test
+  void performanceTest() throws Throwable {
+    final Billing valid = BillingTemplate.createBilling();
+    final Billing invalid = createInvalidBilling();
+
+    for (final Billing billing : List.of(valid, invalid)) {
+      millis(WARM_UP_ITERATIONS, i -> interpreted.validate(billing));
+      millis(WARM_UP_ITERATIONS, i -> compiled.validate(billing));
+    }
+
+    report("Taken time validating 200,000 valid billings, interpreted: %s", measure(ITERATIONS, i -> interpreted.validate(valid)));
+    report("Taken time validating 200,000 valid billings, compiled: %s", measure(ITERATIONS, i -> compiled.validate(valid)));
+    report("Taken time validating 200,000 invalid billings, interpreted: %s", measure(ITERATIONS, i -> interpreted.validate(invalid)));
+    report("Taken time validating 200,000 invalid billings, compiled: %s", measure(ITERATIONS, i -> compiled.validate(invalid)));
+  }
+
+  private Billing createInvalidBilling() {
+    final Billing billing = BillingTemplate.createBilling();
+    billing.setBalance(null);
+    billing.setDueDate(LocalDate.now().minusDays(1));
+    billing.getPayer().setEmail("wrong");
+    billing.getReceiver().setBirthday(LocalDate.now());
+
+    return billing;
+  }
+
+}
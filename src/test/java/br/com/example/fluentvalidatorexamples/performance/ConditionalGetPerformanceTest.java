@@ -0,0 +1,139 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.business.BillingBusiness;
+import br.com.example.fluentvalidatorexamples.controller.BillingController;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException;
+import br.com.example.fluentvalidatorexamples.json.BillingJsonCache;
+import br.com.example.fluentvalidatorexamples.repository.BillingRepository;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.quietly;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+/**
+ * Dashboards polling single billings and the whole collection, with one billing
+ * updated every UPDATE_EVERY polls; the collection is serialized as the HTTP layer would
+ */
+@Tag(Benchmarks.TAG)
+public class ConditionalGetPerformanceTest {
+
+  private static final int BILLINGS = 200;
+
+  private static final int POLLS = 50_000;
+
+  private static final int COLLECTION_EVERY = 100;
+
+  private static final int UPDATE_EVERY = 50;
+
+  private final ObjectMapper mapper = ObjectMapperTemplate.createCustomMapper();
+
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+  @Test
+  void performanceTest() throws Throwable {
+    quietly(() -> {
+      final BillingBusiness billingBusiness = new BillingBusiness();
+      ReflectionTestUtils.setField(billingBusiness, "billingRepository", new BillingRepository());
+      ReflectionTestUtils.setField(billingBusiness, "billingJsonCache", new BillingJsonCache(mapper));
+
+      final BillingController billingController = new BillingController();
+      ReflectionTestUtils.setField(billingController, "billingBusiness", billingBusiness);
+
+      final List<UUID> ids = new ArrayList<>(BILLINGS);
+
+      for (int i = 0; i < BILLINGS; i++) {
+        ids.add(billingBusiness.save(BillingTemplate.createBilling()).getId());
+      }
+
+      executePolls(billingBusiness, billingController, ids, false, POLLS / 5);
+      executePolls(billingBusiness, billingController, ids, true, POLLS / 5);
+
+      final Result unconditional = executePolls(billingBusiness, billingController, ids, false, POLLS);
+      final Result conditional = executePolls(billingBusiness, billingController, ids, true, POLLS);
+
+      report("Polling %,d times (%d billings, collection every %d polls, an update every %d polls):",
+        POLLS, BILLINGS, COLLECTION_EVERY, UPDATE_EVERY);
+      report("  unconditional GET: %s", unconditional);
+      report("  If-None-Match GET: %s", conditional);
+    });
+  }
+
+  private Result executePolls(final BillingBusiness billingBusiness, final BillingController billingController,
+                              final List<UUID> ids, final boolean conditional, final int polls) throws IOException, BillingNotFoundException {
+    final Map<String, String> etags = new HashMap<>();
+    final Result result = new Result();
+    final long start = threads.getCurrentThreadCpuTime();
+
+    for (int poll = 0; poll < polls; poll++) {
+      if (poll % UPDATE_EVERY == UPDATE_EVERY - 1) {
+        final Billing billing = BillingTemplate.createBilling();
+        billing.setId(ids.get((poll / UPDATE_EVERY) % BILLINGS));
+        billing.setBalance(BigDecimal.valueOf(10 + poll % 90));
+        billingBusiness.update(billing);
+      }
+
+      final String resource;
+      final ResponseEntity<Object> response;
+
+      if (poll % COLLECTION_EVERY == 0) {
+        resource = "all";
+        response = billingController.findAllBillings(conditional ? etags.get(resource) : null);
+      } else {
+        resource = ids.get(poll % BILLINGS).toString();
+        response = billingController.findBilling(resource, conditional ? etags.get(resource) : null, null);
+      }
+
+      if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+        result.notModified++;
+      } else if (poll % COLLECTION_EVERY == 0) {
+        result.collectionBytes += mapper.writeValueAsBytes(response.getBody()).length;
+      } else {
+        // single billings are written straight from their cached JSON
+        result.billingBytes += ((byte[]) response.getBody()).length;
+      }
+
+      etags.put(resource, response.getHeaders().getETag());
+    }
+
+    result.cpuMillis = (threads.getCurrentThreadCpuTime() - start) / 1_000_000;
+
+    return result;
+  }
+
+  private static final class Result {
+
+    private long cpuMillis;
+
+    private long billingBytes;
+
+    private long collectionBytes;
+
+    private int notModified;
+
+    @Override
+    public String toString() {
+      return String.format("%,6dms of CPU, %,11d body bytes of billings, %,11d of collections, %,6d responses 304",
+        cpuMillis, billingBytes, collectionBytes, notModified);
+    }
+
+  }
+
+}
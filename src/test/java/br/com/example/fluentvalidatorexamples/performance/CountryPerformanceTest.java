@@ -0,0 +1,48 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.enums.Country;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.measure;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class CountryPerformanceTest {
+
+  private static final int WARM_UP_ITERATIONS = 1_000_000;
+  private static final int ITERATIONS = 10_000_000;
+
+  private static final String[] CODES = {"us", "US", "Mx", "ca", "br", "xx"};
+
+  /**
+   * the former lookup: a lower case copy of the input on a hash map
+   */
+  private static final Map<String, Country> ENTRIES = new HashMap<>();
+
+  static {
+    for (final Country country : Country.values()) {
+      ENTRIES.put(country.getCode(), country);
+    }
+  }
+
+  @Test
+  void performanceTest() throws Throwable {
+    final Function<String, Country> hashLookup = code -> ENTRIES.get(code.toLowerCase());
+    final Function<String, Country> tableLookup = Country::entryOf;
+
+    millis(WARM_UP_ITERATIONS, i -> hashLookup.apply(CODES[i % CODES.length]));
+    millis(WARM_UP_ITERATIONS, i -> tableLookup.apply(CODES[i % CODES.length]));
+
+    report("Taken time resolving 10,000,000 country codes (lower case + hash map): %s",
+      measure(ITERATIONS, i -> hashLookup.apply(CODES[i % CODES.length])));
+    report("Taken time resolving 10,000,000 country codes (code table): %s",
+      measure(ITERATIONS, i -> tableLookup.apply(CODES[i % CODES.length])));
+  }
+
+}
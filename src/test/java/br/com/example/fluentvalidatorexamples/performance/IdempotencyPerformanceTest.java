@@ -0,0 +1,89 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.business.BillingBusiness;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.idempotency.IdempotencyStore;
+import br.com.example.fluentvalidatorexamples.json.BillingJsonCache;
+import br.com.example.fluentvalidatorexamples.repository.BillingRepository;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.micros;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.quietly;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+/**
+ * POST /billing with and without an Idempotency-Key: the cost a key, and the
+ * fingerprint of the billing sent along, add to a request seen for the first time,
+ * and what a retry costs instead of a second save
+ */
+@Tag(Benchmarks.TAG)
+public class IdempotencyPerformanceTest {
+
+  private static final int SAVES = 100_000;
+
+  @Test
+  void performanceTest() throws Throwable {
+    quietly(() -> {
+      final List<String> uuidKeys = new ArrayList<>(SAVES);
+      final List<String> textKeys = new ArrayList<>(SAVES);
+
+      for (int i = 0; i < SAVES; i++) {
+        uuidKeys.add(UUID.randomUUID().toString());
+        textKeys.add("checkout-" + i + "-attempt");
+      }
+
+      // warm up
+      executeSaves(null);
+      executeSaves(uuidKeys);
+      executeSaves(textKeys);
+
+      report("%,d saves, store of %,d keys:", SAVES, IdempotencyStore.DEFAULT_MAX_KEYS);
+      report("  no key:                    %6.2fus per save", executeSaves(null)[0]);
+
+      final double[] uuid = executeSaves(uuidKeys);
+      report("  new uuid key:              %6.2fus per save, retry %6.2fus", uuid[0], uuid[1]);
+
+      final double[] text = executeSaves(textKeys);
+      report("  new text key (SHA-256):    %6.2fus per save, retry %6.2fus", text[0], text[1]);
+    });
+  }
+
+  /**
+   * @return the mean time per save, then per retry of the same saves, in microseconds
+   */
+  private double[] executeSaves(final List<String> keys) throws Throwable {
+    final BillingBusiness billingBusiness = new BillingBusiness();
+    ReflectionTestUtils.setField(billingBusiness, "billingRepository", new BillingRepository());
+    ReflectionTestUtils.setField(billingBusiness, "billingJsonCache", new BillingJsonCache(ObjectMapperTemplate.createCustomMapper()));
+    ReflectionTestUtils.setField(billingBusiness, "idempotencyStore", new IdempotencyStore(ObjectMapperTemplate.createCustomMapper()));
+
+    // retries send billings of their own, as the ones saved got an id meanwhile
+    final double saves = executeSaves(billingBusiness, createBillings(), keys);
+    final double retries = executeSaves(billingBusiness, createBillings(), keys);
+
+    return new double[]{saves, retries};
+  }
+
+  private double executeSaves(final BillingBusiness billingBusiness, final List<Billing> billings, final List<String> keys) throws Throwable {
+    return micros(SAVES, i -> billingBusiness.save(billings.get(i), keys == null ? null : keys.get(i)));
+  }
+
+  private List<Billing> createBillings() {
+    final List<Billing> billings = new ArrayList<>(SAVES);
+
+    for (int i = 0; i < SAVES; i++) {
+      billings.add(BillingTemplate.createBilling());
+    }
+
+    return billings;
+  }
+
+}
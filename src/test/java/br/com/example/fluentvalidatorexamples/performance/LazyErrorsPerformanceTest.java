@@ -0,0 +1,95 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.RuleParametersTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.measure;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class LazyErrorsPerformanceTest {
+
+  private static final int WARM_UP_ITERATIONS = 20_000;
+  private static final int ITERATIONS = 100_000;
+
+  private final BillingValidator validator = new BillingValidator();
+
+  private final BillingValidator compiledValidator = new BillingValidator(RuleParametersTemplate.createCompiledParameters());
+
+  @Test
+  void performanceTest() throws Throwable {
+    final Billing billing = createInvalidBilling();
+
+    report("Heavily invalid billing: %d errors", validator.validate(billing).getErrors().size());
+
+    final Consumer<Billing> fullErrors = invalid -> validator.validate(invalid).isValid();
+    final Consumer<Billing> validityOnly = invalid -> validator.validateCodes(invalid).isValid();
+    final Consumer<Billing> codesOnly = invalid -> validator.validateCodes(invalid).getCodes();
+    final Consumer<Billing> lazyErrors = invalid -> validator.validateCodes(invalid).getErrors();
+    final Consumer<Billing> codesResult = invalid -> validator.validateCodes(invalid).toValidationResult();
+    final Consumer<Billing> pooledCodesResult = invalid -> compiledValidator.validate(invalid);
+
+    final Map<String, Consumer<Billing>> validations = new LinkedHashMap<>();
+    validations.put("full errors", fullErrors);
+    validations.put("codes, validity only", validityOnly);
+    validations.put("codes, codes only", codesOnly);
+    validations.put("codes, errors materialized", lazyErrors);
+    validations.put("codes, validation result", codesResult);
+    validations.put("pooled codes, validation result", pooledCodesResult);
+
+    for (final Consumer<Billing> validation : validations.values()) {
+      millis(WARM_UP_ITERATIONS, i -> validation.accept(billing));
+    }
+
+    for (final Map.Entry<String, Consumer<Billing>> validation : validations.entrySet()) {
+      report("Taken time validating 100,000 heavily invalid billings (%s): %s",
+        validation.getKey(), measure(ITERATIONS, i -> validation.getValue().accept(billing)));
+    }
+  }
+
+  private Billing createInvalidBilling() {
+    final Billing billing = BillingTemplate.createBilling();
+    billing.setBalance(null);
+    billing.setDueDate(LocalDate.now().minusDays(1));
+    billing.setExpirationDate(LocalDate.now().plusYears(1));
+    billing.getPayer().setFirstName("");
+    billing.getPayer().setEmail("wrong");
+    billing.getPayer().setBillingAddress(invalidAddress());
+    billing.getReceiver().setLastName(null);
+    billing.getReceiver().setBirthday(LocalDate.now());
+    billing.getReceiver().setAddress(invalidAddress());
+
+    final List<String> additionalInfo = new ArrayList<>();
+
+    for (int i = 0; i < 20; i++) {
+      additionalInfo.add(i % 2 == 0 ? "" : "This is the additional info " + i);
+    }
+
+    billing.setAdditionalInfo(additionalInfo);
+
+    return billing;
+  }
+
+  private Address invalidAddress() {
+    final Address address = new Address();
+    address.setAddressLine2("");
+    address.setCountry("zz");
+    address.setZipcode("12a");
+
+    return address;
+  }
+
+}
@@ -0,0 +1,117 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.business.BillingBusiness;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.BillingMergePatch;
+import br.com.example.fluentvalidatorexamples.json.BillingJsonCache;
+import br.com.example.fluentvalidatorexamples.repository.BillingRepository;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.micros;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.quietly;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class MergePatchPerformanceTest {
+
+  private static final int WARM_UP_ITERATIONS = 20_000;
+  private static final int ITERATIONS = 100_000;
+
+  private final ObjectMapper mapper = ObjectMapperTemplate.createCustomMapper();
+
+  @Test
+  void performanceTest() throws Throwable {
+    quietly(() -> {
+      final BillingBusiness billingBusiness = new BillingBusiness();
+      ReflectionTestUtils.setField(billingBusiness, "billingRepository", new BillingRepository());
+      ReflectionTestUtils.setField(billingBusiness, "billingJsonCache", new BillingJsonCache(mapper));
+
+      final UUID id = billingBusiness.save(BillingTemplate.createBilling()).getId();
+
+      final Map<String, byte[]> puts = new LinkedHashMap<>();
+      final Map<String, byte[]> patches = new LinkedHashMap<>();
+
+      for (final Map.Entry<String, Edit> edit : edits().entrySet()) {
+        final Billing edited = BillingTemplate.createBilling();
+        edit.getValue().change.accept(edited);
+
+        puts.put(edit.getKey(), mapper.writeValueAsBytes(edited));
+        patches.put(edit.getKey(), edit.getValue().patch.getBytes(StandardCharsets.UTF_8));
+
+        executePuts(billingBusiness, id, puts.get(edit.getKey()), WARM_UP_ITERATIONS);
+        executePatches(billingBusiness, id, patches.get(edit.getKey()), WARM_UP_ITERATIONS);
+      }
+
+      for (final String edit : puts.keySet()) {
+        final byte[] put = puts.get(edit);
+        final byte[] patch = patches.get(edit);
+
+        final double putTime = executePuts(billingBusiness, id, put, ITERATIONS);
+        final double patchTime = executePatches(billingBusiness, id, patch, ITERATIONS);
+
+        report("Edit of %-21s: PUT %4d bytes %6.2fus, PATCH %3d bytes %6.2fus per request",
+          edit, put.length, putTime, patch.length, patchTime);
+      }
+    });
+  }
+
+  private Map<String, Edit> edits() {
+    final Map<String, Edit> edits = new LinkedHashMap<>();
+    edits.put("balance", new Edit("{\"balance\":20.5}", billing -> billing.setBalance(new BigDecimal("20.5"))));
+    edits.put("due date", new Edit("{\"dueDate\":\"" + BillingTemplate.createBilling().getDueDate().plusDays(1) + "\"}",
+      billing -> billing.setDueDate(billing.getDueDate().plusDays(1))));
+    edits.put("payer email", new Edit("{\"payer\":{\"email\":\"another@java-fluent-validator.com\"}}",
+      billing -> billing.getPayer().setEmail("another@java-fluent-validator.com")));
+    edits.put("receiver address city", new Edit("{\"receiver\":{\"address\":{\"city\":\"Los Angeles\"}}}",
+      billing -> billing.getReceiver().getAddress().setCity("Los Angeles")));
+
+    return edits;
+  }
+
+  /**
+   * @return the mean time per request, in microseconds
+   */
+  private double executePuts(final BillingBusiness billingBusiness, final UUID id, final byte[] json, final int iterations) throws Throwable {
+    return micros(iterations, i -> {
+      final Billing billing = mapper.readValue(json, Billing.class);
+      billing.setId(id);
+      billingBusiness.update(billing);
+    });
+  }
+
+  /**
+   * @return the mean time per request, in microseconds
+   */
+  private double executePatches(final BillingBusiness billingBusiness, final UUID id, final byte[] json, final int iterations) throws Throwable {
+    return micros(iterations, i -> {
+      final BillingMergePatch patch = mapper.readValue(json, BillingMergePatch.class);
+      billingBusiness.patch(id, patch::applyTo);
+    });
+  }
+
+  private static final class Edit {
+
+    private final String patch;
+
+    private final Consumer<Billing> change;
+
+    private Edit(final String patch, final Consumer<Billing> change) {
+      this.patch = patch;
+      this.change = change;
+    }
+
+  }
+
+}
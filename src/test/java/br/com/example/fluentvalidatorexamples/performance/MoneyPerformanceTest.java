@@ -0,0 +1,53 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.measure;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountGreaterThanOrEqual;
+import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.amountLessThan;
+import static br.com.fluentvalidator.predicate.ComparablePredicate.greaterThanOrEqual;
+import static br.com.fluentvalidator.predicate.ComparablePredicate.lessThan;
+
+@Tag(Benchmarks.TAG)
+public class MoneyPerformanceTest {
+
+  private static final int WARM_UP_ITERATIONS = 100_000;
+  private static final int ITERATIONS = 1_000_000;
+
+  private static final BigDecimal MIN_BALANCE = new BigDecimal("1.00");
+
+  private final BillingValidator validator = new BillingValidator();
+  private final Billing billing = BillingTemplate.createBilling();
+
+  @Test
+  void performanceTest() throws Throwable {
+    final Predicate<Billing> decimalMinimum = greaterThanOrEqual(Billing::getBalance, MIN_BALANCE);
+    final Predicate<Billing> centsMinimum = amountGreaterThanOrEqual(Billing::getBalanceCents, Billing::getBalance, MIN_BALANCE);
+    final Predicate<Billing> decimalLessThan = lessThan(Billing::getFineAmount, (Function<Billing, BigDecimal>) Billing::getBalance);
+    final Predicate<Billing> centsLessThan = amountLessThan(Billing::getFineAmountCents, Billing::getFineAmount, Billing::getBalanceCents, Billing::getBalance);
+
+    for (final Predicate<Billing> predicate : List.of(decimalMinimum, centsMinimum, decimalLessThan, centsLessThan)) {
+      millis(WARM_UP_ITERATIONS, i -> predicate.test(billing));
+    }
+
+    millis(WARM_UP_ITERATIONS / 10, i -> validator.validate(billing));
+
+    report("Taken time checking minimum balance 1,000,000 times (BigDecimal): %dms", millis(ITERATIONS, i -> decimalMinimum.test(billing)));
+    report("Taken time checking minimum balance 1,000,000 times (cents): %dms", millis(ITERATIONS, i -> centsMinimum.test(billing)));
+    report("Taken time checking fine against balance 1,000,000 times (BigDecimal): %dms", millis(ITERATIONS, i -> decimalLessThan.test(billing)));
+    report("Taken time checking fine against balance 1,000,000 times (cents): %dms", millis(ITERATIONS, i -> centsLessThan.test(billing)));
+    report("Taken time running 100,000 validations: %s", measure(ITERATIONS / 10, i -> validator.validate(billing)));
+  }
+
+}
@@ -0,0 +1,149 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.FluentValidatorExamplesApplication;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Boots the service as a separate process and measures the time until it
+ * answers its first POST /billing, and its resident memory afterwards
+ *
+ * the JVM build is always measured, as the baseline, and the native
+ * executable built by mvn -Pnative package is measured whenever it exists
+ * (target/fluent-validator-examples, or the native.image system property)
+ *
+ * as booting the service takes seconds, it only runs when asked for, with
+ * mvn test -Dprocess.tests=true, or under the native profile
+ */
+@EnabledIfSystemProperty(named = "process.tests", matches = "true")
+public class NativeImageSmokeTest {
+
+  private static final Duration BOOT_TIMEOUT = Duration.ofSeconds(60);
+
+  private final ObjectMapper objectMapper = ObjectMapperTemplate.createCustomMapper();
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Test
+  void smokeTest() throws IOException, InterruptedException {
+    final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    measure("JVM", List.of(java, "-cp", System.getProperty("java.class.path"), FluentValidatorExamplesApplication.class.getName()));
+
+    final Path nativeImage = Paths.get(System.getProperty("native.image", "target/fluent-validator-examples"));
+
+    if (Files.isExecutable(nativeImage)) {
+      measure("native", List.of(nativeImage.toString()));
+    } else {
+      System.err.println("Native executable not found at " + nativeImage + ", build it with mvn -Pnative package");
+    }
+  }
+
+  private void measure(final String build, final List<String> command) throws IOException, InterruptedException {
+    final int port = freePort();
+    final List<String> arguments = new ArrayList<>(command);
+    arguments.add("--server.port=" + port);
+
+    final long start = System.nanoTime();
+    final Process process = new ProcessBuilder(arguments)
+      .redirectErrorStream(true)
+      .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+      .start();
+
+    try {
+      final String uri = "http://localhost:" + port + "/billing";
+      final int firstStatus = postUntilUp(process, uri, BillingTemplate.createBilling());
+      final long firstResponse = System.nanoTime();
+
+      assertThat(firstStatus, equalTo(200));
+      assertThat(post(uri, invalidBilling()).statusCode(), equalTo(422));
+
+      System.err.println(String.format("%s build: first response to POST /billing after %dms, %s of resident memory",
+        build, TimeUnit.NANOSECONDS.toMillis(firstResponse - start), residentMemory(process).orElse("unknown")));
+
+    } finally {
+      process.destroy();
+      process.waitFor(10, TimeUnit.SECONDS);
+    }
+  }
+
+  private int postUntilUp(final Process process, final String uri, final Billing billing) throws IOException, InterruptedException {
+    final long deadline = System.nanoTime() + BOOT_TIMEOUT.toNanos();
+
+    while (System.nanoTime() < deadline) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException("the service exited with code " + process.exitValue() + " before answering");
+      }
+
+      try {
+        return post(uri, billing).statusCode();
+      } catch (final ConnectException e) {
+        Thread.sleep(20);
+      }
+    }
+
+    throw new IllegalStateException("the service did not answer in " + BOOT_TIMEOUT);
+  }
+
+  private HttpResponse<String> post(final String uri, final Billing billing) throws IOException, InterruptedException {
+    final HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+      .header("Content-Type", "application/json")
+      .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(billing)))
+      .build();
+
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private Billing invalidBilling() {
+    final Billing billing = BillingTemplate.createBilling();
+    billing.setBalance(null);
+    billing.getPayer().setEmail("wrong");
+
+    return billing;
+  }
+
+  /**
+   * @return VmRSS of the process, only available where /proc is
+   */
+  private Optional<String> residentMemory(final Process process) throws IOException {
+    final Path status = Paths.get("/proc", String.valueOf(process.pid()), "status");
+
+    if (!Files.exists(status)) {
+      return Optional.empty();
+    }
+
+    return Files.readAllLines(status).stream()
+      .filter(line -> line.startsWith("VmRSS:"))
+      .map(line -> line.substring("VmRSS:".length()).trim())
+      .findFirst();
+  }
+
+  private int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+}
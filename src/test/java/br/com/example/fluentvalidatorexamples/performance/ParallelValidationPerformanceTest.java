@@ -0,0 +1,84 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BillingCodeValidator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.micros;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Crossover of the parallel subtree validation of BillingCodeValidator
+ *
+ * both validators run the very same code path, the sequential one on a pool of a
+ * single worker, which never forks, and the parallel one on a pool of a worker per
+ * processor (two at least), with no threshold, so it forks on every billing. The
+ * size from which the parallel one is faster is where PARALLEL_THRESHOLD belongs
+ */
+@Tag(Benchmarks.TAG)
+public class ParallelValidationPerformanceTest {
+
+  private static final int[] SIZES = {1_024, 4_096, 16_384, 65_536, 262_144};
+
+  /**
+   * each size validates about the same number of items in total
+   */
+  private static final int ITEMS_PER_SIZE = 20_000_000;
+
+  @Test
+  void performanceTest() throws Throwable {
+    final int workers = Math.max(2, Runtime.getRuntime().availableProcessors());
+    final ForkJoinPool singleWorkerPool = new ForkJoinPool(1);
+    final ForkJoinPool pool = new ForkJoinPool(workers);
+
+    try {
+      final BillingCodeValidator sequential = new BillingCodeValidator(RuleParameters.DEFAULTS, singleWorkerPool, 0);
+      final BillingCodeValidator parallel = new BillingCodeValidator(RuleParameters.DEFAULTS, pool, 0);
+
+      report("Validating on %d processors, %d workers (default threshold: %,d items)",
+        Runtime.getRuntime().availableProcessors(), workers, BillingCodeValidator.PARALLEL_THRESHOLD);
+
+      for (final int size : SIZES) {
+        final Billing billing = createBilling(size);
+        final int iterations = ITEMS_PER_SIZE / size;
+
+        assertThat(parallel.validate(billing).getCodes(), equalTo(sequential.validate(billing).getCodes()));
+
+        micros(iterations / 5, i -> sequential.validate(billing));
+        micros(iterations / 5, i -> parallel.validate(billing));
+
+        final double sequentialMicros = micros(iterations, i -> sequential.validate(billing));
+        final double parallelMicros = micros(iterations, i -> parallel.validate(billing));
+
+        report("Billing with %,d additional info items: sequential %.1fus, parallel %.1fus (%.2fx)",
+          size, sequentialMicros, parallelMicros, sequentialMicros / parallelMicros);
+      }
+    } finally {
+      singleWorkerPool.shutdown();
+      pool.shutdown();
+    }
+  }
+
+  private Billing createBilling(final int size) {
+    final Billing billing = BillingTemplate.createBilling();
+    final List<String> additionalInfo = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      additionalInfo.add(i % 1_000 == 0 ? "" : "This is the additional info " + i);
+    }
+
+    billing.setAdditionalInfo(additionalInfo);
+
+    return billing;
+  }
+
+}
@@ -3,9 +3,11 @@ package br.com.example.fluentvalidatorexamples.performance;
 import br.com.example.fluentvalidatorexamples.domain.Billing;
 import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
 import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.util.StopWatch;
 
+@Tag(Benchmarks.TAG)
 public class PerformanceTest {
 
   private final StopWatch stopWatch = new StopWatch();
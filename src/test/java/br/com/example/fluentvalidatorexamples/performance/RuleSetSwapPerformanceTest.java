@@ -0,0 +1,72 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BillingRuleSets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class RuleSetSwapPerformanceTest {
+
+  private static final int WARM_UP_ITERATIONS = 20_000;
+  private static final int ITERATIONS = 100_000;
+  private static final int SWAPS = 1_000;
+
+  private final Billing billing = BillingTemplate.createBilling();
+
+  @AfterEach
+  void tearDown() {
+    BillingRuleSets.install(RuleParameters.DEFAULTS);
+  }
+
+  @Test
+  void performanceTest() throws Throwable {
+    millis(WARM_UP_ITERATIONS, i -> BillingRuleSets.current().validate(billing));
+
+    report("Taken time validating 100,000 billings (no swaps): %dms", millis(ITERATIONS, i -> BillingRuleSets.current().validate(billing)));
+
+    final AtomicBoolean validating = new AtomicBoolean(true);
+    final AtomicLong swaps = new AtomicLong();
+    final Thread swapper = new Thread(() -> {
+      while (validating.get()) {
+        BillingRuleSets.install(version(swaps.incrementAndGet()));
+
+        try {
+          TimeUnit.MILLISECONDS.sleep(1);
+        } catch (final InterruptedException e) {
+          return;
+        }
+      }
+    });
+
+    swapper.start();
+    final long elapsed = millis(ITERATIONS, i -> BillingRuleSets.current().validate(billing));
+    validating.set(false);
+    swapper.join();
+
+    report("Taken time validating 100,000 billings (swapping rule sets every 1ms, %d swaps): %dms", swaps.get(), elapsed);
+
+    report("Taken time installing 1,000 rule set versions, each followed by its first validation: %dms", millis(SWAPS, i -> {
+      BillingRuleSets.install(version(i));
+      BillingRuleSets.current().validate(billing);
+    }));
+  }
+
+  private RuleParameters version(final long version) {
+    return RuleParameters.from(Map.of(
+      "billing.rules.version", String.valueOf(version),
+      "billing.rules.minimum-payer-age", String.valueOf(18 + version % 2))::get);
+  }
+
+}
@@ -0,0 +1,41 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class SerializationPerformanceTest {
+
+  private static final int WARM_UP_ITERATIONS = 20_000;
+
+  private final ObjectMapper reflectiveMapper = ObjectMapperTemplate.createReflectiveMapper();
+  private final ObjectMapper customMapper = ObjectMapperTemplate.createCustomMapper();
+  private final Billing billing = BillingTemplate.createBilling();
+
+  @Test
+  void performanceTest() throws Throwable {
+    billing.setId(UUID.randomUUID());
+
+    final byte[] json = reflectiveMapper.writeValueAsBytes(billing);
+
+    millis(WARM_UP_ITERATIONS, i -> reflectiveMapper.writeValueAsBytes(billing));
+    millis(WARM_UP_ITERATIONS, i -> customMapper.writeValueAsBytes(billing));
+    millis(WARM_UP_ITERATIONS, i -> reflectiveMapper.readValue(json, Billing.class));
+    millis(WARM_UP_ITERATIONS, i -> customMapper.readValue(json, Billing.class));
+
+    report("Taken time serializing 100,000 billings (reflective): %dms", millis(100_000, i -> reflectiveMapper.writeValueAsBytes(billing)));
+    report("Taken time serializing 100,000 billings (custom): %dms", millis(100_000, i -> customMapper.writeValueAsBytes(billing)));
+    report("Taken time deserializing 100,000 billings (reflective): %dms", millis(100_000, i -> reflectiveMapper.readValue(json, Billing.class)));
+    report("Taken time deserializing 100,000 billings (custom): %dms", millis(100_000, i -> customMapper.readValue(json, Billing.class)));
+  }
+
+}
@@ -0,0 +1,155 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.business.BillingBusiness;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException;
+import br.com.example.fluentvalidatorexamples.json.BillingJsonCache;
+import br.com.example.fluentvalidatorexamples.repository.BillingRepository;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.ObjectMapperTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.millis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.processCpuMillis;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.quietly;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+/**
+ * Incident recovery: many clients reading the JSON of the same few billings at once,
+ * through BillingBusiness#findBillingJsonById, from a store taking STORE_LATENCY_MILLIS
+ * per lookup, with the JSON cache disabled so every JSON read reaches the store unless
+ * it is coalesced. Only that JSON path is coalesced, so only it is measured here
+ */
+@Tag(Benchmarks.TAG)
+public class SingleFlightPerformanceTest {
+
+  private static final int CLIENTS = 64;
+
+  private static final int READS_PER_CLIENT = 200;
+
+  private static final int HOT_BILLINGS = 10;
+
+  private static final long STORE_LATENCY_MILLIS = 2;
+
+  private final ObjectMapper mapper = ObjectMapperTemplate.createCustomMapper();
+
+  @Test
+  void performanceTest() throws Throwable {
+    quietly(() -> {
+      final SlowRepository repository = new SlowRepository();
+      final BillingJsonCache cache = new BillingJsonCache(mapper, 0);
+
+      final BillingBusiness billingBusiness = new BillingBusiness();
+      ReflectionTestUtils.setField(billingBusiness, "billingRepository", repository);
+      ReflectionTestUtils.setField(billingBusiness, "billingJsonCache", cache);
+
+      final List<UUID> ids = new ArrayList<>(HOT_BILLINGS);
+
+      for (int i = 0; i < HOT_BILLINGS; i++) {
+        ids.add(repository.save(BillingTemplate.createBilling()).getId());
+      }
+
+      // every JSON read runs its own lookup and encoding, as before coalescing
+      final Read independent = id -> cache.put(id, repository.findVersionById(id), repository.findById(id));
+      final Read coalesced = billingBusiness::findBillingJsonById;
+
+      executeReads(independent, ids);
+      executeReads(coalesced, ids);
+
+      repository.lookups.set(0);
+      long cpu = processCpuMillis();
+      final long independentTime = executeReads(independent, ids);
+      final long independentCpu = processCpuMillis() - cpu;
+      final int independentLookups = repository.lookups.getAndSet(0);
+
+      cpu = processCpuMillis();
+      final long coalescedTime = executeReads(coalesced, ids);
+      final long coalescedCpu = processCpuMillis() - cpu;
+      final int coalescedLookups = repository.lookups.getAndSet(0);
+
+      report("%d clients reading the JSON of %d billings %,d times, %dms per store lookup:",
+        CLIENTS, HOT_BILLINGS, CLIENTS * READS_PER_CLIENT, STORE_LATENCY_MILLIS);
+      report("  independent reads: %,6dms, %,6dms of CPU, %,5d store lookups and encodings",
+        independentTime, independentCpu, independentLookups);
+      report("  coalesced reads:   %,6dms, %,6dms of CPU, %,5d store lookups and encodings",
+        coalescedTime, coalescedCpu, coalescedLookups);
+    });
+  }
+
+  private long executeReads(final Read read, final List<UUID> ids) throws Throwable {
+    final ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<?>> clients = new ArrayList<>(CLIENTS);
+
+    try {
+      for (int client = 0; client < CLIENTS; client++) {
+        clients.add(executor.submit(() -> {
+          start.await();
+
+          try {
+            for (int i = 0; i < READS_PER_CLIENT; i++) {
+              read.read(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+            }
+          } catch (final BillingNotFoundException e) {
+            throw new IllegalStateException(e);
+          }
+
+          return null;
+        }));
+      }
+
+      return millis(1, run -> {
+        start.countDown();
+
+        for (final Future<?> client : clients) {
+          client.get();
+        }
+      });
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Read {
+
+    void read(UUID id) throws BillingNotFoundException;
+
+  }
+
+  /**
+   * repository standing for a persistent store, slower on every lookup
+   */
+  private static final class SlowRepository extends BillingRepository {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Override
+    public Billing findById(final UUID id) throws BillingNotFoundException {
+      lookups.incrementAndGet();
+
+      try {
+        Thread.sleep(STORE_LATENCY_MILLIS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      return super.findById(id);
+    }
+
+  }
+
+}
@@ -0,0 +1,106 @@
+package br.com.example.fluentvalidatorexamples.performance;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.RuleParametersTemplate;
+import br.com.example.fluentvalidatorexamples.validator.BillingValidator;
+import br.com.example.fluentvalidatorexamples.validator.ValidationStamp;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.micros;
+import static br.com.example.fluentvalidatorexamples.performance.Benchmarks.report;
+
+@Tag(Benchmarks.TAG)
+public class UpdateRevalidationPerformanceTest {
+
+  private static final int[] ADDITIONAL_INFO_SIZES = {1, 1_000};
+
+  private static final int ITEMS_PER_SIZE = 2_000_000;
+
+  private final BillingValidator interpreted = new BillingValidator();
+
+  private final BillingValidator compiled = new BillingValidator(RuleParametersTemplate.createCompiledParameters());
+
+  @Test
+  void performanceTest() throws Throwable {
+    for (final int size : ADDITIONAL_INFO_SIZES) {
+      final Billing stored = createBilling(size);
+      final ValidationStamp stamp = compiled.stamp(stored);
+      final int iterations = Math.max(1_000, ITEMS_PER_SIZE / size);
+
+      for (final Map.Entry<String, Consumer<Billing>> change : changes().entrySet()) {
+        final Billing billing = copy(stored);
+        change.getValue().accept(billing);
+
+        micros(iterations / 5, i -> interpreted.validate(billing));
+        micros(iterations / 5, i -> compiled.validate(billing));
+        micros(iterations / 5, i -> compiled.revalidate(stamp, billing));
+
+        final double interpretedTime = micros(iterations, i -> interpreted.validate(billing));
+        final double compiledTime = micros(iterations, i -> compiled.validate(billing));
+        final double revalidateTime = micros(iterations, i -> compiled.revalidate(stamp, billing));
+
+        report("Update of %-22s with %,5d additional info items: full interpreted %8.2fus, full compiled %8.2fus, changed rules only %8.2fus",
+          change.getKey(), size, interpretedTime, compiledTime, revalidateTime);
+      }
+    }
+  }
+
+  private Map<String, Consumer<Billing>> changes() {
+    final Map<String, Consumer<Billing>> changes = new LinkedHashMap<>();
+    changes.put("balance", billing -> billing.setBalance(new BigDecimal("20.00")));
+    changes.put("due date", billing -> billing.setDueDate(billing.getDueDate().plusDays(1)));
+    changes.put("payer email", billing -> billing.getPayer().setEmail("another@java-fluent-validator.com"));
+    changes.put("one additional info", billing -> billing.getAdditionalInfo().set(0, "changed info"));
+
+    return changes;
+  }
+
+  private Billing createBilling(final int additionalInfoSize) {
+    final Billing billing = BillingTemplate.createBilling();
+    final List<String> additionalInfo = new ArrayList<>(additionalInfoSize);
+
+    for (int i = 0; i < additionalInfoSize; i++) {
+      additionalInfo.add("additional info " + i);
+    }
+
+    billing.setAdditionalInfo(additionalInfo);
+
+    return billing;
+  }
+
+  /**
+   * copy as read from a request body, sharing no mutable object with the stored billing
+   */
+  private Billing copy(final Billing stored) {
+    final Payer payer = new Payer();
+    payer.setFirstName(stored.getPayer().getFirstName());
+    payer.setLastName(stored.getPayer().getLastName());
+    payer.setBirthday(stored.getPayer().getBirthday());
+    payer.setEmail(stored.getPayer().getEmail());
+    payer.setBillingAddress(stored.getPayer().getBillingAddress());
+
+    final Billing billing = new Billing();
+    billing.setPayer(payer);
+    billing.setReceiver(stored.getReceiver());
+    billing.setBalance(stored.getBalance());
+    billing.setDueDate(stored.getDueDate());
+    billing.setAcceptPastPayment(stored.getAcceptPastPayment());
+    billing.setExpirationDate(stored.getExpirationDate());
+    billing.setApplyFineForPastPayment(stored.getApplyFineForPastPayment());
+    billing.setFineAmount(stored.getFineAmount());
+    billing.setAdditionalInfo(new ArrayList<>(stored.getAdditionalInfo()));
+
+    return billing;
+  }
+
+}
@@ -0,0 +1,111 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import br.com.example.fluentvalidatorexamples.enums.Country;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AcceptedCountriesLoaderTest {
+
+  @TempDir
+  Path directory;
+
+  private AcceptedCountriesLoader loader;
+
+  @AfterEach
+  void restoreAcceptedCountries() {
+    if (loader != null) {
+      loader.stop();
+    }
+
+    AcceptedCountries.replace(AcceptedCountries.parse(AcceptedCountries.DEFAULT_COUNTRIES));
+  }
+
+  @Test
+  void Should_ApplyPropertyCountries_When_NoPolicyFileIsConfigured() {
+    loader = new AcceptedCountriesLoader("br,en", "", 5000);
+
+    loader.start();
+
+    assertThat(AcceptedCountries.current().getCountries(), containsInAnyOrder(Country.BRAZIL, Country.ENGLAND));
+    assertThat(loader.reload(), equalTo(false));
+  }
+
+  @Test
+  void Should_ThrowException_When_PropertyCountriesAreInvalid() {
+    loader = new AcceptedCountriesLoader("us,zz", "", 5000);
+
+    assertThrows(IllegalArgumentException.class, loader::start);
+  }
+
+  @Test
+  void Should_ApplyFileCountries_When_PolicyFileExists() throws IOException {
+    final Path file = write("billing.accepted-countries=br,ir", 1_000);
+    loader = new AcceptedCountriesLoader("us,ca,mx", file.toString(), 60_000);
+
+    loader.start();
+
+    assertThat(AcceptedCountries.current().getCountries(), containsInAnyOrder(Country.BRAZIL, Country.IRELAND));
+  }
+
+  @Test
+  void Should_ReloadCountries_When_PolicyFileChanges() throws IOException {
+    final Path file = write("billing.accepted-countries=br", 1_000);
+    loader = new AcceptedCountriesLoader("us,ca,mx", file.toString(), 60_000);
+    loader.start();
+
+    assertThat(loader.reload(), equalTo(false));
+
+    write("billing.accepted-countries=us,en", 2_000);
+
+    assertThat(loader.reload(), equalTo(true));
+    assertThat(AcceptedCountries.current().getCountries(), containsInAnyOrder(Country.UNITED_STATES, Country.ENGLAND));
+  }
+
+  @Test
+  void Should_KeepCurrentCountries_When_PolicyFileIsInvalid() throws IOException {
+    final Path file = write("billing.accepted-countries=br", 1_000);
+    loader = new AcceptedCountriesLoader("us,ca,mx", file.toString(), 60_000);
+    loader.start();
+
+    write("billing.accepted-countries=br,xx", 2_000);
+
+    assertThat(loader.reload(), equalTo(false));
+    assertThat(AcceptedCountries.current().getCountries(), contains(Country.BRAZIL));
+
+    write("another.key=us", 3_000);
+
+    assertThat(loader.reload(), equalTo(false));
+    assertThat(AcceptedCountries.current().getCountries(), contains(Country.BRAZIL));
+  }
+
+  @Test
+  void Should_KeepPropertyCountries_When_PolicyFileIsMissing() {
+    loader = new AcceptedCountriesLoader("ca", directory.resolve("missing.properties").toString(), 60_000);
+
+    loader.start();
+
+    assertThat(AcceptedCountries.current().getCountries(), contains(Country.CANADA));
+  }
+
+  /**
+   * the modification time is set explicitly, so consecutive writes are always seen as changes
+   */
+  private Path write(final String content, final long modified) throws IOException {
+    final Path file = directory.resolve("accepted-countries.properties");
+    Files.writeString(file, content);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+
+    return file;
+  }
+
+}
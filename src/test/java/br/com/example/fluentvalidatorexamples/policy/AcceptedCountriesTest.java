@@ -0,0 +1,71 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import br.com.example.fluentvalidatorexamples.enums.Country;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AcceptedCountriesTest {
+
+  @AfterEach
+  void restoreAcceptedCountries() {
+    AcceptedCountries.replace(AcceptedCountries.parse(AcceptedCountries.DEFAULT_COUNTRIES));
+  }
+
+  @Test
+  void Should_AcceptUsCanadaAndMexico_When_DefaultCountriesAreUsed() {
+    final AcceptedCountries acceptedCountries = AcceptedCountries.current();
+
+    assertThat(acceptedCountries.getCountries(), containsInAnyOrder(Country.UNITED_STATES, Country.CANADA, Country.MEXICO));
+    assertThat(acceptedCountries.getMessage(), equalTo("only US, Canada and Mexico countries are allowed for this transaction"));
+  }
+
+  @Test
+  void Should_ParseCodesIgnoringCaseAndBlanks_When_CodesAreGiven() {
+    final AcceptedCountries acceptedCountries = AcceptedCountries.parse(" BR , ir,,br ");
+
+    assertThat(acceptedCountries.getCountries(), containsInAnyOrder(Country.BRAZIL, Country.IRELAND));
+    assertThat(acceptedCountries.getMessage(), equalTo("only Brazil and Ireland countries are allowed for this transaction"));
+    assertThat(acceptedCountries.accepts("Br"), equalTo(true));
+    assertThat(acceptedCountries.accepts("us"), equalTo(false));
+    assertThat(acceptedCountries.accepts(null), equalTo(false));
+  }
+
+  @Test
+  void Should_ReturnSingleCountryMessage_When_OneCountryIsAccepted() {
+    assertThat(AcceptedCountries.of(List.of(Country.ENGLAND)).getMessage(), equalTo("only England countries are allowed for this transaction"));
+  }
+
+  @Test
+  void Should_ThrowException_When_CodeIsUnknown() {
+    final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> AcceptedCountries.parse("us,xx"));
+
+    assertThat(exception.getMessage(), equalTo("unknown country code: xx"));
+  }
+
+  @Test
+  void Should_ThrowException_When_NoCodeIsGiven() {
+    assertThrows(IllegalArgumentException.class, () -> AcceptedCountries.parse(" , "));
+    assertThrows(IllegalArgumentException.class, () -> AcceptedCountries.parse(null));
+  }
+
+  @Test
+  void Should_NotBeModifiable_When_CountriesAreRead() {
+    assertThrows(UnsupportedOperationException.class, () -> AcceptedCountries.current().getCountries().add(Country.BRAZIL));
+  }
+
+  @Test
+  void Should_ReturnPreviousSnapshot_When_Replaced() {
+    final AcceptedCountries previous = AcceptedCountries.current();
+    final AcceptedCountries replacement = AcceptedCountries.parse("br");
+
+    assertThat(AcceptedCountries.replace(replacement), sameInstance(previous));
+    assertThat(AcceptedCountries.current(), sameInstance(replacement));
+  }
+
+}
@@ -0,0 +1,111 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import br.com.example.fluentvalidatorexamples.validator.BillingRuleSets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuleParametersLoaderTest {
+
+  @TempDir
+  Path directory;
+
+  private final MockEnvironment environment = new MockEnvironment()
+    .withProperty("billing.rules.version", "1")
+    .withProperty("billing.rules.minimum-payer-age", "20");
+
+  private RuleParametersLoader loader;
+
+  @AfterEach
+  void tearDown() {
+    if (loader != null) {
+      loader.stop();
+    }
+
+    BillingRuleSets.install(RuleParameters.DEFAULTS);
+  }
+
+  @Test
+  void Should_InstallPropertyParameters_When_NoRulesFileIsConfigured() {
+    loader = new RuleParametersLoader(environment, "", 5000);
+
+    loader.start();
+
+    final RuleParameters parameters = BillingRuleSets.current().getParameters();
+
+    assertThat(parameters.getVersion(), equalTo("1"));
+    assertThat(parameters.getMinimumPayerAge(), equalTo(20));
+    assertThat(loader.reload(), equalTo(false));
+  }
+
+  @Test
+  void Should_ThrowException_When_PropertyParametersAreInvalid() {
+    loader = new RuleParametersLoader(environment.withProperty("billing.rules.max-balance", "-1.00"), "", 5000);
+
+    assertThrows(IllegalArgumentException.class, loader::start);
+  }
+
+  @Test
+  void Should_InstallNewVersion_When_RulesFileChanges() throws IOException {
+    final Path file = write("billing.rules.version=2\nbilling.rules.max-balance=5000.00", 1_000);
+    loader = new RuleParametersLoader(environment, file.toString(), 60_000);
+    loader.start();
+
+    assertThat(BillingRuleSets.current().getParameters().getVersion(), equalTo("2"));
+    assertThat(BillingRuleSets.current().getParameters().getMaxBalance(), equalTo(new BigDecimal("5000.00")));
+    assertThat(BillingRuleSets.current().getParameters().getMinimumPayerAge(), equalTo(20));
+
+    write("billing.rules.version=3\nbilling.rules.max-balance=7000.00", 2_000);
+
+    assertThat(loader.reload(), equalTo(true));
+    assertThat(BillingRuleSets.current().getParameters().getVersion(), equalTo("3"));
+    assertThat(BillingRuleSets.current().getParameters().getMaxBalance(), equalTo(new BigDecimal("7000.00")));
+  }
+
+  @Test
+  void Should_KeepCurrentVersion_When_RulesFileKeepsTheVersion() throws IOException {
+    final Path file = write("billing.rules.version=2\nbilling.rules.max-balance=5000.00", 1_000);
+    loader = new RuleParametersLoader(environment, file.toString(), 60_000);
+    loader.start();
+
+    write("billing.rules.version=2\nbilling.rules.max-balance=9000.00", 2_000);
+
+    assertThat(loader.reload(), equalTo(false));
+    assertThat(BillingRuleSets.current().getParameters().getMaxBalance(), equalTo(new BigDecimal("5000.00")));
+  }
+
+  @Test
+  void Should_KeepCurrentVersion_When_RulesFileIsInvalid() throws IOException {
+    final Path file = write("billing.rules.version=2", 1_000);
+    loader = new RuleParametersLoader(environment, file.toString(), 60_000);
+    loader.start();
+
+    write("billing.rules.version=3\nbilling.rules.minimum-fine-amount=0.001", 2_000);
+
+    assertThat(loader.reload(), equalTo(false));
+    assertThat(BillingRuleSets.current().getParameters().getVersion(), equalTo("2"));
+  }
+
+  /**
+   * the modification time is set explicitly, so consecutive writes are always seen as changes
+   */
+  private Path write(final String content, final long modified) throws IOException {
+    final Path file = directory.resolve("billing-rules.properties");
+    Files.writeString(file, content);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+
+    return file;
+  }
+
+}
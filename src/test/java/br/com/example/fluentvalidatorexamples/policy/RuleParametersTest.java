@@ -0,0 +1,105 @@
+package br.com.example.fluentvalidatorexamples.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuleParametersTest {
+
+  @Test
+  void Should_KeepFormerMessages_When_DefaultsAreUsed() {
+    final RuleParameters parameters = RuleParameters.DEFAULTS;
+
+    assertThat(parameters.getVersion(), equalTo("default"));
+    assertThat(parameters.getMinBalanceMessage(), equalTo("the minimum value for a billing is $1"));
+    assertThat(parameters.getMaxBalanceMessage(), equalTo("the maximum value for a billing is $999,999.99"));
+    assertThat(parameters.getMinimumFineAmountMessage(), equalTo("the minimum value for fine amount is $0.01"));
+    assertThat(parameters.getMinimumPayerAgeMessage(), equalTo("payer's age must be at least 18"));
+    assertThat(parameters.getMinimumReceiverAgeMessage(), equalTo("receiver's age must be at least 21"));
+    assertThat(parameters.getDueDateWindowMessage(), equalTo("due date must not the set to more than one year further the current date"));
+    assertThat(parameters.getExpirationWindowMessage(), equalTo("expiration date must be set to more than 6 months past due date"));
+  }
+
+  @Test
+  void Should_ReadGivenKeysAndKeepDefaults_When_PropertiesAreGiven() {
+    final Map<String, String> properties = Map.of(
+      "billing.rules.version", "2",
+      "billing.rules.max-balance", "1500000.50",
+      "billing.rules.minimum-payer-age", " 16 ",
+      "billing.rules.due-date-window-months", "24",
+      "billing.rules.expiration-window-months", "1");
+
+    final RuleParameters parameters = RuleParameters.from(properties::get);
+
+    assertThat(parameters.getVersion(), equalTo("2"));
+    assertThat(parameters.getMaxBalance(), equalTo(new BigDecimal("1500000.50")));
+    assertThat(parameters.getMinBalance(), equalTo(RuleParameters.DEFAULTS.getMinBalance()));
+    assertThat(parameters.getMinimumPayerAge(), equalTo(16));
+    assertThat(parameters.getMinimumReceiverAge(), equalTo(21));
+    assertThat(parameters.getMaxBalanceMessage(), equalTo("the maximum value for a billing is $1,500,000.50"));
+    assertThat(parameters.getMinimumPayerAgeMessage(), equalTo("payer's age must be at least 16"));
+    assertThat(parameters.getDueDateWindowMessage(), equalTo("due date must not the set to more than 2 years further the current date"));
+    assertThat(parameters.getExpirationWindowMessage(), equalTo("expiration date must be set to more than one month past due date"));
+  }
+
+  @Test
+  void Should_FormatAmountsAsDecimalFormat_When_MessagesAreBuilt() {
+    final String[] amounts = {"0", "0.00", "0.01", "0.10", "0.5", "1", "1.00", "10.50", "100", "999.99", "1000", "1000.01",
+      "12345.6", "999999.99", "1000000", "1E+6", "1500000.50", "123456789012.34"};
+
+    for (final String amount : amounts) {
+      final BigDecimal value = new BigDecimal(amount);
+      final String pattern = value.stripTrailingZeros().scale() <= 0 ? "#,##0" : "#,##0.00";
+      final String expected = "$" + new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(Locale.US)).format(value);
+
+      final RuleParameters parameters = RuleParameters.from(Map.of("billing.rules.max-balance", amount, "billing.rules.min-balance", "0")::get);
+
+      assertThat(parameters.getMaxBalanceMessage(), equalTo("the maximum value for a billing is " + expected));
+    }
+  }
+
+  @Test
+  void Should_ReadCompiledFlag_When_ItIsGiven() {
+    assertThat(RuleParameters.DEFAULTS.isCompiled(), equalTo(false));
+    assertThat(RuleParameters.from(Map.of("billing.rules.compiled", "TRUE")::get).isCompiled(), equalTo(true));
+    assertThat(RuleParameters.from(Map.of("billing.rules.compiled", "false")::get).isCompiled(), equalTo(false));
+
+    final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+      () -> RuleParameters.from(Map.of("billing.rules.compiled", "yes")::get));
+
+    assertThat(exception.getMessage(), equalTo("compiled must be true or false"));
+  }
+
+  @Test
+  void Should_ThrowException_When_AmountIsNotInCents() {
+    final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+      () -> RuleParameters.from(Map.of("billing.rules.min-balance", "1.001")::get));
+
+    assertThat(exception.getMessage(), equalTo("min-balance must be a non negative amount in cents"));
+  }
+
+  @Test
+  void Should_ThrowException_When_MinimumBalanceIsGreaterThanMaximum() {
+    assertThrows(IllegalArgumentException.class, () -> RuleParameters.from(Map.of("billing.rules.min-balance", "1000000.00")::get));
+  }
+
+  @Test
+  void Should_ThrowException_When_ValueIsNotANumber() {
+    assertThrows(IllegalArgumentException.class, () -> RuleParameters.from(Map.of("billing.rules.minimum-receiver-age", "twenty")::get));
+    assertThrows(IllegalArgumentException.class, () -> RuleParameters.from(Map.of("billing.rules.max-balance", "lots")::get));
+  }
+
+  @Test
+  void Should_ThrowException_When_WindowIsNotPositive() {
+    assertThrows(IllegalArgumentException.class, () -> RuleParameters.from(Map.of("billing.rules.expiration-window-months", "0")::get));
+  }
+
+}
@@ -0,0 +1,80 @@
+package br.com.example.fluentvalidatorexamples.pool;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import org.junit.jupiter.api.Test;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createAddress;
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AddressPoolTest {
+
+  @Test
+  void Should_ReturnSameInstance_When_StringsAreEqual() {
+    final String value = AddressPool.canonical(new String("Pooled Value"));
+
+    assertThat(AddressPool.canonical(new String("Pooled Value")), sameInstance(value));
+    assertThat(AddressPool.canonical(value), sameInstance(value));
+  }
+
+  @Test
+  void Should_ShareStrings_When_AddressesHaveSameCityStateAndCountry() {
+    final Address address = createAddress();
+    address.setCity(new String("Pooled City"));
+    address.setState(new String("Pooled State"));
+    address.setCountry(new String("us"));
+
+    final Address otherAddress = createAddress();
+    otherAddress.setAddressLine1("Another st");
+    otherAddress.setCity(new String("Pooled City"));
+    otherAddress.setState(new String("Pooled State"));
+    otherAddress.setCountry(new String("us"));
+
+    AddressPool.canonicalize(address);
+    AddressPool.canonicalize(otherAddress);
+
+    assertThat(otherAddress.getCity(), sameInstance(address.getCity()));
+    assertThat(otherAddress.getState(), sameInstance(address.getState()));
+    assertThat(otherAddress.getCountry(), sameInstance(address.getCountry()));
+  }
+
+  @Test
+  void Should_KeepAddressesOfTheirOwn_When_BillingsAreCanonicalized() {
+    final Billing billing = createBilling();
+    final Billing otherBilling = createBilling();
+
+    AddressPool.canonicalize(billing);
+    AddressPool.canonicalize(otherBilling);
+
+    final Address address = billing.getPayer().getBillingAddress();
+    final Address otherAddress = otherBilling.getPayer().getBillingAddress();
+
+    assertThat(otherAddress, not(sameInstance(address)));
+    assertThat(otherAddress.getCity(), sameInstance(address.getCity()));
+    assertThat(otherBilling.getReceiver().getAddress(), not(sameInstance(billing.getReceiver().getAddress())));
+
+    otherAddress.setCity("Toronto");
+
+    assertThat(address.getCity(), equalTo("San Francisco"));
+  }
+
+  @Test
+  void Should_SkipMissingPayerAndReceiver_When_BillingIsCanonicalized() {
+    final Billing billing = createBilling();
+    billing.setPayer(null);
+    billing.getReceiver().setAddress(null);
+
+    AddressPool.canonicalize(billing);
+
+    assertThat(billing.getPayer(), nullValue());
+    assertThat(billing.getReceiver().getAddress(), nullValue());
+  }
+
+  @Test
+  void Should_ReturnNull_When_StringIsNull() {
+    assertThat(AddressPool.canonical(null), nullValue());
+  }
+
+}
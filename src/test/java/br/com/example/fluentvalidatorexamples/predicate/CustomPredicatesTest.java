@@ -1,15 +1,41 @@
 package br.com.example.fluentvalidatorexamples.predicate;
 
+import br.com.example.fluentvalidatorexamples.domain.Billing;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.function.Predicate;
 
 import static br.com.example.fluentvalidatorexamples.predicate.CustomPredicates.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CustomPredicatesTest {
 
+  /**
+   * amounts around the limits, with several scales, including the ones not exact in cents
+   */
+  private static final String[] AMOUNTS = {
+    "0", "0.00", "0.009", "0.01", "0.010", "0.99", "0.999", "1", "1.0", "1.00", "1.000", "1.001", "1E+1",
+    "10", "10.00", "999999.99", "999999.990", "999999.991", "1000000", "1E+6", "-1", "-0.01",
+    "92233720368547758.07", "92233720368547758.08", "-92233720368547758.08", "1E+30"
+  };
+
+  @Test
+  void testIsDecimalNumber() {
+    final Predicate<String> isNumber = br.com.fluentvalidator.predicate.StringPredicate.isNumber();
+    final String[] values = {
+      "123456", "0", "-1", "+1", "1.5", ".5", "5.", "1e5", "1E-5", "1e", "e5", "12a", "a12", " 12", "12 ",
+      "1,5", "1..5", "--1", "", "\u0661\u0662\u0663", "0x1F", "NaN", "Infinity", null
+    };
+
+    for (final String value : values) {
+      assertEquals(isNumber.test(value), isDecimalNumber().test(value), String.valueOf(value));
+    }
+  }
+
   @Test
   void testHasMininumAgeOf() {
     assertTrue(hasMininumAgeOf(18).test(LocalDate.now().minusYears(18)));
@@ -38,4 +64,157 @@ class CustomPredicatesTest {
     assertFalse(hasValidEmail().test(null));
   }
 
+  @Test
+  void testAmountGreaterThanOrEqual() {
+    final Predicate<Billing> predicate = amountGreaterThanOrEqual(Billing::getBalanceCents, Billing::getBalance, new BigDecimal("1.00"));
+
+    for (final String amount : AMOUNTS) {
+      final Billing billing = billingWithBalance(amount);
+
+      assertEquals(new BigDecimal(amount).compareTo(BigDecimal.ONE) >= 0, predicate.test(billing), amount);
+    }
+
+    assertFalse(predicate.test(new Billing()));
+  }
+
+  @Test
+  void testAmountLessThanOrEqual() {
+    final BigDecimal maximum = new BigDecimal("999999.99");
+    final Predicate<Billing> predicate = amountLessThanOrEqual(Billing::getBalanceCents, Billing::getBalance, maximum);
+
+    for (final String amount : AMOUNTS) {
+      final Billing billing = billingWithBalance(amount);
+
+      assertEquals(new BigDecimal(amount).compareTo(maximum) <= 0, predicate.test(billing), amount);
+    }
+
+    assertFalse(predicate.test(new Billing()));
+  }
+
+  @Test
+  void testAmountLessThan() {
+    final Predicate<Billing> predicate = amountLessThan(Billing::getFineAmountCents, Billing::getFineAmount, Billing::getBalanceCents, Billing::getBalance);
+
+    for (final String fineAmount : AMOUNTS) {
+      for (final String balance : AMOUNTS) {
+        final Billing billing = billingWithBalance(balance);
+        billing.setFineAmount(new BigDecimal(fineAmount));
+
+        assertEquals(new BigDecimal(fineAmount).compareTo(new BigDecimal(balance)) < 0, predicate.test(billing), fineAmount + " < " + balance);
+      }
+    }
+
+    final Billing billing = billingWithBalance("10");
+    assertFalse(predicate.test(billing));
+
+    billing.setBalance(null);
+    billing.setFineAmount(BigDecimal.ONE);
+    assertFalse(predicate.test(billing));
+  }
+
+  @Test
+  void testAmountAfterChange() {
+    final Predicate<Billing> predicate = amountGreaterThanOrEqual(Billing::getBalanceCents, Billing::getBalance, new BigDecimal("1.00"));
+    final Billing billing = billingWithBalance("10");
+
+    assertTrue(predicate.test(billing));
+
+    billing.setBalance(new BigDecimal("0.99"));
+    assertFalse(predicate.test(billing));
+
+    billing.setBalance(new BigDecimal("1.001"));
+    assertTrue(predicate.test(billing));
+  }
+
+  @Test
+  void testDateAfterOrEqualToday() {
+    final Predicate<Billing> predicate = dateAfterOrEqualToday(Billing::getDueDateEpochDay, Billing::getDueDate);
+
+    for (final LocalDate date : dates(LocalDate.now())) {
+      assertEquals(!date.isBefore(LocalDate.now()), predicate.test(billingWithDates(date, null)), date.toString());
+    }
+
+    assertFalse(predicate.test(new Billing()));
+  }
+
+  @Test
+  void testDateBeforeOrEqual() {
+    final LocalDate limit = LocalDate.of(2024, 2, 29);
+    final Predicate<Billing> predicate = dateBeforeOrEqual(Billing::getDueDateEpochDay, Billing::getDueDate, limit);
+
+    for (final LocalDate date : dates(limit)) {
+      assertEquals(!date.isAfter(limit), predicate.test(billingWithDates(date, null)), date.toString());
+    }
+
+    assertFalse(predicate.test(new Billing()));
+  }
+
+  @Test
+  void testDateBeforeOrEqualMonthsAfterToday() {
+    final Predicate<Billing> predicate = dateBeforeOrEqualMonthsAfterToday(Billing::getDueDateEpochDay, Billing::getDueDate, 12);
+    final LocalDate limit = LocalDate.now().plusMonths(12);
+
+    for (final LocalDate date : dates(limit)) {
+      assertEquals(!date.isAfter(limit), predicate.test(billingWithDates(date, null)), date.toString());
+    }
+
+    assertFalse(predicate.test(new Billing()));
+  }
+
+  @Test
+  void testDateAfter() {
+    final Predicate<Billing> predicate = dateAfter(Billing::getExpirationDateEpochDay, Billing::getExpirationDate,
+      Billing::getDueDateEpochDay, Billing::getDueDate);
+    final LocalDate dueDate = LocalDate.of(2023, 12, 31);
+
+    for (final LocalDate expirationDate : dates(dueDate)) {
+      assertEquals(expirationDate.isAfter(dueDate), predicate.test(billingWithDates(dueDate, expirationDate)), expirationDate.toString());
+    }
+
+    assertFalse(predicate.test(billingWithDates(dueDate, null)));
+    assertFalse(predicate.test(billingWithDates(null, dueDate)));
+  }
+
+  @Test
+  void testDateBeforeOrEqualMonthsAfter() {
+    final Predicate<Billing> predicate = dateBeforeOrEqualMonthsAfter(Billing::getExpirationDateEpochDay, Billing::getExpirationDate,
+      Billing::getDueDateEpochDay, Billing::getDueDate, 1);
+
+    // month ends: 31 january plus one month is the last day of february
+    for (final LocalDate dueDate : new LocalDate[]{LocalDate.of(2023, 1, 31), LocalDate.of(2024, 1, 31), LocalDate.of(2024, 1, 29), LocalDate.of(2023, 12, 31)}) {
+      for (final LocalDate expirationDate : dates(dueDate.plusMonths(1))) {
+        assertEquals(!expirationDate.isAfter(dueDate.plusMonths(1)), predicate.test(billingWithDates(dueDate, expirationDate)),
+          dueDate + " + 1 month >= " + expirationDate);
+      }
+    }
+
+    assertFalse(predicate.test(billingWithDates(LocalDate.of(2023, 1, 31), null)));
+    assertFalse(predicate.test(billingWithDates(null, LocalDate.of(2023, 1, 31))));
+  }
+
+  /**
+   * dates around a pivot, including ones beyond the int epoch days
+   */
+  private static LocalDate[] dates(final LocalDate pivot) {
+    return new LocalDate[]{
+      LocalDate.MIN, pivot.minusYears(1), pivot.minusDays(2), pivot.minusDays(1), pivot, pivot.plusDays(1), pivot.plusDays(2),
+      pivot.plusMonths(1), pivot.plusYears(1), LocalDate.MAX
+    };
+  }
+
+  private static Billing billingWithDates(final LocalDate dueDate, final LocalDate expirationDate) {
+    final Billing billing = new Billing();
+    billing.setDueDate(dueDate);
+    billing.setExpirationDate(expirationDate);
+
+    return billing;
+  }
+
+  private static Billing billingWithBalance(final String balance) {
+    final Billing billing = new Billing();
+    billing.setBalance(new BigDecimal(balance));
+
+    return billing;
+  }
+
 }
@@ -5,6 +5,7 @@ import br.com.example.fluentvalidatorexamples.exception.BillingNotFoundException
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -27,11 +28,11 @@ class BillingRepositoryTest {
   void Should_SaveBilling_When_BillingIsRight() {
     final Billing savedBilling = billingRepository.save(createBilling());
 
-    final Set<Billing> database = billingRepository.getDatabase();
+    final Map<UUID, Billing> database = billingRepository.getDatabase();
 
     assertThat(savedBilling, not(nullValue()));
     assertThat(savedBilling.getId(), not(nullValue()));
-    assertThat(database, hasItem(savedBilling));
+    assertThat(database, hasEntry(savedBilling.getId(), savedBilling));
   }
 
   @Test
@@ -45,9 +46,10 @@ class BillingRepositoryTest {
   @Test
   void Should_ReturnNonEmptyListOfBillings_When_FindingForAllBillingsInANonEmptyList() {
     final Billing billing = createBilling();
+    billing.setId(UUID.randomUUID());
 
-    final Set<Billing> database = billingRepository.getDatabase();
-    database.add(billing);
+    final Map<UUID, Billing> database = billingRepository.getDatabase();
+    database.put(billing.getId(), billing);
 
     final Set<Billing> billings = billingRepository.findAll();
 
@@ -56,6 +58,18 @@ class BillingRepositoryTest {
     assertThat(billings, hasItem(billing));
   }
 
+  @Test
+  void Should_ReturnSnapshot_When_FindingForAllBillings() {
+    final Billing savedBilling = billingRepository.save(createBilling());
+
+    final Set<Billing> billings = billingRepository.findAll();
+
+    billingRepository.save(createBilling());
+
+    assertThat(billings, hasSize(1));
+    assertThat(billings, hasItem(savedBilling));
+  }
+
   @Test
   void Should_ReturnBilling_When_FindingForExistingBillingById() throws BillingNotFoundException {
     final UUID id = UUID.randomUUID();
@@ -63,8 +77,8 @@ class BillingRepositoryTest {
     final Billing billing = createBilling();
     billing.setId(id);
 
-    final Set<Billing> database = billingRepository.getDatabase();
-    database.add(billing);
+    final Map<UUID, Billing> database = billingRepository.getDatabase();
+    database.put(id, billing);
 
     final Billing foundBilling = billingRepository.findById(id);
 
@@ -90,8 +104,8 @@ class BillingRepositoryTest {
     final Billing billing = createBilling();
     billing.setId(id);
 
-    final Set<Billing> database = billingRepository.getDatabase();
-    database.add(billing);
+    final Map<UUID, Billing> database = billingRepository.getDatabase();
+    database.put(id, billing);
 
     final Billing newBilling = createBilling();
     newBilling.setId(id);
@@ -100,8 +114,8 @@ class BillingRepositoryTest {
 
     assertThat(updatedBilling, not(equalTo(billing)));
     assertThat(updatedBilling, equalTo(newBilling));
-    assertThat(database, hasSize(1));
-    assertThat(database, hasItem(newBilling));
+    assertThat(database.size(), equalTo(1));
+    assertThat(database, hasEntry(id, newBilling));
   }
 
   @Test
@@ -117,6 +131,103 @@ class BillingRepositoryTest {
     assertThat(exception, instanceOf(BillingNotFoundException.class));
   }
 
+  @Test
+  void Should_ReplaceBilling_When_StoredBillingIsThePreviousOne() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+
+    final Billing billing = createBilling();
+    billing.setId(id);
+
+    final Map<UUID, Billing> database = billingRepository.getDatabase();
+    database.put(id, billing);
+
+    final Billing newBilling = createBilling();
+    newBilling.setId(id);
+
+    assertThat(billingRepository.replace(billing, newBilling), equalTo(true));
+    assertThat(database.size(), equalTo(1));
+    assertThat(database, hasEntry(id, newBilling));
+  }
+
+  @Test
+  void Should_KeepStoredBilling_When_ItChangedSinceThePreviousOne() throws BillingNotFoundException {
+    final UUID id = UUID.randomUUID();
+
+    final Billing previousBilling = createBilling();
+    previousBilling.setId(id);
+
+    final Billing storedBilling = createBilling();
+    storedBilling.setId(id);
+
+    final Map<UUID, Billing> database = billingRepository.getDatabase();
+    database.put(id, storedBilling);
+
+    final Billing newBilling = createBilling();
+    newBilling.setId(id);
+
+    assertThat(billingRepository.replace(previousBilling, newBilling), equalTo(false));
+    assertThat(database.size(), equalTo(1));
+    assertThat(database, hasEntry(id, storedBilling));
+  }
+
+  @Test
+  void Should_ChangeVersions_When_BillingIsSavedUpdatedOrReplaced() throws BillingNotFoundException {
+    final String emptyVersion = billingRepository.findAllVersion();
+
+    final Billing savedBilling = billingRepository.save(createBilling());
+    final String savedVersion = billingRepository.findVersionById(savedBilling.getId());
+    final String savedAllVersion = billingRepository.findAllVersion();
+
+    final Billing updatedBilling = createBilling();
+    updatedBilling.setId(savedBilling.getId());
+    billingRepository.update(updatedBilling);
+    final String updatedVersion = billingRepository.findVersionById(savedBilling.getId());
+
+    final Billing replacedBilling = createBilling();
+    replacedBilling.setId(savedBilling.getId());
+    billingRepository.replace(updatedBilling, replacedBilling);
+    final String replacedVersion = billingRepository.findVersionById(savedBilling.getId());
+
+    assertThat(savedVersion, not(nullValue()));
+    assertThat(savedAllVersion, not(equalTo(emptyVersion)));
+    assertThat(updatedVersion, not(equalTo(savedVersion)));
+    assertThat(replacedVersion, not(oneOf(savedVersion, updatedVersion)));
+    assertThat(billingRepository.findAllVersion(), equalTo(replacedVersion));
+  }
+
+  @Test
+  void Should_KeepVersion_When_BillingIsNotReplaced() throws BillingNotFoundException {
+    final Billing savedBilling = billingRepository.save(createBilling());
+    final String savedVersion = billingRepository.findVersionById(savedBilling.getId());
+
+    final Billing billing = createBilling();
+    billing.setId(savedBilling.getId());
+    billingRepository.replace(createBilling(), billing);
+
+    assertThat(billingRepository.findVersionById(savedBilling.getId()), equalTo(savedVersion));
+    assertThat(billingRepository.findAllVersion(), equalTo(savedVersion));
+  }
+
+  @Test
+  void Should_DropVersion_When_BillingIsDeleted() throws BillingNotFoundException {
+    final Billing savedBilling = billingRepository.save(createBilling());
+    final String allVersion = billingRepository.findAllVersion();
+
+    billingRepository.delete(savedBilling.getId());
+
+    assertThat(billingRepository.findVersionById(savedBilling.getId()), is(nullValue()));
+    assertThat(billingRepository.findAllVersion(), not(equalTo(allVersion)));
+  }
+
+  @Test
+  void Should_NotRepeatVersions_When_AnotherRepositoryStarts() throws InterruptedException {
+    final String version = billingRepository.findAllVersion();
+
+    Thread.sleep(2);
+
+    assertThat(new BillingRepository().findAllVersion(), not(equalTo(version)));
+  }
+
   @Test
   void Should_DeleteBilling_When_DeletingAnExistingBilling() throws BillingNotFoundException {
     final UUID id = UUID.randomUUID();
@@ -124,12 +235,12 @@ class BillingRepositoryTest {
     final Billing billing = createBilling();
     billing.setId(id);
 
-    final Set<Billing> database = billingRepository.getDatabase();
-    database.add(billing);
+    final Map<UUID, Billing> database = billingRepository.getDatabase();
+    database.put(id, billing);
 
     billingRepository.delete(id);
 
-    assertThat(database, is(empty()));
+    assertThat(database.isEmpty(), equalTo(true));
   }
 
   @Test
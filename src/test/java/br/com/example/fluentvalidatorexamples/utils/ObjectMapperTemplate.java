@@ -0,0 +1,50 @@
+package br.com.example.fluentvalidatorexamples.utils;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.BillingMergePatch;
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+import br.com.example.fluentvalidatorexamples.json.AddressJsonComponent;
+import br.com.example.fluentvalidatorexamples.json.BillingJsonComponent;
+import br.com.example.fluentvalidatorexamples.json.BillingMergePatchJsonComponent;
+import br.com.example.fluentvalidatorexamples.json.PayerJsonComponent;
+import br.com.example.fluentvalidatorexamples.json.ReceiverJsonComponent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+public final class ObjectMapperTemplate {
+
+  /**
+   * mapper configured as spring boot does, relying only on bean introspection
+   */
+  public static ObjectMapper createReflectiveMapper() {
+    return Jackson2ObjectMapperBuilder.json()
+      .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .build();
+  }
+
+  /**
+   * mapper configured as spring boot does, with the application json components registered
+   */
+  public static ObjectMapper createCustomMapper() {
+    final SimpleModule module = new SimpleModule();
+    module.addSerializer(Address.class, new AddressJsonComponent.Serializer());
+    module.addDeserializer(Address.class, new AddressJsonComponent.Deserializer());
+    module.addSerializer(Payer.class, new PayerJsonComponent.Serializer());
+    module.addDeserializer(Payer.class, new PayerJsonComponent.Deserializer());
+    module.addSerializer(Receiver.class, new ReceiverJsonComponent.Serializer());
+    module.addDeserializer(Receiver.class, new ReceiverJsonComponent.Deserializer());
+    module.addSerializer(Billing.class, new BillingJsonComponent.Serializer());
+    module.addDeserializer(Billing.class, new BillingJsonComponent.Deserializer());
+    module.addDeserializer(BillingMergePatch.class, new BillingMergePatchJsonComponent.Deserializer());
+
+    return Jackson2ObjectMapperBuilder.json()
+      .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+      .modulesToInstall(module)
+      .build();
+  }
+
+}
@@ -0,0 +1,117 @@
+package br.com.example.fluentvalidatorexamples.utils;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.domain.Payer;
+import br.com.example.fluentvalidatorexamples.domain.Receiver;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generator of billings mixing valid and invalid values around the rule limits
+ */
+public final class RandomBillingTemplate {
+
+  private static final LocalDate TODAY = LocalDate.now();
+
+  private static final BigDecimal[] AMOUNTS = {
+    null, BigDecimal.ZERO, new BigDecimal("0.01"), new BigDecimal("0.99"), new BigDecimal("1.00"), new BigDecimal("1.001"),
+    BigDecimal.TEN, new BigDecimal("999999.99"), new BigDecimal("999999.991"), new BigDecimal("1000000"), new BigDecimal("-1")
+  };
+
+  private static final LocalDate[] DATES = {
+    null, TODAY.minusDays(1), TODAY, TODAY.plusDays(1), TODAY.plusMonths(6), TODAY.plusMonths(6).plusDays(1),
+    TODAY.plusMonths(12), TODAY.plusMonths(12).plusDays(1), TODAY.plusMonths(18), TODAY.plusMonths(19)
+  };
+
+  private static final LocalDate[] BIRTHDAYS = {
+    null, TODAY, TODAY.minusYears(18), TODAY.minusYears(18).plusDays(1), TODAY.minusYears(21), TODAY.minusYears(21).plusDays(1), LocalDate.of(1980, 8, 11)
+  };
+
+  private static final Boolean[] FLAGS = {null, true, false};
+
+  private static final String[] NAMES = {null, "", " ", "Paulo"};
+
+  private static final String[] EMAILS = {null, "", "wrong", "a@b", "a@b.", "paulo@java-fluent-validator.com"};
+
+  private static final String[] COUNTRIES = {null, "", "zz", "us", "US", "ca", "mx", "br", "ie", "en"};
+
+  private static final String[] ZIPCODES = {null, "", "12a", " 12", "123456", "1e5", "-1", "1.5"};
+
+  private static final String[] ADDITIONAL_INFO = {null, "", " ", "info"};
+
+  private final Random random;
+
+  public RandomBillingTemplate(final long seed) {
+    this.random = new Random(seed);
+  }
+
+  public Billing randomBilling() {
+    final Billing billing = new Billing();
+    billing.setBalance(pick(AMOUNTS));
+    billing.setDueDate(pick(DATES));
+    billing.setAcceptPastPayment(pick(FLAGS));
+    billing.setExpirationDate(pick(DATES));
+    billing.setApplyFineForPastPayment(pick(FLAGS));
+    billing.setFineAmount(pick(AMOUNTS));
+    billing.setPayer(random.nextInt(8) == 0 ? null : randomPayer());
+    billing.setReceiver(random.nextInt(8) == 0 ? null : randomReceiver());
+    billing.setAdditionalInfo(random.nextInt(4) == 0 ? null : randomAdditionalInfo());
+
+    return billing;
+  }
+
+  private Payer randomPayer() {
+    final Payer payer = new Payer();
+    payer.setFirstName(pick(NAMES));
+    payer.setLastName(pick(NAMES));
+    payer.setBirthday(pick(BIRTHDAYS));
+    payer.setEmail(pick(EMAILS));
+    payer.setBillingAddress(random.nextInt(8) == 0 ? null : randomAddress());
+
+    return payer;
+  }
+
+  private Receiver randomReceiver() {
+    final Receiver receiver = new Receiver();
+    receiver.setFirstName(pick(NAMES));
+    receiver.setLastName(pick(NAMES));
+    receiver.setBirthday(pick(BIRTHDAYS));
+    receiver.setEmail(pick(EMAILS));
+    receiver.setAddress(random.nextInt(8) == 0 ? null : randomAddress());
+
+    return receiver;
+  }
+
+  private Address randomAddress() {
+    final Address address = new Address();
+    address.setAddressLine1(pick(NAMES));
+    address.setAddressLine2(pick(NAMES));
+    address.setCity(pick(NAMES));
+    address.setState(pick(NAMES));
+    address.setCountry(pick(COUNTRIES));
+    address.setZipcode(pick(ZIPCODES));
+
+    return address;
+  }
+
+  private List<String> randomAdditionalInfo() {
+    final int size = random.nextInt(5);
+    final List<String> additionalInfo = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      additionalInfo.add(pick(ADDITIONAL_INFO));
+    }
+
+    return additionalInfo;
+  }
+
+  private <T> T pick(final T[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+}
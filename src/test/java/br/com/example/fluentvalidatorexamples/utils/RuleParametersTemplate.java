@@ -0,0 +1,18 @@
+package br.com.example.fluentvalidatorexamples.utils;
+
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+
+import java.util.Map;
+
+public final class RuleParametersTemplate {
+
+  /**
+   * @return the default limits, with the rules run through the BillingCodeValidator
+   */
+  public static RuleParameters createCompiledParameters() {
+    return RuleParameters.from(Map.of(
+      RuleParameters.PREFIX + "version", "compiled",
+      RuleParameters.PREFIX + "compiled", "true")::get);
+  }
+
+}
@@ -0,0 +1,73 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.fluentvalidator.context.Error;
+import br.com.fluentvalidator.context.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AdditionalInfoListValidatorTest {
+
+  private final AdditionalInfoListValidator validator = new AdditionalInfoListValidator();
+
+  @Test
+  void Should_ReturnValidationOk_When_AllItemsAreRight() {
+    final ValidationResult validationResult = validator.validate(List.of("info 1", "info 2"));
+
+    assertThat(validationResult.isValid(), equalTo(true));
+    assertThat(validationResult.getErrors(), empty());
+  }
+
+  @Test
+  void Should_ReportEachFailingItem_When_ItemsAreEmptyOrNull() {
+    final ValidationResult validationResult = validator.validate(Arrays.asList("info", "", null, "info"));
+
+    assertThat(validationResult.isValid(), equalTo(false));
+
+    final Collection<Error> errors = validationResult.getErrors();
+
+    assertThat(errors, hasSize(2));
+    assertThat(errors, everyItem(hasProperty("code", equalTo("601"))));
+    assertThat(errors, everyItem(hasProperty("message", equalTo("additional info cannot be empty or null"))));
+    assertThat(errors, contains(hasProperty("field", equalTo("additionalInfo[2]")), hasProperty("field", equalTo("additionalInfo[3]"))));
+    assertThat(errors, contains(hasProperty("attemptedValue", equalTo("")), hasProperty("attemptedValue", nullValue())));
+  }
+
+  @Test
+  void Should_ReportFailingItemsInOrder_When_ListIsLarge() {
+    final List<String> additionalInfo = new ArrayList<>();
+    final List<String> expected = new ArrayList<>();
+
+    for (int i = 0; i < 1_000; i++) {
+      final String item = i % 7 == 0 ? "" : i % 11 == 0 ? null : i % 13 == 0 ? "   " : "info " + i;
+      additionalInfo.add(item);
+
+      if (item == null || item.isEmpty()) {
+        expected.add("additionalInfo[" + (i + 1) + "]|601|additional info cannot be empty or null|" + item);
+      }
+    }
+
+    assertThat(describe(validator.validate(additionalInfo).getErrors()), equalTo(expected));
+  }
+
+  @Test
+  void Should_ReturnValidationOk_When_ListIsNull() {
+    final ValidationResult validationResult = validator.validate((List<String>) null);
+
+    assertThat(validationResult.isValid(), equalTo(true));
+  }
+
+  private List<String> describe(final Collection<Error> errors) {
+    return errors.stream()
+      .map(error -> error.getField() + "|" + error.getCode() + "|" + error.getMessage() + "|" + error.getAttemptedValue())
+      .collect(Collectors.toList());
+  }
+
+}
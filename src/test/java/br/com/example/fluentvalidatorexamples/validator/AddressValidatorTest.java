@@ -1,14 +1,21 @@
 package br.com.example.fluentvalidatorexamples.validator;
 
 import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
 import br.com.example.fluentvalidatorexamples.enums.Country;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
 import br.com.fluentvalidator.context.Error;
+import br.com.fluentvalidator.context.ValidationContext;
 import br.com.fluentvalidator.context.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createAddress;
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -16,6 +23,11 @@ class AddressValidatorTest {
 
   private final AddressValidator validator = new AddressValidator("> ");
 
+  @AfterEach
+  void restoreAcceptedCountries() {
+    AcceptedCountries.replace(AcceptedCountries.parse(AcceptedCountries.DEFAULT_COUNTRIES));
+  }
+
   @Test
   void Should_ReturnValidationSuccess_When_AddressIsTotallyValid() {
     final Address address = createAddress();
@@ -232,6 +244,28 @@ class AddressValidatorTest {
     assertThat(errors, hasItem(hasProperty("attemptedValue", equalTo("am"))));
   }
 
+  @Test
+  void Should_ReturnValidationSuccess_When_CountryIsUpperCase() {
+    final Address address = createAddress();
+    address.setCountry("US");
+
+    final ValidationResult validationResult = validator.validate(address);
+
+    assertThat(validationResult.isValid(), equalTo(true));
+  }
+
+  @Test
+  void Should_ReturnValidationFailed_When_UpperCaseCountryIsNotSupported() {
+    final Address address = createAddress();
+    address.setCountry("BR");
+
+    final Collection<Error> errors = validator.validate(address).getErrors();
+
+    assertThat(errors, hasSize(1));
+    assertThat(errors, hasItem(hasProperty("code", equalTo("407"))));
+    assertThat(errors, hasItem(hasProperty("attemptedValue", equalTo("BR"))));
+  }
+
   @Test
   void Should_ReturnValidationFailed_When_CountryIsNotSupported() {
     final Address address = createAddress();
@@ -330,4 +364,160 @@ class AddressValidatorTest {
     assertThat(errors, hasItem(hasProperty("attemptedValue", equalTo(""))));
   }
 
+  @Test
+  void Should_ReuseMemoizedResult_When_ValidatingEqualAddressAgain() {
+    final Address address = createAddress();
+    address.setZipcode("12345678");
+
+    validator.validate(address);
+
+    final long hits = AddressValidator.getCacheHits();
+    final long misses = AddressValidator.getCacheMisses();
+
+    final Address equalAddress = createAddress();
+    equalAddress.setZipcode("12345678");
+
+    assertThat(validator.validate(equalAddress).isValid(), equalTo(true));
+
+    assertThat(AddressValidator.getCacheHits(), equalTo(hits + 1));
+    assertThat(AddressValidator.getCacheMisses(), equalTo(misses));
+    assertThat(AddressValidator.getCacheHitRate(), greaterThan(0.0));
+  }
+
+  @Test
+  void Should_RunRulesAgain_When_EqualAddressWasInvalid() {
+    final Address address = createAddress();
+    address.setCity("");
+    address.setCountry("br");
+
+    validator.validate(address);
+
+    final long misses = AddressValidator.getCacheMisses();
+
+    final Collection<Error> errors = new AddressValidator("receiver.").validate(address).getErrors();
+
+    assertThat(AddressValidator.getCacheMisses(), equalTo(misses + 1));
+    assertThat(errors, hasSize(2));
+    assertThat(errors, hasItem(hasProperty("field", equalTo("receiver.city"))));
+    assertThat(errors, hasItem(hasProperty("field", equalTo("receiver.country"))));
+  }
+
+  @Test
+  void Should_KeepEnclosingContext_When_AddressIsValidatedInsideAnotherValidator() {
+    final Address address = createAddress();
+    address.setZipcode("");
+
+    try {
+      ValidationContext.get().setProperty("enclosing", "kept");
+
+      assertThat(validator.apply(address), equalTo(false));
+      assertThat(validator.apply(createAddress()), equalTo(true));
+      assertThat(validator.apply(createAddress()), equalTo(true));
+
+      assertThat(ValidationContext.get().getProperty("enclosing", String.class), equalTo("kept"));
+      assertThat(ValidationContext.get().getValidationResult().getErrors(), contains(hasProperty("field", equalTo("> zipcode"))));
+    } finally {
+      ValidationContext.remove();
+    }
+  }
+
+  @Test
+  void Should_EvictLeastRecentlyUsedAddress_When_MemoIsFull() {
+    AddressValidator.invalidateCache();
+
+    final Address recentlyUsed = createAddress();
+    validator.validate(recentlyUsed);
+
+    // the memo evicts by segment, so twice its size fills every one of them
+    for (int i = 0; i < 2 * AddressValidator.CACHE_MAX_SIZE; i++) {
+      final Address address = createAddress();
+      address.setZipcode(String.valueOf(i));
+
+      validator.validate(address);
+      // keeps the first address the most recently used one
+      validator.validate(recentlyUsed);
+    }
+
+    final Address evicted = createAddress();
+    evicted.setZipcode("0");
+
+    final long hits = AddressValidator.getCacheHits();
+    final long misses = AddressValidator.getCacheMisses();
+
+    validator.validate(recentlyUsed);
+    validator.validate(evicted);
+
+    assertThat(AddressValidator.getCacheHits(), equalTo(hits + 1));
+    assertThat(AddressValidator.getCacheMisses(), equalTo(misses + 1));
+  }
+
+  @Test
+  void Should_NotReuseMemoizedResult_When_AddressChangedAfterValidation() {
+    final Address address = createAddress();
+    address.setAddressLine1("changed after validation");
+
+    assertThat(validator.validate(address).isValid(), equalTo(true));
+
+    address.setZipcode("");
+
+    assertThat(validator.validate(address).isValid(), equalTo(false));
+  }
+
+  @Test
+  void Should_RecomputeResult_When_MemoIsInvalidated() {
+    final Address address = createAddress();
+
+    validator.validate(address);
+    AddressValidator.invalidateCache();
+
+    final long misses = AddressValidator.getCacheMisses();
+
+    assertThat(validator.validate(address).isValid(), equalTo(true));
+    assertThat(AddressValidator.getCacheMisses(), equalTo(misses + 1));
+  }
+
+  @Test
+  void Should_KeepEnclosingErrors_When_MemoizedAddressIsValidatedInsideBilling() {
+    final Billing billing = createBilling();
+    billing.setDueDate(null);
+    billing.getPayer().getBillingAddress().setZipcode("12a");
+    billing.getReceiver().setAddress(billing.getPayer().getBillingAddress());
+
+    final BillingValidator billingValidator = new BillingValidator();
+
+    for (int i = 0; i < 2; i++) {
+      final List<String> fields = billingValidator.validate(billing).getErrors().stream()
+        .map(Error::getField)
+        .collect(Collectors.toList());
+
+      assertThat(fields, contains("dueDate", "payer.zipcode", "receiver.zipcode"));
+    }
+  }
+
+  @Test
+  void Should_AcceptCountry_When_AcceptedCountriesAreReplaced() {
+    final Address address = createAddress();
+    address.setCountry(Country.BRAZIL.getCode());
+
+    assertThat(validator.validate(address).isValid(), equalTo(false));
+
+    AcceptedCountries.replace(AcceptedCountries.parse("br,us"));
+
+    assertThat(validator.validate(address).isValid(), equalTo(true));
+    assertThat(AddressValidator.isAcceptedCountry("BR"), equalTo(true));
+    assertThat(AddressValidator.getAcceptedCountries(), containsInAnyOrder(Country.BRAZIL, Country.UNITED_STATES));
+  }
+
+  @Test
+  void Should_ReturnCurrentPolicyMessage_When_CountryIsNotAccepted() {
+    AcceptedCountries.replace(AcceptedCountries.parse("br,ir"));
+
+    final Address address = createAddress();
+
+    final ValidationResult validationResult = validator.validate(address);
+
+    assertThat(validationResult.isValid(), equalTo(false));
+    assertThat(validationResult.getErrors(), hasItem(hasProperty("message", equalTo("only Brazil and Ireland countries are allowed for this transaction"))));
+  }
+
 }
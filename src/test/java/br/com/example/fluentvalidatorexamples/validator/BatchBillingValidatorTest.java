@@ -0,0 +1,100 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.example.fluentvalidatorexamples.utils.RandomBillingTemplate;
+import br.com.fluentvalidator.context.Error;
+import br.com.fluentvalidator.context.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BatchBillingValidatorTest {
+
+  private static final int[] BATCH_SIZES = {1, 63, 64, 65, 1_000, 10_000};
+
+  private final BillingValidator interpreted = new BillingValidator();
+
+  private final BatchBillingValidator batch = new BatchBillingValidator();
+
+  private final RandomBillingTemplate randomBillings = new RandomBillingTemplate(20_230_601L);
+
+  @Test
+  void Should_ReportSameResultsAsInterpretedValidator_When_BillingsAreRandom() {
+    for (final int size : BATCH_SIZES) {
+      final List<Billing> billings = randomBillings(size);
+      final List<ValidationResult> results = batch.validate(billings);
+
+      assertThat(results, hasSize(size));
+
+      for (int i = 0; i < size; i++) {
+        final Billing billing = billings.get(i);
+
+        assertThat(billing.toString(), describe(results.get(i).getErrors()), equalTo(describe(interpreted.validate(billing).getErrors())));
+      }
+    }
+  }
+
+  @Test
+  void Should_ReportSameResultsAsInterpretedValidator_When_ParametersAreNotDefault() {
+    final RuleParameters parameters = RuleParameters.from(Map.of(
+      "billing.rules.version", "2",
+      "billing.rules.min-balance", "5.00",
+      "billing.rules.minimum-fine-amount", "2.00",
+      "billing.rules.due-date-window-months", "3",
+      "billing.rules.expiration-window-months", "1")::get);
+
+    final BillingValidator interpretedVersion = new BillingValidator(parameters);
+    final List<Billing> billings = randomBillings(2_000);
+    final List<ValidationResult> results = new BatchBillingValidator(parameters).validate(billings);
+
+    for (int i = 0; i < billings.size(); i++) {
+      final Billing billing = billings.get(i);
+
+      assertThat(billing.toString(), describe(results.get(i).getErrors()), equalTo(describe(interpretedVersion.validate(billing).getErrors())));
+    }
+  }
+
+  @Test
+  void Should_ValidateScalarRows_When_AmountsAreNotExactInCents() {
+    final Billing inexact = createBilling();
+    inexact.setBalance(new BigDecimal("999999.995"));
+
+    final List<ValidationCodes> codes = batch.validateCodes(List.of(createBilling(), inexact, createBilling()));
+
+    assertThat(codes.get(0).isValid(), equalTo(true));
+    assertThat(codes.get(1).getCodes(), equalTo(new int[]{103}));
+    assertThat(codes.get(2).isValid(), equalTo(true));
+  }
+
+  @Test
+  void Should_ReturnNoResults_When_BatchIsEmpty() {
+    assertThat(batch.validate(List.of()), empty());
+  }
+
+  private List<Billing> randomBillings(final int size) {
+    final List<Billing> billings = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      billings.add(randomBillings.randomBilling());
+    }
+
+    return billings;
+  }
+
+  private List<String> describe(final Collection<Error> errors) {
+    return errors.stream()
+      .map(error -> error.getField() + "|" + error.getCode() + "|" + error.getMessage() + "|" + error.getAttemptedValue())
+      .collect(Collectors.toList());
+  }
+
+}
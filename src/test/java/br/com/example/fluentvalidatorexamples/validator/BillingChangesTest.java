@@ -0,0 +1,205 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.utils.RandomBillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.RuleParametersTemplate;
+import br.com.fluentvalidator.context.Error;
+import br.com.fluentvalidator.context.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createAdditionalInfo;
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BillingChangesTest {
+
+  private static final int BILLINGS = 20_000;
+
+  private final BillingValidator validator = new BillingValidator(RuleParametersTemplate.createCompiledParameters());
+
+  private final RandomBillingTemplate randomBillings = new RandomBillingTemplate(20_230_701L);
+
+  @Test
+  void Should_FlagNoGroup_When_BillingsHoldTheSameValues() {
+    assertThat(BillingChanges.between(createBilling(), createBilling()), equalTo(0));
+  }
+
+  @Test
+  void Should_FlagFine_When_BalanceChanged() {
+    final Billing billing = createBilling();
+    billing.setBalance(BigDecimal.ONE);
+
+    assertThat(BillingChanges.between(createBilling(), billing), equalTo(BillingChanges.BALANCE | BillingChanges.FINE));
+  }
+
+  @Test
+  void Should_FlagPastPayment_When_DueDateChanged() {
+    final Billing billing = createBilling();
+    billing.setDueDate(billing.getDueDate().plusDays(1));
+
+    assertThat(BillingChanges.between(createBilling(), billing), equalTo(BillingChanges.DUE_DATE | BillingChanges.PAST_PAYMENT));
+  }
+
+  @Test
+  void Should_FlagOnlyAddress_When_OnlyPayerAddressChanged() {
+    final Billing billing = createBilling();
+    final Address address = new Address();
+    address.setAddressLine1("another line");
+    billing.getPayer().setBillingAddress(address);
+
+    assertThat(BillingChanges.between(createBilling(), billing), equalTo(BillingChanges.PAYER_ADDRESS));
+  }
+
+  @Test
+  void Should_FlagPayerAndAddress_When_PayerWasRemoved() {
+    final Billing billing = createBilling();
+    billing.setPayer(null);
+
+    assertThat(BillingChanges.between(createBilling(), billing), equalTo(BillingChanges.PAYER | BillingChanges.PAYER_ADDRESS));
+  }
+
+  @Test
+  void Should_ReportFineNotLessThanBalance_When_OnlyBalanceChanged() {
+    final Billing previous = createBilling();
+    previous.setAcceptPastPayment(true);
+    previous.setExpirationDate(previous.getDueDate().plusMonths(1));
+    previous.setApplyFineForPastPayment(true);
+    previous.setFineAmount(new BigDecimal("5.00"));
+
+    final ValidationStamp stamp = validator.stamp(previous);
+    assertThat(validator.validate(previous).isValid(), equalTo(true));
+
+    final Billing billing = copy(previous);
+    billing.setBalance(new BigDecimal("5.00"));
+
+    assertThat(codes(validator.revalidate(stamp, billing)), contains("202"));
+  }
+
+  @Test
+  void Should_ReportExpirationNotAfterDueDate_When_OnlyDueDateChanged() {
+    final Billing previous = createBilling();
+    previous.setAcceptPastPayment(true);
+    previous.setExpirationDate(previous.getDueDate().plusMonths(1));
+
+    final ValidationStamp stamp = validator.stamp(previous);
+    assertThat(validator.validate(previous).isValid(), equalTo(true));
+
+    final Billing billing = copy(previous);
+    billing.setDueDate(previous.getExpirationDate());
+
+    assertThat(codes(validator.revalidate(stamp, billing)), contains("110"));
+  }
+
+  @Test
+  void Should_CheckOnlyChangedItems_When_AdditionalInfoChanged() {
+    final Billing previous = createBilling();
+    previous.setAdditionalInfo(List.of("first", "second", "third"));
+
+    final ValidationStamp stamp = validator.stamp(previous);
+
+    final Billing billing = copy(previous);
+    billing.setAdditionalInfo(List.of("first", "", "third", ""));
+
+    final ValidationResult result = validator.revalidate(stamp, billing);
+
+    assertThat(describe(result.getErrors()), equalTo(describe(validator.validate(billing).getErrors())));
+    assertThat(result.getErrors(), hasSize(2));
+  }
+
+  @Test
+  void Should_ReportSameResultsAsFullValidation_When_RandomFieldsChanged() {
+    final Random random = new Random(20_230_702L);
+
+    for (int i = 0; i < BILLINGS; i++) {
+      final Billing previous = createBilling();
+      final ValidationStamp stamp = validator.stamp(previous);
+      final Billing billing = change(previous, randomBillings.randomBilling(), random);
+
+      final ValidationResult expected = validator.validate(billing);
+      final ValidationResult actual = validator.revalidate(stamp, billing);
+
+      assertThat(billing.toString(), actual.isValid(), equalTo(expected.isValid()));
+      assertThat(billing.toString(), describe(actual.getErrors()), equalTo(describe(expected.getErrors())));
+    }
+  }
+
+  @Test
+  void Should_ValidateWholeBilling_When_RuleParametersChanged() {
+    final Billing previous = createBilling();
+    final ValidationStamp stamp = validator.stamp(previous);
+
+    final BillingValidator another = new BillingValidator(RuleParametersTemplate.createCompiledParameters());
+    final Billing billing = copy(previous);
+    billing.setPayer(null);
+    billing.setBalance(null);
+
+    assertThat(codes(another.revalidate(stamp, billing)), equalTo(codes(another.validate(billing))));
+  }
+
+  /**
+   * copy of the previous billing with each field replaced by the one of the random billing, one in three times
+   */
+  private Billing change(final Billing previous, final Billing other, final Random random) {
+    final Billing billing = copy(previous);
+
+    replace(random, billing::setBalance, other.getBalance());
+    replace(random, billing::setDueDate, other.getDueDate());
+    replace(random, billing::setAcceptPastPayment, other.getAcceptPastPayment());
+    replace(random, billing::setExpirationDate, other.getExpirationDate());
+    replace(random, billing::setApplyFineForPastPayment, other.getApplyFineForPastPayment());
+    replace(random, billing::setFineAmount, other.getFineAmount());
+    replace(random, billing::setPayer, other.getPayer());
+    replace(random, billing::setReceiver, other.getReceiver());
+
+    if (random.nextInt(3) == 0 && other.getAdditionalInfo() != null) {
+      final List<String> additionalInfo = new ArrayList<>(createAdditionalInfo());
+      additionalInfo.addAll(other.getAdditionalInfo());
+      billing.setAdditionalInfo(random.nextBoolean() ? additionalInfo : other.getAdditionalInfo());
+    }
+
+    return billing;
+  }
+
+  private static <T> void replace(final Random random, final Consumer<T> setter, final T value) {
+    if (random.nextInt(3) == 0) {
+      setter.accept(value);
+    }
+  }
+
+  private Billing copy(final Billing previous) {
+    final Billing billing = new Billing();
+    billing.setId(previous.getId());
+    billing.setPayer(previous.getPayer());
+    billing.setReceiver(previous.getReceiver());
+    billing.setBalance(previous.getBalance());
+    billing.setDueDate(previous.getDueDate());
+    billing.setAcceptPastPayment(previous.getAcceptPastPayment());
+    billing.setExpirationDate(previous.getExpirationDate());
+    billing.setApplyFineForPastPayment(previous.getApplyFineForPastPayment());
+    billing.setFineAmount(previous.getFineAmount());
+    billing.setAdditionalInfo(previous.getAdditionalInfo());
+
+    return billing;
+  }
+
+  private List<String> codes(final ValidationResult result) {
+    return result.getErrors().stream().map(Error::getCode).collect(Collectors.toList());
+  }
+
+  private List<String> describe(final Collection<Error> errors) {
+    return errors.stream()
+      .map(error -> error.getField() + "|" + error.getCode() + "|" + error.getMessage() + "|" + error.getAttemptedValue())
+      .collect(Collectors.toList());
+  }
+
+}
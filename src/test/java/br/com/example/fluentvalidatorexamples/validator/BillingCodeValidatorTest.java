@@ -0,0 +1,266 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Address;
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.fluentvalidator.context.Error;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BillingCodeValidatorTest {
+
+  private final BillingValidator validator = new BillingValidator();
+
+  private final BillingCodeValidator codeValidator = new BillingCodeValidator();
+
+  @AfterEach
+  void tearDown() {
+    AcceptedCountries.replace(AcceptedCountries.parse(AcceptedCountries.DEFAULT_COUNTRIES));
+    AddressValidator.invalidateCache();
+  }
+
+  @Test
+  void Should_RecordNoCodes_When_BillingIsValid() {
+    final ValidationCodes codes = codeValidator.validate(BillingTemplate.createBilling());
+
+    assertThat(codes.isValid(), equalTo(true));
+    assertThat(codes.size(), equalTo(0));
+    assertThat(codes.getErrors(), empty());
+    assertThat(codes.toValidationResult().isValid(), equalTo(true));
+  }
+
+  @Test
+  void Should_RecordCodesAndPathIndexes_When_BillingIsInvalid() {
+    final Billing billing = BillingTemplate.createBilling();
+    billing.setDueDate(null);
+    billing.getPayer().getBillingAddress().setCity("");
+    billing.getReceiver().getAddress().setCity("");
+    billing.setAdditionalInfo(Arrays.asList("info", null));
+
+    final ValidationCodes codes = codeValidator.validate(billing);
+
+    assertThat(codes.isValid(), equalTo(false));
+    assertThat(codes.getCodes(), equalTo(new int[] {104, 403, 403, 601}));
+    assertThat(codes.getIndex(0), equalTo(0));
+    assertThat(codes.getIndex(1), equalTo(BillingRule.PAYER_PATH));
+    assertThat(codes.getIndex(2), equalTo(BillingRule.RECEIVER_PATH));
+    assertThat(codes.getIndex(3), equalTo(2));
+  }
+
+  @Test
+  void Should_ReportSameErrorsAsBillingValidator_When_BillingsAreInvalid() {
+    for (final Consumer<Billing> mutation : mutations()) {
+      final Billing billing = BillingTemplate.createBilling();
+      mutation.accept(billing);
+
+      final Collection<Error> expected = validator.validate(billing).getErrors();
+      final ValidationCodes codes = codeValidator.validate(billing);
+
+      assertThat(codes.isValid(), equalTo(expected.isEmpty()));
+      assertThat(describe(codes.getErrors()), equalTo(describe(expected)));
+    }
+  }
+
+  @Test
+  void Should_CoverEveryRuleCode_When_BillingsAreInvalid() {
+    final Set<Integer> codes = new TreeSet<>();
+
+    for (final Consumer<Billing> mutation : mutations()) {
+      final Billing billing = BillingTemplate.createBilling();
+      mutation.accept(billing);
+
+      Arrays.stream(codeValidator.validate(billing).getCodes()).forEach(codes::add);
+    }
+
+    assertThat(codes, contains(Arrays.stream(BillingRule.values()).map(BillingRule::getCode).toArray()));
+  }
+
+  @Test
+  void Should_ResolveMessagesWithValidationPolicy_When_PolicyChangesAfterValidation() {
+    final Billing billing = BillingTemplate.createBilling();
+    billing.getReceiver().getAddress().setCountry("br");
+
+    final ValidationCodes codes = codeValidator.validate(billing);
+
+    AcceptedCountries.replace(AcceptedCountries.parse("us,ca,mx,br"));
+
+    assertThat(codes.getErrors(), contains(hasProperty("message", equalTo("only US, Canada and Mexico countries are allowed for this transaction"))));
+  }
+
+  @Test
+  void Should_ResolveMessagesWithRuleParameters_When_ValidatedThroughBillingValidator() {
+    final RuleParameters parameters = RuleParameters.from(Map.of(
+      "billing.rules.version", "test",
+      "billing.rules.max-balance", "100.00")::get);
+
+    final Billing billing = BillingTemplate.createBilling();
+    billing.setBalance(new BigDecimal("150.00"));
+
+    final ValidationCodes codes = new BillingValidator(parameters).validateCodes(billing);
+
+    assertThat(codes.getCodes(), equalTo(new int[] {103}));
+    assertThat(codes.getErrors(), contains(hasProperty("message", equalTo(parameters.getMaxBalanceMessage()))));
+  }
+
+  @Test
+  void Should_MaterializeErrorsOnce_When_ErrorsAreAskedTwice() {
+    final Billing billing = BillingTemplate.createBilling();
+    billing.setDueDate(null);
+
+    final ValidationCodes codes = codeValidator.validate(billing);
+
+    assertThat(codes.getErrors(), sameInstance(codes.getErrors()));
+    assertThat(codes.toValidationResult().getErrors(), contains(hasProperty("code", equalTo("104"))));
+  }
+
+  @Test
+  void Should_RecordSameFailuresInSameOrder_When_SubtreesAreValidatedInParallel() {
+    final ForkJoinPool pool = new ForkJoinPool(4);
+
+    try {
+      final BillingCodeValidator parallelValidator = new BillingCodeValidator(RuleParameters.DEFAULTS, pool, 64);
+      final BillingValidator adaptiveValidator = new BillingValidator(RuleParameters.DEFAULTS, parallelValidator);
+
+      for (final Consumer<Billing> mutation : mutations()) {
+        final Billing billing = BillingTemplate.createBilling();
+        billing.setAdditionalInfo(largeAdditionalInfo(1_000));
+        mutation.accept(billing);
+
+        final ValidationCodes expected = codeValidator.validate(billing);
+        final ValidationCodes actual = parallelValidator.validate(billing);
+
+        assertThat(billing.toString(), actual.getCodes(), equalTo(expected.getCodes()));
+        assertThat(billing.toString(), describe(actual.getErrors()), equalTo(describe(expected.getErrors())));
+        assertThat(billing.toString(), describe(adaptiveValidator.validate(billing).getErrors()), equalTo(describe(validator.validate(billing).getErrors())));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void Should_ValidateSubtreesInParallel_When_AdditionalInfoReachesThreshold() {
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    final ForkJoinPool singleWorkerPool = new ForkJoinPool(1);
+
+    try {
+      final BillingCodeValidator parallelValidator = new BillingCodeValidator(RuleParameters.DEFAULTS, pool, 64);
+      final BillingCodeValidator singleWorkerValidator = new BillingCodeValidator(RuleParameters.DEFAULTS, singleWorkerPool, 64);
+
+      final Billing billing = BillingTemplate.createBilling();
+      billing.setAdditionalInfo(largeAdditionalInfo(63));
+
+      assertThat(parallelValidator.isParallel(billing), equalTo(false));
+
+      billing.setAdditionalInfo(largeAdditionalInfo(64));
+
+      assertThat(parallelValidator.isParallel(billing), equalTo(true));
+      assertThat(singleWorkerValidator.isParallel(billing), equalTo(false));
+
+      billing.setAdditionalInfo(null);
+
+      assertThat(parallelValidator.isParallel(billing), equalTo(false));
+    } finally {
+      pool.shutdown();
+      singleWorkerPool.shutdown();
+    }
+  }
+
+  private List<String> largeAdditionalInfo(final int size) {
+    final List<String> additionalInfo = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      additionalInfo.add(i % 97 == 0 ? null : i % 41 == 0 ? "" : "info " + i);
+    }
+
+    return additionalInfo;
+  }
+
+  private List<Consumer<Billing>> mutations() {
+    final List<Consumer<Billing>> mutations = new ArrayList<>();
+
+    mutations.add(billing -> billing.setBalance(null));
+    mutations.add(billing -> billing.setBalance(new BigDecimal("0.50")));
+    mutations.add(billing -> billing.setBalance(new BigDecimal("1000000")));
+    mutations.add(billing -> billing.setDueDate(null));
+    mutations.add(billing -> billing.setDueDate(LocalDate.now().minusDays(1)));
+    mutations.add(billing -> billing.setDueDate(LocalDate.now().plusYears(2)));
+    mutations.add(billing -> billing.setAcceptPastPayment(null));
+    mutations.add(billing -> billing.setExpirationDate(null));
+    mutations.add(billing -> billing.setAcceptPastPayment(false));
+    mutations.add(billing -> billing.setExpirationDate(LocalDate.now()));
+    mutations.add(billing -> billing.setExpirationDate(LocalDate.now().plusYears(1)));
+    mutations.add(billing -> billing.setApplyFineForPastPayment(null));
+    mutations.add(billing -> billing.setFineAmount(null));
+    mutations.add(billing -> billing.setFineAmount(new BigDecimal("10.00")));
+    mutations.add(billing -> billing.setPayer(null));
+    mutations.add(billing -> billing.setReceiver(null));
+    mutations.add(billing -> billing.setAdditionalInfo(new ArrayList<>()));
+    mutations.add(billing -> billing.setAdditionalInfo(Arrays.asList("", "info", null, " ")));
+    mutations.add(billing -> {
+      billing.getPayer().setFirstName("");
+      billing.getPayer().setLastName(null);
+      billing.getPayer().setBirthday(null);
+      billing.getPayer().setEmail("wrong");
+      billing.getReceiver().setFirstName(null);
+      billing.getReceiver().setLastName("");
+      billing.getReceiver().setBirthday(LocalDate.now());
+      billing.getReceiver().setEmail(null);
+    });
+    mutations.add(billing -> billing.getPayer().setBirthday(LocalDate.now().minusYears(10)));
+    mutations.add(billing -> billing.getReceiver().setBirthday(null));
+    mutations.add(billing -> billing.getPayer().setBillingAddress(null));
+    mutations.add(billing -> billing.getReceiver().setAddress(null));
+    mutations.add(billing -> billing.getPayer().setBillingAddress(invalidAddress("", "zz", "12a")));
+    mutations.add(billing -> billing.getReceiver().setAddress(invalidAddress(null, "br", "")));
+    mutations.add(billing -> billing.getReceiver().setAddress(invalidAddress("line", "", null)));
+    mutations.add(billing -> {
+      billing.setBalance(null);
+      billing.setDueDate(null);
+      billing.setAcceptPastPayment(null);
+      billing.setApplyFineForPastPayment(null);
+      billing.setPayer(null);
+      billing.setReceiver(null);
+      billing.setAdditionalInfo(Arrays.asList(null, ""));
+    });
+
+    return mutations;
+  }
+
+  private Address invalidAddress(final String addressLine1, final String country, final String zipcode) {
+    final Address address = BillingTemplate.createAddress();
+    address.setAddressLine1(addressLine1);
+    address.setAddressLine2("");
+    address.setCity(null);
+    address.setState("");
+    address.setCountry(country);
+    address.setZipcode(zipcode);
+
+    return address;
+  }
+
+  private List<String> describe(final Collection<Error> errors) {
+    return errors.stream()
+      .map(error -> error.getField() + "|" + error.getCode() + "|" + error.getMessage() + "|" + error.getAttemptedValue())
+      .collect(Collectors.toList());
+  }
+
+}
@@ -0,0 +1,96 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.fluentvalidator.context.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BillingRuleSetsTest {
+
+  private static final RuleParameters VERSION_2 = RuleParameters.from(Map.of(
+    "billing.rules.version", "2",
+    "billing.rules.max-balance", "2000000.00",
+    "billing.rules.minimum-payer-age", "30",
+    "billing.rules.minimum-receiver-age", "25",
+    "billing.rules.minimum-fine-amount", "1.00")::get);
+
+  @AfterEach
+  void tearDown() {
+    BillingRuleSets.install(RuleParameters.DEFAULTS);
+  }
+
+  @Test
+  void Should_ValidateWithDefaults_When_NothingWasInstalled() {
+    assertThat(BillingRuleSets.current().getParameters().getVersion(), equalTo("default"));
+  }
+
+  @Test
+  void Should_ValidateWithNewLimits_When_VersionIsInstalled() {
+    final Billing billing = createBilling();
+    billing.setBalance(new BigDecimal("1500000.00"));
+
+    assertThat(BillingRuleSets.current().validate(billing).isValid(), equalTo(false));
+
+    BillingRuleSets.install(VERSION_2);
+
+    assertThat(BillingRuleSets.current().getParameters(), sameInstance(VERSION_2));
+    assertThat(BillingRuleSets.current().validate(billing).isValid(), equalTo(true));
+  }
+
+  @Test
+  void Should_InstallCompiledValidator_When_ParametersAskForIt() {
+    final RuleParameters compiled = RuleParameters.from(Map.of(
+      "billing.rules.version", "compiled",
+      "billing.rules.compiled", "true")::get);
+
+    BillingRuleSets.install(compiled);
+
+    assertThat(BillingRuleSets.current().getParameters().isCompiled(), equalTo(true));
+    assertThat(BillingRuleSets.current().validate(createBilling()).isValid(), equalTo(true));
+
+    BillingRuleSets.install(VERSION_2);
+
+    assertThat(BillingRuleSets.current().getParameters().isCompiled(), equalTo(false));
+  }
+
+  @Test
+  void Should_KeepFormerLimits_When_ValidatorWasTakenBeforeTheSwap() {
+    final BillingValidator inFlight = BillingRuleSets.current();
+
+    final BillingValidator replaced = BillingRuleSets.install(VERSION_2);
+
+    final Billing billing = createBilling();
+    billing.setBalance(new BigDecimal("1500000.00"));
+
+    assertThat(replaced, sameInstance(inFlight));
+    assertThat(inFlight.validate(billing).isValid(), equalTo(false));
+    assertThat(BillingRuleSets.current().validate(billing).isValid(), equalTo(true));
+  }
+
+  @Test
+  void Should_ApplyLimitsOnNestedValidators_When_VersionIsInstalled() {
+    BillingRuleSets.install(VERSION_2);
+
+    final Billing billing = createBilling();
+    billing.getPayer().setBirthday(LocalDate.now().minusYears(29));
+    billing.getReceiver().setBirthday(LocalDate.now().minusYears(24));
+    billing.setFineAmount(new BigDecimal("0.50"));
+
+    final ValidationResult validationResult = BillingRuleSets.current().validate(billing);
+
+    assertThat(validationResult.isValid(), equalTo(false));
+    assertThat(validationResult.getErrors(), hasItem(hasProperty("message", equalTo("payer's age must be at least 30"))));
+    assertThat(validationResult.getErrors(), hasItem(hasProperty("message", equalTo("receiver's age must be at least 25"))));
+    assertThat(validationResult.getErrors(), hasItem(hasProperty("message", equalTo("the minimum value for fine amount is $1"))));
+  }
+
+}
@@ -0,0 +1,116 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.example.fluentvalidatorexamples.utils.RandomBillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.RuleParametersTemplate;
+import br.com.fluentvalidator.AbstractValidator;
+import br.com.fluentvalidator.context.Error;
+import br.com.fluentvalidator.context.ValidationResult;
+import br.com.fluentvalidator.predicate.ObjectPredicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static br.com.example.fluentvalidatorexamples.utils.BillingTemplate.createBilling;
+import static java.util.function.Predicate.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BillingValidatorCompiledModeTest {
+
+  private static final int BILLINGS = 20_000;
+
+  private final BillingValidator interpreted = new BillingValidator();
+
+  private final BillingValidator compiled = new BillingValidator(RuleParametersTemplate.createCompiledParameters());
+
+  private final RandomBillingTemplate randomBillings = new RandomBillingTemplate(20_230_501L);
+
+  private long outstanding;
+
+  @BeforeEach
+  void setUp() {
+    outstanding = ValidationCodesPool.outstanding();
+  }
+
+  @AfterEach
+  void tearDown() {
+    assertThat("every pooled validation codes was released", ValidationCodesPool.outstanding(), equalTo(outstanding));
+  }
+
+  @Test
+  void Should_ReportSameResultsAsInterpretedValidator_When_BillingsAreRandom() {
+    for (int i = 0; i < BILLINGS; i++) {
+      final Billing billing = randomBillings.randomBilling();
+
+      final ValidationResult expected = interpreted.validate(billing);
+      final ValidationResult actual = compiled.validate(billing);
+
+      assertThat(billing.toString(), actual.isValid(), equalTo(expected.isValid()));
+      assertThat(billing.toString(), describe(actual.getErrors()), equalTo(describe(expected.getErrors())));
+    }
+  }
+
+  @Test
+  void Should_ReportSameResultsAsInterpretedValidator_When_ParametersAreNotDefault() {
+    final RuleParameters parameters = RuleParameters.from(Map.of(
+      "billing.rules.version", "2",
+      "billing.rules.min-balance", "5.00",
+      "billing.rules.minimum-fine-amount", "2.00",
+      "billing.rules.minimum-payer-age", "30",
+      "billing.rules.due-date-window-months", "3",
+      "billing.rules.expiration-window-months", "1")::get);
+    final RuleParameters compiledParameters = RuleParameters.from(Map.of(
+      "billing.rules.version", "2",
+      "billing.rules.compiled", "true",
+      "billing.rules.min-balance", "5.00",
+      "billing.rules.minimum-fine-amount", "2.00",
+      "billing.rules.minimum-payer-age", "30",
+      "billing.rules.due-date-window-months", "3",
+      "billing.rules.expiration-window-months", "1")::get);
+
+    final BillingValidator interpretedVersion = new BillingValidator(parameters);
+    final BillingValidator compiledVersion = new BillingValidator(compiledParameters);
+
+    for (int i = 0; i < BILLINGS / 10; i++) {
+      final Billing billing = randomBillings.randomBilling();
+
+      assertThat(billing.toString(), describe(compiledVersion.validate(billing).getErrors()), equalTo(describe(interpretedVersion.validate(billing).getErrors())));
+    }
+  }
+
+  @Test
+  void Should_ReportErrorsToEnclosingValidator_When_ItIsNested() {
+    final Billing billing = createBilling();
+    billing.setBalance(null);
+
+    final AbstractValidator<List<Billing>> batchValidator = new AbstractValidator<>() {
+
+      @Override
+      public void rules() {
+        ruleForEach(billings -> billings)
+          .whenever(not(ObjectPredicate.nullValue()))
+          .withValidator(compiled);
+      }
+
+    };
+
+    final ValidationResult validationResult = batchValidator.validate(List.of(createBilling(), billing));
+
+    assertThat(validationResult.isValid(), equalTo(false));
+    assertThat(validationResult.getErrors(), hasItem(hasProperty("code", equalTo("101"))));
+  }
+
+  private List<String> describe(final Collection<Error> errors) {
+    return errors.stream()
+      .map(error -> error.getField() + "|" + error.getCode() + "|" + error.getMessage() + "|" + error.getAttemptedValue())
+      .collect(Collectors.toList());
+  }
+
+}
@@ -0,0 +1,139 @@
+package br.com.example.fluentvalidatorexamples.validator;
+
+import br.com.example.fluentvalidatorexamples.domain.Billing;
+import br.com.example.fluentvalidatorexamples.policy.AcceptedCountries;
+import br.com.example.fluentvalidatorexamples.policy.RuleParameters;
+import br.com.example.fluentvalidatorexamples.utils.BillingTemplate;
+import br.com.example.fluentvalidatorexamples.utils.RuleParametersTemplate;
+import br.com.fluentvalidator.context.Error;
+import br.com.fluentvalidator.context.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValidationCodesPoolTest {
+
+  private final Billing billing = BillingTemplate.createBilling();
+
+  private long outstanding;
+
+  @BeforeEach
+  void setUp() {
+    outstanding = ValidationCodesPool.outstanding();
+  }
+
+  @AfterEach
+  void tearDown() {
+    assertThat("every acquired result was released", ValidationCodesPool.outstanding(), equalTo(outstanding));
+  }
+
+  @Test
+  void Should_ReuseReleasedCodes_When_AcquiredAgainOnSameThread() {
+    final ValidationCodes codes = acquire();
+    codes.add(BillingRule.BALANCE_REQUIRED, 0);
+    ValidationCodesPool.release(codes);
+
+    final ValidationCodes reused = acquire();
+
+    assertThat(reused, sameInstance(codes));
+    assertThat(reused.isValid(), equalTo(true));
+    assertThat(reused.getErrors(), empty());
+
+    ValidationCodesPool.release(reused);
+  }
+
+  @Test
+  void Should_CreateNewCodes_When_PoolIsReentered() {
+    final ValidationCodes outer = acquire();
+    final ValidationCodes inner = acquire();
+
+    assertThat(inner, not(sameInstance(outer)));
+
+    ValidationCodesPool.release(inner);
+    ValidationCodesPool.release(outer);
+  }
+
+  @Test
+  void Should_NotPoolCodes_When_ReleasedOnAnotherThread() {
+    // leaves the idle slot of this thread empty
+    final ValidationCodes held = acquire();
+    final ValidationCodes codes = CompletableFuture.supplyAsync(this::acquire).join();
+
+    ValidationCodesPool.release(codes);
+
+    final ValidationCodes acquired = acquire();
+
+    assertThat(acquired, not(sameInstance(codes)));
+
+    ValidationCodesPool.release(acquired);
+    ValidationCodesPool.release(held);
+  }
+
+  @Test
+  void Should_ThrowException_When_CodesAreReadAfterRelease() {
+    final ValidationCodes codes = acquire();
+    ValidationCodesPool.release(codes);
+
+    assertThrows(IllegalStateException.class, codes::isValid);
+    assertThrows(IllegalStateException.class, codes::getCodes);
+    assertThrows(IllegalStateException.class, codes::getErrors);
+    assertThrows(IllegalStateException.class, () -> ValidationCodesPool.release(codes));
+  }
+
+  @Test
+  void Should_ThrowException_When_CodesNotTakenFromPoolAreReleased() {
+    final ValidationCodes codes = new ValidationCodes(billing, RuleParameters.DEFAULTS, AcceptedCountries.current());
+
+    assertThrows(IllegalStateException.class, () -> ValidationCodesPool.release(codes));
+  }
+
+  @Test
+  void Should_KeepErrorsOfFormerResults_When_CodesAreReused() {
+    final BillingValidator validator = new BillingValidator(RuleParametersTemplate.createCompiledParameters());
+
+    final Billing invalid = BillingTemplate.createBilling();
+    invalid.setBalance(null);
+    invalid.getPayer().setFirstName("");
+
+    final ValidationResult first = validator.validate(invalid);
+    final Collection<Error> errors = new ArrayList<>(first.getErrors());
+
+    assertThat(validator.validate(billing).isValid(), equalTo(true));
+    assertThat(validator.validate(invalid).getErrors(), hasSize(errors.size()));
+
+    assertThat(first.isValid(), equalTo(false));
+    assertThat(first.getErrors(), contains(errors.toArray()));
+    assertThat(first.getErrors().stream().map(Error::getCode).collect(Collectors.toList()), hasItems("101", "301"));
+  }
+
+  @Test
+  void Should_NotKeepCodes_When_BufferGrewBeyondRetainedCapacity() {
+    final ValidationCodes codes = acquire();
+
+    for (int i = 0; i <= ValidationCodesPool.MAX_RETAINED_CAPACITY; i++) {
+      codes.add(BillingRule.ADDITIONAL_INFO_ITEM, i + 1);
+    }
+
+    ValidationCodesPool.release(codes);
+
+    final ValidationCodes acquired = acquire();
+
+    assertThat(acquired, not(sameInstance(codes)));
+
+    ValidationCodesPool.release(acquired);
+  }
+
+  private ValidationCodes acquire() {
+    return ValidationCodesPool.acquire(billing, RuleParameters.DEFAULTS, AcceptedCountries.current());
+  }
+
+}